@@ -40,6 +40,30 @@ namespace knn_jni {
          */
         jlong storeByteVectorData(knn_jni::JNIUtilInterface *, JNIEnv *, jlong , jobjectArray, jlong);
 
+        /**
+         * Same as storeVectorData, except that the vectors are copied in bulk from the contents of a direct buffer
+         * holding numElements floats in native byte order, instead of being read vector by vector from a 2D Java array.
+         *
+         * @param memoryAddress The address of the memory location where data will be stored.
+         * @param buffer direct java.nio.ByteBuffer containing the vectors one after the other.
+         * @param numElements number of floats to read from the buffer.
+         * @param initialCapacity The initial capacity of the memory location.
+         * @return memory address of std::vector<float> where the data is stored.
+         */
+        jlong storeVectorDataFromBuffer(knn_jni::JNIUtilInterface *, JNIEnv *, jlong, jobject, jlong, jlong);
+
+        /**
+         * Same as storeByteVectorData, except that the vectors are copied in bulk from the contents of a direct buffer
+         * holding numElements bytes, instead of being read vector by vector from a 2D Java array.
+         *
+         * @param memoryAddress The address of the memory location where data will be stored.
+         * @param buffer direct java.nio.ByteBuffer containing the vectors one after the other.
+         * @param numElements number of bytes to read from the buffer.
+         * @param initialCapacity The initial capacity of the memory location.
+         * @return memory address of std::vector<uint8_t> where the data is stored.
+         */
+        jlong storeByteVectorDataFromBuffer(knn_jni::JNIUtilInterface *, JNIEnv *, jlong, jobject, jlong, jlong);
+
         /**
          * Free up the memory allocated for the data stored in memory address. This function should be used with the memory
          * address returned by {@link JNICommons#storeVectorData(long, float[][], long, long)}
@@ -60,5 +84,26 @@ namespace knn_jni {
          * Extracts query time efSearch from method parameters
          **/
         int getIntegerMethodParameter(JNIEnv *, knn_jni::JNIUtilInterface *, std::unordered_map<std::string, jobject>, std::string, int);
+
+        // Positions of the parameters in the search parameters of a query, must match NativeSearchParameters.java
+        const int SEARCH_PARAMETER_EF_SEARCH = 0;
+        const int SEARCH_PARAMETER_NPROBES = 1;
+        // 1 to collect the statistics of the query, see faiss_wrapper.h
+        const int SEARCH_PARAMETER_COLLECT_STATS = 2;
+        // Number of threads the search may use, only IVF searches split their probes between several threads
+        const int SEARCH_PARAMETER_THREADS = 3;
+        const int SEARCH_PARAMETER_UNSET = -1;
+
+        /**
+         * Reads the search parameters of a query, an int array holding every parameter at a fixed position. Returns an
+         * empty vector when the query has no search parameters.
+         **/
+        std::vector<int64_t> getSearchParameters(JNIEnv *, knn_jni::JNIUtilInterface *, jintArray);
+
+        /**
+         * Extracts a query time parameter, e.g. efSearch, from search parameters, or returns the default value when the
+         * query does not set it
+         **/
+        int getSearchParameter(const std::vector<int64_t> &, int, int);
     }
 }
@@ -16,6 +16,7 @@
 
 #include <jni.h>
 #include "faiss/MetricType.h"
+#include "faiss/impl/io.h"
 #include "jni_util.h"
 #include "faiss_methods.h"
 #include <memory>
@@ -23,6 +24,14 @@
 namespace knn_jni {
 namespace faiss_wrapper {
 
+/**
+ * Get the faiss io flags an index is written with. Indices built with the graph only storage parameter are written
+ * without the storage of their vectors, which is restored from the vectors of the segment when the index is loaded.
+ *
+ * @param parameters extra parameters of the index, i.e. the "parameters" map of the index parameters
+ * @return io flags to write the index with
+ */
+int GetWriteIOFlags(const std::unordered_map<std::string, jobject>& parameters);
 
 /**
  * A class to provide operations on index
@@ -46,7 +55,7 @@ public:
      * @param threadCount number of thread count to be used while adding data
      * @param vectorsAddress memory address which is holding vector data
      * @param ids a list of document ids for corresponding vectors
-     * @param indexPath path to write index
+     * @param writer writer the index is serialized to
      * @param parameters parameters to be applied to faiss index
      */
     virtual void createIndex(
@@ -59,8 +68,68 @@ public:
         int threadCount,
         int64_t vectorsAddress,
         std::vector<int64_t> ids,
-        std::string indexPath,
+        faiss::IOWriter* writer,
         std::unordered_map<std::string, jobject> parameters);
+
+    /**
+     * Initialize an empty index which vectors can be added to incrementally with insertToIndex. The returned index
+     * owns the underlying faiss index and is released by writeIndex.
+     *
+     * @param jniUtil jni util
+     * @param env jni environment
+     * @param metric space type for distance calculation
+     * @param indexDescription index description to be used by faiss index factory
+     * @param dim dimension of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param parameters parameters to be applied to faiss index
+     * @return memory address of the index
+     */
+    virtual jlong initIndex(
+        knn_jni::JNIUtilInterface * jniUtil,
+        JNIEnv * env,
+        faiss::MetricType metric,
+        std::string indexDescription,
+        int dim,
+        int threadCount,
+        std::unordered_map<std::string, jobject> parameters);
+
+    /**
+     * Add a batch of vectors to an index created by initIndex
+     *
+     * @param dim dimension of vectors
+     * @param numIds number of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param vectorsAddress memory address which is holding vector data
+     * @param ids a list of document ids for corresponding vectors
+     * @param idMapAddress memory address of the index returned by initIndex
+     */
+    virtual void insertToIndex(
+        int dim,
+        int numIds,
+        int threadCount,
+        int64_t vectorsAddress,
+        std::vector<int64_t> & ids,
+        jlong idMapAddress);
+
+    /**
+     * Write an index created by initIndex. The index is freed once written, even on failure.
+     *
+     * @param writer writer the index is serialized to
+     * @param idMapAddress memory address of the index returned by initIndex
+     * @param ioFlags faiss io flags the index is written with
+     */
+    virtual void writeIndex(faiss::IOWriter* writer, jlong idMapAddress, int ioFlags);
+
+    /**
+     * Load an index written to disk so that more vectors can be added to it with insertToIndex. The ids of the loaded
+     * index are replaced through docIdMap, which is indexed by the current id. The returned index is released by
+     * writeIndex.
+     *
+     * @param indexPath path of the index to load
+     * @param docIdMap new id of every current id of the index
+     * @return memory address of the index
+     */
+    virtual jlong loadIndexForMerge(std::string indexPath, std::vector<int64_t> & docIdMap);
     virtual ~IndexService() = default;
 protected:
     std::unique_ptr<FaissMethods> faissMethods;
@@ -87,7 +156,7 @@ public:
      * @param threadCount number of thread count to be used while adding data
      * @param vectorsAddress memory address which is holding vector data
      * @param ids a list of document ids for corresponding vectors
-     * @param indexPath path to write index
+     * @param writer writer the index is serialized to
      * @param parameters parameters to be applied to faiss index
      */
     virtual void createIndex(
@@ -100,9 +169,72 @@ public:
         int threadCount,
         int64_t vectorsAddress,
         std::vector<int64_t> ids,
-        std::string indexPath,
+        faiss::IOWriter* writer,
         std::unordered_map<std::string, jobject> parameters
     ) override;
+
+    /**
+     * Initialize an empty binary index which vectors can be added to incrementally with insertToIndex. The returned
+     * index owns the underlying faiss index and is released by writeIndex.
+     *
+     * @param jniUtil jni util
+     * @param env jni environment
+     * @param metric space type for distance calculation
+     * @param indexDescription index description to be used by faiss index factory
+     * @param dim dimension of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param parameters parameters to be applied to faiss index
+     * @return memory address of the index
+     */
+    virtual jlong initIndex(
+        knn_jni::JNIUtilInterface * jniUtil,
+        JNIEnv * env,
+        faiss::MetricType metric,
+        std::string indexDescription,
+        int dim,
+        int threadCount,
+        std::unordered_map<std::string, jobject> parameters
+    ) override;
+
+    /**
+     * Add a batch of binary vectors to an index created by initIndex
+     *
+     * @param dim dimension of vectors
+     * @param numIds number of vectors
+     * @param threadCount number of thread count to be used while adding data
+     * @param vectorsAddress memory address which is holding vector data
+     * @param ids a list of document ids for corresponding vectors
+     * @param idMapAddress memory address of the index returned by initIndex
+     */
+    virtual void insertToIndex(
+        int dim,
+        int numIds,
+        int threadCount,
+        int64_t vectorsAddress,
+        std::vector<int64_t> & ids,
+        jlong idMapAddress
+    ) override;
+
+    /**
+     * Write a binary index created by initIndex. The index is freed once written, even on failure. Binary indices
+     * are always written with their storage, so ioFlags is ignored.
+     *
+     * @param writer writer the index is serialized to
+     * @param idMapAddress memory address of the index returned by initIndex
+     * @param ioFlags faiss io flags the index is written with
+     */
+    virtual void writeIndex(faiss::IOWriter* writer, jlong idMapAddress, int ioFlags) override;
+
+    /**
+     * Load a binary index written to disk so that more vectors can be added to it with insertToIndex. The ids of the
+     * loaded index are replaced through docIdMap, which is indexed by the current id. The returned index is released
+     * by writeIndex.
+     *
+     * @param indexPath path of the index to load
+     * @param docIdMap new id of every current id of the index
+     * @return memory address of the index
+     */
+    virtual jlong loadIndexForMerge(std::string indexPath, std::vector<int64_t> & docIdMap) override;
     virtual ~BinaryIndexService() = default;
 };
 
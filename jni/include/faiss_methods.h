@@ -14,6 +14,7 @@
 #include "faiss/IndexBinary.h"
 #include "faiss/IndexIDMap.h"
 #include "faiss/index_io.h"
+#include "faiss/impl/io.h"
 
 namespace knn_jni {
 namespace faiss_wrapper {
@@ -30,8 +31,10 @@ public:
     virtual faiss::IndexBinary* indexBinaryFactory(int d, const char* description);
     virtual faiss::IndexIDMapTemplate<faiss::Index>* indexIdMap(faiss::Index* index);
     virtual faiss::IndexIDMapTemplate<faiss::IndexBinary>* indexBinaryIdMap(faiss::IndexBinary* index);
-    virtual void writeIndex(const faiss::Index* idx, const char* fname);
-    virtual void writeIndexBinary(const faiss::IndexBinary* idx, const char* fname);
+    virtual void writeIndex(const faiss::Index* idx, faiss::IOWriter* writer, int ioFlags);
+    virtual void writeIndexBinary(const faiss::IndexBinary* idx, faiss::IOWriter* writer);
+    virtual faiss::Index* readIndex(const char* fname);
+    virtual faiss::IndexBinary* readIndexBinary(const char* fname);
     virtual ~FaissMethods() = default;
 };
 
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+#ifndef OPENSEARCH_KNN_FAISS_STREAM_SUPPORT_H
+#define OPENSEARCH_KNN_FAISS_STREAM_SUPPORT_H
+
+#include "faiss/impl/io.h"
+#include "jni_util.h"
+
+#include <jni.h>
+#include <algorithm>
+#include <cstring>
+#include <stdexcept>
+#include <vector>
+
+namespace knn_jni {
+namespace stream {
+
+/**
+ * Forwards the bytes written by native code to a Java IndexOutputWithBuffer, which appends them to a Lucene
+ * IndexOutput. Faiss serializes an index with many small writes, so the bytes are accumulated in a native buffer and
+ * only handed to Java, through a single reusable byte[], once the buffer is full or on flush.
+ */
+class NativeEngineIndexOutputMediator {
+public:
+    static constexpr jsize BUFFER_SIZE = 64 * 1024;
+    static constexpr const char * INDEX_OUTPUT_CLASS = "org/opensearch/knn/index/store/IndexOutputWithBuffer";
+
+    NativeEngineIndexOutputMediator(JNIUtilInterface * jniUtil, JNIEnv * env, jobject indexOutputJ)
+        : jniUtil(jniUtil),
+          env(env),
+          indexOutputJ(indexOutputJ),
+          writeBytesMethodJ(jniUtil->FindMethod(env, INDEX_OUTPUT_CLASS, "writeBytes")),
+          bufferJ(jniUtil->NewByteArray(env, BUFFER_SIZE)),
+          buffer(BUFFER_SIZE),
+          position(0) {
+        if (indexOutputJ == nullptr) {
+            throw std::runtime_error("Index output cannot be null");
+        }
+    }
+
+    void writeBytes(const uint8_t * data, size_t nbytes) {
+        while (nbytes > 0) {
+            const size_t toCopy = std::min(nbytes, (size_t) BUFFER_SIZE - position);
+            std::memcpy(buffer.data() + position, data, toCopy);
+            position += toCopy;
+            data += toCopy;
+            nbytes -= toCopy;
+            if (position == (size_t) BUFFER_SIZE) {
+                flush();
+            }
+        }
+    }
+
+    // Hands the buffered bytes over to the IndexOutput. Must be called once the index is written.
+    void flush() {
+        if (position == 0) {
+            return;
+        }
+        jniUtil->SetByteArrayRegion(env, bufferJ, 0, (jsize) position, buffer.data());
+        jniUtil->CallVoidMethod(env, indexOutputJ, writeBytesMethodJ, bufferJ, (jint) position);
+        jniUtil->HasExceptionInStack(env, "Unable to write the index to the IndexOutput");
+        position = 0;
+    }
+
+    ~NativeEngineIndexOutputMediator() {
+        jniUtil->DeleteLocalRef(env, bufferJ);
+    }
+
+private:
+    JNIUtilInterface * jniUtil;
+    JNIEnv * env;
+    jobject indexOutputJ;
+    jmethodID writeBytesMethodJ;
+    jbyteArray bufferJ;
+    std::vector<jbyte> buffer;
+    size_t position;
+};
+
+/**
+ * faiss::IOWriter streaming the serialized index into a Lucene IndexOutput through a NativeEngineIndexOutputMediator.
+ */
+class FaissOpenSearchIOWriter final : public faiss::IOWriter {
+public:
+    explicit FaissOpenSearchIOWriter(NativeEngineIndexOutputMediator * mediator)
+        : faiss::IOWriter(),
+          mediator(mediator) {
+        name = "FaissOpenSearchIOWriter";
+    }
+
+    size_t operator()(const void * ptr, size_t size, size_t nitems) final {
+        mediator->writeBytes(reinterpret_cast<const uint8_t *>(ptr), size * nitems);
+        return nitems;
+    }
+
+private:
+    NativeEngineIndexOutputMediator * mediator;
+};
+
+}
+}
+
+#endif //OPENSEARCH_KNN_FAISS_STREAM_SUPPORT_H
@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: Apache-2.0
+//
+// The OpenSearch Contributors require contributions made to
+// this file be licensed under the Apache-2.0 license or a
+// compatible open source license.
+//
+// Modifications Copyright OpenSearch Contributors. See
+// GitHub history for details.
+
+/**
+ * This file contains the streaming training of IVF indices, which is free of JNI
+ */
+
+#ifndef OPENSEARCH_KNN_FAISS_STREAMING_TRAINER_H
+#define OPENSEARCH_KNN_FAISS_STREAMING_TRAINER_H
+
+#include "faiss/Index.h"
+#include "faiss/IndexIVF.h"
+#include "faiss/IndexIVFPQ.h"
+
+#include <cstdint>
+#include <memory>
+#include <vector>
+
+namespace knn_jni {
+namespace faiss_wrapper {
+
+/**
+ * Trains an IVF index, with a flat or PQ encoder, on training vectors handed over batch by batch, so that the training
+ * vectors never have to be in memory all at once.
+ *
+ * The coarse centroids, and the PQ codebooks trained on the residuals of the vectors, are trained with mini-batch
+ * k-means (Sculley, Web-scale k-means clustering): every vector of a batch moves its nearest centroid towards it, by
+ * 1 / number of vectors assigned to the centroid so far. The centroids are seeded with regular k-means on the first
+ * SEED_POINTS_PER_CENTROID * max(nlist, ksub) vectors. When fewer vectors are added overall, the index is trained on
+ * them with the regular faiss training instead.
+ */
+class StreamingTrainer {
+public:
+    static constexpr faiss::idx_t SEED_POINTS_PER_CENTROID = 4;
+
+    /**
+     * Constructor
+     *
+     * @param index untrained IVF index with a flat coarse quantizer and a flat or PQ encoder. The trainer takes its
+     *              ownership
+     * @throws std::runtime_error if the index cannot be trained by streaming
+     */
+    explicit StreamingTrainer(faiss::Index * index);
+
+    /**
+     * Trains the index on a batch of vectors
+     *
+     * @param n number of vectors of the batch
+     * @param x vectors of the batch, one after the other
+     */
+    void AddBatch(faiss::idx_t n, const float * x);
+
+    /**
+     * Completes the training. The trainer cannot be used afterwards.
+     *
+     * @return trained index
+     */
+    std::unique_ptr<faiss::Index> Finish();
+
+    /**
+     * @return number of vectors the index was trained on so far
+     */
+    faiss::idx_t GetNumVectorsAdded() const {
+        return numVectorsAdded;
+    }
+
+private:
+    void Seed(faiss::idx_t n, const float * x);
+    void Update(faiss::idx_t n, const float * x);
+    void ComputeResiduals(faiss::idx_t n, const float * x, const faiss::idx_t * labels, float * residuals) const;
+
+    std::unique_ptr<faiss::Index> index;
+    faiss::IndexIVF * ivf;
+    // Null for a flat encoder
+    faiss::IndexIVFPQ * ivfPq;
+    faiss::idx_t seedSize;
+    // Vectors added before the centroids are seeded
+    std::vector<float> pending;
+    bool seeded;
+    faiss::idx_t numVectorsAdded;
+    // nlist coarse centroids and the number of vectors assigned to each of them so far
+    std::vector<float> centroids;
+    std::vector<int64_t> counts;
+    // Number of residuals assigned to each of the ksub codewords of each of the M sub quantizers so far
+    std::vector<int64_t> codewordCounts;
+};
+
+}
+}
+
+#endif //OPENSEARCH_KNN_FAISS_STREAMING_TRAINER_H
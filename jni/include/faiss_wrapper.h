@@ -14,27 +14,63 @@
 
 #include "jni_util.h"
 #include "faiss_index_service.h"
+#include "faiss/impl/io.h"
 #include <jni.h>
 
 namespace knn_jni {
     namespace faiss_wrapper {
         // Create an index with ids and vectors. The configuration is defined by values in the Java map, parametersJ.
-        // The index is serialized to indexPathJ.
+        // The index is serialized to writer.
         void CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ, jint dimJ,
-                         jstring indexPathJ, jobject parametersJ, IndexService* indexService);
+                         faiss::IOWriter * writer, jobject parametersJ, IndexService* indexService);
+
+        // Initialize an empty index that vectors can be added to in batches with InsertToIndex. The configuration is
+        // defined by values in the Java map, parametersJ.
+        //
+        // Return a pointer to the initialized index
+        jlong InitIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jint dimJ, jobject parametersJ,
+                        IndexService* indexService);
+
+        // Add a batch of ids and vectors to an index created with InitIndex.
+        void InsertToIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ,
+                           jint dimJ, jlong indexAddressJ, jint threadCountJ, IndexService* indexService);
+
+        // Serialize an index created with InitIndex to writer. The index is freed once written. The Java map,
+        // parametersJ, holds the parameters the index was initialized with and can be null.
+        void WriteIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, faiss::IOWriter * writer, jlong indexAddressJ,
+                        jobject parametersJ, IndexService* indexService);
+
+        // Load the index at indexPathJ so that more vectors can be added to it with InsertToIndex. Every id of the
+        // index is replaced by the value at that position of docIdMapJ.
+        //
+        // Return a pointer to the loaded index
+        jlong LoadIndexForMerge(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ,
+                                jintArray docIdMapJ, IndexService* indexService);
 
         // Create an index with ids and vectors. Instead of creating a new index, this function creates the index
-        // based off of the template index passed in. The index is serialized to indexPathJ.
+        // based off of the template index passed in. The index is serialized to writer.
         void CreateIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
-                                     jlong vectorsAddressJ, jint dimJ, jstring indexPathJ, jbyteArray templateIndexJ,
+                                     jlong vectorsAddressJ, jint dimJ, faiss::IOWriter * writer, jbyteArray templateIndexJ,
                                      jobject parametersJ);
 
         // Create an index with ids and vectors. Instead of creating a new index, this function creates the index
-        // based off of the template index passed in. The index is serialized to indexPathJ.
+        // based off of the template index passed in. The index is serialized to writer.
         void CreateBinaryIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
-                                     jlong vectorsAddressJ, jint dimJ, jstring indexPathJ, jbyteArray templateIndexJ,
+                                     jlong vectorsAddressJ, jint dimJ, faiss::IOWriter * writer, jbyteArray templateIndexJ,
                                      jobject parametersJ);
 
+        // Deserialize the template index passed in, so that indices can be created from it without deserializing it
+        // again, see CreateIndexFromTemplateIndex. The template index is freed like any other loaded index.
+        //
+        // Return a pointer to the template index
+        jlong LoadTemplateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jbyteArray templateIndexJ);
+
+        // Create an index with ids and vectors, like CreateIndexFromTemplate, from a copy of the template index loaded
+        // with LoadTemplateIndex. The template index itself is left untouched. The index is serialized to writer.
+        void CreateIndexFromTemplateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
+                                          jlong vectorsAddressJ, jint dimJ, faiss::IOWriter * writer,
+                                          jlong templateIndexPointerJ, jobject parametersJ);
+
         // Load an index from indexPathJ into memory.
         //
         // Return a pointer to the loaded index
@@ -57,34 +93,78 @@ namespace knn_jni {
         // Sets the sharedIndexState for an index
         void SetSharedIndexState(jlong indexPointerJ, jlong shareIndexStatePointerJ);
 
+        // Check if a loaded index was written without the storage of its vectors
+        bool IsIndexStorageRequired(jlong indexPointerJ);
+
+        // Restore the storage of an index written without it from the vectors located at vectorsAddressJ. idsJ holds
+        // the id of every vector, which may be in any order. The vectors are copied, so the caller keeps owning them.
+        void SetIndexStorage(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ, jlong vectorsAddressJ,
+                             jint dimJ, jintArray idsJ);
+
          /**
          *  Execute a query against the index located in memory at indexPointerJ
          *  
          * Parameters:
-         * methodParamsJ: introduces a map to have additional method parameters
+         * searchParamsJ: parameters of the query as an int array, see commons.h
          * 
          * Return an array of KNNQueryResults
         */
         jobjectArray QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jintArray parentIdsJ);
+                                jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ, jintArray parentIdsJ);
 
         /**
          *  Execute a query against the index located in memory at indexPointerJ along with Filters
          *  
          * Parameters:
-         * methodParamsJ: introduces a map to have additional method parameters
+         * searchParamsJ: parameters of the query as an int array, see commons.h
          * 
          * Return an array of KNNQueryResults
         */
         jobjectArray QueryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ,
+                                                                jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ, jlongArray filterIdsJ,
                                                                 jint filterIdsTypeJ, jintArray parentIdsJ);
 
+        /**
+         *  Execute a query against the index located in memory at indexPointerJ, exchanging the query vector and the
+         *  results through a direct java.nio.ByteBuffer instead of Java arrays and objects
+         *
+         * Parameters:
+         * bufferJ: direct buffer holding the query vector of dimJ floats, followed by room for the ids (int32) and then
+         *          the distances (float) of kJ results
+         * searchParamsJ: parameters of the query as an int array, see commons.h
+         *
+         * Return the number of results written to the buffer
+        */
+        jint QueryIndex_WithBuffer(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ, jobject bufferJ,
+                                   jint dimJ, jint kJ, jintArray searchParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ,
+                                   jintArray parentIdsJ);
+
+        // Positions of the statistics of a query in the array filled by GetQueryStats, must match NativeQueryStats.java
+        const int QUERY_STATS_VISITED = 0;
+        const int QUERY_STATS_FILTER_REJECTIONS = 1;
+        const int QUERY_STATS_LISTS_PROBED = 2;
+        const int QUERY_STATS_DISTANCE_COMPUTATIONS = 3;
+        const int QUERY_STATS_HOPS = 4;
+        const int QUERY_STATS_SIZE = 5;
+
+        /**
+         * Copies the statistics of the last query of the calling thread to statsJ. They are collected only for queries
+         * on float indices whose search parameters set SEARCH_PARAMETER_COLLECT_STATS, and are zero otherwise:
+         *  - visited: vectors checked against the filter of the query, the nodes of the base layer whose distance to
+         *    the query is computed for HNSW, the codes scanned for IVF
+         *  - filter rejections: visited vectors rejected by the filter of the query
+         *  - lists probed: non empty inverted lists scanned for IVF, as counted by faiss
+         *  - distance computations: distances computed by faiss, on every layer for HNSW, to the codes of the probed
+         *    lists for IVF
+         *  - hops: nodes whose neighbors are explored for HNSW
+        */
+        void GetQueryStats(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlongArray statsJ);
+
         // Execute a query against the binary index located in memory at indexPointerJ along with Filters
         //
         // Return an array of KNNQueryResults
         jobjectArray QueryBinaryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                 jbyteArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
+                                                 jbyteArray queryVectorJ, jint kJ, jintArray searchParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
 
         // Free the index located in memory at indexPointerJ
         void Free(jlong indexPointer, jboolean isBinaryIndexJ);
@@ -102,6 +182,26 @@ namespace knn_jni {
         jbyteArray TrainIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ, jint dimension,
                               jlong trainVectorsPointerJ);
 
+        // Create an empty index defined by the values in the Java map, parametersJ, to be trained by streaming its
+        // training vectors batch by batch, see StreamingTrainer. Only IVF indices with a flat or PQ encoder can be
+        // trained by streaming.
+        //
+        // Return a pointer to the streaming trainer, to be passed to FinishStreamingTraining or FreeStreamingTraining
+        jlong InitStreamingTraining(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ, jint dimension);
+
+        // Train the index of the streaming trainer at trainerPointerJ on the first numVectorsJ vectors of vectorsJ,
+        // one after the other
+        void AddStreamingTrainingVectors(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong trainerPointerJ,
+                                         jfloatArray vectorsJ, jint numVectorsJ);
+
+        // Complete the training of the streaming trainer at trainerPointerJ and free it
+        //
+        // Return the serialized representation
+        jbyteArray FinishStreamingTraining(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong trainerPointerJ);
+
+        // Free the streaming trainer at trainerPointerJ, when its training does not complete
+        void FreeStreamingTraining(jlong trainerPointerJ);
+
         // Create an empty binary index defined by the values in the Java map, parametersJ. Train the index with
         // the vector of floats located at trainVectorsPointerJ.
         //
@@ -115,7 +215,7 @@ namespace knn_jni {
          * @param indexPointerJ - pointer to the index
          * @param queryVectorJ - the query vector
          * @param radiusJ - the radius for the range search
-         * @param methodParamsJ - the method parameters
+         * @param searchParamsJ - the parameters of the query as an int array, see commons.h
          * @param maxResultsWindowJ - the maximum number of results to return
          * @param filterIdsJ - the filter ids
          * @param filterIdsTypeJ - the filter ids type
@@ -124,7 +224,7 @@ namespace knn_jni {
          * @return an array of RangeQueryResults
          */
         jobjectArray RangeSearchWithFilter(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ, jfloatArray queryVectorJ,
-                                           jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
+                                           jfloat radiusJ, jintArray searchParamsJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ);
 
         /*
          * Perform a range search against the index located in memory at indexPointerJ.
@@ -132,14 +232,14 @@ namespace knn_jni {
          * @param indexPointerJ - pointer to the index
          * @param queryVectorJ - the query vector
          * @param radiusJ - the radius for the range search
-         * @param methodParamsJ - the method parameters
+         * @param searchParamsJ - the parameters of the query as an int array, see commons.h
          * @param maxResultsWindowJ - the maximum number of results to return
          * @param parentIdsJ - the parent ids
          *
          * @return an array of RangeQueryResults
          */
         jobjectArray RangeSearch(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ, jfloatArray queryVectorJ,
-                    jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jintArray parentIdsJ);
+                    jfloat radiusJ, jintArray searchParamsJ, jint maxResultWindowJ, jintArray parentIdsJ);
     }
 }
 
@@ -105,10 +105,14 @@ namespace knn_jni {
 
         virtual jlong * GetLongArrayElements(JNIEnv *env, jlongArray array, jboolean * isCopy) = 0;
 
+        virtual void * GetDirectBufferAddress(JNIEnv *env, jobject buffer) = 0;
+
         virtual jobject GetObjectArrayElement(JNIEnv *env, jobjectArray array, jsize index) = 0;
 
         virtual jobject NewObject(JNIEnv *env, jclass clazz, jmethodID methodId, int id, float distance) = 0;
 
+        virtual void CallVoidMethod(JNIEnv *env, jobject obj, jmethodID methodId, jbyteArray bytes, jint length) = 0;
+
         virtual jobjectArray NewObjectArray(JNIEnv *env, jsize len, jclass clazz, jobject init) = 0;
 
         virtual jbyteArray NewByteArray(JNIEnv *env, jsize len) = 0;
@@ -162,8 +166,10 @@ namespace knn_jni {
         jfloat * GetFloatArrayElements(JNIEnv *env, jfloatArray array, jboolean * isCopy);
         jint * GetIntArrayElements(JNIEnv *env, jintArray array, jboolean * isCopy);
         jlong * GetLongArrayElements(JNIEnv *env, jlongArray array, jboolean * isCopy);
+        void * GetDirectBufferAddress(JNIEnv *env, jobject buffer);
         jobject GetObjectArrayElement(JNIEnv *env, jobjectArray array, jsize index);
         jobject NewObject(JNIEnv *env, jclass clazz, jmethodID methodId, int id, float distance);
+        void CallVoidMethod(JNIEnv *env, jobject obj, jmethodID methodId, jbyteArray bytes, jint length);
         jobjectArray NewObjectArray(JNIEnv *env, jsize len, jclass clazz, jobject init);
         jbyteArray NewByteArray(JNIEnv *env, jsize len);
         void ReleaseByteArrayElements(JNIEnv *env, jbyteArray array, jbyte *elems, int mode);
@@ -192,6 +198,7 @@ namespace knn_jni {
     extern const std::string PARAMETERS;
     extern const std::string TRAINING_DATASET_SIZE_LIMIT;
     extern const std::string INDEX_THREAD_QUANTITY;
+    extern const std::string GRAPH_ONLY_STORAGE;
 
     extern const std::string L2;
     extern const std::string L1;
@@ -37,7 +37,7 @@ namespace knn_jni {
         //
         // Return an array of KNNQueryResults
         jobjectArray QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ);
+                                jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ);
 
         // Free the index located in memory at indexPointerJ
         void Free(jlong indexPointer);
@@ -35,6 +35,102 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndex
 JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryIndex
         (JNIEnv *, jclass, jintArray, jlong, jint, jstring, jobject);
 
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    createIndexToOutput
+ * Signature: ([IJILorg/opensearch/knn/index/store/IndexOutputWithBuffer;Ljava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexToOutput
+        (JNIEnv *, jclass, jintArray, jlong, jint, jobject, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    createBinaryIndexToOutput
+ * Signature: ([IJILorg/opensearch/knn/index/store/IndexOutputWithBuffer;Ljava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryIndexToOutput
+        (JNIEnv *, jclass, jintArray, jlong, jint, jobject, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    initIndex
+ * Signature: (ILjava/util/Map;)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initIndex
+        (JNIEnv *, jclass, jint, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    initBinaryIndex
+ * Signature: (ILjava/util/Map;)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initBinaryIndex
+        (JNIEnv *, jclass, jint, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    insertToIndex
+ * Signature: ([IJIJI)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_insertToIndex
+        (JNIEnv *, jclass, jintArray, jlong, jint, jlong, jint);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    insertToBinaryIndex
+ * Signature: ([IJIJI)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_insertToBinaryIndex
+        (JNIEnv *, jclass, jintArray, jlong, jint, jlong, jint);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    writeIndex
+ * Signature: (JLjava/lang/String;Ljava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeIndex
+        (JNIEnv *, jclass, jlong, jstring, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    writeBinaryIndex
+ * Signature: (JLjava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeBinaryIndex
+        (JNIEnv *, jclass, jlong, jstring);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    writeIndexToOutput
+ * Signature: (JLorg/opensearch/knn/index/store/IndexOutputWithBuffer;Ljava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeIndexToOutput
+        (JNIEnv *, jclass, jlong, jobject, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    writeBinaryIndexToOutput
+ * Signature: (JLorg/opensearch/knn/index/store/IndexOutputWithBuffer;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeBinaryIndexToOutput
+        (JNIEnv *, jclass, jlong, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    loadIndexForMerge
+ * Signature: (Ljava/lang/String;[I)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadIndexForMerge
+        (JNIEnv *, jclass, jstring, jintArray);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    loadBinaryIndexForMerge
+ * Signature: (Ljava/lang/String;[I)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadBinaryIndexForMerge
+        (JNIEnv *, jclass, jstring, jintArray);
+
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    createIndexFromTemplate
@@ -51,6 +147,46 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromT
     JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryIndexFromTemplate
       (JNIEnv *, jclass, jintArray, jlong, jint, jstring, jbyteArray, jobject);
 
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    createIndexFromTemplateToOutput
+ * Signature: ([IJILorg/opensearch/knn/index/store/IndexOutputWithBuffer;[BLjava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplateToOutput
+  (JNIEnv *, jclass, jintArray, jlong, jint, jobject, jbyteArray, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    createBinaryIndexFromTemplateToOutput
+ * Signature: ([IJILorg/opensearch/knn/index/store/IndexOutputWithBuffer;[BLjava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryIndexFromTemplateToOutput
+  (JNIEnv *, jclass, jintArray, jlong, jint, jobject, jbyteArray, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    loadTemplateIndex
+ * Signature: ([B)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadTemplateIndex
+  (JNIEnv *, jclass, jbyteArray);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    createIndexFromTemplateIndex
+ * Signature: ([IJILjava/lang/String;JLjava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplateIndex
+  (JNIEnv *, jclass, jintArray, jlong, jint, jstring, jlong, jobject);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    createIndexFromTemplateIndexToOutput
+ * Signature: ([IJILorg/opensearch/knn/index/store/IndexOutputWithBuffer;JLjava/util/Map;)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplateIndexToOutput
+  (JNIEnv *, jclass, jintArray, jlong, jint, jobject, jlong, jobject);
+
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    loadIndex
@@ -67,6 +203,22 @@ JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadIndex
 JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadBinaryIndex
   (JNIEnv *, jclass, jstring);
 
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    isIndexStorageRequired
+ * Signature: (J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_org_opensearch_knn_jni_FaissService_isIndexStorageRequired
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    setIndexStorage
+ * Signature: (JJI[I)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_setIndexStorage
+  (JNIEnv *, jclass, jlong, jlong, jint, jintArray);
+
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    isSharedIndexStateRequired
@@ -94,26 +246,42 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_setSharedIndexSt
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    queryIndex
- * Signature: (J[FILjava/util/Map[I)[Lorg/opensearch/knn/index/query/KNNQueryResult;
+ * Signature: (J[FI[I[I)[Lorg/opensearch/knn/index/query/KNNQueryResult;
  */
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryIndex
-  (JNIEnv *, jclass, jlong, jfloatArray, jint, jobject, jintArray);
+  (JNIEnv *, jclass, jlong, jfloatArray, jint, jintArray, jintArray);
 
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    queryIndexWithFilter
- * Signature: (J[FILjava/util/Map[JI[I)[Lorg/opensearch/knn/index/query/KNNQueryResult;
+ * Signature: (J[FI[I[JI[I)[Lorg/opensearch/knn/index/query/KNNQueryResult;
  */
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryIndexWithFilter
-  (JNIEnv *, jclass, jlong, jfloatArray, jint, jobject, jlongArray, jint, jintArray);
+  (JNIEnv *, jclass, jlong, jfloatArray, jint, jintArray, jlongArray, jint, jintArray);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    queryIndexWithBuffer
+ * Signature: (JLjava/nio/ByteBuffer;II[I[JI[I)I
+ */
+JNIEXPORT jint JNICALL Java_org_opensearch_knn_jni_FaissService_queryIndexWithBuffer
+  (JNIEnv *, jclass, jlong, jobject, jint, jint, jintArray, jlongArray, jint, jintArray);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    getQueryStats
+ * Signature: ([J)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_getQueryStats
+  (JNIEnv *, jclass, jlongArray);
 
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    queryBIndexWithFilter
- * Signature: (J[BILjava/util/Map[JI[I)[Lorg/opensearch/knn/index/query/KNNQueryResult;
+ * Signature: (J[BI[I[JI[I)[Lorg/opensearch/knn/index/query/KNNQueryResult;
  */
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryBinaryIndexWithFilter
-  (JNIEnv *, jclass, jlong, jbyteArray, jint, jobject, jlongArray, jint, jintArray);
+  (JNIEnv *, jclass, jlong, jbyteArray, jint, jintArray, jlongArray, jint, jintArray);
 
 /*
  * Class:     org_opensearch_knn_jni_FaissService
@@ -147,6 +315,38 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_initLibrary
 JNIEXPORT jbyteArray JNICALL Java_org_opensearch_knn_jni_FaissService_trainIndex
   (JNIEnv *, jclass, jobject, jint, jlong);
 
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    initStreamingTraining
+ * Signature: (Ljava/util/Map;I)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initStreamingTraining
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    addStreamingTrainingVectors
+ * Signature: (J[FI)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_addStreamingTrainingVectors
+  (JNIEnv *, jclass, jlong, jfloatArray, jint);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    finishStreamingTraining
+ * Signature: (J)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_org_opensearch_knn_jni_FaissService_finishStreamingTraining
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     org_opensearch_knn_jni_FaissService
+ * Method:    freeStreamingTraining
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_freeStreamingTraining
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    trainBinaryIndex
@@ -166,18 +366,18 @@ JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_transferVectors
 /*
 * Class:     org_opensearch_knn_jni_FaissService
 * Method:    rangeSearchIndexWithFilter
-* Signature: (J[FJLjava/util/MapI[JII)[Lorg/opensearch/knn/index/query/RangeQueryResult;
+* Signature: (J[FJ[II[JII)[Lorg/opensearch/knn/index/query/RangeQueryResult;
 */
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_rangeSearchIndexWithFilter
-  (JNIEnv *, jclass, jlong, jfloatArray, jfloat, jobject, jint, jlongArray, jint, jintArray);
+  (JNIEnv *, jclass, jlong, jfloatArray, jfloat, jintArray, jint, jlongArray, jint, jintArray);
 
 /*
  * Class:     org_opensearch_knn_jni_FaissService
  * Method:    rangeSearchIndex
- * Signature: (J[FJLjava/util/MapII)[Lorg/opensearch/knn/index/query/RangeQueryResult;
+ * Signature: (J[FJ[III)[Lorg/opensearch/knn/index/query/RangeQueryResult;
  */
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_rangeSearchIndex
-  (JNIEnv *, jclass, jlong, jfloatArray, jfloat, jobject, jint, jintArray);
+  (JNIEnv *, jclass, jlong, jfloatArray, jfloat, jintArray, jint, jintArray);
 
 #ifdef __cplusplus
 }
@@ -34,6 +34,22 @@ JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_storeVectorData
 JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_storeByteVectorData
   (JNIEnv *, jclass, jlong, jobjectArray, jlong);
 
+/*
+ * Class:     org_opensearch_knn_jni_JNICommons
+ * Method:    storeVectorDataFromBuffer
+ * Signature: (JLjava/nio/ByteBuffer;JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_storeVectorDataFromBuffer
+  (JNIEnv *, jclass, jlong, jobject, jlong, jlong);
+
+/*
+ * Class:     org_opensearch_knn_jni_JNICommons
+ * Method:    storeByteVectorDataFromBuffer
+ * Signature: (JLjava/nio/ByteBuffer;JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_storeByteVectorDataFromBuffer
+  (JNIEnv *, jclass, jlong, jobject, jlong, jlong);
+
 /*
  * Class:     org_opensearch_knn_jni_JNICommons
  * Method:    freeVectorData
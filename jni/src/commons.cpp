@@ -47,6 +47,44 @@ jlong knn_jni::commons::storeByteVectorData(knn_jni::JNIUtilInterface *jniUtil,
     return (jlong) vect;
 }
 
+jlong knn_jni::commons::storeVectorDataFromBuffer(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong memoryAddressJ,
+                                                  jobject bufferJ, jlong numElementsJ, jlong initialCapacityJ) {
+    if (numElementsJ < 0) {
+        throw std::runtime_error("Number of elements cannot be less than 0");
+    }
+    auto *data = reinterpret_cast<float *>(jniUtil->GetDirectBufferAddress(env, bufferJ));
+
+    std::vector<float> *vect;
+    if ((long) memoryAddressJ == 0) {
+        vect = new std::vector<float>();
+        vect->reserve((long)initialCapacityJ);
+    } else {
+        vect = reinterpret_cast<std::vector<float>*>(memoryAddressJ);
+    }
+    vect->insert(vect->end(), data, data + numElementsJ);
+
+    return (jlong) vect;
+}
+
+jlong knn_jni::commons::storeByteVectorDataFromBuffer(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong memoryAddressJ,
+                                                      jobject bufferJ, jlong numElementsJ, jlong initialCapacityJ) {
+    if (numElementsJ < 0) {
+        throw std::runtime_error("Number of elements cannot be less than 0");
+    }
+    auto *data = reinterpret_cast<uint8_t *>(jniUtil->GetDirectBufferAddress(env, bufferJ));
+
+    std::vector<uint8_t> *vect;
+    if ((long) memoryAddressJ == 0) {
+        vect = new std::vector<uint8_t>();
+        vect->reserve((long)initialCapacityJ);
+    } else {
+        vect = reinterpret_cast<std::vector<uint8_t>*>(memoryAddressJ);
+    }
+    vect->insert(vect->end(), data, data + numElementsJ);
+
+    return (jlong) vect;
+}
+
 void knn_jni::commons::freeVectorData(jlong memoryAddressJ) {
     if (memoryAddressJ != 0) {
         auto *vect = reinterpret_cast<std::vector<float>*>(memoryAddressJ);
@@ -72,4 +110,18 @@ int knn_jni::commons::getIntegerMethodParameter(JNIEnv * env, knn_jni::JNIUtilIn
 
     return defaultValue;
 }
+
+std::vector<int64_t> knn_jni::commons::getSearchParameters(JNIEnv * env, knn_jni::JNIUtilInterface * jniUtil, jintArray searchParamsJ) {
+    if (searchParamsJ == nullptr) {
+        return {};
+    }
+    return jniUtil->ConvertJavaIntArrayToCppIntVector(env, searchParamsJ);
+}
+
+int knn_jni::commons::getSearchParameter(const std::vector<int64_t> & searchParams, int position, int defaultValue) {
+    if (position < 0 || (size_t) position >= searchParams.size() || searchParams[position] == SEARCH_PARAMETER_UNSET) {
+        return defaultValue;
+    }
+    return (int) searchParams[position];
+}
 #endif //OPENSEARCH_KNN_COMMONS_H
@@ -55,6 +55,27 @@ void SetExtraParameters(knn_jni::JNIUtilInterface * jniUtil, JNIEnv *env,
     }
 }
 
+template<typename INDEX>
+INDEX * RemapIds(INDEX * index, const std::vector<int64_t>& docIdMap) {
+    if (index == nullptr) {
+        throw std::runtime_error("Index to merge into does not have an id map");
+    }
+    for (auto & id : index->id_map) {
+        if (id < 0 || id >= (faiss::idx_t) docIdMap.size() || docIdMap[id] < 0) {
+            throw std::runtime_error("Id " + std::to_string(id) + " of the index to merge into cannot be remapped");
+        }
+        id = docIdMap[id];
+    }
+    return index;
+}
+
+int GetWriteIOFlags(const std::unordered_map<std::string, jobject>& parameters) {
+    if (parameters.find(knn_jni::GRAPH_ONLY_STORAGE) != parameters.end()) {
+        return faiss::IO_FLAG_SKIP_STORAGE;
+    }
+    return 0;
+}
+
 IndexService::IndexService(std::unique_ptr<FaissMethods> faissMethods) : faissMethods(std::move(faissMethods)) {}
 
 void IndexService::createIndex(
@@ -67,7 +88,7 @@ void IndexService::createIndex(
         int threadCount,
         int64_t vectorsAddress,
         std::vector<int64_t> ids,
-        std::string indexPath,
+        faiss::IOWriter* writer,
         std::unordered_map<std::string, jobject> parameters
     ) {
     // Read vectors from memory address
@@ -102,8 +123,82 @@ void IndexService::createIndex(
     std::unique_ptr<faiss::IndexIDMap> idMap(faissMethods->indexIdMap(indexWriter.get()));
     idMap->add_with_ids(numVectors, inputVectors->data(), ids.data());
 
-    // Write the index to disk
-    faissMethods->writeIndex(idMap.get(), indexPath.c_str());
+    // Write the index
+    faissMethods->writeIndex(idMap.get(), writer, GetWriteIOFlags(parameters));
+}
+
+jlong IndexService::initIndex(
+        knn_jni::JNIUtilInterface * jniUtil,
+        JNIEnv * env,
+        faiss::MetricType metric,
+        std::string indexDescription,
+        int dim,
+        int threadCount,
+        std::unordered_map<std::string, jobject> parameters
+    ) {
+    std::unique_ptr<faiss::Index> indexWriter(faissMethods->indexFactory(dim, indexDescription.c_str(), metric));
+
+    // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
+    if(threadCount != 0) {
+        omp_set_num_threads(threadCount);
+    }
+
+    // Add extra parameters that cant be configured with the index factory
+    SetExtraParameters<faiss::Index, faiss::IndexIVF, faiss::IndexHNSW>(jniUtil, env, parameters, indexWriter.get());
+
+    // Check that the index does not need to be trained
+    if(!indexWriter->is_trained) {
+        throw std::runtime_error("Index is not trained");
+    }
+
+    std::unique_ptr<faiss::IndexIDMap> idMap(faissMethods->indexIdMap(indexWriter.get()));
+    // The id map outlives this call, so it takes the ownership of the underlying index
+    idMap->own_fields = true;
+    indexWriter.release();
+    return reinterpret_cast<jlong>(idMap.release());
+}
+
+void IndexService::insertToIndex(
+        int dim,
+        int numIds,
+        int threadCount,
+        int64_t vectorsAddress,
+        std::vector<int64_t> & ids,
+        jlong idMapAddress
+    ) {
+    // Read vectors from memory address
+    auto *inputVectors = reinterpret_cast<std::vector<float>*>(vectorsAddress);
+
+    // The number of vectors can be int here because a lucene segment number of total docs never crosses INT_MAX value
+    int numVectors = (int) (inputVectors->size() / (uint64_t) dim);
+    if(numVectors == 0) {
+        throw std::runtime_error("Number of vectors cannot be 0");
+    }
+
+    if (numIds != numVectors) {
+        throw std::runtime_error("Number of IDs does not match number of vectors");
+    }
+
+    // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
+    if(threadCount != 0) {
+        omp_set_num_threads(threadCount);
+    }
+
+    auto *idMap = reinterpret_cast<faiss::IndexIDMap *>(idMapAddress);
+    idMap->add_with_ids(numVectors, inputVectors->data(), ids.data());
+}
+
+void IndexService::writeIndex(faiss::IOWriter* writer, jlong idMapAddress, int ioFlags) {
+    // The index is released once written
+    std::unique_ptr<faiss::IndexIDMap> idMap(reinterpret_cast<faiss::IndexIDMap *>(idMapAddress));
+    faissMethods->writeIndex(idMap.get(), writer, ioFlags);
+}
+
+jlong IndexService::loadIndexForMerge(std::string indexPath, std::vector<int64_t> & docIdMap) {
+    std::unique_ptr<faiss::Index> index(faissMethods->readIndex(indexPath.c_str()));
+    auto *idMap = RemapIds(dynamic_cast<faiss::IndexIDMap *>(index.get()), docIdMap);
+    index.release();
+    return reinterpret_cast<jlong>(idMap);
 }
 
 BinaryIndexService::BinaryIndexService(std::unique_ptr<FaissMethods> faissMethods) : IndexService(std::move(faissMethods)) {}
@@ -118,7 +213,7 @@ void BinaryIndexService::createIndex(
         int threadCount,
         int64_t vectorsAddress,
         std::vector<int64_t> ids,
-        std::string indexPath,
+        faiss::IOWriter* writer,
         std::unordered_map<std::string, jobject> parameters
     ) {
     // Read vectors from memory address
@@ -156,8 +251,89 @@ void BinaryIndexService::createIndex(
     std::unique_ptr<faiss::IndexBinaryIDMap> idMap(faissMethods->indexBinaryIdMap(indexWriter.get()));
     idMap->add_with_ids(numVectors, inputVectors->data(), ids.data());
 
-    // Write the index to disk
-    faissMethods->writeIndexBinary(idMap.get(), indexPath.c_str());
+    // Write the index
+    faissMethods->writeIndexBinary(idMap.get(), writer);
+}
+
+jlong BinaryIndexService::initIndex(
+        knn_jni::JNIUtilInterface * jniUtil,
+        JNIEnv * env,
+        faiss::MetricType metric,
+        std::string indexDescription,
+        int dim,
+        int threadCount,
+        std::unordered_map<std::string, jobject> parameters
+    ) {
+    if (dim % 8 != 0) {
+        throw std::runtime_error("Dimensions should be multiply of 8");
+    }
+
+    std::unique_ptr<faiss::IndexBinary> indexWriter(faissMethods->indexBinaryFactory(dim, indexDescription.c_str()));
+
+    // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
+    if(threadCount != 0) {
+        omp_set_num_threads(threadCount);
+    }
+
+    // Add extra parameters that cant be configured with the index factory
+    SetExtraParameters<faiss::IndexBinary, faiss::IndexBinaryIVF, faiss::IndexBinaryHNSW>(jniUtil, env, parameters, indexWriter.get());
+
+    // Check that the index does not need to be trained
+    if(!indexWriter->is_trained) {
+        throw std::runtime_error("Index is not trained");
+    }
+
+    std::unique_ptr<faiss::IndexBinaryIDMap> idMap(faissMethods->indexBinaryIdMap(indexWriter.get()));
+    // The id map outlives this call, so it takes the ownership of the underlying index
+    idMap->own_fields = true;
+    indexWriter.release();
+    return reinterpret_cast<jlong>(idMap.release());
+}
+
+void BinaryIndexService::insertToIndex(
+        int dim,
+        int numIds,
+        int threadCount,
+        int64_t vectorsAddress,
+        std::vector<int64_t> & ids,
+        jlong idMapAddress
+    ) {
+    // Read vectors from memory address
+    auto *inputVectors = reinterpret_cast<std::vector<uint8_t>*>(vectorsAddress);
+
+    if (dim % 8 != 0) {
+        throw std::runtime_error("Dimensions should be multiply of 8");
+    }
+    // The number of vectors can be int here because a lucene segment number of total docs never crosses INT_MAX value
+    int numVectors = (int) (inputVectors->size() / (uint64_t) (dim / 8));
+    if(numVectors == 0) {
+        throw std::runtime_error("Number of vectors cannot be 0");
+    }
+
+    if (numIds != numVectors) {
+        throw std::runtime_error("Number of IDs does not match number of vectors");
+    }
+
+    // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
+    if(threadCount != 0) {
+        omp_set_num_threads(threadCount);
+    }
+
+    auto *idMap = reinterpret_cast<faiss::IndexBinaryIDMap *>(idMapAddress);
+    idMap->add_with_ids(numVectors, inputVectors->data(), ids.data());
+}
+
+void BinaryIndexService::writeIndex(faiss::IOWriter* writer, jlong idMapAddress, int ioFlags) {
+    // The index is released once written
+    std::unique_ptr<faiss::IndexBinaryIDMap> idMap(reinterpret_cast<faiss::IndexBinaryIDMap *>(idMapAddress));
+    faissMethods->writeIndexBinary(idMap.get(), writer);
+}
+
+jlong BinaryIndexService::loadIndexForMerge(std::string indexPath, std::vector<int64_t> & docIdMap) {
+    std::unique_ptr<faiss::IndexBinary> index(faissMethods->readIndexBinary(indexPath.c_str()));
+    auto *idMap = RemapIds(dynamic_cast<faiss::IndexBinaryIDMap *>(index.get()), docIdMap);
+    index.release();
+    return reinterpret_cast<jlong>(idMap);
 }
 
 } // namespace faiss_wrapper
@@ -29,11 +29,19 @@ faiss::IndexIDMapTemplate<faiss::IndexBinary>* FaissMethods::indexBinaryIdMap(fa
     return new faiss::IndexBinaryIDMap(index);
 }
 
-void FaissMethods::writeIndex(const faiss::Index* idx, const char* fname) {
-    faiss::write_index(idx, fname);
+void FaissMethods::writeIndex(const faiss::Index* idx, faiss::IOWriter* writer, int ioFlags) {
+    faiss::write_index(idx, writer, ioFlags);
 }
-void FaissMethods::writeIndexBinary(const faiss::IndexBinary* idx, const char* fname) {
-    faiss::write_index_binary(idx, fname);
+void FaissMethods::writeIndexBinary(const faiss::IndexBinary* idx, faiss::IOWriter* writer) {
+    faiss::write_index_binary(idx, writer);
+}
+
+faiss::Index* FaissMethods::readIndex(const char* fname) {
+    return faiss::read_index(fname);
+}
+
+faiss::IndexBinary* FaissMethods::readIndexBinary(const char* fname) {
+    return faiss::read_index_binary(fname);
 }
 
 } // namespace faiss_wrapper
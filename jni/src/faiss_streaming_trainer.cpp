@@ -0,0 +1,202 @@
+// SPDX-License-Identifier: Apache-2.0
+//
+// The OpenSearch Contributors require contributions made to
+// this file be licensed under the Apache-2.0 license or a
+// compatible open source license.
+//
+// Modifications Copyright OpenSearch Contributors. See
+// GitHub history for details.
+
+#include "faiss_streaming_trainer.h"
+
+#include "faiss/Clustering.h"
+#include "faiss/IndexFlat.h"
+#include "faiss/IndexIVFFlat.h"
+#include "faiss/utils/distances.h"
+
+#include <algorithm>
+#include <stdexcept>
+#include <typeinfo>
+
+namespace {
+
+// Assigns each of the n vectors of x to its nearest centroid out of k
+void Assign(const float * centroids, faiss::idx_t k, int d, faiss::MetricType metric, faiss::idx_t n, const float * x,
+            faiss::idx_t * labels) {
+    faiss::IndexFlat assignIndex(d, metric);
+    assignIndex.add(k, centroids);
+    std::vector<float> distances(n);
+    assignIndex.search(n, x, 1, distances.data(), labels);
+}
+
+// Moves the centroid each of the n vectors of x is assigned to towards the vector, by 1 / number of vectors assigned
+// to the centroid so far
+void MoveCentroids(float * centroids, int64_t * counts, int d, faiss::idx_t n, const float * x,
+                   const faiss::idx_t * labels) {
+    for (faiss::idx_t i = 0; i < n; i++) {
+        if (labels[i] < 0) {
+            continue;
+        }
+        float * centroid = centroids + labels[i] * d;
+        const float * vector = x + i * d;
+        const float learningRate = 1.0f / (float) ++counts[labels[i]];
+        for (int j = 0; j < d; j++) {
+            centroid[j] += learningRate * (vector[j] - centroid[j]);
+        }
+    }
+}
+
+void CountAssignments(int64_t * counts, faiss::idx_t n, const faiss::idx_t * labels) {
+    for (faiss::idx_t i = 0; i < n; i++) {
+        if (labels[i] >= 0) {
+            counts[labels[i]]++;
+        }
+    }
+}
+
+// Copies the columns [offset, offset + subDimension) of the n vectors of x
+void ExtractSubVectors(faiss::idx_t n, const float * x, int d, int offset, int subDimension, float * subVectors) {
+    for (faiss::idx_t i = 0; i < n; i++) {
+        std::copy(x + i * d + offset, x + i * d + offset + subDimension, subVectors + i * subDimension);
+    }
+}
+
+}
+
+knn_jni::faiss_wrapper::StreamingTrainer::StreamingTrainer(faiss::Index * index)
+        : index(index), ivf(nullptr), ivfPq(nullptr), seedSize(0), seeded(false), numVectorsAdded(0) {
+    ivf = dynamic_cast<faiss::IndexIVF *>(index);
+    if (ivf == nullptr) {
+        throw std::runtime_error("Streaming training is only supported for IVF indices");
+    }
+    if (ivf->quantizer_trains_alone != 0 || dynamic_cast<faiss::IndexFlat *>(ivf->quantizer) == nullptr) {
+        throw std::runtime_error("Streaming training is only supported for IVF indices with a flat coarse quantizer");
+    }
+
+    faiss::idx_t numCentroids = ivf->nlist;
+    if (typeid(*index) == typeid(faiss::IndexIVFPQ)) {
+        ivfPq = static_cast<faiss::IndexIVFPQ *>(index);
+        numCentroids = std::max(numCentroids, (faiss::idx_t) ivfPq->pq.ksub);
+        codewordCounts.resize(ivfPq->pq.M * ivfPq->pq.ksub, 0);
+    } else if (typeid(*index) != typeid(faiss::IndexIVFFlat)) {
+        throw std::runtime_error("Streaming training is only supported for IVF indices with a flat or PQ encoder");
+    }
+    seedSize = SEED_POINTS_PER_CENTROID * numCentroids;
+    counts.resize(ivf->nlist, 0);
+}
+
+void knn_jni::faiss_wrapper::StreamingTrainer::AddBatch(faiss::idx_t n, const float * x) {
+    const int d = ivf->d;
+    numVectorsAdded += n;
+    if (!seeded) {
+        const faiss::idx_t numPending = pending.size() / d;
+        const faiss::idx_t toBuffer = std::min(n, seedSize - numPending);
+        pending.insert(pending.end(), x, x + toBuffer * d);
+        x += toBuffer * d;
+        n -= toBuffer;
+        if (numPending + toBuffer < seedSize) {
+            return;
+        }
+
+        Seed(seedSize, pending.data());
+        seeded = true;
+        std::vector<float>().swap(pending);
+    }
+
+    if (n > 0) {
+        Update(n, x);
+    }
+}
+
+std::unique_ptr<faiss::Index> knn_jni::faiss_wrapper::StreamingTrainer::Finish() {
+    if (!seeded) {
+        // Too few vectors to seed the mini-batches: train on all of them at once, like a regular training
+        index->train(pending.size() / ivf->d, pending.data());
+        std::vector<float>().swap(pending);
+    } else {
+        ivf->quantizer->reset();
+        ivf->quantizer->add(ivf->nlist, centroids.data());
+        ivf->quantizer->is_trained = true;
+        if (ivfPq != nullptr && ivfPq->by_residual) {
+            ivfPq->precompute_table();
+        }
+        index->is_trained = true;
+    }
+    ivf->make_direct_map();
+    return std::move(index);
+}
+
+void knn_jni::faiss_wrapper::StreamingTrainer::Seed(faiss::idx_t n, const float * x) {
+    const int d = ivf->d;
+    const faiss::MetricType metric = ivf->quantizer->metric_type;
+
+    // The seed is smaller than what regular training asks for, which is fine since the mini-batches refine it
+    faiss::ClusteringParameters clusteringParameters = ivf->cp;
+    clusteringParameters.min_points_per_centroid = 1;
+    faiss::Clustering clustering(d, ivf->nlist, clusteringParameters);
+    faiss::IndexFlat clusteringIndex(d, metric);
+    clustering.train(n, x, clusteringIndex);
+    centroids = clustering.centroids;
+
+    std::vector<faiss::idx_t> labels(n);
+    Assign(centroids.data(), ivf->nlist, d, metric, n, x, labels.data());
+    CountAssignments(counts.data(), n, labels.data());
+
+    if (ivfPq == nullptr) {
+        return;
+    }
+
+    faiss::ProductQuantizer & pq = ivfPq->pq;
+    std::vector<float> residuals(n * d);
+    ComputeResiduals(n, x, labels.data(), residuals.data());
+    pq.cp.min_points_per_centroid = 1;
+    pq.train(n, residuals.data());
+
+    std::vector<float> subVectors(n * pq.dsub);
+    for (size_t m = 0; m < pq.M; m++) {
+        ExtractSubVectors(n, residuals.data(), d, m * pq.dsub, pq.dsub, subVectors.data());
+        Assign(pq.get_centroids(m, 0), pq.ksub, pq.dsub, faiss::METRIC_L2, n, subVectors.data(), labels.data());
+        CountAssignments(codewordCounts.data() + m * pq.ksub, n, labels.data());
+    }
+}
+
+void knn_jni::faiss_wrapper::StreamingTrainer::Update(faiss::idx_t n, const float * x) {
+    const int d = ivf->d;
+    std::vector<faiss::idx_t> labels(n);
+    Assign(centroids.data(), ivf->nlist, d, ivf->quantizer->metric_type, n, x, labels.data());
+    MoveCentroids(centroids.data(), counts.data(), d, n, x, labels.data());
+    if (ivf->cp.spherical) {
+        faiss::fvec_renorm_L2(d, ivf->nlist, centroids.data());
+    }
+
+    if (ivfPq == nullptr) {
+        return;
+    }
+
+    faiss::ProductQuantizer & pq = ivfPq->pq;
+    std::vector<float> residuals(n * d);
+    ComputeResiduals(n, x, labels.data(), residuals.data());
+
+    std::vector<float> subVectors(n * pq.dsub);
+    for (size_t m = 0; m < pq.M; m++) {
+        ExtractSubVectors(n, residuals.data(), d, m * pq.dsub, pq.dsub, subVectors.data());
+        Assign(pq.get_centroids(m, 0), pq.ksub, pq.dsub, faiss::METRIC_L2, n, subVectors.data(), labels.data());
+        MoveCentroids(pq.get_centroids(m, 0), codewordCounts.data() + m * pq.ksub, pq.dsub, n, subVectors.data(),
+                      labels.data());
+    }
+}
+
+void knn_jni::faiss_wrapper::StreamingTrainer::ComputeResiduals(faiss::idx_t n, const float * x,
+                                                              const faiss::idx_t * labels, float * residuals) const {
+    const int d = ivf->d;
+    std::copy(x, x + n * d, residuals);
+    if (!ivfPq->by_residual) {
+        return;
+    }
+    for (faiss::idx_t i = 0; i < n; i++) {
+        const float * centroid = centroids.data() + labels[i] * d;
+        for (int j = 0; j < d; j++) {
+            residuals[i * d + j] -= centroid[j];
+        }
+    }
+}
@@ -13,23 +13,34 @@
 #include "faiss_wrapper.h"
 #include "faiss_util.h"
 #include "faiss_index_service.h"
+#include "faiss_streaming_trainer.h"
 
 #include "faiss/impl/io.h"
+#include "faiss/impl/FaissException.h"
+#include "faiss/clone_index.h"
 #include "faiss/index_factory.h"
 #include "faiss/index_io.h"
 #include "faiss/IndexHNSW.h"
+#include "faiss/IndexFlat.h"
 #include "faiss/IndexIVFFlat.h"
+#include "faiss/IndexIDMap.h"
 #include "faiss/MetaIndexes.h"
 #include "faiss/Index.h"
 #include "faiss/impl/IDSelector.h"
+#include "faiss/impl/DistanceComputer.h"
+#include "faiss/impl/ResultHandler.h"
 #include "faiss/IndexIVFPQ.h"
 #include "commons.h"
 #include "faiss/IndexBinaryIVF.h"
 #include "faiss/IndexBinaryHNSW.h"
 
 #include <algorithm>
+#include <atomic>
+#include <cstring>
+#include <functional>
 #include <jni.h>
 #include <string>
+#include <unordered_map>
 #include <vector>
 
 // Defines type of IDSelector
@@ -59,10 +70,49 @@ struct IDSelectorJlongBitmap : IDSelector {
     }
     ~IDSelectorJlongBitmap() override {}
 };
+
+// Counts the ids checked by a search and the ones rejected by the selector it wraps, that accepts every id when null.
+// IVF searches granted more than one thread check ids from several OpenMP threads at once, hence the atomic counters.
+struct IDSelectorCounting : IDSelector {
+    const IDSelector* delegate;
+    mutable std::atomic<int64_t> visited{0};
+    mutable std::atomic<int64_t> rejected{0};
+
+    explicit IDSelectorCounting(const IDSelector* delegate) : delegate(delegate) {};
+    bool is_member(idx_t id) const final {
+        visited.fetch_add(1, std::memory_order_relaxed);
+        if (delegate == nullptr || delegate->is_member(id)) {
+            return true;
+        }
+        rejected.fetch_add(1, std::memory_order_relaxed);
+        return false;
+    }
+    ~IDSelectorCounting() override {}
+};
 }
+
+// Statistics of the last query of each search thread, see GetQueryStats
+thread_local int64_t lastQueryStats[knn_jni::faiss_wrapper::QUERY_STATS_SIZE];
 // Translate space type to faiss metric
 faiss::MetricType TranslateSpaceToMetric(const std::string& spaceType);
 
+// Create the untrained index defined by the values in the Java map, parametersJ
+faiss::Index * BuildIndexToTrain(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ, jint dimensionJ);
+
+// Serialize a trained index into a Java byte array
+jbyteArray SerializeTrainedIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, faiss::Index * index);
+
+// Add the vectors at vectorsAddressJ, with the ids idsJ, to a new index created from a template and write it
+void AddToTemplateAndWrite(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ,
+                           jint dimJ, faiss::IOWriter * writer, jobject parametersJ,
+                           const std::function<faiss::Index * ()>& newTemplateIndex);
+
+// Deserialize the template index in the Java byte array templateIndexJ
+faiss::Index * ReadTemplateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jbyteArray templateIndexJ);
+
+// Copy a deserialized template index, to add vectors to
+faiss::Index * CloneTemplateIndex(const faiss::Index * templateIndex);
+
 // Set additional parameters on faiss index
 void SetExtraParameters(knn_jni::JNIUtilInterface * jniUtil, JNIEnv *env,
                         const std::unordered_map<std::string, jobject>& parametersCpp, faiss::Index * index);
@@ -81,6 +131,29 @@ void buildFilterIdsBitMap(const int* filterIds, int filterIdsLength, uint8_t* bi
 
 std::unique_ptr<faiss::IDGrouperBitmap> buildIDGrouperBitmap(knn_jni::JNIUtilInterface * jniUtil, JNIEnv *env, jintArray parentIdsJ, std::vector<uint64_t>* bitmap);
 
+// Search the k nearest neighbors of a float query vector, with the filter and parent ids of the query if any
+void SearchWithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, faiss::IndexIDMap * indexReader, const float * query,
+                      jint kJ, const std::vector<int64_t>& searchParams, jlongArray filterIdsJ, jint filterIdsTypeJ,
+                      jintArray parentIdsJ, float * dis, faiss::idx_t * ids);
+
+// Search like IndexIDMap::search does, and store the statistics of the search as the ones of the last query of the
+// calling thread. faiss only sums the statistics of its searches into process wide counters, that the concurrent
+// searches share, so the wrapped index is searched through the calls that return the statistics of their own search.
+void SearchWithStats(const faiss::IndexIDMap * indexReader, const float * query, faiss::idx_t k, float * dis,
+                     faiss::idx_t * ids, const faiss::SearchParameters * searchParameters,
+                     const faiss::IDSelectorCounting& selector);
+
+// Search the HNSW graph of an index for a single query, like IndexHNSW::search does, and return the statistics of the search
+template <typename BlockResultHandler>
+faiss::HNSWStats SearchHNSW(const faiss::IndexHNSW * index, const float * query, BlockResultHandler& results,
+                            const faiss::SearchParametersHNSW& params);
+
+// Number of results of a search, that are padded with -1 when there are less than k of them
+int GetResultSize(const std::vector<faiss::idx_t>& ids);
+
+// Set the number of OpenMP threads of the calling thread for the search of a query
+void SetSearchThreads(const faiss::IndexIDMap * indexReader, const std::vector<int64_t>& searchParams);
+
 // Check if a loaded index is an IVFPQ index with l2 space type
 bool isIndexIVFPQL2(faiss::Index * index);
 
@@ -89,7 +162,7 @@ bool isIndexIVFPQL2(faiss::Index * index);
 faiss::IndexIVFPQ * extractIVFPQIndex(faiss::Index * index);
 
 void knn_jni::faiss_wrapper::CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ, jint dimJ,
-                                         jstring indexPathJ, jobject parametersJ, IndexService* indexService) {
+                                         faiss::IOWriter * writer, jobject parametersJ, IndexService* indexService) {
     if (idsJ == nullptr) {
         throw std::runtime_error("IDs cannot be null");
     }
@@ -102,8 +175,8 @@ void knn_jni::faiss_wrapper::CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JN
         throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
     }
 
-    if (indexPathJ == nullptr) {
-        throw std::runtime_error("Index path cannot be null");
+    if (writer == nullptr) {
+        throw std::runtime_error("Index writer cannot be null");
     }
 
     if (parametersJ == nullptr) {
@@ -144,9 +217,6 @@ void knn_jni::faiss_wrapper::CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JN
     // Ids
     auto ids = jniUtil->ConvertJavaIntArrayToCppIntVector(env, idsJ);
 
-    // Index path
-    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
-
     // Extra parameters
     // TODO: parse the entire map and remove jni object
     std::unordered_map<std::string, jobject> subParametersCpp;
@@ -156,12 +226,52 @@ void knn_jni::faiss_wrapper::CreateIndex(knn_jni::JNIUtilInterface * jniUtil, JN
     // end parameters to pass
 
     // Create index
-    indexService->createIndex(jniUtil, env, metric, indexDescriptionCpp, dim, numIds, threadCount, vectorsAddress, ids, indexPathCpp, subParametersCpp);
+    indexService->createIndex(jniUtil, env, metric, indexDescriptionCpp, dim, numIds, threadCount, vectorsAddress, ids, writer, subParametersCpp);
 }
 
-void knn_jni::faiss_wrapper::CreateIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
-                                                     jlong vectorsAddressJ, jint dimJ, jstring indexPathJ,
-                                                     jbyteArray templateIndexJ, jobject parametersJ) {
+jlong knn_jni::faiss_wrapper::InitIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jint dimJ, jobject parametersJ,
+                                        IndexService* indexService) {
+    if(dimJ <= 0) {
+        throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
+    }
+
+    if (parametersJ == nullptr) {
+        throw std::runtime_error("Parameters cannot be null");
+    }
+
+    // parametersJ is a Java Map<String, Object>. ConvertJavaMapToCppMap converts it to a c++ map<string, jobject>
+    // so that it is easier to access.
+    auto parametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersJ);
+
+    // Metric type
+    jobject spaceTypeJ = knn_jni::GetJObjectFromMapOrThrow(parametersCpp, knn_jni::SPACE_TYPE);
+    std::string spaceTypeCpp(jniUtil->ConvertJavaObjectToCppString(env, spaceTypeJ));
+    faiss::MetricType metric = TranslateSpaceToMetric(spaceTypeCpp);
+    jniUtil->DeleteLocalRef(env, spaceTypeJ);
+
+    // Index description
+    jobject indexDescriptionJ = knn_jni::GetJObjectFromMapOrThrow(parametersCpp, knn_jni::INDEX_DESCRIPTION);
+    std::string indexDescriptionCpp(jniUtil->ConvertJavaObjectToCppString(env, indexDescriptionJ));
+    jniUtil->DeleteLocalRef(env, indexDescriptionJ);
+
+    // Thread count
+    int threadCount = 0;
+    if(parametersCpp.find(knn_jni::INDEX_THREAD_QUANTITY) != parametersCpp.end()) {
+        threadCount = jniUtil->ConvertJavaObjectToCppInteger(env, parametersCpp[knn_jni::INDEX_THREAD_QUANTITY]);
+    }
+
+    // Extra parameters
+    std::unordered_map<std::string, jobject> subParametersCpp;
+    if(parametersCpp.find(knn_jni::PARAMETERS) != parametersCpp.end()) {
+        subParametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersCpp[knn_jni::PARAMETERS]);
+    }
+
+    return indexService->initIndex(jniUtil, env, metric, indexDescriptionCpp, (int) dimJ, threadCount, subParametersCpp);
+}
+
+void knn_jni::faiss_wrapper::InsertToIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
+                                           jlong vectorsAddressJ, jint dimJ, jlong indexAddressJ, jint threadCountJ,
+                                           IndexService* indexService) {
     if (idsJ == nullptr) {
         throw std::runtime_error("IDs cannot be null");
     }
@@ -174,60 +284,88 @@ void knn_jni::faiss_wrapper::CreateIndexFromTemplate(knn_jni::JNIUtilInterface *
         throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
     }
 
+    if (indexAddressJ <= 0) {
+        throw std::runtime_error("IndexAddress cannot be less than 0");
+    }
+
+    int numIds = jniUtil->GetJavaIntArrayLength(env, idsJ);
+    auto ids = jniUtil->ConvertJavaIntArrayToCppIntVector(env, idsJ);
+
+    indexService->insertToIndex((int) dimJ, numIds, (int) threadCountJ, (int64_t) vectorsAddressJ, ids, indexAddressJ);
+}
+
+void knn_jni::faiss_wrapper::WriteIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, faiss::IOWriter * writer,
+                                        jlong indexAddressJ, jobject parametersJ, IndexService* indexService) {
+    if (writer == nullptr) {
+        throw std::runtime_error("Index writer cannot be null");
+    }
+
+    if (indexAddressJ <= 0) {
+        throw std::runtime_error("IndexAddress cannot be less than 0");
+    }
+
+    int ioFlags = 0;
+    if (parametersJ != nullptr) {
+        auto parametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersJ);
+        if(parametersCpp.find(knn_jni::PARAMETERS) != parametersCpp.end()) {
+            auto subParametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersCpp[knn_jni::PARAMETERS]);
+            ioFlags = GetWriteIOFlags(subParametersCpp);
+        }
+    }
+
+    indexService->writeIndex(writer, indexAddressJ, ioFlags);
+}
+
+jlong knn_jni::faiss_wrapper::LoadIndexForMerge(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ,
+                                                jintArray docIdMapJ, IndexService* indexService) {
     if (indexPathJ == nullptr) {
         throw std::runtime_error("Index path cannot be null");
     }
 
+    if (docIdMapJ == nullptr) {
+        throw std::runtime_error("Doc id map cannot be null");
+    }
+
+    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
+    auto docIdMap = jniUtil->ConvertJavaIntArrayToCppIntVector(env, docIdMapJ);
+    return indexService->loadIndexForMerge(indexPathCpp, docIdMap);
+}
+
+void knn_jni::faiss_wrapper::CreateIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
+                                                     jlong vectorsAddressJ, jint dimJ, faiss::IOWriter * writer,
+                                                     jbyteArray templateIndexJ, jobject parametersJ) {
     if (templateIndexJ == nullptr) {
         throw std::runtime_error("Template index cannot be null");
     }
 
-    // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
-    auto parametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersJ);
-    if(parametersCpp.find(knn_jni::INDEX_THREAD_QUANTITY) != parametersCpp.end()) {
-        auto threadCount = jniUtil->ConvertJavaObjectToCppInteger(env, parametersCpp[knn_jni::INDEX_THREAD_QUANTITY]);
-        omp_set_num_threads(threadCount);
-    }
-    jniUtil->DeleteLocalRef(env, parametersJ);
+    AddToTemplateAndWrite(jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer, parametersJ, [&]() {
+        return ReadTemplateIndex(jniUtil, env, templateIndexJ);
+    });
+}
 
-    // Read data set
-    // Read vectors from memory address
-    auto *inputVectors = reinterpret_cast<std::vector<float>*>(vectorsAddressJ);
-    int dim = (int)dimJ;
-    int numVectors = (int) (inputVectors->size() / (uint64_t) dim);
-    int numIds = jniUtil->GetJavaIntArrayLength(env, idsJ);
-    if (numIds != numVectors) {
-        throw std::runtime_error("Number of IDs does not match number of vectors");
+jlong knn_jni::faiss_wrapper::LoadTemplateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jbyteArray templateIndexJ) {
+    if (templateIndexJ == nullptr) {
+        throw std::runtime_error("Template index cannot be null");
     }
 
-    // Get vector of bytes from jbytearray
-    int indexBytesCount = jniUtil->GetJavaBytesArrayLength(env, templateIndexJ);
-    jbyte * indexBytesJ = jniUtil->GetByteArrayElements(env, templateIndexJ, nullptr);
+    return (jlong) ReadTemplateIndex(jniUtil, env, templateIndexJ);
+}
 
-    faiss::VectorIOReader vectorIoReader;
-    for (int i = 0; i < indexBytesCount; i++) {
-        vectorIoReader.data.push_back((uint8_t) indexBytesJ[i]);
+void knn_jni::faiss_wrapper::CreateIndexFromTemplateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
+                                                          jlong vectorsAddressJ, jint dimJ, faiss::IOWriter * writer,
+                                                          jlong templateIndexPointerJ, jobject parametersJ) {
+    auto *templateIndex = reinterpret_cast<faiss::Index*>(templateIndexPointerJ);
+    if (templateIndex == nullptr) {
+        throw std::runtime_error("Invalid pointer to template index");
     }
-    jniUtil->ReleaseByteArrayElements(env, templateIndexJ, indexBytesJ, JNI_ABORT);
 
-    // Create faiss index
-    std::unique_ptr<faiss::Index> indexWriter;
-    indexWriter.reset(faiss::read_index(&vectorIoReader, 0));
-
-    auto idVector = jniUtil->ConvertJavaIntArrayToCppIntVector(env, idsJ);
-    faiss::IndexIDMap idMap =  faiss::IndexIDMap(indexWriter.get());
-    idMap.add_with_ids(numVectors, inputVectors->data(), idVector.data());
-    // Releasing the vectorsAddressJ memory as that is not required once we have created the index.
-    // This is not the ideal approach, please refer this gh issue for long term solution:
-    // https://github.com/opensearch-project/k-NN/issues/1600
-    delete inputVectors;
-    // Write the index to disk
-    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
-    faiss::write_index(&idMap, indexPathCpp.c_str());
+    AddToTemplateAndWrite(jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer, parametersJ, [&]() {
+        return CloneTemplateIndex(templateIndex);
+    });
 }
 
 void knn_jni::faiss_wrapper::CreateBinaryIndexFromTemplate(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ,
-                                                     jlong vectorsAddressJ, jint dimJ, jstring indexPathJ,
+                                                     jlong vectorsAddressJ, jint dimJ, faiss::IOWriter * writer,
                                                      jbyteArray templateIndexJ, jobject parametersJ) {
     if (idsJ == nullptr) {
         throw std::runtime_error("IDs cannot be null");
@@ -241,8 +379,8 @@ void knn_jni::faiss_wrapper::CreateBinaryIndexFromTemplate(knn_jni::JNIUtilInter
         throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
     }
 
-    if (indexPathJ == nullptr) {
-        throw std::runtime_error("Index path cannot be null");
+    if (writer == nullptr) {
+        throw std::runtime_error("Index writer cannot be null");
     }
 
     if (templateIndexJ == nullptr) {
@@ -291,9 +429,8 @@ void knn_jni::faiss_wrapper::CreateBinaryIndexFromTemplate(knn_jni::JNIUtilInter
     // This is not the ideal approach, please refer this gh issue for long term solution:
     // https://github.com/opensearch-project/k-NN/issues/1600
     delete inputVectors;
-    // Write the index to disk
-    std::string indexPathCpp(jniUtil->ConvertJavaStringToCppString(env, indexPathJ));
-    faiss::write_index_binary(&idMap, indexPathCpp.c_str());
+    // Write the index
+    faiss::write_index_binary(&idMap, writer);
 }
 
 jlong knn_jni::faiss_wrapper::LoadIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ) {
@@ -306,9 +443,82 @@ jlong knn_jni::faiss_wrapper::LoadIndex(knn_jni::JNIUtilInterface * jniUtil, JNI
     // Skipping IO_PRECOMPUTE_TABLE because it is only needed for IVFPQ-l2 and it leads to high memory consumption if
     // done for each segment. Instead, we will set it later on with `setSharedIndexState`
     faiss::Index* indexReader = faiss::read_index(indexPathCpp.c_str(), faiss::IO_FLAG_READ_ONLY | faiss::IO_FLAG_PQ_SKIP_SDC_TABLE | faiss::IO_FLAG_SKIP_PRECOMPUTE_TABLE);
+    // A query given several threads splits the probes of the IVF index between them. The mode only applies when the
+    // search runs with more than one OpenMP thread, so single threaded queries are not affected, see SetSearchThreads
+    if (auto * idMap = dynamic_cast<faiss::IndexIDMap *>(indexReader)) {
+        if (auto * ivf = dynamic_cast<faiss::IndexIVF *>(idMap->index)) {
+            ivf->parallel_mode = 1;
+        }
+    }
     return (jlong) indexReader;
 }
 
+bool knn_jni::faiss_wrapper::IsIndexStorageRequired(jlong indexPointerJ) {
+    auto * idMap = dynamic_cast<faiss::IndexIDMap *>(reinterpret_cast<faiss::Index *>(indexPointerJ));
+    auto * indexHnsw = dynamic_cast<faiss::IndexHNSW *>(idMap != nullptr ? idMap->index : nullptr);
+    return indexHnsw != nullptr && indexHnsw->storage == nullptr;
+}
+
+void knn_jni::faiss_wrapper::SetIndexStorage(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                             jlong vectorsAddressJ, jint dimJ, jintArray idsJ) {
+    if (!IsIndexStorageRequired(indexPointerJ)) {
+        throw std::runtime_error("Index does not require a storage");
+    }
+
+    if (vectorsAddressJ <= 0) {
+        throw std::runtime_error("VectorsAddress cannot be less than 0");
+    }
+
+    if (idsJ == nullptr) {
+        throw std::runtime_error("IDs cannot be null");
+    }
+
+    auto * idMap = reinterpret_cast<faiss::IndexIDMap *>(indexPointerJ);
+    auto * indexHnsw = dynamic_cast<faiss::IndexHNSW *>(idMap->index);
+    if ((int) dimJ != indexHnsw->d) {
+        throw std::runtime_error("Dimension of the vectors does not match the dimension of the index");
+    }
+
+    auto * inputVectors = reinterpret_cast<std::vector<float>*>(vectorsAddressJ);
+    auto ids = jniUtil->ConvertJavaIntArrayToCppIntVector(env, idsJ);
+    if (ids.size() != idMap->id_map.size() || inputVectors->size() != ids.size() * (size_t) indexHnsw->d) {
+        throw std::runtime_error("Number of vectors does not match number of vectors of the index");
+    }
+
+    // The storage holds the vectors in the order of the graph, which is the order of the ids in the id map. The
+    // vectors are usually passed in that order already, otherwise they are looked up by id.
+    std::unordered_map<int64_t, size_t> rowsById;
+    if (!std::equal(ids.begin(), ids.end(), idMap->id_map.begin())) {
+        rowsById.reserve(ids.size());
+        for (size_t row = 0; row < ids.size(); ++row) {
+            rowsById[ids[row]] = row;
+        }
+    }
+
+    std::unique_ptr<faiss::IndexFlat> storage(indexHnsw->metric_type == faiss::METRIC_L2
+        ? new faiss::IndexFlatL2(indexHnsw->d)
+        : new faiss::IndexFlat(indexHnsw->d, indexHnsw->metric_type));
+    storage->metric_arg = indexHnsw->metric_arg;
+    storage->codes.resize(ids.size() * storage->code_size);
+    for (size_t i = 0; i < idMap->id_map.size(); ++i) {
+        size_t row = i;
+        if (!rowsById.empty()) {
+            auto rowIt = rowsById.find(idMap->id_map[i]);
+            if (rowIt == rowsById.end()) {
+                throw std::runtime_error("No vector for id " + std::to_string(idMap->id_map[i]) + " of the index");
+            }
+            row = rowIt->second;
+        }
+        std::memcpy(storage->codes.data() + i * storage->code_size,
+                    inputVectors->data() + row * indexHnsw->d,
+                    storage->code_size);
+    }
+    storage->ntotal = (faiss::idx_t) ids.size();
+
+    indexHnsw->storage = storage.release();
+    indexHnsw->own_fields = true;
+}
+
 jlong knn_jni::faiss_wrapper::LoadBinaryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jstring indexPathJ) {
     if (indexPathJ == nullptr) {
         throw std::runtime_error("Index path cannot be null");
@@ -371,12 +581,12 @@ void knn_jni::faiss_wrapper::SetSharedIndexState(jlong indexPointerJ, jlong shar
 }
 
 jobjectArray knn_jni::faiss_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jintArray parentIdsJ) {
-    return knn_jni::faiss_wrapper::QueryIndex_WithFilter(jniUtil, env, indexPointerJ, queryVectorJ, kJ, methodParamsJ, nullptr, 0, parentIdsJ);
+                                                jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ, jintArray parentIdsJ) {
+    return knn_jni::faiss_wrapper::QueryIndex_WithFilter(jniUtil, env, indexPointerJ, queryVectorJ, kJ, searchParamsJ, nullptr, 0, parentIdsJ);
 }
 
 jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+                                                jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
 
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
@@ -388,103 +598,22 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
         throw std::runtime_error("Invalid pointer to index");
     }
 
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
+    std::vector<int64_t> searchParams = knn_jni::commons::getSearchParameters(env, jniUtil, searchParamsJ);
     // The ids vector will hold the top k ids from the search and the dis vector will hold the top k distances from
     // the query point
     std::vector<float> dis(kJ);
     std::vector<faiss::idx_t> ids(kJ);
     float* rawQueryvector = jniUtil->GetFloatArrayElements(env, queryVectorJ, nullptr);
-    /*
-        Setting the omp_set_num_threads to 1 to make sure that no new OMP threads are getting created.
-    */
-    omp_set_num_threads(1);
-    // create the filterSearch params if the filterIdsJ is not a null pointer
-    if(filterIdsJ != nullptr) {
-        jlong *filteredIdsArray = jniUtil->GetLongArrayElements(env, filterIdsJ, nullptr);
-        int filterIdsLength = jniUtil->GetJavaLongArrayLength(env, filterIdsJ);
-        std::unique_ptr<faiss::IDSelector> idSelector;
-        if(filterIdsTypeJ == BITMAP) {
-            idSelector.reset(new faiss::IDSelectorJlongBitmap(filterIdsLength, filteredIdsArray));
-        } else {
-            faiss::idx_t* batchIndices = reinterpret_cast<faiss::idx_t*>(filteredIdsArray);
-            idSelector.reset(new faiss::IDSelectorBatch(filterIdsLength, batchIndices));
-        }
-        faiss::SearchParameters *searchParameters;
-        faiss::SearchParametersHNSW hnswParams;
-        faiss::SearchParametersIVF ivfParams;
-        std::unique_ptr<faiss::IDGrouperBitmap> idGrouper;
-        std::vector<uint64_t> idGrouperBitmap;
-        auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
-        if(hnswReader) {
-            // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
-            hnswParams.sel = idSelector.get();
-            if (parentIdsJ != nullptr) {
-                idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
-                hnswParams.grp = idGrouper.get();
-            }
-            searchParameters = &hnswParams;
-        } else {
-            auto ivfReader = dynamic_cast<const faiss::IndexIVF*>(indexReader->index);
-            auto ivfFlatReader = dynamic_cast<const faiss::IndexIVFFlat*>(indexReader->index);
-            
-            if(ivfReader || ivfFlatReader) {
-                int indexNprobe = ivfReader == nullptr ? ivfFlatReader->nprobe : ivfReader->nprobe;
-                ivfParams.nprobe = commons::getIntegerMethodParameter(env, jniUtil, methodParams, NPROBES, indexNprobe);
-                ivfParams.sel = idSelector.get();
-                searchParameters = &ivfParams;
-            }
-        }
-        try {
-            indexReader->search(1, rawQueryvector, kJ, dis.data(), ids.data(), searchParameters);
-        } catch (...) {
-            jniUtil->ReleaseFloatArrayElements(env, queryVectorJ, rawQueryvector, JNI_ABORT);
-            jniUtil->ReleaseLongArrayElements(env, filterIdsJ, filteredIdsArray, JNI_ABORT);
-            throw;
-        }
-        jniUtil->ReleaseLongArrayElements(env, filterIdsJ, filteredIdsArray, JNI_ABORT);
-    } else {
-        faiss::SearchParameters *searchParameters = nullptr;
-        faiss::SearchParametersHNSW hnswParams;
-        faiss::SearchParametersIVF ivfParams;
-        std::unique_ptr<faiss::IDGrouperBitmap> idGrouper;
-        std::vector<uint64_t> idGrouperBitmap;
-        auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
-        if(hnswReader != nullptr) {
-            // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
-            if (parentIdsJ != nullptr) {
-                idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
-                hnswParams.grp = idGrouper.get();
-            }
-            searchParameters = &hnswParams;
-        } else {
-            auto ivfReader = dynamic_cast<const faiss::IndexIVF*>(indexReader->index);
-            if (ivfReader) {
-                int indexNprobe = ivfReader->nprobe;
-                ivfParams.nprobe = commons::getIntegerMethodParameter(env, jniUtil, methodParams, NPROBES, indexNprobe);
-                searchParameters = &ivfParams;
-            }
-        }
-        try {
-            indexReader->search(1, rawQueryvector, kJ, dis.data(), ids.data(), searchParameters);
-        } catch (...) {
-            jniUtil->ReleaseFloatArrayElements(env, queryVectorJ, rawQueryvector, JNI_ABORT);
-            throw;
-        }
+    try {
+        SearchWithFilter(jniUtil, env, indexReader, rawQueryvector, kJ, searchParams, filterIdsJ, filterIdsTypeJ, parentIdsJ,
+                         dis.data(), ids.data());
+    } catch (...) {
+        jniUtil->ReleaseFloatArrayElements(env, queryVectorJ, rawQueryvector, JNI_ABORT);
+        throw;
     }
     jniUtil->ReleaseFloatArrayElements(env, queryVectorJ, rawQueryvector, JNI_ABORT);
 
-    // If there are not k results, the results will be padded with -1. Find the first -1, and set result size to that
-    // index
-    int resultSize = kJ;
-    auto it = std::find(ids.begin(), ids.end(), -1);
-    if (it != ids.end()) {
-        resultSize = it - ids.begin();
-    }
+    int resultSize = GetResultSize(ids);
 
     jclass resultClass = jniUtil->FindClass(env,"org/opensearch/knn/index/query/KNNQueryResult");
     jmethodID allArgs = jniUtil->FindMethod(env, "org/opensearch/knn/index/query/KNNQueryResult", "<init>");
@@ -499,8 +628,52 @@ jobjectArray knn_jni::faiss_wrapper::QueryIndex_WithFilter(knn_jni::JNIUtilInter
     return results;
 }
 
+jint knn_jni::faiss_wrapper::QueryIndex_WithBuffer(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
+                                                  jobject bufferJ, jint dimJ, jint kJ, jintArray searchParamsJ, jlongArray filterIdsJ,
+                                                  jint filterIdsTypeJ, jintArray parentIdsJ) {
+    if (bufferJ == nullptr) {
+        throw std::runtime_error("Query buffer cannot be null");
+    }
+
+    auto *indexReader = reinterpret_cast<faiss::IndexIDMap *>(indexPointerJ);
+
+    if (indexReader == nullptr) {
+        throw std::runtime_error("Invalid pointer to index");
+    }
+
+    // The buffer holds the query vector, followed by the ids and then the distances of the k results
+    auto *buffer = reinterpret_cast<uint8_t *>(jniUtil->GetDirectBufferAddress(env, bufferJ));
+    auto *query = reinterpret_cast<const float *>(buffer);
+    auto *resultIds = reinterpret_cast<int32_t *>(buffer + sizeof(float) * dimJ);
+    auto *resultDistances = reinterpret_cast<float *>(buffer + sizeof(float) * dimJ + sizeof(int32_t) * kJ);
+
+    std::vector<int64_t> searchParams = knn_jni::commons::getSearchParameters(env, jniUtil, searchParamsJ);
+    std::vector<faiss::idx_t> ids(kJ);
+    SearchWithFilter(jniUtil, env, indexReader, query, kJ, searchParams, filterIdsJ, filterIdsTypeJ, parentIdsJ,
+                     resultDistances, ids.data());
+
+    int resultSize = GetResultSize(ids);
+    for (int i = 0; i < resultSize; ++i) {
+        resultIds[i] = static_cast<int32_t>(ids[i]);
+    }
+    return resultSize;
+}
+
+void knn_jni::faiss_wrapper::GetQueryStats(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlongArray statsJ) {
+    if (statsJ == nullptr) {
+        throw std::runtime_error("Stats cannot be null");
+    }
+
+    int length = std::min(jniUtil->GetJavaLongArrayLength(env, statsJ), knn_jni::faiss_wrapper::QUERY_STATS_SIZE);
+    jlong *stats = jniUtil->GetLongArrayElements(env, statsJ, nullptr);
+    for (int i = 0; i < length; ++i) {
+        stats[i] = lastQueryStats[i];
+    }
+    jniUtil->ReleaseLongArrayElements(env, statsJ, stats, 0);
+}
+
 jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                jbyteArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+                                                jbyteArray queryVectorJ, jint kJ, jintArray searchParamsJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
 
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
@@ -512,10 +685,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         throw std::runtime_error("Invalid pointer to index");
     }
 
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
+    std::vector<int64_t> searchParams = knn_jni::commons::getSearchParameters(env, jniUtil, searchParamsJ);
 
     // The ids vector will hold the top k ids from the search and the dis vector will hold the top k distances from
     // the query point
@@ -537,7 +707,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
             faiss::idx_t* batchIndices = reinterpret_cast<faiss::idx_t*>(filteredIdsArray);
             idSelector.reset(new faiss::IDSelectorBatch(filterIdsLength, batchIndices));
         }
-        faiss::SearchParameters *searchParameters;
+        faiss::SearchParameters *searchParameters = nullptr;
         faiss::SearchParametersHNSW hnswParams;
         faiss::SearchParametersIVF ivfParams;
         std::unique_ptr<faiss::IDGrouperBitmap> idGrouper;
@@ -545,7 +715,7 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         auto hnswReader = dynamic_cast<const faiss::IndexBinaryHNSW*>(indexReader->index);
         if(hnswReader) {
             // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, hnswReader->hnsw.efSearch);
             hnswParams.sel = idSelector.get();
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
@@ -574,10 +744,10 @@ jobjectArray knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(knn_jni::JNIUti
         std::vector<uint64_t> idGrouperBitmap;
         auto hnswReader = dynamic_cast<const faiss::IndexBinaryHNSW*>(indexReader->index);
         // TODO currently, search parameter is not supported in binary index
-        // To avoid test failure, we skip setting ef search when methodPramsJ is null temporary
-        if(hnswReader!= nullptr && (methodParamsJ != nullptr || parentIdsJ != nullptr)) {
+        // To avoid test failure, we skip setting ef search when searchParamsJ is null temporary
+        if(hnswReader!= nullptr && (searchParamsJ != nullptr || parentIdsJ != nullptr)) {
             // Query param efsearch supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, hnswReader->hnsw.efSearch);
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
                 hnswParams.grp = idGrouper.get();
@@ -644,6 +814,63 @@ void knn_jni::faiss_wrapper::InitLibrary() {
 jbyteArray knn_jni::faiss_wrapper::TrainIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ,
                                               jint dimensionJ, jlong trainVectorsPointerJ) {
     // First, we need to build the index
+    std::unique_ptr<faiss::Index> indexWriter(BuildIndexToTrain(jniUtil, env, parametersJ, dimensionJ));
+
+    // Train index if needed
+    auto *trainingVectorsPointerCpp = reinterpret_cast<std::vector<float>*>(trainVectorsPointerJ);
+    int numVectors = trainingVectorsPointerCpp->size()/(int) dimensionJ;
+    if(!indexWriter->is_trained) {
+        InternalTrainIndex(indexWriter.get(), numVectors, trainingVectorsPointerCpp->data());
+    }
+    jniUtil->DeleteLocalRef(env, parametersJ);
+
+    // Now that indexWriter is trained, we just load the bytes into an array and return
+    return SerializeTrainedIndex(jniUtil, env, indexWriter.get());
+}
+
+jlong knn_jni::faiss_wrapper::InitStreamingTraining(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ,
+                                                    jint dimensionJ) {
+    std::unique_ptr<faiss::Index> indexWriter(BuildIndexToTrain(jniUtil, env, parametersJ, dimensionJ));
+    jniUtil->DeleteLocalRef(env, parametersJ);
+    return (jlong) new knn_jni::faiss_wrapper::StreamingTrainer(indexWriter.release());
+}
+
+void knn_jni::faiss_wrapper::AddStreamingTrainingVectors(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env,
+                                                         jlong trainerPointerJ, jfloatArray vectorsJ, jint numVectorsJ) {
+    auto *trainer = reinterpret_cast<knn_jni::faiss_wrapper::StreamingTrainer*>(trainerPointerJ);
+    if (trainer == nullptr) {
+        throw std::runtime_error("Invalid pointer to streaming trainer");
+    }
+
+    float *vectors = jniUtil->GetFloatArrayElements(env, vectorsJ, nullptr);
+    try {
+        trainer->AddBatch((faiss::idx_t) numVectorsJ, vectors);
+    } catch (...) {
+        jniUtil->ReleaseFloatArrayElements(env, vectorsJ, vectors, JNI_ABORT);
+        throw;
+    }
+    jniUtil->ReleaseFloatArrayElements(env, vectorsJ, vectors, JNI_ABORT);
+}
+
+jbyteArray knn_jni::faiss_wrapper::FinishStreamingTraining(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env,
+                                                           jlong trainerPointerJ) {
+    std::unique_ptr<knn_jni::faiss_wrapper::StreamingTrainer> trainer(
+        reinterpret_cast<knn_jni::faiss_wrapper::StreamingTrainer*>(trainerPointerJ));
+    if (trainer == nullptr) {
+        throw std::runtime_error("Invalid pointer to streaming trainer");
+    }
+
+    std::unique_ptr<faiss::Index> indexWriter = trainer->Finish();
+    return SerializeTrainedIndex(jniUtil, env, indexWriter.get());
+}
+
+void knn_jni::faiss_wrapper::FreeStreamingTraining(jlong trainerPointerJ) {
+    delete reinterpret_cast<knn_jni::faiss_wrapper::StreamingTrainer*>(trainerPointerJ);
+}
+
+jbyteArray knn_jni::faiss_wrapper::TrainBinaryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ,
+                                              jint dimensionJ, jlong trainVectorsPointerJ) {
+    // First, we need to build the index
     if (parametersJ == nullptr) {
         throw std::runtime_error("Parameters cannot be null");
     }
@@ -658,15 +885,8 @@ jbyteArray knn_jni::faiss_wrapper::TrainIndex(knn_jni::JNIUtilInterface * jniUti
     jobject indexDescriptionJ = knn_jni::GetJObjectFromMapOrThrow(parametersCpp, knn_jni::INDEX_DESCRIPTION);
     std::string indexDescriptionCpp(jniUtil->ConvertJavaObjectToCppString(env, indexDescriptionJ));
 
-    std::unique_ptr<faiss::Index> indexWriter;
-    indexWriter.reset(faiss::index_factory((int) dimensionJ, indexDescriptionCpp.c_str(), metric));
-
-    // Related to https://github.com/facebookresearch/faiss/issues/1621. HNSWPQ defaults to l2 even when metric is
-    // passed in. This updates it to the correct metric.
-    indexWriter->metric_type = metric;
-    if (auto * indexHnswPq = dynamic_cast<faiss::IndexHNSWPQ*>(indexWriter.get())) {
-        indexHnswPq->storage->metric_type = metric;
-    }
+    std::unique_ptr<faiss::IndexBinary> indexWriter;
+    indexWriter.reset(faiss::index_binary_factory((int) dimensionJ, indexDescriptionCpp.c_str()));
 
     // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
     if(parametersCpp.find(knn_jni::INDEX_THREAD_QUANTITY) != parametersCpp.end()) {
@@ -674,25 +894,17 @@ jbyteArray knn_jni::faiss_wrapper::TrainIndex(knn_jni::JNIUtilInterface * jniUti
         omp_set_num_threads(threadCount);
     }
 
-    // Add extra parameters that cant be configured with the index factory
-    if(parametersCpp.find(knn_jni::PARAMETERS) != parametersCpp.end()) {
-        jobject subParametersJ = parametersCpp[knn_jni::PARAMETERS];
-        auto subParametersCpp = jniUtil->ConvertJavaMapToCppMap(env, subParametersJ);
-        SetExtraParameters(jniUtil, env, subParametersCpp, indexWriter.get());
-        jniUtil->DeleteLocalRef(env, subParametersJ);
-    }
-
     // Train index if needed
     auto *trainingVectorsPointerCpp = reinterpret_cast<std::vector<float>*>(trainVectorsPointerJ);
     int numVectors = trainingVectorsPointerCpp->size()/(int) dimensionJ;
     if(!indexWriter->is_trained) {
-        InternalTrainIndex(indexWriter.get(), numVectors, trainingVectorsPointerCpp->data());
+        InternalTrainBinaryIndex(indexWriter.get(), numVectors, trainingVectorsPointerCpp->data());
     }
     jniUtil->DeleteLocalRef(env, parametersJ);
 
     // Now that indexWriter is trained, we just load the bytes into an array and return
     faiss::VectorIOWriter vectorIoWriter;
-    faiss::write_index(indexWriter.get(), &vectorIoWriter);
+    faiss::write_index_binary(indexWriter.get(), &vectorIoWriter);
 
     // Wrap in smart pointer
     std::unique_ptr<jbyte[]> jbytesBuffer;
@@ -707,9 +919,7 @@ jbyteArray knn_jni::faiss_wrapper::TrainIndex(knn_jni::JNIUtilInterface * jniUti
     return ret;
 }
 
-jbyteArray knn_jni::faiss_wrapper::TrainBinaryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ,
-                                              jint dimensionJ, jlong trainVectorsPointerJ) {
-    // First, we need to build the index
+faiss::Index * BuildIndexToTrain(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jobject parametersJ, jint dimensionJ) {
     if (parametersJ == nullptr) {
         throw std::runtime_error("Parameters cannot be null");
     }
@@ -724,8 +934,15 @@ jbyteArray knn_jni::faiss_wrapper::TrainBinaryIndex(knn_jni::JNIUtilInterface *
     jobject indexDescriptionJ = knn_jni::GetJObjectFromMapOrThrow(parametersCpp, knn_jni::INDEX_DESCRIPTION);
     std::string indexDescriptionCpp(jniUtil->ConvertJavaObjectToCppString(env, indexDescriptionJ));
 
-    std::unique_ptr<faiss::IndexBinary> indexWriter;
-    indexWriter.reset(faiss::index_binary_factory((int) dimensionJ, indexDescriptionCpp.c_str()));
+    std::unique_ptr<faiss::Index> indexWriter;
+    indexWriter.reset(faiss::index_factory((int) dimensionJ, indexDescriptionCpp.c_str(), metric));
+
+    // Related to https://github.com/facebookresearch/faiss/issues/1621. HNSWPQ defaults to l2 even when metric is
+    // passed in. This updates it to the correct metric.
+    indexWriter->metric_type = metric;
+    if (auto * indexHnswPq = dynamic_cast<faiss::IndexHNSWPQ*>(indexWriter.get())) {
+        indexHnswPq->storage->metric_type = metric;
+    }
 
     // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
     if(parametersCpp.find(knn_jni::INDEX_THREAD_QUANTITY) != parametersCpp.end()) {
@@ -733,17 +950,19 @@ jbyteArray knn_jni::faiss_wrapper::TrainBinaryIndex(knn_jni::JNIUtilInterface *
         omp_set_num_threads(threadCount);
     }
 
-    // Train index if needed
-    auto *trainingVectorsPointerCpp = reinterpret_cast<std::vector<float>*>(trainVectorsPointerJ);
-    int numVectors = trainingVectorsPointerCpp->size()/(int) dimensionJ;
-    if(!indexWriter->is_trained) {
-        InternalTrainBinaryIndex(indexWriter.get(), numVectors, trainingVectorsPointerCpp->data());
+    // Add extra parameters that cant be configured with the index factory
+    if(parametersCpp.find(knn_jni::PARAMETERS) != parametersCpp.end()) {
+        jobject subParametersJ = parametersCpp[knn_jni::PARAMETERS];
+        auto subParametersCpp = jniUtil->ConvertJavaMapToCppMap(env, subParametersJ);
+        SetExtraParameters(jniUtil, env, subParametersCpp, indexWriter.get());
+        jniUtil->DeleteLocalRef(env, subParametersJ);
     }
-    jniUtil->DeleteLocalRef(env, parametersJ);
+    return indexWriter.release();
+}
 
-    // Now that indexWriter is trained, we just load the bytes into an array and return
+jbyteArray SerializeTrainedIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, faiss::Index * index) {
     faiss::VectorIOWriter vectorIoWriter;
-    faiss::write_index_binary(indexWriter.get(), &vectorIoWriter);
+    faiss::write_index(index, &vectorIoWriter);
 
     // Wrap in smart pointer
     std::unique_ptr<jbyte[]> jbytesBuffer;
@@ -758,6 +977,84 @@ jbyteArray knn_jni::faiss_wrapper::TrainBinaryIndex(knn_jni::JNIUtilInterface *
     return ret;
 }
 
+void AddToTemplateAndWrite(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jintArray idsJ, jlong vectorsAddressJ,
+                           jint dimJ, faiss::IOWriter * writer, jobject parametersJ,
+                           const std::function<faiss::Index * ()>& newTemplateIndex) {
+    if (idsJ == nullptr) {
+        throw std::runtime_error("IDs cannot be null");
+    }
+
+    if (vectorsAddressJ <= 0) {
+        throw std::runtime_error("VectorsAddress cannot be less than 0");
+    }
+
+    if(dimJ <= 0) {
+        throw std::runtime_error("Vectors dimensions cannot be less than or equal to 0");
+    }
+
+    if (writer == nullptr) {
+        throw std::runtime_error("Index writer cannot be null");
+    }
+
+    // Set thread count if it is passed in as a parameter. Setting this variable will only impact the current thread
+    auto parametersCpp = jniUtil->ConvertJavaMapToCppMap(env, parametersJ);
+    if(parametersCpp.find(knn_jni::INDEX_THREAD_QUANTITY) != parametersCpp.end()) {
+        auto threadCount = jniUtil->ConvertJavaObjectToCppInteger(env, parametersCpp[knn_jni::INDEX_THREAD_QUANTITY]);
+        omp_set_num_threads(threadCount);
+    }
+    jniUtil->DeleteLocalRef(env, parametersJ);
+
+    // Read data set
+    // Read vectors from memory address
+    auto *inputVectors = reinterpret_cast<std::vector<float>*>(vectorsAddressJ);
+    int dim = (int)dimJ;
+    int numVectors = (int) (inputVectors->size() / (uint64_t) dim);
+    int numIds = jniUtil->GetJavaIntArrayLength(env, idsJ);
+    if (numIds != numVectors) {
+        throw std::runtime_error("Number of IDs does not match number of vectors");
+    }
+
+    // Create faiss index
+    std::unique_ptr<faiss::Index> indexWriter(newTemplateIndex());
+
+    auto idVector = jniUtil->ConvertJavaIntArrayToCppIntVector(env, idsJ);
+    faiss::IndexIDMap idMap =  faiss::IndexIDMap(indexWriter.get());
+    idMap.add_with_ids(numVectors, inputVectors->data(), idVector.data());
+    // Releasing the vectorsAddressJ memory as that is not required once we have created the index.
+    // This is not the ideal approach, please refer this gh issue for long term solution:
+    // https://github.com/opensearch-project/k-NN/issues/1600
+    delete inputVectors;
+    // Write the index
+    faiss::write_index(&idMap, writer);
+}
+
+faiss::Index * ReadTemplateIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jbyteArray templateIndexJ) {
+    // Get vector of bytes from jbytearray
+    int indexBytesCount = jniUtil->GetJavaBytesArrayLength(env, templateIndexJ);
+    jbyte * indexBytesJ = jniUtil->GetByteArrayElements(env, templateIndexJ, nullptr);
+
+    faiss::VectorIOReader vectorIoReader;
+    for (int i = 0; i < indexBytesCount; i++) {
+        vectorIoReader.data.push_back((uint8_t) indexBytesJ[i]);
+    }
+    jniUtil->ReleaseByteArrayElements(env, templateIndexJ, indexBytesJ, JNI_ABORT);
+
+    return faiss::read_index(&vectorIoReader, 0);
+}
+
+faiss::Index * CloneTemplateIndex(const faiss::Index * templateIndex) {
+    try {
+        return faiss::clone_index(templateIndex);
+    } catch (const faiss::FaissException&) {
+        // Not every index type can be cloned, those are copied through their serialization instead
+        faiss::VectorIOWriter vectorIoWriter;
+        faiss::write_index(templateIndex, &vectorIoWriter);
+        faiss::VectorIOReader vectorIoReader;
+        vectorIoReader.data = std::move(vectorIoWriter.data);
+        return faiss::read_index(&vectorIoReader, 0);
+    }
+}
+
 faiss::MetricType TranslateSpaceToMetric(const std::string& spaceType) {
     if (spaceType == knn_jni::L2) {
         return faiss::METRIC_L2;
@@ -866,12 +1163,12 @@ faiss::IndexIVFPQ * extractIVFPQIndex(faiss::Index * index) {
 }
 
 jobjectArray knn_jni::faiss_wrapper::RangeSearch(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ,
-                                                 jfloatArray queryVectorJ, jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jintArray parentIdsJ) {
-    return knn_jni::faiss_wrapper::RangeSearchWithFilter(jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, methodParamsJ, maxResultWindowJ, nullptr, 0, parentIdsJ);
+                                                 jfloatArray queryVectorJ, jfloat radiusJ, jintArray searchParamsJ, jint maxResultWindowJ, jintArray parentIdsJ) {
+    return knn_jni::faiss_wrapper::RangeSearchWithFilter(jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, searchParamsJ, maxResultWindowJ, nullptr, 0, parentIdsJ);
 }
 
 jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInterface *jniUtil, JNIEnv *env, jlong indexPointerJ,
-                                                           jfloatArray queryVectorJ, jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+                                                           jfloatArray queryVectorJ, jfloat radiusJ, jintArray searchParamsJ, jint maxResultWindowJ, jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
     }
@@ -884,10 +1181,8 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
 
     float *rawQueryVector = jniUtil->GetFloatArrayElements(env, queryVectorJ, nullptr);
 
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
+    std::vector<int64_t> searchParams = knn_jni::commons::getSearchParameters(env, jniUtil, searchParamsJ);
+    SetSearchThreads(indexReader, searchParams);
 
     // The res will be freed by ~RangeSearchResult() in FAISS
     // The second parameter is always true, as lims is allocated by FAISS
@@ -911,7 +1206,7 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
         auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
         if(hnswReader) {
             // Query param ef_search supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, hnswReader->hnsw.efSearch);
             hnswParams.sel = idSelector.get();
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
@@ -941,7 +1236,7 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
         auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
         if(hnswReader!= nullptr) {
             // Query param ef_search supersedes ef_search provided during index setting.
-            hnswParams.efSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.efSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, hnswReader->hnsw.efSearch);
             if (parentIdsJ != nullptr) {
                 idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
                 hnswParams.grp = idGrouper.get();
@@ -980,3 +1275,202 @@ jobjectArray knn_jni::faiss_wrapper::RangeSearchWithFilter(knn_jni::JNIUtilInter
 
     return results;
 }
+
+void SearchWithFilter(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, faiss::IndexIDMap * indexReader, const float * query,
+                      jint kJ, const std::vector<int64_t>& searchParams, jlongArray filterIdsJ, jint filterIdsTypeJ,
+                      jintArray parentIdsJ, float * dis, faiss::idx_t * ids) {
+    SetSearchThreads(indexReader, searchParams);
+    std::fill(lastQueryStats, lastQueryStats + knn_jni::faiss_wrapper::QUERY_STATS_SIZE, 0);
+    bool collectStats = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_COLLECT_STATS, 0) == 1;
+    // create the filterSearch params if the filterIdsJ is not a null pointer
+    if(filterIdsJ != nullptr) {
+        jlong *filteredIdsArray = jniUtil->GetLongArrayElements(env, filterIdsJ, nullptr);
+        int filterIdsLength = jniUtil->GetJavaLongArrayLength(env, filterIdsJ);
+        std::unique_ptr<faiss::IDSelector> idSelector;
+        if(filterIdsTypeJ == BITMAP) {
+            idSelector.reset(new faiss::IDSelectorJlongBitmap(filterIdsLength, filteredIdsArray));
+        } else {
+            faiss::idx_t* batchIndices = reinterpret_cast<faiss::idx_t*>(filteredIdsArray);
+            idSelector.reset(new faiss::IDSelectorBatch(filterIdsLength, batchIndices));
+        }
+        faiss::IDSelectorCounting countingSelector(idSelector.get());
+        const faiss::IDSelector* selector = collectStats ? &countingSelector : idSelector.get();
+        faiss::SearchParameters *searchParameters;
+        faiss::SearchParametersHNSW hnswParams;
+        faiss::SearchParametersIVF ivfParams;
+        std::unique_ptr<faiss::IDGrouperBitmap> idGrouper;
+        std::vector<uint64_t> idGrouperBitmap;
+        auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
+        if(hnswReader) {
+            // Query param efsearch supersedes ef_search provided during index setting.
+            hnswParams.efSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, hnswReader->hnsw.efSearch);
+            hnswParams.sel = selector;
+            if (parentIdsJ != nullptr) {
+                idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
+                hnswParams.grp = idGrouper.get();
+            }
+            searchParameters = &hnswParams;
+        } else {
+            auto ivfReader = dynamic_cast<const faiss::IndexIVF*>(indexReader->index);
+            auto ivfFlatReader = dynamic_cast<const faiss::IndexIVFFlat*>(indexReader->index);
+            
+            if(ivfReader || ivfFlatReader) {
+                int indexNprobe = ivfReader == nullptr ? ivfFlatReader->nprobe : ivfReader->nprobe;
+                ivfParams.nprobe = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_NPROBES, indexNprobe);
+                ivfParams.sel = selector;
+                searchParameters = &ivfParams;
+            }
+        }
+        try {
+            if (collectStats) {
+                SearchWithStats(indexReader, query, kJ, dis, ids, searchParameters, countingSelector);
+            } else {
+                indexReader->search(1, query, kJ, dis, ids, searchParameters);
+            }
+        } catch (...) {
+            jniUtil->ReleaseLongArrayElements(env, filterIdsJ, filteredIdsArray, JNI_ABORT);
+            throw;
+        }
+        jniUtil->ReleaseLongArrayElements(env, filterIdsJ, filteredIdsArray, JNI_ABORT);
+    } else {
+        faiss::SearchParameters *searchParameters = nullptr;
+        faiss::SearchParametersHNSW hnswParams;
+        faiss::SearchParametersIVF ivfParams;
+        std::unique_ptr<faiss::IDGrouperBitmap> idGrouper;
+        std::vector<uint64_t> idGrouperBitmap;
+        faiss::IDSelectorCounting countingSelector(nullptr);
+        auto hnswReader = dynamic_cast<const faiss::IndexHNSW*>(indexReader->index);
+        if(hnswReader != nullptr) {
+            // Query param efsearch supersedes ef_search provided during index setting.
+            hnswParams.efSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, hnswReader->hnsw.efSearch);
+            if (parentIdsJ != nullptr) {
+                idGrouper = buildIDGrouperBitmap(jniUtil, env, parentIdsJ, &idGrouperBitmap);
+                hnswParams.grp = idGrouper.get();
+            }
+            // Counting the visited nodes takes a selector accepting every id
+            if (collectStats) {
+                hnswParams.sel = &countingSelector;
+            }
+            searchParameters = &hnswParams;
+        } else {
+            auto ivfReader = dynamic_cast<const faiss::IndexIVF*>(indexReader->index);
+            if (ivfReader) {
+                int indexNprobe = ivfReader->nprobe;
+                ivfParams.nprobe = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_NPROBES, indexNprobe);
+                if (collectStats) {
+                    ivfParams.sel = &countingSelector;
+                }
+                searchParameters = &ivfParams;
+            }
+        }
+        if (collectStats) {
+            SearchWithStats(indexReader, query, kJ, dis, ids, searchParameters, countingSelector);
+        } else {
+            indexReader->search(1, query, kJ, dis, ids, searchParameters);
+        }
+    }
+}
+
+int GetResultSize(const std::vector<faiss::idx_t>& ids) {
+    auto it = std::find(ids.begin(), ids.end(), -1);
+    return it - ids.begin();
+}
+
+void SearchWithStats(const faiss::IndexIDMap * indexReader, const float * query, faiss::idx_t k, float * dis,
+                     faiss::idx_t * ids, const faiss::SearchParameters * searchParameters,
+                     const faiss::IDSelectorCounting& selector) {
+    int64_t listsProbed = 0;
+    int64_t distanceComputations = 0;
+    int64_t hops = 0;
+    bool wrappedIndexSearched = true;
+    auto hnswReader = dynamic_cast<const faiss::IndexHNSW *>(indexReader->index);
+    auto ivfReader = dynamic_cast<const faiss::IndexIVF *>(indexReader->index);
+    auto hnswParams = dynamic_cast<const faiss::SearchParametersHNSW *>(searchParameters);
+    auto ivfParams = dynamic_cast<const faiss::SearchParametersIVF *>(searchParameters);
+
+    // The wrapped index knows the vectors by their position, that IndexIDMap translates to and from the ids
+    faiss::IDSelectorTranslated translatedSelector(indexReader->id_map, searchParameters == nullptr ? nullptr : searchParameters->sel);
+    faiss::IDGrouperTranslated translatedGrouper(indexReader->id_map, searchParameters == nullptr ? nullptr : searchParameters->grp);
+    if (hnswReader != nullptr && hnswReader->storage != nullptr && hnswParams != nullptr) {
+        faiss::SearchParametersHNSW params = *hnswParams;
+        params.sel = params.sel == nullptr ? nullptr : &translatedSelector;
+        params.grp = params.grp == nullptr ? nullptr : &translatedGrouper;
+        faiss::HNSWStats stats;
+        if (params.grp != nullptr) {
+            faiss::GroupedHeapBlockResultHandler<faiss::HNSW::C> results(1, dis, ids, k, params.grp);
+            stats = SearchHNSW(hnswReader, query, results, params);
+        } else {
+            faiss::HeapBlockResultHandler<faiss::HNSW::C> results(1, dis, ids, k);
+            stats = SearchHNSW(hnswReader, query, results, params);
+        }
+        if (faiss::is_similarity_metric(hnswReader->metric_type)) {
+            // The similarities are negated for the graph to keep the smallest distances, see SearchHNSW
+            for (faiss::idx_t i = 0; i < k; i++) {
+                dis[i] = -dis[i];
+            }
+        }
+        distanceComputations = stats.ndis;
+        hops = stats.nhops;
+    } else if (ivfReader != nullptr && ivfParams != nullptr) {
+        faiss::SearchParametersIVF params = *ivfParams;
+        params.sel = params.sel == nullptr ? nullptr : &translatedSelector;
+        const faiss::idx_t nprobe = std::min(static_cast<faiss::idx_t>(ivfReader->nlist), static_cast<faiss::idx_t>(params.nprobe));
+        std::vector<faiss::idx_t> lists(nprobe);
+        std::vector<float> listDistances(nprobe);
+        ivfReader->quantizer->search(1, query, nprobe, listDistances.data(), lists.data(), params.quantizer_params);
+        ivfReader->invlists->prefetch_lists(lists.data(), nprobe);
+        faiss::IndexIVFStats stats;
+        ivfReader->search_preassigned(1, query, k, lists.data(), listDistances.data(), dis, ids, false, &params, &stats);
+        listsProbed = stats.nlist;
+        distanceComputations = stats.ndis;
+    } else {
+        // Other indices only count the visited vectors
+        indexReader->search(1, query, k, dis, ids, searchParameters);
+        wrappedIndexSearched = false;
+    }
+    if (wrappedIndexSearched) {
+        for (faiss::idx_t i = 0; i < k; i++) {
+            if (ids[i] >= 0) {
+                ids[i] = indexReader->id_map[ids[i]];
+            }
+        }
+    }
+
+    // The search threads are joined by now, the relaxed increments are all visible
+    lastQueryStats[knn_jni::faiss_wrapper::QUERY_STATS_VISITED] = selector.visited.load(std::memory_order_relaxed);
+    lastQueryStats[knn_jni::faiss_wrapper::QUERY_STATS_FILTER_REJECTIONS] = selector.rejected.load(std::memory_order_relaxed);
+    lastQueryStats[knn_jni::faiss_wrapper::QUERY_STATS_LISTS_PROBED] = listsProbed;
+    lastQueryStats[knn_jni::faiss_wrapper::QUERY_STATS_DISTANCE_COMPUTATIONS] = distanceComputations;
+    lastQueryStats[knn_jni::faiss_wrapper::QUERY_STATS_HOPS] = hops;
+}
+
+template <typename BlockResultHandler>
+faiss::HNSWStats SearchHNSW(const faiss::IndexHNSW * index, const float * query, BlockResultHandler& results,
+                            const faiss::SearchParametersHNSW& params) {
+    faiss::VisitedTable visitedTable(index->ntotal);
+    std::unique_ptr<faiss::DistanceComputer> distanceComputer(index->storage->get_distance_computer());
+    if (faiss::is_similarity_metric(index->metric_type)) {
+        distanceComputer.reset(new faiss::NegativeDistanceComputer(distanceComputer.release()));
+    }
+    distanceComputer->set_query(query);
+
+    typename BlockResultHandler::SingleResultHandler result(results);
+    result.begin(0);
+    faiss::HNSWStats stats = index->hnsw.search(*distanceComputer, result, visitedTable, &params);
+    result.end();
+    return stats;
+}
+
+void SetSearchThreads(const faiss::IndexIDMap * indexReader, const std::vector<int64_t>& searchParams) {
+    /*
+        Unless the query was granted more threads, setting the omp_set_num_threads to 1 to make sure that no new OMP
+        threads are getting created. Only IVF indices split the search of a single query between threads, other
+        indices would start threads with nothing to do.
+    */
+    int threads = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_THREADS, 1);
+    if (threads > 1 && dynamic_cast<const faiss::IndexIVF *>(indexReader->index) != nullptr) {
+        omp_set_num_threads(threads);
+    } else {
+        omp_set_num_threads(1);
+    }
+}
@@ -65,6 +65,11 @@ void knn_jni::JNIUtil::Initialize(JNIEnv *env) {
     this->cachedClasses["org/opensearch/knn/index/query/KNNQueryResult"] = (jclass) env->NewGlobalRef(tempLocalClassRef);
     this->cachedMethods["org/opensearch/knn/index/query/KNNQueryResult:<init>"] = env->GetMethodID(tempLocalClassRef, "<init>", "(IF)V");
     env->DeleteLocalRef(tempLocalClassRef);
+
+    tempLocalClassRef = env->FindClass("org/opensearch/knn/index/store/IndexOutputWithBuffer");
+    this->cachedClasses["org/opensearch/knn/index/store/IndexOutputWithBuffer"] = (jclass) env->NewGlobalRef(tempLocalClassRef);
+    this->cachedMethods["org/opensearch/knn/index/store/IndexOutputWithBuffer:writeBytes"] = env->GetMethodID(tempLocalClassRef, "writeBytes", "([BI)V");
+    env->DeleteLocalRef(tempLocalClassRef);
 }
 
 void knn_jni::JNIUtil::Uninitialize(JNIEnv* env) {
@@ -453,6 +458,19 @@ jlong * knn_jni::JNIUtil::GetLongArrayElements(JNIEnv *env, jlongArray array, jb
     return longArray;
 }
 
+void * knn_jni::JNIUtil::GetDirectBufferAddress(JNIEnv *env, jobject buffer) {
+    if (buffer == nullptr) {
+        throw std::runtime_error("Buffer cannot be null");
+    }
+
+    void * address = env->GetDirectBufferAddress(buffer);
+    if (address == nullptr) {
+        this->HasExceptionInStack(env, "Unable to get direct buffer address");
+        throw std::runtime_error("Unable to get direct buffer address");
+    }
+    return address;
+}
+
 jobject knn_jni::JNIUtil::GetObjectArrayElement(JNIEnv *env, jobjectArray array, jsize index) {
     jobject object = env->GetObjectArrayElement(array, index);
     this->HasExceptionInStack(env, "Unable to get object");
@@ -469,6 +487,11 @@ jobject knn_jni::JNIUtil::NewObject(JNIEnv *env, jclass clazz, jmethodID methodI
     return object;
 }
 
+void knn_jni::JNIUtil::CallVoidMethod(JNIEnv *env, jobject obj, jmethodID methodId, jbyteArray bytes, jint length) {
+    env->CallVoidMethod(obj, methodId, bytes, length);
+    this->HasExceptionInStack(env, "Unable to call method");
+}
+
 jobjectArray knn_jni::JNIUtil::NewObjectArray(JNIEnv *env, jsize len, jclass clazz, jobject init) {
     jobjectArray objectArray = env->NewObjectArray(len, clazz, init);
     if (objectArray == nullptr) {
@@ -533,6 +556,7 @@ const std::string knn_jni::INDEX_DESCRIPTION = "index_description";
 const std::string knn_jni::PARAMETERS = "parameters";
 const std::string knn_jni::TRAINING_DATASET_SIZE_LIMIT = "training_dataset_size_limit";
 const std::string knn_jni::INDEX_THREAD_QUANTITY = "indexThreadQty";
+const std::string knn_jni::GRAPH_ONLY_STORAGE = "graph_only_storage";
 
 const std::string knn_jni::L2 = "l2";
 const std::string knn_jni::L1 = "l1";
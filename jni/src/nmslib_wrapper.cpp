@@ -224,7 +224,7 @@ jlong knn_jni::nmslib_wrapper::LoadIndex(knn_jni::JNIUtilInterface * jniUtil, JN
 }
 
 jobjectArray knn_jni::nmslib_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jniUtil, JNIEnv * env, jlong indexPointerJ,
-                                                 jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ) {
+                                                 jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ) {
 
     if (queryVectorJ == nullptr) {
         throw std::runtime_error("Query Vector cannot be null");
@@ -249,12 +249,9 @@ jobjectArray knn_jni::nmslib_wrapper::QueryIndex(knn_jni::JNIUtilInterface * jni
     }
 
     jniUtil->ReleaseFloatArrayElements(env, queryVectorJ, rawQueryvector, JNI_ABORT);
-    std::unordered_map<std::string, jobject> methodParams;
-    if (methodParamsJ != nullptr) {
-        methodParams = jniUtil->ConvertJavaMapToCppMap(env, methodParamsJ);
-    }
+    std::vector<int64_t> searchParams = knn_jni::commons::getSearchParameters(env, jniUtil, searchParamsJ);
 
-    int queryEfSearch = knn_jni::commons::getIntegerMethodParameter(env, jniUtil, methodParams, EF_SEARCH, -1);
+    int queryEfSearch = knn_jni::commons::getSearchParameter(searchParams, knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH, -1);
     similarity::KNNQuery<float>* query; // TODO: Replace with smart pointers https://github.com/opensearch-project/k-NN/issues/1785
     std::unique_ptr<similarity::KNNQueue<float>> neighbors;
     try {
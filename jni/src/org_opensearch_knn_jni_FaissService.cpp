@@ -13,14 +13,25 @@
 
 #include <jni.h>
 
+#include <memory>
 #include <vector>
 
 #include "faiss_wrapper.h"
+#include "faiss_stream_support.h"
 #include "jni_util.h"
 
 static knn_jni::JNIUtil jniUtil;
 static const jint KNN_FAISS_JNI_VERSION = JNI_VERSION_1_1;
 
+// Open a writer serializing an index to the file at indexPathJ
+static std::unique_ptr<faiss::IOWriter> OpenFileIOWriter(JNIEnv * env, jstring indexPathJ) {
+    if (indexPathJ == nullptr) {
+        throw std::runtime_error("Index path cannot be null");
+    }
+    std::string indexPathCpp(jniUtil.ConvertJavaStringToCppString(env, indexPathJ));
+    return std::unique_ptr<faiss::IOWriter>(new faiss::FileIOWriter(indexPathCpp.c_str()));
+}
+
 jint JNI_OnLoad(JavaVM* vm, void* reserved) {
     // Obtain the JNIEnv from the VM and confirm JNI_VERSION
     JNIEnv* env;
@@ -46,7 +57,8 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndex(JNIE
     try {
         std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
         knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
-        knn_jni::faiss_wrapper::CreateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, indexPathJ, parametersJ, &indexService);
+        std::unique_ptr<faiss::IOWriter> writer(OpenFileIOWriter(env, indexPathJ));
+        knn_jni::faiss_wrapper::CreateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer.get(), parametersJ, &indexService);
 
         // Releasing the vectorsAddressJ memory as that is not required once we have created the index.
         // This is not the ideal approach, please refer this gh issue for long term solution:
@@ -64,7 +76,50 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryInde
     try {
         std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
         knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
-        knn_jni::faiss_wrapper::CreateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, indexPathJ, parametersJ, &binaryIndexService);
+        std::unique_ptr<faiss::IOWriter> writer(OpenFileIOWriter(env, indexPathJ));
+        knn_jni::faiss_wrapper::CreateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer.get(), parametersJ, &binaryIndexService);
+
+        // Releasing the vectorsAddressJ memory as that is not required once we have created the index.
+        // This is not the ideal approach, please refer this gh issue for long term solution:
+        // https://github.com/opensearch-project/k-NN/issues/1600
+        delete reinterpret_cast<std::vector<uint8_t>*>(vectorsAddressJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexToOutput(JNIEnv * env, jclass cls, jintArray idsJ,
+                                                                                    jlong vectorsAddressJ, jint dimJ,
+                                                                                    jobject outputJ, jobject parametersJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
+        knn_jni::stream::NativeEngineIndexOutputMediator mediator(&jniUtil, env, outputJ);
+        knn_jni::stream::FaissOpenSearchIOWriter writer(&mediator);
+        knn_jni::faiss_wrapper::CreateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, &writer, parametersJ, &indexService);
+        mediator.flush();
+
+        // Releasing the vectorsAddressJ memory as that is not required once we have created the index.
+        // This is not the ideal approach, please refer this gh issue for long term solution:
+        // https://github.com/opensearch-project/k-NN/issues/1600
+        delete reinterpret_cast<std::vector<float>*>(vectorsAddressJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryIndexToOutput(JNIEnv * env, jclass cls, jintArray idsJ,
+                                                                                          jlong vectorsAddressJ, jint dimJ,
+                                                                                          jobject outputJ, jobject parametersJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
+        knn_jni::stream::NativeEngineIndexOutputMediator mediator(&jniUtil, env, outputJ);
+        knn_jni::stream::FaissOpenSearchIOWriter writer(&mediator);
+        knn_jni::faiss_wrapper::CreateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, &writer, parametersJ, &binaryIndexService);
+        mediator.flush();
 
         // Releasing the vectorsAddressJ memory as that is not required once we have created the index.
         // This is not the ideal approach, please refer this gh issue for long term solution:
@@ -75,6 +130,170 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryInde
     }
 }
 
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initIndex(JNIEnv * env, jclass cls, jint dimJ,
+                                                                           jobject parametersJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
+        return knn_jni::faiss_wrapper::InitIndex(&jniUtil, env, dimJ, parametersJ, &indexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return NULL;
+}
+
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initBinaryIndex(JNIEnv * env, jclass cls, jint dimJ,
+                                                                                 jobject parametersJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
+        return knn_jni::faiss_wrapper::InitIndex(&jniUtil, env, dimJ, parametersJ, &binaryIndexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_insertToIndex(JNIEnv * env, jclass cls, jintArray idsJ,
+                                                                              jlong vectorsAddressJ, jint dimJ,
+                                                                              jlong indexAddressJ, jint threadCountJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
+        knn_jni::faiss_wrapper::InsertToIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, indexAddressJ, threadCountJ, &indexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_insertToBinaryIndex(JNIEnv * env, jclass cls, jintArray idsJ,
+                                                                                    jlong vectorsAddressJ, jint dimJ,
+                                                                                    jlong indexAddressJ, jint threadCountJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
+        knn_jni::faiss_wrapper::InsertToIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, indexAddressJ, threadCountJ, &binaryIndexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeIndex(JNIEnv * env, jclass cls, jlong indexAddressJ,
+                                                                           jstring indexPathJ, jobject parametersJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
+        std::unique_ptr<faiss::IOWriter> writer;
+        try {
+            writer = OpenFileIOWriter(env, indexPathJ);
+        } catch (...) {
+            // The index is released by WriteIndex, so it has to be released here when it cannot be reached
+            delete reinterpret_cast<faiss::IndexIDMap *>(indexAddressJ);
+            throw;
+        }
+        knn_jni::faiss_wrapper::WriteIndex(&jniUtil, env, writer.get(), indexAddressJ, parametersJ, &indexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeBinaryIndex(JNIEnv * env, jclass cls, jlong indexAddressJ,
+                                                                                 jstring indexPathJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
+        std::unique_ptr<faiss::IOWriter> writer;
+        try {
+            writer = OpenFileIOWriter(env, indexPathJ);
+        } catch (...) {
+            // The index is released by WriteIndex, so it has to be released here when it cannot be reached
+            delete reinterpret_cast<faiss::IndexBinaryIDMap *>(indexAddressJ);
+            throw;
+        }
+        knn_jni::faiss_wrapper::WriteIndex(&jniUtil, env, writer.get(), indexAddressJ, nullptr, &binaryIndexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeIndexToOutput(JNIEnv * env, jclass cls, jlong indexAddressJ,
+                                                                                   jobject outputJ, jobject parametersJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
+        std::unique_ptr<knn_jni::stream::NativeEngineIndexOutputMediator> mediator;
+        try {
+            mediator.reset(new knn_jni::stream::NativeEngineIndexOutputMediator(&jniUtil, env, outputJ));
+        } catch (...) {
+            // The index is released by WriteIndex, so it has to be released here when it cannot be reached
+            delete reinterpret_cast<faiss::IndexIDMap *>(indexAddressJ);
+            throw;
+        }
+        knn_jni::stream::FaissOpenSearchIOWriter writer(mediator.get());
+        knn_jni::faiss_wrapper::WriteIndex(&jniUtil, env, &writer, indexAddressJ, parametersJ, &indexService);
+        mediator->flush();
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_writeBinaryIndexToOutput(JNIEnv * env, jclass cls, jlong indexAddressJ,
+                                                                                         jobject outputJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
+        std::unique_ptr<knn_jni::stream::NativeEngineIndexOutputMediator> mediator;
+        try {
+            mediator.reset(new knn_jni::stream::NativeEngineIndexOutputMediator(&jniUtil, env, outputJ));
+        } catch (...) {
+            // The index is released by WriteIndex, so it has to be released here when it cannot be reached
+            delete reinterpret_cast<faiss::IndexBinaryIDMap *>(indexAddressJ);
+            throw;
+        }
+        knn_jni::stream::FaissOpenSearchIOWriter writer(mediator.get());
+        knn_jni::faiss_wrapper::WriteIndex(&jniUtil, env, &writer, indexAddressJ, nullptr, &binaryIndexService);
+        mediator->flush();
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadIndexForMerge(JNIEnv * env, jclass cls,
+                                                                                  jstring indexPathJ,
+                                                                                  jintArray docIdMapJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::IndexService indexService(std::move(faissMethods));
+        return knn_jni::faiss_wrapper::LoadIndexForMerge(&jniUtil, env, indexPathJ, docIdMapJ, &indexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return NULL;
+}
+
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadBinaryIndexForMerge(JNIEnv * env, jclass cls,
+                                                                                        jstring indexPathJ,
+                                                                                        jintArray docIdMapJ)
+{
+    try {
+        std::unique_ptr<knn_jni::faiss_wrapper::FaissMethods> faissMethods(new knn_jni::faiss_wrapper::FaissMethods());
+        knn_jni::faiss_wrapper::BinaryIndexService binaryIndexService(std::move(faissMethods));
+        return knn_jni::faiss_wrapper::LoadIndexForMerge(&jniUtil, env, indexPathJ, docIdMapJ, &binaryIndexService);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return NULL;
+}
+
 JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplate(JNIEnv * env, jclass cls,
                                                                                         jintArray idsJ,
                                                                                         jlong vectorsAddressJ,
@@ -84,7 +303,8 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromT
                                                                                         jobject parametersJ)
 {
     try {
-        knn_jni::faiss_wrapper::CreateIndexFromTemplate(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, indexPathJ, templateIndexJ, parametersJ);
+        std::unique_ptr<faiss::IOWriter> writer(OpenFileIOWriter(env, indexPathJ));
+        knn_jni::faiss_wrapper::CreateIndexFromTemplate(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer.get(), templateIndexJ, parametersJ);
     } catch (...) {
         jniUtil.CatchCppExceptionAndThrowJava(env);
     }
@@ -99,7 +319,89 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryInde
                                                                                         jobject parametersJ)
 {
     try {
-        knn_jni::faiss_wrapper::CreateBinaryIndexFromTemplate(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, indexPathJ, templateIndexJ, parametersJ);
+        std::unique_ptr<faiss::IOWriter> writer(OpenFileIOWriter(env, indexPathJ));
+        knn_jni::faiss_wrapper::CreateBinaryIndexFromTemplate(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer.get(), templateIndexJ, parametersJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplateToOutput(JNIEnv * env, jclass cls,
+                                                                                                jintArray idsJ,
+                                                                                                jlong vectorsAddressJ,
+                                                                                                jint dimJ,
+                                                                                                jobject outputJ,
+                                                                                                jbyteArray templateIndexJ,
+                                                                                                jobject parametersJ)
+{
+    try {
+        knn_jni::stream::NativeEngineIndexOutputMediator mediator(&jniUtil, env, outputJ);
+        knn_jni::stream::FaissOpenSearchIOWriter writer(&mediator);
+        knn_jni::faiss_wrapper::CreateIndexFromTemplate(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, &writer, templateIndexJ, parametersJ);
+        mediator.flush();
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createBinaryIndexFromTemplateToOutput(JNIEnv * env, jclass cls,
+                                                                                                      jintArray idsJ,
+                                                                                                      jlong vectorsAddressJ,
+                                                                                                      jint dimJ,
+                                                                                                      jobject outputJ,
+                                                                                                      jbyteArray templateIndexJ,
+                                                                                                      jobject parametersJ)
+{
+    try {
+        knn_jni::stream::NativeEngineIndexOutputMediator mediator(&jniUtil, env, outputJ);
+        knn_jni::stream::FaissOpenSearchIOWriter writer(&mediator);
+        knn_jni::faiss_wrapper::CreateBinaryIndexFromTemplate(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, &writer, templateIndexJ, parametersJ);
+        mediator.flush();
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_loadTemplateIndex(JNIEnv * env, jclass cls,
+                                                                                  jbyteArray templateIndexJ)
+{
+    try {
+        return knn_jni::faiss_wrapper::LoadTemplateIndex(&jniUtil, env, templateIndexJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplateIndex(JNIEnv * env, jclass cls,
+                                                                                             jintArray idsJ,
+                                                                                             jlong vectorsAddressJ,
+                                                                                             jint dimJ,
+                                                                                             jstring indexPathJ,
+                                                                                             jlong templateIndexPointerJ,
+                                                                                             jobject parametersJ)
+{
+    try {
+        std::unique_ptr<faiss::IOWriter> writer(OpenFileIOWriter(env, indexPathJ));
+        knn_jni::faiss_wrapper::CreateIndexFromTemplateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, writer.get(), templateIndexPointerJ, parametersJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_createIndexFromTemplateIndexToOutput(JNIEnv * env, jclass cls,
+                                                                                                     jintArray idsJ,
+                                                                                                     jlong vectorsAddressJ,
+                                                                                                     jint dimJ,
+                                                                                                     jobject outputJ,
+                                                                                                     jlong templateIndexPointerJ,
+                                                                                                     jobject parametersJ)
+{
+    try {
+        knn_jni::stream::NativeEngineIndexOutputMediator mediator(&jniUtil, env, outputJ);
+        knn_jni::stream::FaissOpenSearchIOWriter writer(&mediator);
+        knn_jni::faiss_wrapper::CreateIndexFromTemplateIndex(&jniUtil, env, idsJ, vectorsAddressJ, dimJ, &writer, templateIndexPointerJ, parametersJ);
+        mediator.flush();
     } catch (...) {
         jniUtil.CatchCppExceptionAndThrowJava(env);
     }
@@ -136,6 +438,27 @@ JNIEXPORT jboolean JNICALL Java_org_opensearch_knn_jni_FaissService_isSharedInde
     return NULL;
 }
 
+JNIEXPORT jboolean JNICALL Java_org_opensearch_knn_jni_FaissService_isIndexStorageRequired
+        (JNIEnv * env, jclass cls, jlong indexPointerJ)
+{
+    try {
+        return knn_jni::faiss_wrapper::IsIndexStorageRequired(indexPointerJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_setIndexStorage
+        (JNIEnv * env, jclass cls, jlong indexPointerJ, jlong vectorsAddressJ, jint dimJ, jintArray idsJ)
+{
+    try {
+        knn_jni::faiss_wrapper::SetIndexStorage(&jniUtil, env, indexPointerJ, vectorsAddressJ, dimJ, idsJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
 JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initSharedIndexState
         (JNIEnv * env, jclass cls, jlong indexPointerJ)
 {
@@ -159,10 +482,10 @@ JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_setSharedIndexSt
 
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryIndex(JNIEnv * env, jclass cls,
                                                                                    jlong indexPointerJ,
-                                                                                   jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jintArray parentIdsJ)
+                                                                                   jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ, jintArray parentIdsJ)
 {
     try {
-        return knn_jni::faiss_wrapper::QueryIndex(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, methodParamsJ, parentIdsJ);
+        return knn_jni::faiss_wrapper::QueryIndex(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, searchParamsJ, parentIdsJ);
 
     } catch (...) {
         jniUtil.CatchCppExceptionAndThrowJava(env);
@@ -171,10 +494,10 @@ JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryInd
 }
 
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryIndexWithFilter
-  (JNIEnv * env, jclass cls, jlong indexPointerJ, jfloatArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filteredIdsJ, jint filterIdsTypeJ,  jintArray parentIdsJ) {
+  (JNIEnv * env, jclass cls, jlong indexPointerJ, jfloatArray queryVectorJ, jint kJ, jintArray searchParamsJ, jlongArray filteredIdsJ, jint filterIdsTypeJ,  jintArray parentIdsJ) {
 
       try {
-          return knn_jni::faiss_wrapper::QueryIndex_WithFilter(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, methodParamsJ, filteredIdsJ, filterIdsTypeJ, parentIdsJ);
+          return knn_jni::faiss_wrapper::QueryIndex_WithFilter(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, searchParamsJ, filteredIdsJ, filterIdsTypeJ, parentIdsJ);
       } catch (...) {
           jniUtil.CatchCppExceptionAndThrowJava(env);
       }
@@ -182,11 +505,34 @@ JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryInd
 
 }
 
+JNIEXPORT jint JNICALL Java_org_opensearch_knn_jni_FaissService_queryIndexWithBuffer
+  (JNIEnv * env, jclass cls, jlong indexPointerJ, jobject bufferJ, jint dimJ, jint kJ, jintArray searchParamsJ, jlongArray filteredIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ) {
+
+      try {
+          return knn_jni::faiss_wrapper::QueryIndex_WithBuffer(&jniUtil, env, indexPointerJ, bufferJ, dimJ, kJ, searchParamsJ, filteredIdsJ, filterIdsTypeJ, parentIdsJ);
+      } catch (...) {
+          jniUtil.CatchCppExceptionAndThrowJava(env);
+      }
+      return 0;
+
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_getQueryStats
+  (JNIEnv * env, jclass cls, jlongArray statsJ) {
+
+      try {
+          knn_jni::faiss_wrapper::GetQueryStats(&jniUtil, env, statsJ);
+      } catch (...) {
+          jniUtil.CatchCppExceptionAndThrowJava(env);
+      }
+
+}
+
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_queryBinaryIndexWithFilter
-  (JNIEnv * env, jclass cls, jlong indexPointerJ, jbyteArray queryVectorJ, jint kJ, jobject methodParamsJ, jlongArray filteredIdsJ, jint filterIdsTypeJ,  jintArray parentIdsJ) {
+  (JNIEnv * env, jclass cls, jlong indexPointerJ, jbyteArray queryVectorJ, jint kJ, jintArray searchParamsJ, jlongArray filteredIdsJ, jint filterIdsTypeJ,  jintArray parentIdsJ) {
 
       try {
-          return knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, methodParamsJ, filteredIdsJ, filterIdsTypeJ, parentIdsJ);
+          return knn_jni::faiss_wrapper::QueryBinaryIndex_WithFilter(&jniUtil, env, indexPointerJ, queryVectorJ, kJ, searchParamsJ, filteredIdsJ, filterIdsTypeJ, parentIdsJ);
       } catch (...) {
           jniUtil.CatchCppExceptionAndThrowJava(env);
       }
@@ -235,6 +581,51 @@ JNIEXPORT jbyteArray JNICALL Java_org_opensearch_knn_jni_FaissService_trainIndex
     return nullptr;
 }
 
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_initStreamingTraining(JNIEnv * env, jclass cls,
+                                                                                       jobject parametersJ,
+                                                                                       jint dimensionJ)
+{
+    try {
+        return knn_jni::faiss_wrapper::InitStreamingTraining(&jniUtil, env, parametersJ, dimensionJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return (jlong) 0;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_addStreamingTrainingVectors(JNIEnv * env, jclass cls,
+                                                                                           jlong trainerPointerJ,
+                                                                                           jfloatArray vectorsJ,
+                                                                                           jint numVectorsJ)
+{
+    try {
+        knn_jni::faiss_wrapper::AddStreamingTrainingVectors(&jniUtil, env, trainerPointerJ, vectorsJ, numVectorsJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_opensearch_knn_jni_FaissService_finishStreamingTraining(JNIEnv * env, jclass cls,
+                                                                                             jlong trainerPointerJ)
+{
+    try {
+        return knn_jni::faiss_wrapper::FinishStreamingTraining(&jniUtil, env, trainerPointerJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return nullptr;
+}
+
+JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_FaissService_freeStreamingTraining(JNIEnv * env, jclass cls,
+                                                                                     jlong trainerPointerJ)
+{
+    try {
+        knn_jni::faiss_wrapper::FreeStreamingTraining(trainerPointerJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+}
+
 JNIEXPORT jbyteArray JNICALL Java_org_opensearch_knn_jni_FaissService_trainBinaryIndex(JNIEnv * env, jclass cls,
                                                                                  jobject parametersJ,
                                                                                  jint dimensionJ,
@@ -269,11 +660,11 @@ JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_FaissService_transferVectors
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_rangeSearchIndex(JNIEnv * env, jclass cls,
                                                                                    jlong indexPointerJ,
                                                                                    jfloatArray queryVectorJ,
-                                                                                   jfloat radiusJ, jobject methodParamsJ,
+                                                                                   jfloat radiusJ, jintArray searchParamsJ,
                                                                                    jint maxResultWindowJ, jintArray parentIdsJ)
 {
     try {
-        return knn_jni::faiss_wrapper::RangeSearch(&jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, methodParamsJ, maxResultWindowJ, parentIdsJ);
+        return knn_jni::faiss_wrapper::RangeSearch(&jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, searchParamsJ, maxResultWindowJ, parentIdsJ);
     } catch (...) {
         jniUtil.CatchCppExceptionAndThrowJava(env);
     }
@@ -283,11 +674,11 @@ JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_rangeSea
 JNIEXPORT jobjectArray JNICALL Java_org_opensearch_knn_jni_FaissService_rangeSearchIndexWithFilter(JNIEnv * env, jclass cls,
                                                                                    jlong indexPointerJ,
                                                                                    jfloatArray queryVectorJ,
-                                                                                   jfloat radiusJ, jobject methodParamsJ, jint maxResultWindowJ,
+                                                                                   jfloat radiusJ, jintArray searchParamsJ, jint maxResultWindowJ,
                                                                                    jlongArray filterIdsJ, jint filterIdsTypeJ, jintArray parentIdsJ)
 {
     try {
-        return knn_jni::faiss_wrapper::RangeSearchWithFilter(&jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, methodParamsJ, maxResultWindowJ, filterIdsJ, filterIdsTypeJ, parentIdsJ);
+        return knn_jni::faiss_wrapper::RangeSearchWithFilter(&jniUtil, env, indexPointerJ, queryVectorJ, radiusJ, searchParamsJ, maxResultWindowJ, filterIdsJ, filterIdsTypeJ, parentIdsJ);
     } catch (...) {
         jniUtil.CatchCppExceptionAndThrowJava(env);
     }
@@ -61,6 +61,30 @@ jlong memoryAddressJ, jobjectArray dataJ, jlong initialCapacityJ)
     return (long)memoryAddressJ;
 }
 
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_storeVectorDataFromBuffer(JNIEnv * env, jclass cls,
+jlong memoryAddressJ, jobject bufferJ, jlong numElementsJ, jlong initialCapacityJ)
+
+{
+    try {
+        return knn_jni::commons::storeVectorDataFromBuffer(&jniUtil, env, memoryAddressJ, bufferJ, numElementsJ, initialCapacityJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return (long)memoryAddressJ;
+}
+
+JNIEXPORT jlong JNICALL Java_org_opensearch_knn_jni_JNICommons_storeByteVectorDataFromBuffer(JNIEnv * env, jclass cls,
+jlong memoryAddressJ, jobject bufferJ, jlong numElementsJ, jlong initialCapacityJ)
+
+{
+    try {
+        return knn_jni::commons::storeByteVectorDataFromBuffer(&jniUtil, env, memoryAddressJ, bufferJ, numElementsJ, initialCapacityJ);
+    } catch (...) {
+        jniUtil.CatchCppExceptionAndThrowJava(env);
+    }
+    return (long)memoryAddressJ;
+}
+
 JNIEXPORT void JNICALL Java_org_opensearch_knn_jni_JNICommons_freeVectorData(JNIEnv * env, jclass cls,
                                                                             jlong memoryAddressJ)
 {
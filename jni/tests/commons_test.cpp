@@ -72,6 +72,50 @@ TEST(CommonsTests, BasicAssertions) {
     }
 }
 
+TEST(CommonsTests, StoreVectorDataFromBuffer) {
+    long dim = 3;
+    long totalNumberOfVector = 4;
+    std::vector<float> firstBatch = {1, 2, 3, 4, 5, 6};
+    std::vector<float> secondBatch = {7, 8, 9, 10, 11, 12};
+    JNIEnv *jniEnv = nullptr;
+
+    testing::NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    jlong memoryAddress = knn_jni::commons::storeVectorDataFromBuffer(&mockJNIUtil, jniEnv, (jlong)0,
+                      reinterpret_cast<jobject>(firstBatch.data()), (jlong) firstBatch.size(),
+                      (jlong)(totalNumberOfVector * dim));
+    ASSERT_NE(memoryAddress, 0);
+    auto *vect = reinterpret_cast<std::vector<float>*>(memoryAddress);
+    ASSERT_EQ(vect->size(), firstBatch.size());
+    ASSERT_EQ(vect->capacity(), totalNumberOfVector * dim);
+
+    // Check by inserting more vectors at same memory location
+    jlong oldMemoryAddress = memoryAddress;
+    memoryAddress = knn_jni::commons::storeVectorDataFromBuffer(&mockJNIUtil, jniEnv, memoryAddress,
+        reinterpret_cast<jobject>(secondBatch.data()), (jlong) secondBatch.size(), (jlong)(totalNumberOfVector * dim));
+    ASSERT_EQ(memoryAddress, oldMemoryAddress);
+    ASSERT_EQ(vect->size(), totalNumberOfVector * dim);
+    for (int i = 0; i < firstBatch.size(); i++) {
+        ASSERT_FLOAT_EQ(vect->at(i), firstBatch[i]);
+        ASSERT_FLOAT_EQ(vect->at(firstBatch.size() + i), secondBatch[i]);
+    }
+    knn_jni::commons::freeVectorData(memoryAddress);
+}
+
+TEST(CommonsTests, StoreByteVectorDataFromBuffer) {
+    std::vector<uint8_t> batch = {1, 2, 3, 4};
+    JNIEnv *jniEnv = nullptr;
+
+    testing::NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    jlong memoryAddress = knn_jni::commons::storeByteVectorDataFromBuffer(&mockJNIUtil, jniEnv, (jlong)0,
+                      reinterpret_cast<jobject>(batch.data()), (jlong) batch.size(), (jlong) batch.size());
+    ASSERT_NE(memoryAddress, 0);
+    auto *vect = reinterpret_cast<std::vector<uint8_t>*>(memoryAddress);
+    ASSERT_EQ(batch, *vect);
+    knn_jni::commons::freeByteVectorData(memoryAddress);
+}
+
 TEST(CommonTests, GetIntegerMethodParam) {
     JNIEnv *jniEnv = nullptr;
     testing::NiceMock<test_util::MockJNIUtil> mockJNIUtil;
@@ -11,6 +11,7 @@
 
 
 #include "faiss_index_service.h"
+#include "faiss/IndexFlat.h"
 #include "mocks/faiss_methods_mock.h"
 #include "mocks/faiss_index_mock.h"
 #include "test_util.h"
@@ -37,7 +38,7 @@ TEST(CreateIndexTest, BasicAssertions) {
         }
     }
 
-    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    faiss::VectorIOWriter indexWriter;
     faiss::MetricType metricType = faiss::METRIC_L2;
     std::string indexDescription = "HNSW32,Flat";
     int threadCount = 1;
@@ -59,7 +60,7 @@ TEST(CreateIndexTest, BasicAssertions) {
         .WillOnce(Return(index));
     EXPECT_CALL(*mockFaissMethods, indexIdMap(index))
         .WillOnce(Return(indexIdMap));
-    EXPECT_CALL(*mockFaissMethods, writeIndex(indexIdMap, ::testing::StrEq(indexPath.c_str())))
+    EXPECT_CALL(*mockFaissMethods, writeIndex(indexIdMap, &indexWriter, 0))
         .Times(1);
 
     // Create the index
@@ -74,7 +75,64 @@ TEST(CreateIndexTest, BasicAssertions) {
         threadCount,
         (int64_t) &vectors,
         ids,
-        indexPath,
+        &indexWriter,
+        parametersMap);
+}
+
+TEST(CreateIndexTest, WhenGraphOnlyStorage) {
+    // Define the data
+    faiss::idx_t numIds = 200;
+    std::vector<int64_t> ids;
+    std::vector<float> vectors;
+    int dim = 2;
+    vectors.reserve(dim * numIds);
+    for (int64_t i = 0; i < numIds; ++i) {
+        ids.push_back(i);
+        for (int j = 0; j < dim; ++j) {
+            vectors.push_back(test_util::RandomFloat(-500.0, 500.0));
+        }
+    }
+
+    faiss::VectorIOWriter indexWriter;
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string indexDescription = "HNSW32,Flat";
+    int threadCount = 1;
+    std::unordered_map<std::string, jobject> parametersMap;
+    parametersMap[knn_jni::GRAPH_ONLY_STORAGE] = nullptr;
+
+    // Set up jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // Setup faiss method mock
+    // This object is handled by unique_ptr inside indexService.createIndex()
+    MockIndex* index = new MockIndex();
+    EXPECT_CALL(*index, add(numIds, vectors.data()))
+        .Times(1);
+    // This object is handled by unique_ptr inside indexService.createIndex()
+    faiss::IndexIDMap* indexIdMap = new faiss::IndexIDMap(index);
+    std::unique_ptr<MockFaissMethods> mockFaissMethods(new MockFaissMethods());
+    EXPECT_CALL(*mockFaissMethods, indexFactory(dim, ::testing::StrEq(indexDescription.c_str()), metricType))
+        .WillOnce(Return(index));
+    EXPECT_CALL(*mockFaissMethods, indexIdMap(index))
+        .WillOnce(Return(indexIdMap));
+    // The storage of the vectors is not written with the graph
+    EXPECT_CALL(*mockFaissMethods, writeIndex(indexIdMap, &indexWriter, faiss::IO_FLAG_SKIP_STORAGE))
+        .Times(1);
+
+    // Create the index
+    knn_jni::faiss_wrapper::IndexService indexService(std::move(mockFaissMethods));
+    indexService.createIndex(
+        &mockJNIUtil,
+        jniEnv,
+        metricType,
+        indexDescription,
+        dim,
+        numIds,
+        threadCount,
+        (int64_t) &vectors,
+        ids,
+        &indexWriter,
         parametersMap);
 }
 
@@ -92,7 +150,7 @@ TEST(CreateBinaryIndexTest, BasicAssertions) {
         }
     }
 
-    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    faiss::VectorIOWriter indexWriter;
     faiss::MetricType metricType = faiss::METRIC_L2;
     std::string indexDescription = "BHNSW32";
     int threadCount = 1;
@@ -114,7 +172,7 @@ TEST(CreateBinaryIndexTest, BasicAssertions) {
         .WillOnce(Return(index));
     EXPECT_CALL(*mockFaissMethods, indexBinaryIdMap(index))
         .WillOnce(Return(indexIdMap));
-    EXPECT_CALL(*mockFaissMethods, writeIndexBinary(indexIdMap, ::testing::StrEq(indexPath.c_str())))
+    EXPECT_CALL(*mockFaissMethods, writeIndexBinary(indexIdMap, &indexWriter))
         .Times(1);
 
     // Create the index
@@ -129,6 +187,103 @@ TEST(CreateBinaryIndexTest, BasicAssertions) {
         threadCount,
         (int64_t) &vectors,
         ids,
-        indexPath,
+        &indexWriter,
         parametersMap);
-}
\ No newline at end of file
+}
+TEST(IncrementalIndexTest, BasicAssertions) {
+    // Define the data, split in two batches
+    faiss::idx_t numIds = 200;
+    int dim = 2;
+    std::vector<int64_t> firstIds;
+    std::vector<int64_t> secondIds;
+    std::vector<float> firstVectors;
+    std::vector<float> secondVectors;
+    for (int64_t i = 0; i < numIds; ++i) {
+        auto& ids = i < numIds / 2 ? firstIds : secondIds;
+        auto& vectors = i < numIds / 2 ? firstVectors : secondVectors;
+        ids.push_back(i);
+        for (int j = 0; j < dim; ++j) {
+            vectors.push_back(test_util::RandomFloat(-500.0, 500.0));
+        }
+    }
+
+    faiss::VectorIOWriter indexWriter;
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string indexDescription = "HNSW32,Flat";
+    int threadCount = 1;
+    std::unordered_map<std::string, jobject> parametersMap;
+
+    // Set up jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // Setup faiss method mock
+    // This object is owned by the id map and released in indexService.writeIndex()
+    MockIndex* index = new MockIndex();
+    EXPECT_CALL(*index, add(numIds / 2, firstVectors.data()))
+        .Times(1);
+    EXPECT_CALL(*index, add(numIds / 2, secondVectors.data()))
+        .Times(1);
+    // This object is released in indexService.writeIndex()
+    faiss::IndexIDMap* indexIdMap = new faiss::IndexIDMap(index);
+    std::unique_ptr<MockFaissMethods> mockFaissMethods(new MockFaissMethods());
+    EXPECT_CALL(*mockFaissMethods, indexFactory(dim, ::testing::StrEq(indexDescription.c_str()), metricType))
+        .WillOnce(Return(index));
+    EXPECT_CALL(*mockFaissMethods, indexIdMap(index))
+        .WillOnce(Return(indexIdMap));
+    EXPECT_CALL(*mockFaissMethods, writeIndex(indexIdMap, &indexWriter, 0))
+        .Times(1);
+
+    knn_jni::faiss_wrapper::IndexService indexService(std::move(mockFaissMethods));
+    jlong indexAddress = indexService.initIndex(
+        &mockJNIUtil,
+        jniEnv,
+        metricType,
+        indexDescription,
+        dim,
+        threadCount,
+        parametersMap);
+    ASSERT_EQ(reinterpret_cast<jlong>(indexIdMap), indexAddress);
+    ASSERT_TRUE(indexIdMap->own_fields);
+
+    indexService.insertToIndex(dim, numIds / 2, threadCount, (int64_t) &firstVectors, firstIds, indexAddress);
+    indexService.insertToIndex(dim, numIds / 2, threadCount, (int64_t) &secondVectors, secondIds, indexAddress);
+    indexService.writeIndex(&indexWriter, indexAddress, 0);
+}
+
+TEST(LoadIndexForMergeTest, BasicAssertions) {
+    int dim = 2;
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    std::vector<int64_t> docIdMap = {4, 5, 7};
+
+    // This object is released by the test once the ids are checked
+    faiss::IndexIDMap* indexIdMap = new faiss::IndexIDMap(new faiss::IndexFlatL2(dim));
+    indexIdMap->own_fields = true;
+    indexIdMap->id_map = {2, 0, 1};
+    std::unique_ptr<MockFaissMethods> mockFaissMethods(new MockFaissMethods());
+    EXPECT_CALL(*mockFaissMethods, readIndex(::testing::StrEq(indexPath.c_str())))
+        .WillOnce(Return(indexIdMap));
+
+    knn_jni::faiss_wrapper::IndexService indexService(std::move(mockFaissMethods));
+    jlong indexAddress = indexService.loadIndexForMerge(indexPath, docIdMap);
+    std::unique_ptr<faiss::IndexIDMap> loadedIndex(reinterpret_cast<faiss::IndexIDMap *>(indexAddress));
+
+    ASSERT_EQ(indexIdMap, loadedIndex.get());
+    ASSERT_EQ(std::vector<faiss::idx_t>({7, 4, 5}), loadedIndex->id_map);
+}
+
+TEST(LoadIndexForMergeTest, WhenIdCannotBeRemapped) {
+    int dim = 2;
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    std::vector<int64_t> docIdMap = {4, -1};
+
+    faiss::IndexIDMap* indexIdMap = new faiss::IndexIDMap(new faiss::IndexFlatL2(dim));
+    indexIdMap->own_fields = true;
+    indexIdMap->id_map = {0, 1};
+    std::unique_ptr<MockFaissMethods> mockFaissMethods(new MockFaissMethods());
+    EXPECT_CALL(*mockFaissMethods, readIndex(::testing::StrEq(indexPath.c_str())))
+        .WillOnce(Return(indexIdMap));
+
+    knn_jni::faiss_wrapper::IndexService indexService(std::move(mockFaissMethods));
+    ASSERT_THROW(indexService.loadIndexForMerge(indexPath, docIdMap), std::runtime_error);
+}
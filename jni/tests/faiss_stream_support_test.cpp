@@ -0,0 +1,64 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+#include "faiss_stream_support.h"
+
+#include <vector>
+
+#include "faiss/IndexFlat.h"
+#include "faiss/IndexIDMap.h"
+#include "faiss/index_io.h"
+#include "gmock/gmock.h"
+#include "gtest/gtest.h"
+#include "test_util.h"
+
+using ::testing::NiceMock;
+
+TEST(FaissOpenSearchIOWriterTest, WhenIndexWritten_ThenSameBytesAsFaissSerialization) {
+    // Make the flat storage larger than the mediator buffer so that it is handed over to Java in several chunks
+    int dim = 128;
+    int numIds = 200;
+    std::vector<float> vectors;
+    std::vector<faiss::idx_t> ids;
+    for (int i = 0; i < numIds; ++i) {
+        ids.push_back(i);
+        for (int j = 0; j < dim; ++j) {
+            vectors.push_back(test_util::RandomFloat(-500.0, 500.0));
+        }
+    }
+    faiss::IndexFlatL2 flat(dim);
+    faiss::IndexIDMap idMap(&flat);
+    idMap.add_with_ids(numIds, vectors.data(), ids.data());
+
+    faiss::VectorIOWriter expected;
+    faiss::write_index(&idMap, &expected);
+
+    // The output is a std::vector<uint8_t> the mocked IndexOutputWithBuffer appends the bytes to
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+    std::vector<uint8_t> output;
+    size_t bufferSize = knn_jni::stream::NativeEngineIndexOutputMediator::BUFFER_SIZE;
+    EXPECT_CALL(mockJNIUtil, CallVoidMethod(jniEnv, reinterpret_cast<jobject>(&output), testing::_, testing::_, testing::_))
+            .Times((int) ((expected.data.size() + bufferSize - 1) / bufferSize));
+
+    knn_jni::stream::NativeEngineIndexOutputMediator mediator(&mockJNIUtil, jniEnv, reinterpret_cast<jobject>(&output));
+    knn_jni::stream::FaissOpenSearchIOWriter writer(&mediator);
+    faiss::write_index(&idMap, &writer);
+    mediator.flush();
+
+    ASSERT_EQ(expected.data, output);
+}
+
+TEST(FaissOpenSearchIOWriterTest, WhenOutputIsNull_ThenThrow) {
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+    ASSERT_THROW(knn_jni::stream::NativeEngineIndexOutputMediator(&mockJNIUtil, jniEnv, nullptr), std::runtime_error);
+}
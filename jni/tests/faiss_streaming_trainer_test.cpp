@@ -0,0 +1,130 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+#include "faiss_streaming_trainer.h"
+
+#include <algorithm>
+#include <memory>
+#include <stdexcept>
+#include <vector>
+
+#include "faiss/IndexIVFFlat.h"
+#include "faiss/IndexIVFPQ.h"
+#include "faiss/index_factory.h"
+#include "gtest/gtest.h"
+#include "test_util.h"
+
+namespace {
+
+std::unique_ptr<faiss::Index> StreamTrain(faiss::Index * index, const std::vector<float> & vectors, int dim,
+                                          faiss::idx_t batchSize) {
+    knn_jni::faiss_wrapper::StreamingTrainer trainer(index);
+    const faiss::idx_t numVectors = vectors.size() / dim;
+    for (faiss::idx_t start = 0; start < numVectors; start += batchSize) {
+        trainer.AddBatch(std::min(batchSize, numVectors - start), vectors.data() + start * dim);
+    }
+    EXPECT_EQ(numVectors, trainer.GetNumVectorsAdded());
+    return trainer.Finish();
+}
+
+// Every vector added to the trained index is found as its own nearest neighbor when every list is probed
+void AssertSearchable(faiss::Index * index, const std::vector<float> & vectors, int dim) {
+    const faiss::idx_t numVectors = vectors.size() / dim;
+    index->add(numVectors, vectors.data());
+    dynamic_cast<faiss::IndexIVF *>(index)->nprobe = dynamic_cast<faiss::IndexIVF *>(index)->nlist;
+
+    std::vector<float> distances(numVectors);
+    std::vector<faiss::idx_t> labels(numVectors);
+    index->search(numVectors, vectors.data(), 1, distances.data(), labels.data());
+    for (faiss::idx_t i = 0; i < numVectors; i++) {
+        ASSERT_NE(-1, labels[i]);
+    }
+}
+
+}
+
+TEST(FaissStreamingTrainerTest, WhenIVFFlatTrainedByBatches_ThenIndexTrained) {
+    int dim = 8;
+    faiss::idx_t numVectors = 500;
+    std::vector<float> vectors = test_util::RandomVectors(dim, numVectors, -500.0, 500.0);
+
+    std::unique_ptr<faiss::Index> index = StreamTrain(faiss::index_factory(dim, "IVF4,Flat", faiss::METRIC_L2),
+                                                      vectors, dim, 50);
+
+    ASSERT_TRUE(index->is_trained);
+    auto * ivf = dynamic_cast<faiss::IndexIVFFlat *>(index.get());
+    ASSERT_NE(nullptr, ivf);
+    ASSERT_EQ(4, ivf->quantizer->ntotal);
+    AssertSearchable(index.get(), vectors, dim);
+
+    // With a flat encoder every vector is its own nearest neighbor
+    std::vector<float> distances(1);
+    std::vector<faiss::idx_t> labels(1);
+    index->search(1, vectors.data() + 42 * dim, 1, distances.data(), labels.data());
+    ASSERT_EQ(42, labels[0]);
+}
+
+TEST(FaissStreamingTrainerTest, WhenIVFPQTrainedByBatches_ThenCodebooksTrained) {
+    int dim = 8;
+    faiss::idx_t numVectors = 500;
+    std::vector<float> vectors = test_util::RandomVectors(dim, numVectors, -500.0, 500.0);
+
+    std::unique_ptr<faiss::Index> index = StreamTrain(faiss::index_factory(dim, "IVF4,PQ4x4", faiss::METRIC_L2),
+                                                      vectors, dim, 50);
+
+    ASSERT_TRUE(index->is_trained);
+    auto * ivfPq = dynamic_cast<faiss::IndexIVFPQ *>(index.get());
+    ASSERT_NE(nullptr, ivfPq);
+    ASSERT_EQ(4, ivfPq->quantizer->ntotal);
+    ASSERT_EQ(ivfPq->pq.M * ivfPq->pq.ksub * ivfPq->pq.dsub, ivfPq->pq.centroids.size());
+    AssertSearchable(index.get(), vectors, dim);
+}
+
+TEST(FaissStreamingTrainerTest, WhenInnerProduct_ThenCentroidsNormalized) {
+    int dim = 4;
+    faiss::idx_t numVectors = 200;
+    std::vector<float> vectors = test_util::RandomVectors(dim, numVectors, -500.0, 500.0);
+
+    std::unique_ptr<faiss::Index> index = StreamTrain(
+            faiss::index_factory(dim, "IVF2,Flat", faiss::METRIC_INNER_PRODUCT), vectors, dim, 20);
+
+    auto * ivf = dynamic_cast<faiss::IndexIVFFlat *>(index.get());
+    ASSERT_NE(nullptr, ivf);
+    std::vector<float> centroid(dim);
+    for (faiss::idx_t list = 0; list < ivf->nlist; list++) {
+        ivf->quantizer->reconstruct(list, centroid.data());
+        float norm = 0;
+        for (float value : centroid) {
+            norm += value * value;
+        }
+        ASSERT_NEAR(1.0, norm, 1e-4);
+    }
+}
+
+TEST(FaissStreamingTrainerTest, WhenTooFewVectorsToSeed_ThenRegularTraining) {
+    int dim = 4;
+    // Fewer than SEED_POINTS_PER_CENTROID * nlist vectors
+    faiss::idx_t numVectors = 10;
+    std::vector<float> vectors = test_util::RandomVectors(dim, numVectors, -500.0, 500.0);
+
+    std::unique_ptr<faiss::Index> index = StreamTrain(faiss::index_factory(dim, "IVF4,Flat", faiss::METRIC_L2),
+                                                      vectors, dim, 3);
+
+    ASSERT_TRUE(index->is_trained);
+    AssertSearchable(index.get(), vectors, dim);
+}
+
+TEST(FaissStreamingTrainerTest, WhenNotIVF_ThenThrow) {
+    ASSERT_THROW(knn_jni::faiss_wrapper::StreamingTrainer(faiss::index_factory(4, "HNSW16,Flat", faiss::METRIC_L2)),
+                 std::runtime_error);
+    ASSERT_THROW(knn_jni::faiss_wrapper::StreamingTrainer(faiss::index_factory(4, "IVF4,SQfp16", faiss::METRIC_L2)),
+                 std::runtime_error);
+}
@@ -10,7 +10,9 @@
  */
 
 #include "faiss_wrapper.h"
+#include "commons.h"
 
+#include <cstring>
 #include <vector>
 
 #include "gmock/gmock.h"
@@ -19,6 +21,7 @@
 #include "test_util.h"
 #include "faiss/IndexHNSW.h"
 #include "faiss/IndexIVFPQ.h"
+#include "faiss/index_io.h"
 #include "mocks/faiss_index_service_mock.h"
 
 using ::testing::_;
@@ -46,7 +49,6 @@ TEST(FaissCreateIndexTest, BasicAssertions) {
         }
     }
 
-    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
     std::string spaceType = knn_jni::L2;
     std::string indexDescription = "HNSW32,Flat";
 
@@ -63,12 +65,13 @@ TEST(FaissCreateIndexTest, BasicAssertions) {
     // Create the index
     std::unique_ptr<FaissMethods> faissMethods(new FaissMethods());
     NiceMock<MockIndexService> mockIndexService(std::move(faissMethods));
-    EXPECT_CALL(mockIndexService, createIndex(_, _, faiss::METRIC_L2, indexDescription, dim, (int)numIds, 0, (int64_t)&vectors, ids, indexPath, subParametersMap))
+    faiss::VectorIOWriter indexWriter;
+    EXPECT_CALL(mockIndexService, createIndex(_, _, faiss::METRIC_L2, indexDescription, dim, (int)numIds, 0, (int64_t)&vectors, ids, &indexWriter, subParametersMap))
         .Times(1);
 
     knn_jni::faiss_wrapper::CreateIndex(
             &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
-            (jlong) &vectors, dim , (jstring)&indexPath,
+            (jlong) &vectors, dim , &indexWriter,
             (jobject)&parametersMap, &mockIndexService);
 }
 
@@ -86,7 +89,6 @@ TEST(FaissCreateBinaryIndexTest, BasicAssertions) {
         }
     }
 
-    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
     std::string spaceType = knn_jni::HAMMING;
     std::string indexDescription = "BHNSW32";
 
@@ -103,13 +105,14 @@ TEST(FaissCreateBinaryIndexTest, BasicAssertions) {
     // Create the index
     std::unique_ptr<FaissMethods> faissMethods(new FaissMethods());
     NiceMock<MockIndexService> mockIndexService(std::move(faissMethods));
-    EXPECT_CALL(mockIndexService, createIndex(_, _, faiss::METRIC_L2, indexDescription, dim, (int)numIds, 0, (int64_t)&vectors, ids, indexPath, subParametersMap))
+    faiss::VectorIOWriter indexWriter;
+    EXPECT_CALL(mockIndexService, createIndex(_, _, faiss::METRIC_L2, indexDescription, dim, (int)numIds, 0, (int64_t)&vectors, ids, &indexWriter, subParametersMap))
         .Times(1);
 
     // This method calls delete vectors at the end
     knn_jni::faiss_wrapper::CreateIndex(
             &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
-            (jlong) &vectors, dim , (jstring)&indexPath,
+            (jlong) &vectors, dim , &indexWriter,
             (jobject)&parametersMap, &mockIndexService);
 }
 
@@ -148,12 +151,15 @@ TEST(FaissCreateIndexFromTemplateTest, BasicAssertions) {
     std::unordered_map<std::string, jobject> parametersMap;
     parametersMap[knn_jni::SPACE_TYPE] = (jobject) &spaceType;
 
-    knn_jni::faiss_wrapper::CreateIndexFromTemplate(
-            &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
-            (jlong)vectors, dim, (jstring)&indexPath,
-            reinterpret_cast<jbyteArray>(&(vectorIoWriter.data)),
-            (jobject) &parametersMap
-            );
+    {
+        faiss::FileIOWriter indexWriter(indexPath.c_str());
+        knn_jni::faiss_wrapper::CreateIndexFromTemplate(
+                &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
+                (jlong)vectors, dim, &indexWriter,
+                reinterpret_cast<jbyteArray>(&(vectorIoWriter.data)),
+                (jobject) &parametersMap
+                );
+    }
 
     // Make sure index can be loaded
     std::unique_ptr<faiss::Index> index(test_util::FaissLoadIndex(indexPath));
@@ -162,6 +168,55 @@ TEST(FaissCreateIndexFromTemplateTest, BasicAssertions) {
     std::remove(indexPath.c_str());
 }
 
+TEST(FaissCreateIndexFromTemplateIndexTest, BasicAssertions) {
+    // Define the data
+    faiss::idx_t numIds = 100;
+    int dim = 2;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string method = "HNSW32,Flat";
+
+    std::unique_ptr<faiss::Index> createdIndex(
+            test_util::FaissCreateIndex(dim, method, metricType));
+    auto vectorIoWriter = test_util::FaissGetSerializedIndex(createdIndex.get());
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    std::string spaceType = knn_jni::L2;
+    std::unordered_map<std::string, jobject> parametersMap;
+    parametersMap[knn_jni::SPACE_TYPE] = (jobject) &spaceType;
+
+    std::unique_ptr<faiss::Index> templateIndex(reinterpret_cast<faiss::Index *>(
+            knn_jni::faiss_wrapper::LoadTemplateIndex(
+                    &mockJNIUtil, jniEnv, reinterpret_cast<jbyteArray>(&(vectorIoWriter.data)))));
+
+    // The template index is reused across builds
+    for (int build = 0; build < 2; build++) {
+        auto *vectors = new std::vector<float>(test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax));
+        std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+        {
+            faiss::FileIOWriter indexWriter(indexPath.c_str());
+            knn_jni::faiss_wrapper::CreateIndexFromTemplateIndex(
+                    &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
+                    (jlong) vectors, dim, &indexWriter,
+                    (jlong) templateIndex.get(),
+                    (jobject) &parametersMap
+                    );
+        }
+
+        // Make sure index can be loaded and holds the vectors while the template stays empty
+        std::unique_ptr<faiss::Index> index(test_util::FaissLoadIndex(indexPath));
+        ASSERT_EQ(numIds, index->ntotal);
+        ASSERT_EQ(0, templateIndex->ntotal);
+
+        // Clean up
+        std::remove(indexPath.c_str());
+    }
+}
+
 TEST(FaissLoadIndexTest, BasicAssertions) {
     // Define the data
     faiss::idx_t numIds = 100;
@@ -338,8 +393,7 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
     // Define query data
     int k = 10;
     int efSearch = 20;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+    std::vector<int64_t> searchParams = {efSearch, knn_jni::commons::SEARCH_PARAMETER_UNSET};
 
     int numQueries = 100;
     std::vector<std::vector<float>> queries;
@@ -362,7 +416,7 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
     // Setup jni
     JNIEnv *jniEnv = nullptr;
     NiceMock<test_util::MockJNIUtil> mockJNIUtil;
-    auto methodParamsJ = reinterpret_cast<jobject>(&methodParams);
+    auto searchParamsJ = reinterpret_cast<jintArray>(&searchParams);
 
     for (auto query : queries) {
         std::unique_ptr<std::vector<std::pair<int, float> *>> results(
@@ -370,7 +424,7 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::QueryIndex(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), k, methodParamsJ, nullptr)));
+                                reinterpret_cast<jfloatArray>(&query), k, searchParamsJ, nullptr)));
 
         ASSERT_EQ(k, results->size());
 
@@ -381,6 +435,66 @@ TEST(FaissQueryIndexTest, BasicAssertions) {
     }
 }
 
+TEST(FaissQueryIndexWithBufferTest, BasicAssertions) {
+    // Define the index data
+    faiss::idx_t numIds = 100;
+    int dim = 16;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string method = "HNSW32,Flat";
+
+    // Define query data
+    int k = 10;
+    int efSearch = 20;
+    std::vector<int64_t> searchParams = {efSearch, knn_jni::commons::SEARCH_PARAMETER_UNSET};
+    int numQueries = 100;
+
+    // Create the index
+    std::unique_ptr<faiss::Index> createdIndex(
+            test_util::FaissCreateIndex(dim, method, metricType));
+    auto createdIndexWithData =
+            test_util::FaissAddData(createdIndex.get(), ids, vectors);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+    auto searchParamsJ = reinterpret_cast<jintArray>(&searchParams);
+
+    for (int i = 0; i < numQueries; i++) {
+        std::vector<float> query = test_util::RandomVectors(dim, 1, randomDataMin, randomDataMax);
+
+        // The buffer holds the query vector, followed by k ids and k distances
+        std::vector<uint8_t> buffer(sizeof(float) * dim + (sizeof(int32_t) + sizeof(float)) * k);
+        std::memcpy(buffer.data(), query.data(), sizeof(float) * dim);
+        int resultSize = knn_jni::faiss_wrapper::QueryIndex_WithBuffer(
+                &mockJNIUtil, jniEnv, reinterpret_cast<jlong>(&createdIndexWithData),
+                reinterpret_cast<jobject>(buffer.data()), dim, k, searchParamsJ, nullptr, 0, nullptr);
+
+        std::unique_ptr<std::vector<std::pair<int, float> *>> results(
+                reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                        knn_jni::faiss_wrapper::QueryIndex(
+                                &mockJNIUtil, jniEnv,
+                                reinterpret_cast<jlong>(&createdIndexWithData),
+                                reinterpret_cast<jfloatArray>(&query), k, searchParamsJ, nullptr)));
+
+        ASSERT_EQ(k, resultSize);
+        ASSERT_EQ(results->size(), resultSize);
+        auto *resultIds = reinterpret_cast<int32_t *>(buffer.data() + sizeof(float) * dim);
+        auto *resultDistances = reinterpret_cast<float *>(buffer.data() + sizeof(float) * dim + sizeof(int32_t) * k);
+        for (int j = 0; j < resultSize; j++) {
+            ASSERT_EQ((*results)[j]->first, resultIds[j]);
+            ASSERT_FLOAT_EQ((*results)[j]->second, resultDistances[j]);
+        }
+
+        // Need to free up each result
+        for (auto it : *results.get()) {
+            delete it;
+        }
+    }
+}
+
 TEST(FaissQueryBinaryIndexTest, BasicAssertions) {
     // Define the data
     faiss::idx_t numIds = 200;
@@ -508,6 +622,212 @@ TEST(FaissQueryIndexWithFilterTest1435, BasicAssertions) {
     }
 }
 
+TEST(FaissQueryIndexWithStatsTest, BasicAssertions) {
+    // Define the index data
+    faiss::idx_t numIds = 200;
+    int dim = 16;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+    std::vector<float> query = test_util::RandomVectors(dim, 1, randomDataMin, randomDataMax);
+
+    // Only the ids below 10 match the filter
+    std::vector<jlong> bitmap(test_util::bits2words(numIds), 0);
+    for (int64_t i = 0; i < 10; i++) {
+        test_util::setBitSet(i, bitmap.data(), bitmap.size());
+    }
+
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string method = "HNSW32,Flat";
+
+    // Create the index
+    std::unique_ptr<faiss::Index> createdIndex(
+            test_util::FaissCreateIndex(dim, method, metricType));
+    auto createdIndexWithData =
+            test_util::FaissAddData(createdIndex.get(), ids, vectors);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+    EXPECT_CALL(mockJNIUtil,
+                GetJavaLongArrayLength(
+                        jniEnv, reinterpret_cast<jlongArray>(&bitmap)))
+            .WillRepeatedly(Return(bitmap.size()));
+    std::vector<int64_t> searchParams = {
+        knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET, 1};
+    std::vector<jlong> stats(knn_jni::faiss_wrapper::QUERY_STATS_SIZE);
+    EXPECT_CALL(mockJNIUtil,
+                GetJavaLongArrayLength(
+                        jniEnv, reinterpret_cast<jlongArray>(&stats)))
+            .WillRepeatedly(Return(stats.size()));
+
+    int k = 5;
+    std::unique_ptr<std::vector<std::pair<int, float> *>> results(
+            reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                    knn_jni::faiss_wrapper::QueryIndex_WithFilter(
+                            &mockJNIUtil, jniEnv,
+                            reinterpret_cast<jlong>(&createdIndexWithData),
+                            reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jintArray>(&searchParams),
+                            reinterpret_cast<jlongArray>(&bitmap), 0, nullptr)));
+    knn_jni::faiss_wrapper::GetQueryStats(&mockJNIUtil, jniEnv, reinterpret_cast<jlongArray>(&stats));
+
+    ASSERT_TRUE(results->size() <= k);
+    ASSERT_GT(stats[knn_jni::faiss_wrapper::QUERY_STATS_VISITED], 0);
+    ASSERT_GT(stats[knn_jni::faiss_wrapper::QUERY_STATS_FILTER_REJECTIONS], 0);
+    ASSERT_LT(stats[knn_jni::faiss_wrapper::QUERY_STATS_FILTER_REJECTIONS], stats[knn_jni::faiss_wrapper::QUERY_STATS_VISITED]);
+    ASSERT_EQ(0, stats[knn_jni::faiss_wrapper::QUERY_STATS_LISTS_PROBED]);
+    ASSERT_GT(stats[knn_jni::faiss_wrapper::QUERY_STATS_DISTANCE_COMPUTATIONS], 0);
+    ASSERT_GT(stats[knn_jni::faiss_wrapper::QUERY_STATS_HOPS], 0);
+
+    // Collecting statistics does not change the results
+    std::vector<int64_t> noStatsSearchParams = {
+        knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET, 0};
+    std::unique_ptr<std::vector<std::pair<int, float> *>> noStatsResults(
+            reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                    knn_jni::faiss_wrapper::QueryIndex_WithFilter(
+                            &mockJNIUtil, jniEnv,
+                            reinterpret_cast<jlong>(&createdIndexWithData),
+                            reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jintArray>(&noStatsSearchParams),
+                            reinterpret_cast<jlongArray>(&bitmap), 0, nullptr)));
+    ASSERT_EQ(noStatsResults->size(), results->size());
+    for (int i = 0; i < results->size(); i++) {
+        ASSERT_EQ(noStatsResults->at(i)->first, results->at(i)->first);
+        ASSERT_FLOAT_EQ(noStatsResults->at(i)->second, results->at(i)->second);
+    }
+    for (auto it : *noStatsResults.get()) {
+        delete it;
+    }
+    for (auto it : *results.get()) {
+        delete it;
+    }
+
+    // Statistics are not collected unless the search parameters ask for them
+    results.reset(reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+            knn_jni::faiss_wrapper::QueryIndex(
+                    &mockJNIUtil, jniEnv,
+                    reinterpret_cast<jlong>(&createdIndexWithData),
+                    reinterpret_cast<jfloatArray>(&query), k, nullptr, nullptr)));
+    knn_jni::faiss_wrapper::GetQueryStats(&mockJNIUtil, jniEnv, reinterpret_cast<jlongArray>(&stats));
+    ASSERT_EQ(0, stats[knn_jni::faiss_wrapper::QUERY_STATS_VISITED]);
+    for (auto it : *results.get()) {
+        delete it;
+    }
+}
+
+TEST(FaissQueryIndexWithThreadsTest, BasicAssertions) {
+    faiss::idx_t numIds = 1000;
+    int dim = 8;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+    std::vector<float> query = test_util::RandomVectors(dim, 1, randomDataMin, randomDataMax);
+
+    std::string indexPath = test_util::RandomString(10, "tmp/", ".faiss");
+    faiss::MetricType metricType = faiss::METRIC_L2;
+    std::string indexDescription = "IVF16,Flat";
+
+    std::unique_ptr<faiss::Index> faissIndex(test_util::FaissCreateIndex(dim, indexDescription, metricType));
+    test_util::FaissTrainIndex(faissIndex.get(), numIds, vectors.data());
+    auto faissIndexWithIDMap = test_util::FaissAddData(faissIndex.get(), ids, vectors);
+    test_util::FaissWriteIndex(&faissIndexWithIDMap, indexPath);
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    std::unique_ptr<faiss::Index> loadedIndexPointer(
+            reinterpret_cast<faiss::Index *>(knn_jni::faiss_wrapper::LoadIndex(
+                    &mockJNIUtil, jniEnv, (jstring)&indexPath)));
+    auto idMapIndex = dynamic_cast<faiss::IndexIDMap *>(loadedIndexPointer.get());
+    ASSERT_NE(idMapIndex, nullptr);
+    auto ivfIndex = dynamic_cast<faiss::IndexIVF *>(idMapIndex->index);
+    ASSERT_NE(ivfIndex, nullptr);
+    ASSERT_EQ(1, ivfIndex->parallel_mode);
+
+    // The search split between threads returns the same results as the one on the calling thread
+    int k = 10;
+    std::vector<int64_t> singleThreadParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, 16,
+        knn_jni::commons::SEARCH_PARAMETER_UNSET, 1};
+    std::vector<int64_t> multiThreadParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, 16,
+        knn_jni::commons::SEARCH_PARAMETER_UNSET, 4};
+    std::unique_ptr<std::vector<std::pair<int, float> *>> singleThreadResults(
+            reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                    knn_jni::faiss_wrapper::QueryIndex(
+                            &mockJNIUtil, jniEnv, reinterpret_cast<jlong>(loadedIndexPointer.get()),
+                            reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jintArray>(&singleThreadParams), nullptr)));
+    std::unique_ptr<std::vector<std::pair<int, float> *>> multiThreadResults(
+            reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                    knn_jni::faiss_wrapper::QueryIndex(
+                            &mockJNIUtil, jniEnv, reinterpret_cast<jlong>(loadedIndexPointer.get()),
+                            reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jintArray>(&multiThreadParams), nullptr)));
+
+    ASSERT_EQ(k, singleThreadResults->size());
+    ASSERT_EQ(singleThreadResults->size(), multiThreadResults->size());
+    for (int i = 0; i < k; i++) {
+        ASSERT_EQ(singleThreadResults->at(i)->first, multiThreadResults->at(i)->first);
+        ASSERT_FLOAT_EQ(singleThreadResults->at(i)->second, multiThreadResults->at(i)->second);
+    }
+    for (auto it : *singleThreadResults.get()) {
+        delete it;
+    }
+    for (auto it : *multiThreadResults.get()) {
+        delete it;
+    }
+}
+
+TEST(FaissQueryIndexWithStatsAndThreadsTest, BasicAssertions) {
+    faiss::idx_t numIds = 1000;
+    int dim = 8;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+    std::vector<float> query = test_util::RandomVectors(dim, 1, randomDataMin, randomDataMax);
+
+    // Only the even ids match the filter
+    std::vector<jlong> bitmap(test_util::bits2words(numIds), 0);
+    for (int64_t i = 0; i < numIds; i += 2) {
+        test_util::setBitSet(i, bitmap.data(), bitmap.size());
+    }
+
+    std::unique_ptr<faiss::Index> faissIndex(test_util::FaissCreateIndex(dim, "IVF16,Flat", faiss::METRIC_L2));
+    test_util::FaissTrainIndex(faissIndex.get(), numIds, vectors.data());
+    auto faissIndexWithIDMap = test_util::FaissAddData(faissIndex.get(), ids, vectors);
+    dynamic_cast<faiss::IndexIVF *>(faissIndex.get())->parallel_mode = 1;
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+    EXPECT_CALL(mockJNIUtil,
+                GetJavaLongArrayLength(
+                        jniEnv, reinterpret_cast<jlongArray>(&bitmap)))
+            .WillRepeatedly(Return(bitmap.size()));
+    std::vector<jlong> stats(knn_jni::faiss_wrapper::QUERY_STATS_SIZE);
+    EXPECT_CALL(mockJNIUtil,
+                GetJavaLongArrayLength(
+                        jniEnv, reinterpret_cast<jlongArray>(&stats)))
+            .WillRepeatedly(Return(stats.size()));
+
+    // Every list is probed, so every id is checked exactly once whatever the number of threads
+    int k = 10;
+    for (int64_t threads : {1, 4}) {
+        std::vector<int64_t> searchParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, 16, 1, threads};
+        std::unique_ptr<std::vector<std::pair<int, float> *>> results(
+                reinterpret_cast<std::vector<std::pair<int, float> *> *>(
+                        knn_jni::faiss_wrapper::QueryIndex_WithFilter(
+                                &mockJNIUtil, jniEnv, reinterpret_cast<jlong>(&faissIndexWithIDMap),
+                                reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jintArray>(&searchParams),
+                                reinterpret_cast<jlongArray>(&bitmap), 0, nullptr)));
+        knn_jni::faiss_wrapper::GetQueryStats(&mockJNIUtil, jniEnv, reinterpret_cast<jlongArray>(&stats));
+
+        ASSERT_EQ(k, results->size());
+        ASSERT_EQ(numIds, stats[knn_jni::faiss_wrapper::QUERY_STATS_VISITED]);
+        ASSERT_EQ(numIds / 2, stats[knn_jni::faiss_wrapper::QUERY_STATS_FILTER_REJECTIONS]);
+        ASSERT_EQ(16, stats[knn_jni::faiss_wrapper::QUERY_STATS_LISTS_PROBED]);
+        ASSERT_EQ(numIds, stats[knn_jni::faiss_wrapper::QUERY_STATS_DISTANCE_COMPUTATIONS]);
+        ASSERT_EQ(0, stats[knn_jni::faiss_wrapper::QUERY_STATS_HOPS]);
+        for (auto it : *results.get()) {
+            delete it;
+        }
+    }
+}
+
 TEST(FaissQueryIndexWithParentFilterTest, BasicAssertions) {
     // Define the index data
     faiss::idx_t numIds = 100;
@@ -550,8 +870,7 @@ TEST(FaissQueryIndexWithParentFilterTest, BasicAssertions) {
             test_util::FaissAddData(createdIndex.get(), ids, vectors);
 
     int efSearch = 100;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+    std::vector<int64_t> searchParams = {efSearch, knn_jni::commons::SEARCH_PARAMETER_UNSET};
 
     // Setup jni
     JNIEnv *jniEnv = nullptr;
@@ -566,7 +885,7 @@ TEST(FaissQueryIndexWithParentFilterTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::QueryIndex(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jobject>(&methodParams),
+                                reinterpret_cast<jfloatArray>(&query), k, reinterpret_cast<jintArray>(&searchParams),
                                 reinterpret_cast<jintArray>(&parentIds))));
 
         // Even with k 20, result should have only 10 which is total number of groups
@@ -683,10 +1002,13 @@ TEST(FaissCreateHnswSQfp16IndexTest, BasicAssertions) {
     // Create the index
     std::unique_ptr<FaissMethods> faissMethods(new FaissMethods());
     knn_jni::faiss_wrapper::IndexService IndexService(std::move(faissMethods));
-    knn_jni::faiss_wrapper::CreateIndex(
-            &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
-            (jlong)&vectors, dim, (jstring)&indexPath,
-            (jobject)&parametersMap, &IndexService);
+    {
+        faiss::FileIOWriter indexWriter(indexPath.c_str());
+        knn_jni::faiss_wrapper::CreateIndex(
+                &mockJNIUtil, jniEnv, reinterpret_cast<jintArray>(&ids),
+                (jlong)&vectors, dim, &indexWriter,
+                (jobject)&parametersMap, &IndexService);
+    }
 
     // Make sure index can be loaded
     std::unique_ptr<faiss::Index> index(test_util::FaissLoadIndex(indexPath));
@@ -791,6 +1113,51 @@ TEST(FaissInitAndSetSharedIndexState, BasicAssertions) {
     knn_jni::faiss_wrapper::FreeSharedIndexState(sharedModelAddress);
 }
 
+TEST(FaissSetIndexStorageTest, BasicAssertions) {
+    // Define the data
+    faiss::idx_t numIds = 100;
+    int dim = 2;
+    std::vector<faiss::idx_t> ids = test_util::Range(numIds);
+    std::vector<float> vectors = test_util::RandomVectors(dim, numIds, randomDataMin, randomDataMax);
+
+    std::unique_ptr<faiss::Index> createdIndex(test_util::FaissCreateIndex(dim, "HNSW32,Flat", faiss::METRIC_L2));
+    auto createdIndexWithData = test_util::FaissAddData(createdIndex.get(), ids, vectors);
+
+    // Write the graph without its vectors
+    faiss::VectorIOWriter graphOnlyWriter;
+    faiss::write_index(&createdIndexWithData, &graphOnlyWriter, faiss::IO_FLAG_SKIP_STORAGE);
+    std::unique_ptr<faiss::Index> loadedIndex(test_util::FaissLoadFromSerializedIndex(&graphOnlyWriter.data));
+
+    ASSERT_TRUE(knn_jni::faiss_wrapper::IsIndexStorageRequired((jlong) loadedIndex.get()));
+    ASSERT_FALSE(knn_jni::faiss_wrapper::IsIndexStorageRequired((jlong) &createdIndexWithData));
+
+    // Setup jni
+    JNIEnv *jniEnv = nullptr;
+    NiceMock<test_util::MockJNIUtil> mockJNIUtil;
+
+    // Pass the vectors in reverse order, they are restored in the order of the graph
+    std::vector<int64_t> reversedIds(ids.rbegin(), ids.rend());
+    std::vector<float> reversedVectors;
+    for (auto id : reversedIds) {
+        reversedVectors.insert(reversedVectors.end(), vectors.begin() + id * dim, vectors.begin() + (id + 1) * dim);
+    }
+    knn_jni::faiss_wrapper::SetIndexStorage(&mockJNIUtil, jniEnv, (jlong) loadedIndex.get(),
+                                            (jlong) &reversedVectors, dim, (jintArray) &reversedIds);
+    ASSERT_FALSE(knn_jni::faiss_wrapper::IsIndexStorageRequired((jlong) loadedIndex.get()));
+
+    // The restored index is the index written with its vectors
+    auto createdIndexSerialization = test_util::FaissGetSerializedIndex(&createdIndexWithData);
+    auto restoredIndexSerialization = test_util::FaissGetSerializedIndex(loadedIndex.get());
+    ASSERT_EQ(createdIndexSerialization.data, restoredIndexSerialization.data);
+
+    // A vector count that does not match the index is rejected
+    std::vector<int64_t> missingIds(reversedIds.begin(), reversedIds.end() - 1);
+    std::unique_ptr<faiss::Index> otherLoadedIndex(test_util::FaissLoadFromSerializedIndex(&graphOnlyWriter.data));
+    EXPECT_THROW(knn_jni::faiss_wrapper::SetIndexStorage(&mockJNIUtil, jniEnv, (jlong) otherLoadedIndex.get(),
+                                                         (jlong) &reversedVectors, dim, (jintArray) &missingIds),
+                 std::runtime_error);
+}
+
 TEST(FaissRangeSearchQueryIndexTest, BasicAssertions) {
     // Define the index data
     faiss::idx_t numIds = 200;
@@ -802,9 +1169,8 @@ TEST(FaissRangeSearchQueryIndexTest, BasicAssertions) {
     std::string method = "HNSW32,Flat";
 
     int efSearch = 20;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
-    auto methodParamsJ = reinterpret_cast<jobject>(&methodParams);
+    std::vector<int64_t> searchParams = {efSearch, knn_jni::commons::SEARCH_PARAMETER_UNSET};
+    auto searchParamsJ = reinterpret_cast<jintArray>(&searchParams);
 
     // Define query data
     int numQueries = 100;
@@ -838,7 +1204,7 @@ TEST(FaissRangeSearchQueryIndexTest, BasicAssertions) {
                         knn_jni::faiss_wrapper::RangeSearch(
                                 &mockJNIUtil, jniEnv,
                                 reinterpret_cast<jlong>(&createdIndexWithData),
-                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, methodParamsJ, maxResultWindow, nullptr)));
+                                reinterpret_cast<jfloatArray>(&query), rangeSearchRadius, searchParamsJ, maxResultWindow, nullptr)));
 
         // assert result size is not 0
         ASSERT_NE(0, results->size());
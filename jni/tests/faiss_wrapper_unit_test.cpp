@@ -10,6 +10,7 @@
  */
 
 #include "faiss_wrapper.h"
+#include "commons.h"
 
 #include <vector>
 
@@ -188,10 +189,10 @@ namespace query_index_test {
 
         int efSearch = input.efSearch;
         int expectedEfSearch = 100; //default set in mock
-        std::unordered_map<std::string, jobject> methodParams;
+        std::vector<int64_t> searchParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET};
         if (efSearch != -1) {
             expectedEfSearch = input.efSearch;
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+            searchParams[knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH] = efSearch;
         }
 
         std::vector<int> *parentIdPtr = nullptr;
@@ -217,7 +218,7 @@ namespace query_index_test {
         knn_jni::faiss_wrapper::QueryIndex(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&id_map_),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jintArray>(&searchParams),
             reinterpret_cast<jintArray>(parentIdPtr));
 
         // Then
@@ -284,17 +285,17 @@ namespace query_index_with_filter_test {
 
         int efSearch = input.efSearch;
         int expectedEfSearch = 100; //default set in mock
-        std::unordered_map<std::string, jobject> methodParams;
+        std::vector<int64_t> searchParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET};
         if (efSearch != -1) {
             expectedEfSearch = input.efSearch;
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+            searchParams[knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH] = efSearch;
         }
 
         // When
         knn_jni::faiss_wrapper::QueryIndex_WithFilter(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&id_map_),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jintArray>(&searchParams),
             reinterpret_cast<jlongArray>(filterptr),
             input.filterIdType,
             reinterpret_cast<jintArray>(parentIdPtr));
@@ -346,12 +347,12 @@ namespace range_search_test {
         float radius = input.radius;
         int maxResultWindow = 100; // Set your max result window
 
-        std::unordered_map<std::string, jobject> methodParams;
+        std::vector<int64_t> searchParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET};
         int efSearch = input.efSearch;
         int expectedEfSearch = 100; // default set in mock
         if (efSearch != -1) {
             expectedEfSearch = input.efSearch;
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+            searchParams[knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH] = efSearch;
         }
 
         std::vector<int> *parentIdPtr = nullptr;
@@ -387,7 +388,7 @@ namespace range_search_test {
         knn_jni::faiss_wrapper::RangeSearchWithFilter(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&id_map_),
-            reinterpret_cast<jfloatArray>(&query), radius, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), radius, reinterpret_cast<jintArray>(&searchParams),
             maxResultWindow,
             reinterpret_cast<jlongArray>(filterptr),
             input.filterIdType,
@@ -439,10 +440,10 @@ namespace query_index_with_filter_test_ivf {
 
         int nprobe = input.nprobe;
         int expectedNprobe = 100; //default set in mock
-        std::unordered_map<std::string, jobject> methodParams;
+        std::vector<int64_t> searchParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET};
         if (nprobe != -1) {
             expectedNprobe = input.nprobe;
-            methodParams[knn_jni::NPROBES] = reinterpret_cast<jobject>(&nprobe);
+            searchParams[knn_jni::commons::SEARCH_PARAMETER_NPROBES] = nprobe;
         }
 
         std::vector<long> *filterptr = nullptr;
@@ -458,7 +459,7 @@ namespace query_index_with_filter_test_ivf {
         knn_jni::faiss_wrapper::QueryIndex_WithFilter(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(&ivf_id_map_),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams),
+            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jintArray>(&searchParams),
             reinterpret_cast<jlongArray>(filterptr),
             input.filterIdType,
             nullptr);
@@ -35,10 +35,52 @@ public:
             int threadCount,
             int64_t vectorsAddress,
             std::vector<int64_t> ids,
-            std::string indexPath,
+            faiss::IOWriter* writer,
+            StringToJObjectMap parameters
+        ),
+        (override));
+    MOCK_METHOD(
+        jlong,
+        initIndex,
+        (
+            knn_jni::JNIUtilInterface * jniUtil,
+            JNIEnv * env,
+            faiss::MetricType metric,
+            std::string indexDescription,
+            int dim,
+            int threadCount,
             StringToJObjectMap parameters
         ),
         (override));
+    MOCK_METHOD(
+        void,
+        insertToIndex,
+        (
+            int dim,
+            int numIds,
+            int threadCount,
+            int64_t vectorsAddress,
+            std::vector<int64_t> & ids,
+            jlong idMapAddress
+        ),
+        (override));
+    MOCK_METHOD(
+        void,
+        writeIndex,
+        (
+            faiss::IOWriter* writer,
+            jlong idMapAddress,
+            int ioFlags
+        ),
+        (override));
+    MOCK_METHOD(
+        jlong,
+        loadIndexForMerge,
+        (
+            std::string indexPath,
+            std::vector<int64_t> & docIdMap
+        ),
+        (override));
 };
 
 #endif  // OPENSEARCH_KNN_FAISS_INDEX_SERVICE_MOCK_H
\ No newline at end of file
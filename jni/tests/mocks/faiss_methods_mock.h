@@ -21,8 +21,10 @@ public:
     MOCK_METHOD(faiss::IndexBinary*, indexBinaryFactory, (int d, const char* description), (override));
     MOCK_METHOD(faiss::IndexIDMapTemplate<faiss::Index>*, indexIdMap, (faiss::Index* index), (override));
     MOCK_METHOD(faiss::IndexIDMapTemplate<faiss::IndexBinary>*, indexBinaryIdMap, (faiss::IndexBinary* index), (override));
-    MOCK_METHOD(void, writeIndex, (const faiss::Index* idx, const char* fname), (override));
-    MOCK_METHOD(void, writeIndexBinary, (const faiss::IndexBinary* idx, const char* fname), (override));
+    MOCK_METHOD(void, writeIndex, (const faiss::Index* idx, faiss::IOWriter* writer, int ioFlags), (override));
+    MOCK_METHOD(void, writeIndexBinary, (const faiss::IndexBinary* idx, faiss::IOWriter* writer), (override));
+    MOCK_METHOD(faiss::Index*, readIndex, (const char* fname), (override));
+    MOCK_METHOD(faiss::IndexBinary*, readIndexBinary, (const char* fname), (override));
 };
 
 #endif  // OPENSEARCH_KNN_FAISS_METHODS_MOCK_H
\ No newline at end of file
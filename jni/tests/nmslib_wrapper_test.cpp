@@ -10,6 +10,7 @@
  */
 
 #include "nmslib_wrapper.h"
+#include "commons.h"
 
 #include <vector>
 
@@ -185,8 +186,7 @@ TEST(NmslibQueryIndexTest, BasicAssertions) {
     int efSearch = 20;
     int numQueries = 100;
     std::vector<std::vector<float>> queries;
-    std::unordered_map<std::string, jobject> methodParams;
-    methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+    std::vector<int64_t> searchParams = {efSearch, knn_jni::commons::SEARCH_PARAMETER_UNSET};
 
     for (int i = 0; i < numQueries; i++) {
         std::vector<float> query;
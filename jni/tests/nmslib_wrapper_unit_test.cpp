@@ -11,6 +11,7 @@
 #include "hnswquery.h"
 #include "knnquery.h"
 #include "nmslib_wrapper.h"
+#include "commons.h"
 
 #include "gmock/gmock.h"
 #include "gtest/gtest.h"
@@ -93,9 +94,9 @@ namespace nmslib_query_index_test {
         indexWrapper->index.reset(index_);
 
         int efSearch = input.efSearch;
-        std::unordered_map<std::string, jobject> methodParams;
+        std::vector<int64_t> searchParams = {knn_jni::commons::SEARCH_PARAMETER_UNSET, knn_jni::commons::SEARCH_PARAMETER_UNSET};
         if (efSearch != -1) {
-            methodParams[knn_jni::EF_SEARCH] = reinterpret_cast<jobject>(&efSearch);
+            searchParams[knn_jni::commons::SEARCH_PARAMETER_EF_SEARCH] = efSearch;
         }
         EXPECT_CALL(mockJNIUtil,
                         GetJavaFloatArrayLength(
@@ -113,7 +114,7 @@ namespace nmslib_query_index_test {
         knn_jni::nmslib_wrapper::QueryIndex(
             &mockJNIUtil, jniEnv,
             reinterpret_cast<jlong>(indexWrapper.get()),
-            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jobject>(&methodParams));
+            reinterpret_cast<jfloatArray>(&query), input.k, reinterpret_cast<jintArray>(&searchParams));
 
         if (input.expectedHNSWQuery) {
             EXPECT_EQ(input.efSearch, index_->efCalled);
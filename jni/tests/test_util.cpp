@@ -59,6 +59,12 @@ test_util::MockJNIUtil::MockJNIUtil() {
             });
 
 
+    // buffer is re-interpreted as the address of the buffer contents
+    ON_CALL(*this, GetDirectBufferAddress)
+            .WillByDefault([this](JNIEnv *env, jobject buffer) {
+                return reinterpret_cast<void *>(buffer);
+            });
+
     // arrayJ is re-interpreted as std::vector<int64_t> *
     ON_CALL(*this, ConvertJavaIntArrayToCppIntVector)
             .WillByDefault([this](JNIEnv *env, jintArray arrayJ) {
@@ -199,6 +205,16 @@ test_util::MockJNIUtil::MockJNIUtil() {
         return reinterpret_cast<jbyteArray>(new std::vector<uint8_t>());
     });
 
+    // obj and bytes are re-interpreted as std::vector<uint8_t> *. The first length bytes of bytes are moved to obj,
+    // which mimics an IndexOutputWithBuffer appending them to its IndexOutput
+    ON_CALL(*this, CallVoidMethod)
+            .WillByDefault([this](JNIEnv *env, jobject obj, jmethodID methodId, jbyteArray bytes, jint length) {
+                auto output = reinterpret_cast<std::vector<uint8_t> *>(obj);
+                auto byteBuffer = reinterpret_cast<std::vector<uint8_t> *>(bytes);
+                output->insert(output->end(), byteBuffer->begin(), byteBuffer->begin() + length);
+                byteBuffer->clear();
+            });
+
     // Create a new std::pair<int, float> with the id and distance and then
     // re-interpret it as a jobject
     ON_CALL(*this, NewObject)
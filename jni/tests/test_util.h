@@ -72,6 +72,7 @@ namespace test_util {
                     (JNIEnv * env, jintArray array, jboolean* isCopy));
         MOCK_METHOD(jlong*, GetLongArrayElements,
                     (JNIEnv * env, jlongArray array, jboolean* isCopy));
+        MOCK_METHOD(void*, GetDirectBufferAddress, (JNIEnv * env, jobject buffer));
         MOCK_METHOD(int, GetJavaBytesArrayLength, (JNIEnv * env, jbyteArray arrayJ));
         MOCK_METHOD(int, GetJavaFloatArrayLength, (JNIEnv * env, jfloatArray arrayJ));
         MOCK_METHOD(int, GetJavaIntArrayLength, (JNIEnv * env, jintArray arrayJ));
@@ -84,6 +85,8 @@ namespace test_util {
         MOCK_METHOD(void, HasExceptionInStack,
                     (JNIEnv * env, const std::string& message));
         MOCK_METHOD(jbyteArray, NewByteArray, (JNIEnv * env, jsize len));
+        MOCK_METHOD(void, CallVoidMethod,
+                    (JNIEnv * env, jobject obj, jmethodID methodId, jbyteArray bytes, jint length));
         MOCK_METHOD(jobject, NewObject,
                     (JNIEnv * env, jclass clazz, jmethodID methodId, int id,
                             float distance));
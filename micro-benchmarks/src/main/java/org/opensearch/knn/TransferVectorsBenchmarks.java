@@ -25,6 +25,9 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.opensearch.knn.jni.JNICommons;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -87,6 +90,34 @@ public class TransferVectorsBenchmarks {
         JNICommons.freeVectorData(vectorsAddress);
     }
 
+    @Benchmark
+    public void transferVectors_withDirectBuffer() {
+        long vectorsAddress = 0;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(vectorsPerTransfer * dimension * Float.BYTES).order(ByteOrder.nativeOrder());
+        final FloatBuffer floatBuffer = buffer.asFloatBuffer();
+        for (float[] floats : vectorList) {
+            if (floatBuffer.remaining() < floats.length) {
+                vectorsAddress = JNICommons.storeVectorDataFromBuffer(
+                    vectorsAddress,
+                    buffer,
+                    floatBuffer.position(),
+                    dimension * TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED
+                );
+                floatBuffer.clear();
+            }
+            floatBuffer.put(floats);
+        }
+        if (floatBuffer.position() > 0) {
+            vectorsAddress = JNICommons.storeVectorDataFromBuffer(
+                vectorsAddress,
+                buffer,
+                floatBuffer.position(),
+                dimension * TOTAL_NUMBER_OF_VECTOR_TO_BE_TRANSFERRED
+            );
+        }
+        JNICommons.freeVectorData(vectorsAddress);
+    }
+
     private float[] generateRandomVector(int dimensions) {
         float[] vector = new float[dimensions];
         for (int i = 0; i < dimensions; i++) {
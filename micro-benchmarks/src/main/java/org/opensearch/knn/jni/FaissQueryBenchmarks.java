@@ -0,0 +1,111 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.jni;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.query.KNNQueryResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the query of a faiss index through Java arrays and result objects, the default, with the query through a
+ * direct buffer enabled by knn.faiss.direct_buffer_query.enabled.
+ */
+@Warmup(iterations = 3, timeUnit = TimeUnit.SECONDS, time = 10)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 10)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FaissQueryBenchmarks {
+    private static final Random random = new Random(1212121212);
+    private static final int NUMBER_OF_VECTORS = 10000;
+    private static final int NUMBER_OF_QUERIES = 1000;
+
+    @Param({ "128", "768", "1536" })
+    private int dimension;
+
+    @Param({ "10", "100", "1000" })
+    private int k;
+
+    private long indexPointer;
+    private float[][] queries;
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final float[][] vectors = new float[NUMBER_OF_VECTORS][];
+        for (int i = 0; i < NUMBER_OF_VECTORS; i++) {
+            vectors[i] = generateRandomVector(dimension);
+        }
+        queries = new float[NUMBER_OF_QUERIES][];
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            queries[i] = generateRandomVector(dimension);
+        }
+
+        final Path indexPath = Files.createTempFile("faiss-query-benchmarks", ".faiss");
+        final long vectorsAddress = JNICommons.storeVectorData(0, vectors, (long) NUMBER_OF_VECTORS * dimension);
+        JNIService.createIndex(
+            IntStream.range(0, NUMBER_OF_VECTORS).toArray(),
+            vectorsAddress,
+            dimension,
+            indexPath.toString(),
+            Map.of(KNNConstants.INDEX_DESCRIPTION_PARAMETER, "HNSW16,Flat", KNNConstants.SPACE_TYPE, SpaceType.L2.getValue()),
+            KNNEngine.FAISS
+        );
+        final Map<String, Object> loadParameters = Map.of(KNNConstants.SPACE_TYPE, SpaceType.L2.getValue());
+        indexPointer = JNIService.loadIndex(indexPath.toString(), loadParameters, KNNEngine.FAISS);
+        Files.delete(indexPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JNIService.free(indexPointer, KNNEngine.FAISS);
+    }
+
+    @Benchmark
+    public KNNQueryResult[] queryIndex_withArrays() {
+        return FaissService.queryIndex(indexPointer, nextQuery(), k, null, null);
+    }
+
+    @Benchmark
+    public KNNQueryResult[] queryIndex_withDirectBuffer() {
+        return FaissQueryBuffer.queryIndex(indexPointer, nextQuery(), k, null, null, 0, null);
+    }
+
+    private float[] nextQuery() {
+        queryIndex = (queryIndex + 1) % NUMBER_OF_QUERIES;
+        return queries[queryIndex];
+    }
+
+    private float[] generateRandomVector(int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = -500 + (float) random.nextGaussian() * (1000);
+        }
+        return vector;
+    }
+}
@@ -57,8 +57,10 @@ public class KNNConstants {
 
     public static final String KNN_THREAD_POOL_PREFIX = "knn";
     public static final String TRAIN_THREAD_POOL = "training";
+    public static final String GRAPH_BUILD_THREAD_POOL = "graph_build";
 
     public static final String TRAINING_JOB_COUNT_FIELD_NAME = "training_job_count";
+    public static final String TRAINING_NODE_CAPACITY_KEY = "training_node_capacity";
     public static final String NODES_KEY = "nodes";
 
     public static final String TRAIN_INDEX_PARAMETER = "training_index";
@@ -97,6 +99,11 @@ public class KNNConstants {
     public static final String METHOD_ENCODER_PARAMETER = "encoder";
     public static final String METHOD_PARAMETER_NPROBES = "nprobes";
     public static final String ENCODER_FLAT = "flat";
+    // Flat encoder parameter of faiss hnsw fields, also used as field attribute and index parameter. The index file
+    // then only holds the graph, and the storage of its vectors is restored from the segment when it is loaded.
+    public static final String GRAPH_ONLY_STORAGE = "graph_only_storage";
+    // Field attribute of the number of vectors of a native engine field in a segment, recorded when the segment is written
+    public static final String VECTOR_COUNT = "knn_vector_count";
     public static final String ENCODER_PQ = "pq";
     public static final String ENCODER_PARAMETER_PQ_M = "m";
     public static final String ENCODER_PARAMETER_PQ_CODE_SIZE = "code_size";
@@ -110,6 +117,7 @@ public class KNNConstants {
     public static final String FAISS_SQ_ENCODER_FP16 = "fp16";
     public static final List<String> FAISS_SQ_ENCODER_TYPES = List.of(FAISS_SQ_ENCODER_FP16);
     public static final String FAISS_SQ_CLIP = "clip";
+    public static final String FAISS_SQ_FP16_DOC_VALUES = "fp16_doc_values";
 
     // Parameter defaults/limits
     public static final Integer ENCODER_PARAMETER_PQ_CODE_COUNT_DEFAULT = 1;
@@ -27,6 +27,10 @@ public class KNNFeatureFlags {
     // Feature flags
     private static final String KNN_LAUNCH_QUERY_REWRITE_ENABLED = "knn.feature.query.rewrite.enabled";
     private static final boolean KNN_LAUNCH_QUERY_REWRITE_ENABLED_DEFAULT = true;
+    private static final String KNN_INCREMENTAL_GRAPH_BUILD_ENABLED = "knn.feature.incremental_graph_build.enabled";
+    private static final boolean KNN_INCREMENTAL_GRAPH_BUILD_ENABLED_DEFAULT = false;
+    private static final String KNN_MERGE_GRAPH_REUSE_ENABLED = "knn.feature.merge_graph_reuse.enabled";
+    private static final boolean KNN_MERGE_GRAPH_REUSE_ENABLED_DEFAULT = false;
 
     @VisibleForTesting
     public static final Setting<Boolean> KNN_LAUNCH_QUERY_REWRITE_ENABLED_SETTING = Setting.boolSetting(
@@ -36,11 +40,47 @@ public class KNNFeatureFlags {
         Dynamic
     );
 
+    /**
+     * Builds faiss graphs incrementally in background threads while documents are indexed, instead of building them
+     * at once during flush.
+     */
+    @VisibleForTesting
+    public static final Setting<Boolean> KNN_INCREMENTAL_GRAPH_BUILD_ENABLED_SETTING = Setting.boolSetting(
+        KNN_INCREMENTAL_GRAPH_BUILD_ENABLED,
+        KNN_INCREMENTAL_GRAPH_BUILD_ENABLED_DEFAULT,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Seeds the faiss graph of a merged segment with the graph of its largest source segment, instead of rebuilding it
+     * from all the merged vectors.
+     */
+    @VisibleForTesting
+    public static final Setting<Boolean> KNN_MERGE_GRAPH_REUSE_ENABLED_SETTING = Setting.boolSetting(
+        KNN_MERGE_GRAPH_REUSE_ENABLED,
+        KNN_MERGE_GRAPH_REUSE_ENABLED_DEFAULT,
+        NodeScope,
+        Dynamic
+    );
+
     public static List<Setting<?>> getFeatureFlags() {
-        return Stream.of(KNN_LAUNCH_QUERY_REWRITE_ENABLED_SETTING).collect(Collectors.toUnmodifiableList());
+        return Stream.of(
+            KNN_LAUNCH_QUERY_REWRITE_ENABLED_SETTING,
+            KNN_INCREMENTAL_GRAPH_BUILD_ENABLED_SETTING,
+            KNN_MERGE_GRAPH_REUSE_ENABLED_SETTING
+        ).collect(Collectors.toUnmodifiableList());
     }
 
     public static boolean isKnnQueryRewriteEnabled() {
         return Boolean.parseBoolean(KNNSettings.state().getSettingValue(KNN_LAUNCH_QUERY_REWRITE_ENABLED).toString());
     }
+
+    public static boolean isIncrementalGraphBuildEnabled() {
+        return Boolean.parseBoolean(KNNSettings.state().getSettingValue(KNN_INCREMENTAL_GRAPH_BUILD_ENABLED).toString());
+    }
+
+    public static boolean isMergeGraphReuseEnabled() {
+        return Boolean.parseBoolean(KNNSettings.state().getSettingValue(KNN_MERGE_GRAPH_REUSE_ENABLED).toString());
+    }
 }
@@ -8,30 +8,44 @@ package org.opensearch.knn.index;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Value;
+import lombok.With;
 import lombok.extern.log4j.Log4j2;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.util.Bits;
+import org.opensearch.common.CheckedSupplier;
 import org.opensearch.common.lucene.Lucene;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.index.engine.Engine;
 import org.opensearch.index.shard.IndexShard;
+import org.opensearch.knn.index.codec.nativeindex.NativeIndexWriter;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
 import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
 import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValuesFactory;
+import org.opensearch.knn.training.VectorSampler;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
@@ -49,6 +63,7 @@ public class KNNIndexShard {
     private final IndexShard indexShard;
     private final NativeMemoryCacheManager nativeMemoryCacheManager;
     private static final String INDEX_SHARD_CLEAR_CACHE_SEARCHER = "knn-clear-cache";
+    private static final String INDEX_SHARD_TRAINING_VECTORS_SEARCHER = "knn-training-vectors";
 
     /**
      * Constructor to generate KNNIndexShard. We do not perform validation that the index the shard is from
@@ -101,7 +116,8 @@ public class KNNIndexShard {
                                 engineFileContext.getVectorDataType()
                             ),
                             getIndexName(),
-                            engineFileContext.getModelId()
+                            engineFileContext.getModelId(),
+                            engineFileContext.getStorageVectorValuesSupplier()
                         ),
                         true
                     );
@@ -140,6 +156,107 @@ public class KNNIndexShard {
         }
     }
 
+    /**
+     * Acquires a searcher to read the training vectors of the shard from, see {@link #readFloatVectors}. The same
+     * searcher is used for every batch of a read, so that the segments do not change under the cursors of the batches.
+     *
+     * @return searcher, to be closed once the read is done
+     */
+    public Engine.Searcher acquireTrainingVectorsSearcher() {
+        return indexShard.acquireSearcher(INDEX_SHARD_TRAINING_VECTORS_SEARCHER);
+    }
+
+    /**
+     * Reads the float vectors of a field straight from the segments of a searcher of the shard, vector values or binary
+     * doc values, skipping deleted docs. Segments are read in the order of the leaves of the reader and docs in the order
+     * of their ids, so a read resumes from the returned cursor as long as it uses the same reader. Only the vectors
+     * selected by the sampler are read, the sampler keeps track of the others it has seen.
+     *
+     * @param indexReader reader of the shard, the same for every batch of a read
+     * @param fieldName name of the field
+     * @param from cursor to start reading from, {@link VectorCursor#START} for the first read
+     * @param maxVectors maximum number of vectors to read
+     * @param sampler sampler of the training vectors of the index, see {@link VectorSampler}
+     * @param consumer consumer of the vectors, the array passed to it is reused by the next call
+     * @return cursor to continue reading from, null when every vector of the shard was seen or the sample is complete
+     * @throws IOException if the vectors cannot be read
+     */
+    public static VectorCursor readFloatVectors(
+        final IndexReader indexReader,
+        final String fieldName,
+        final VectorCursor from,
+        final int maxVectors,
+        final VectorSampler sampler,
+        final Consumer<float[]> consumer
+    ) throws IOException {
+        final List<LeafReaderContext> leaves = indexReader.leaves();
+        int readVectors = 0;
+        for (int leaf = from.getLeaf(); leaf < leaves.size(); leaf++) {
+            final SegmentReader reader = Lucene.segmentReader(leaves.get(leaf).reader());
+            final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(fieldName);
+            if (fieldInfo == null) {
+                continue;
+            }
+            final VectorDataType vectorDataType = VectorDataType.get(
+                fieldInfo.attributes().getOrDefault(VECTOR_DATA_TYPE_FIELD, VectorDataType.FLOAT.getValue())
+            );
+            if (vectorDataType != VectorDataType.FLOAT) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "Field [%s] does not hold float vectors", fieldName));
+            }
+
+            final KNNVectorValues<float[]> vectorValues = KNNVectorValuesFactory.getVectorValues(vectorDataType, fieldInfo, reader);
+            final Bits liveDocs = reader.getLiveDocs();
+            int docId = leaf == from.getLeaf() ? vectorValues.advance(from.getDocId()) : vectorValues.nextDoc();
+            for (; docId != DocIdSetIterator.NO_MORE_DOCS; docId = vectorValues.nextDoc()) {
+                if (sampler.isComplete()) {
+                    return null;
+                }
+                if (readVectors == maxVectors) {
+                    return new VectorCursor(from.getReaderId(), leaf, docId);
+                }
+                if (liveDocs != null && liveDocs.get(docId) == false) {
+                    continue;
+                }
+                if (sampler.select()) {
+                    consumer.accept(vectorValues.getVector());
+                    readVectors++;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Position of a read of the vectors of a shard, see {@link #readFloatVectors}. The reader id identifies the
+     * searcher the read is pinned to on the node holding the shard, it is null until the first batch is read.
+     */
+    @Value
+    @With
+    public static class VectorCursor implements Writeable {
+        public static final VectorCursor START = new VectorCursor(null, 0, 0);
+
+        String readerId;
+        int leaf;
+        int docId;
+
+        public VectorCursor(final String readerId, final int leaf, final int docId) {
+            this.readerId = readerId;
+            this.leaf = leaf;
+            this.docId = docId;
+        }
+
+        public VectorCursor(final StreamInput in) throws IOException {
+            this(in.readOptionalString(), in.readVInt(), in.readVInt());
+        }
+
+        @Override
+        public void writeTo(final StreamOutput out) throws IOException {
+            out.writeOptionalString(readerId);
+            out.writeVInt(leaf);
+            out.writeVInt(docId);
+        }
+    }
+
     /**
      * For the given shard, get all of its engine file context objects
      *
@@ -173,6 +290,9 @@ public class KNNIndexShard {
                     String spaceTypeName = fieldInfo.attributes().getOrDefault(SPACE_TYPE, SpaceType.L2.getValue());
                     SpaceType spaceType = SpaceType.getSpace(spaceTypeName);
                     String modelId = fieldInfo.attributes().getOrDefault(MODEL_ID, null);
+                    VectorDataType vectorDataType = VectorDataType.get(
+                        fieldInfo.attributes().getOrDefault(VECTOR_DATA_TYPE_FIELD, VectorDataType.FLOAT.getValue())
+                    );
                     engineFiles.addAll(
                         getEngineFileContexts(
                             reader.getSegmentInfo().files(),
@@ -182,7 +302,10 @@ public class KNNIndexShard {
                             shardPath,
                             spaceType,
                             modelId,
-                            VectorDataType.get(fieldInfo.attributes().getOrDefault(VECTOR_DATA_TYPE_FIELD, VectorDataType.FLOAT.getValue()))
+                            vectorDataType,
+                            NativeIndexWriter.isGraphOnlyStorage(fieldInfo)
+                                ? () -> KNNVectorValuesFactory.getVectorValues(vectorDataType, fieldInfo, reader)
+                                : null
                         )
                     );
                 }
@@ -200,7 +323,8 @@ public class KNNIndexShard {
         Path shardPath,
         SpaceType spaceType,
         String modelId,
-        VectorDataType vectorDataType
+        VectorDataType vectorDataType,
+        CheckedSupplier<KNNVectorValues<?>, IOException> storageVectorValuesSupplier
     ) {
         String prefix = buildEngineFilePrefix(segmentName);
         String suffix = buildEngineFileSuffix(fieldName, fileExtension);
@@ -208,7 +332,7 @@ public class KNNIndexShard {
             .filter(fileName -> fileName.startsWith(prefix))
             .filter(fileName -> fileName.endsWith(suffix))
             .map(fileName -> shardPath.resolve(fileName).toString())
-            .map(fileName -> new EngineFileContext(spaceType, modelId, fileName, vectorDataType))
+            .map(fileName -> new EngineFileContext(spaceType, modelId, fileName, vectorDataType, storageVectorValuesSupplier))
             .collect(Collectors.toList());
     }
 
@@ -220,5 +344,6 @@ public class KNNIndexShard {
         private final String modelId;
         private final String indexPath;
         private final VectorDataType vectorDataType;
+        private final CheckedSupplier<KNNVectorValues<?>, IOException> storageVectorValuesSupplier;
     }
 }
@@ -17,6 +17,7 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.unit.ByteSizeUnit;
 import org.opensearch.core.common.unit.ByteSizeValue;
@@ -81,12 +82,27 @@ public class KNNSettings {
     public static final String MODEL_INDEX_NUMBER_OF_REPLICAS = "knn.model.index.number_of_replicas";
     public static final String MODEL_CACHE_SIZE_LIMIT = "knn.model.cache.size.limit";
     public static final String ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD = "index.knn.advanced.filtered_exact_search_threshold";
+    public static final String ADVANCED_DEFERRED_GRAPH_BUILD = "index.knn.advanced.deferred_graph_build";
+    public static final String ADVANCED_APPROXIMATE_THRESHOLD = "index.knn.advanced.approximate_threshold";
+    public static final String ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR = "index.knn.advanced.max_merge_graph_builds_per_hour";
+    public static final String ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD = "index.knn.advanced.live_docs_selector_threshold";
+    public static final String ADVANCED_SEARCH_THREADS = "index.knn.advanced.search_threads";
     public static final String KNN_FAISS_AVX2_DISABLED = "knn.faiss.avx2.disabled";
+    public static final String KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED = "knn.faiss.direct_buffer_query.enabled";
+    public static final String KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS = "knn.graph_build.max_concurrent_builds";
+    public static final String KNN_GRAPH_BUILD_MAX_THREADS = "knn.graph_build.max_threads";
+    public static final String KNN_QUERY_NATIVE_STATS_ENABLED = "knn.query.native_stats.enabled";
+    public static final String KNN_QUERY_NATIVE_THREAD_BUDGET = "knn.query.native_thread_budget";
+    public static final String KNN_TRAINING_READ_FROM_SHARDS_ENABLED = "knn.training.read_from_shards.enabled";
+    public static final String KNN_TRAINING_MAX_CONCURRENT_JOBS = "knn.training.max_concurrent_jobs";
+    public static final String KNN_TRAINING_MAX_THREADS = "knn.training.max_threads";
+    public static final String KNN_TRAINING_STREAMING_ENABLED = "knn.training.streaming.enabled";
 
     /**
      * Default setting values
      */
     public static final boolean KNN_DEFAULT_FAISS_AVX2_DISABLED_VALUE = false;
+    public static final boolean KNN_DEFAULT_FAISS_DIRECT_BUFFER_QUERY_ENABLED_VALUE = false;
     public static final String INDEX_KNN_DEFAULT_SPACE_TYPE = "l2";
     public static final String INDEX_KNN_DEFAULT_SPACE_TYPE_FOR_BINARY = "hamming";
     public static final Integer INDEX_KNN_DEFAULT_ALGO_PARAM_M = 16;
@@ -100,6 +116,11 @@ public class KNNSettings {
     public static final String KNN_DEFAULT_VECTOR_STREAMING_MEMORY_LIMIT_PCT = "1%";
 
     public static final Integer ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_DEFAULT_VALUE = -1;
+    public static final Integer ADVANCED_APPROXIMATE_THRESHOLD_DEFAULT_VALUE = 0;
+    public static final Integer ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_DEFAULT_VALUE = -1;
+    public static final Double ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD_DEFAULT_VALUE = 5.0;
+    public static final Integer ADVANCED_SEARCH_THREADS_DEFAULT_VALUE = 1;
+    public static final Integer KNN_DEFAULT_QUERY_NATIVE_THREAD_BUDGET = 0;
 
     /**
      * Settings Definition
@@ -184,6 +205,69 @@ public class KNNSettings {
         Setting.Property.Dynamic
     );
 
+    /**
+     * When enabled, flushes only write the vectors of faiss fields and the native index of the new segment is built in
+     * the background once the segment is searched. The segment is searched exactly until its index is built.
+     */
+    public static final Setting<Boolean> ADVANCED_DEFERRED_GRAPH_BUILD_SETTING = Setting.boolSetting(
+        ADVANCED_DEFERRED_GRAPH_BUILD,
+        false,
+        IndexScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Minimum number of vectors a segment needs for the native index of a field to be built. Segments with fewer vectors
+     * are searched exactly. Fields built from a model always get a native index.
+     */
+    public static final Setting<Integer> ADVANCED_APPROXIMATE_THRESHOLD_SETTING = Setting.intSetting(
+        ADVANCED_APPROXIMATE_THRESHOLD,
+        ADVANCED_APPROXIMATE_THRESHOLD_DEFAULT_VALUE,
+        0,
+        IndexScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum number of native index builds of merges per hour for the index on a node, -1 for no limit. The builds of
+     * faiss fields beyond the limit are deferred until the merged segment is searched, except for forced merges and
+     * merges into segments larger than the floor segment size, which always build.
+     */
+    public static final Setting<Integer> ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_SETTING = Setting.intSetting(
+        ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR,
+        ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_DEFAULT_VALUE,
+        -1,
+        IndexScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Percentage of deleted docs of a segment above which the live docs of the segment are passed to faiss as an id
+     * selector for queries without filter, so that every result of the segment is a live doc.
+     */
+    public static final Setting<Double> ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD_SETTING = Setting.doubleSetting(
+        ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD,
+        ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD_DEFAULT_VALUE,
+        0,
+        100,
+        IndexScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Number of threads the native search of a segment may use, the search thread included. Only IVF searches, k-NN and
+     * radial, split their work between threads. The threads beyond the search thread are taken from
+     * knn.query.native_thread_budget, a search gets fewer of them when the budget of the node is used by other searches.
+     */
+    public static final Setting<Integer> ADVANCED_SEARCH_THREADS_SETTING = Setting.intSetting(
+        ADVANCED_SEARCH_THREADS,
+        ADVANCED_SEARCH_THREADS_DEFAULT_VALUE,
+        1,
+        INDEX_THREAD_QTY_MAX,
+        IndexScope,
+        Setting.Property.Dynamic
+    );
+
     public static final Setting<ByteSizeValue> MODEL_CACHE_SIZE_LIMIT_SETTING = new Setting<>(
         MODEL_CACHE_SIZE_LIMIT,
         percentageAsString(KNN_DEFAULT_MODEL_CACHE_SIZE_LIMIT_PERCENTAGE),
@@ -255,6 +339,115 @@ public class KNNSettings {
         NodeScope
     );
 
+    /**
+     * When enabled, faiss queries on float vectors exchange the query vector and the results with the native layer
+     * through a direct buffer per search thread instead of Java arrays and result objects. Read once, at the first query.
+     * Index loading and the vector transfer of index builds are not affected.
+     */
+    public static final Setting<Boolean> KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED_SETTING = Setting.boolSetting(
+        KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED,
+        KNN_DEFAULT_FAISS_DIRECT_BUFFER_QUERY_ENABLED_VALUE,
+        NodeScope
+    );
+
+    /**
+     * Maximum number of native graphs built at the same time on the node, across all the shards. Flushes and merges
+     * beyond this limit wait for a running build to complete. Defaults to the number of allocated processors.
+     */
+    public static final Setting<Integer> KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS_SETTING = new Setting<>(
+        KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS,
+        s -> Integer.toString(OpenSearchExecutors.allocatedProcessors(s)),
+        s -> Setting.parseInt(s, 1, KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS),
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of threads used by all the native graph builds running on the node. A build gets at most
+     * knn.algo_param.index_thread_qty threads, fewer when the others already use most of them. Defaults to the number of
+     * allocated processors.
+     */
+    public static final Setting<Integer> KNN_GRAPH_BUILD_MAX_THREADS_SETTING = new Setting<>(
+        KNN_GRAPH_BUILD_MAX_THREADS,
+        s -> Integer.toString(OpenSearchExecutors.allocatedProcessors(s)),
+        s -> Setting.parseInt(s, 1, KNN_GRAPH_BUILD_MAX_THREADS),
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * When enabled, faiss queries on float vectors count the vectors they visit, the ones rejected by their filter and the
+     * inverted lists they probe. The counts are summed into the k-NN stats and added to the description of the query in
+     * the profile output.
+     */
+    public static final Setting<Boolean> KNN_QUERY_NATIVE_STATS_ENABLED_SETTING = Setting.boolSetting(
+        KNN_QUERY_NATIVE_STATS_ENABLED,
+        false,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of threads used at the same time by native searches on the node, on top of the search threads
+     * themselves, for the indices setting index.knn.advanced.search_threads above 1. Defaults to 0, every native search
+     * runs on its search thread only.
+     */
+    public static final Setting<Integer> KNN_QUERY_NATIVE_THREAD_BUDGET_SETTING = Setting.intSetting(
+        KNN_QUERY_NATIVE_THREAD_BUDGET,
+        KNN_DEFAULT_QUERY_NATIVE_THREAD_BUDGET,
+        0,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * When enabled, training jobs on float vectors read their training vectors from the segments of the shards of the
+     * training index, on the nodes holding them, instead of scrolling through the source of its docs.
+     */
+    public static final Setting<Boolean> KNN_TRAINING_READ_FROM_SHARDS_ENABLED_SETTING = Setting.boolSetting(
+        KNN_TRAINING_READ_FROM_SHARDS_ENABLED,
+        false,
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * Maximum number of training jobs running at the same time on the node, also the size of the training thread pool.
+     * Jobs beyond the first are only admitted when their training threads and estimated native memory fit, see
+     * {@link org.opensearch.knn.training.TrainingJobRunner}.
+     */
+    public static final Setting<Integer> KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING = Setting.intSetting(
+        KNN_TRAINING_MAX_CONCURRENT_JOBS,
+        1,
+        1,
+        32,
+        NodeScope
+    );
+
+    /**
+     * Maximum number of threads used by all the training jobs running on the node, a job uses
+     * knn.algo_param.index_thread_qty threads. Defaults to the number of allocated processors.
+     */
+    public static final Setting<Integer> KNN_TRAINING_MAX_THREADS_SETTING = new Setting<>(
+        KNN_TRAINING_MAX_THREADS,
+        s -> Integer.toString(OpenSearchExecutors.allocatedProcessors(s)),
+        s -> Setting.parseInt(s, 1, KNN_TRAINING_MAX_THREADS),
+        NodeScope,
+        Dynamic
+    );
+
+    /**
+     * When enabled, training jobs of faiss IVF models with flat or PQ encoders on float vectors train as the training
+     * vectors are read, with mini-batch k-means, instead of loading every training vector into native memory first, see
+     * {@link org.opensearch.knn.training.StreamingTrainingDataConsumer}.
+     */
+    public static final Setting<Boolean> KNN_TRAINING_STREAMING_ENABLED_SETTING = Setting.boolSetting(
+        KNN_TRAINING_STREAMING_ENABLED,
+        false,
+        NodeScope,
+        Dynamic
+    );
+
     /**
      * Dynamic settings
      */
@@ -371,14 +564,66 @@ public class KNNSettings {
             return ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_SETTING;
         }
 
+        if (ADVANCED_APPROXIMATE_THRESHOLD.equals(key)) {
+            return ADVANCED_APPROXIMATE_THRESHOLD_SETTING;
+        }
+
+        if (ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR.equals(key)) {
+            return ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_SETTING;
+        }
+
+        if (ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD.equals(key)) {
+            return ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD_SETTING;
+        }
+
+        if (ADVANCED_SEARCH_THREADS.equals(key)) {
+            return ADVANCED_SEARCH_THREADS_SETTING;
+        }
+
         if (KNN_FAISS_AVX2_DISABLED.equals(key)) {
             return KNN_FAISS_AVX2_DISABLED_SETTING;
         }
 
+        if (KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED.equals(key)) {
+            return KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED_SETTING;
+        }
+
         if (KNN_VECTOR_STREAMING_MEMORY_LIMIT_IN_MB.equals(key)) {
             return KNN_VECTOR_STREAMING_MEMORY_LIMIT_PCT_SETTING;
         }
 
+        if (KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS.equals(key)) {
+            return KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS_SETTING;
+        }
+
+        if (KNN_GRAPH_BUILD_MAX_THREADS.equals(key)) {
+            return KNN_GRAPH_BUILD_MAX_THREADS_SETTING;
+        }
+
+        if (KNN_QUERY_NATIVE_STATS_ENABLED.equals(key)) {
+            return KNN_QUERY_NATIVE_STATS_ENABLED_SETTING;
+        }
+
+        if (KNN_QUERY_NATIVE_THREAD_BUDGET.equals(key)) {
+            return KNN_QUERY_NATIVE_THREAD_BUDGET_SETTING;
+        }
+
+        if (KNN_TRAINING_READ_FROM_SHARDS_ENABLED.equals(key)) {
+            return KNN_TRAINING_READ_FROM_SHARDS_ENABLED_SETTING;
+        }
+
+        if (KNN_TRAINING_MAX_CONCURRENT_JOBS.equals(key)) {
+            return KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING;
+        }
+
+        if (KNN_TRAINING_MAX_THREADS.equals(key)) {
+            return KNN_TRAINING_MAX_THREADS_SETTING;
+        }
+
+        if (KNN_TRAINING_STREAMING_ENABLED.equals(key)) {
+            return KNN_TRAINING_STREAMING_ENABLED_SETTING;
+        }
+
         throw new IllegalArgumentException("Cannot find setting by key [" + key + "]");
     }
 
@@ -396,8 +641,22 @@ public class KNNSettings {
             MODEL_INDEX_NUMBER_OF_REPLICAS_SETTING,
             MODEL_CACHE_SIZE_LIMIT_SETTING,
             ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_SETTING,
+            ADVANCED_DEFERRED_GRAPH_BUILD_SETTING,
+            ADVANCED_APPROXIMATE_THRESHOLD_SETTING,
+            ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_SETTING,
+            ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD_SETTING,
+            ADVANCED_SEARCH_THREADS_SETTING,
             KNN_FAISS_AVX2_DISABLED_SETTING,
-            KNN_VECTOR_STREAMING_MEMORY_LIMIT_PCT_SETTING
+            KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED_SETTING,
+            KNN_VECTOR_STREAMING_MEMORY_LIMIT_PCT_SETTING,
+            KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS_SETTING,
+            KNN_GRAPH_BUILD_MAX_THREADS_SETTING,
+            KNN_QUERY_NATIVE_STATS_ENABLED_SETTING,
+            KNN_QUERY_NATIVE_THREAD_BUDGET_SETTING,
+            KNN_TRAINING_READ_FROM_SHARDS_ENABLED_SETTING,
+            KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING,
+            KNN_TRAINING_MAX_THREADS_SETTING,
+            KNN_TRAINING_STREAMING_ENABLED_SETTING
         );
         return Stream.concat(settings.stream(), Stream.concat(getFeatureFlags().stream(), dynamicCacheSettings.values().stream()))
             .collect(Collectors.toList());
@@ -407,6 +666,10 @@ public class KNNSettings {
         return KNNSettings.state().getSettingValue(KNNSettings.KNN_PLUGIN_ENABLED);
     }
 
+    public static boolean isNativeQueryStatsEnabled() {
+        return KNNSettings.state().getSettingValue(KNNSettings.KNN_QUERY_NATIVE_STATS_ENABLED);
+    }
+
     public static boolean isCircuitBreakerTriggered() {
         return KNNSettings.state().getSettingValue(KNNSettings.KNN_CIRCUIT_BREAKER_TRIGGERED);
     }
@@ -435,6 +698,20 @@ public class KNNSettings {
         }
     }
 
+    public static boolean isFaissDirectBufferQueryEnabled() {
+        try {
+            return KNNSettings.state().getSettingValue(KNNSettings.KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED);
+        } catch (Exception e) {
+            log.warn(
+                "Unable to get setting value {} from cluster settings. Using default value as {}",
+                KNN_FAISS_DIRECT_BUFFER_QUERY_ENABLED,
+                KNN_DEFAULT_FAISS_DIRECT_BUFFER_QUERY_ENABLED_VALUE,
+                e
+            );
+            return KNN_DEFAULT_FAISS_DIRECT_BUFFER_QUERY_ENABLED_VALUE;
+        }
+    }
+
     public static Integer getFilteredExactSearchThreshold(final String indexName) {
         return KNNSettings.state().clusterService.state()
             .getMetadata()
@@ -443,6 +720,47 @@ public class KNNSettings {
             .getAsInt(ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD, ADVANCED_FILTERED_EXACT_SEARCH_THRESHOLD_DEFAULT_VALUE);
     }
 
+    public static Integer getApproximateThreshold(final String indexName) {
+        return KNNSettings.state().clusterService.state()
+            .getMetadata()
+            .index(indexName)
+            .getSettings()
+            .getAsInt(ADVANCED_APPROXIMATE_THRESHOLD, ADVANCED_APPROXIMATE_THRESHOLD_DEFAULT_VALUE);
+    }
+
+    /**
+     * Checks whether the native index builds of an index may be deferred, at flush when
+     * index.knn.advanced.deferred_graph_build is set, or at merge when index.knn.advanced.max_merge_graph_builds_per_hour
+     * caps the builds of merges.
+     *
+     * @param indexName name of the index
+     * @return true if segments of the index may be waiting for their native index to be built in the background
+     */
+    public static boolean isGraphBuildDeferred(final String indexName) {
+        final Settings indexSettings = KNNSettings.state().clusterService.state().getMetadata().index(indexName).getSettings();
+        final int maxMergeGraphBuildsPerHour = indexSettings.getAsInt(
+            ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR,
+            ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_DEFAULT_VALUE
+        );
+        return indexSettings.getAsBoolean(ADVANCED_DEFERRED_GRAPH_BUILD, false) || maxMergeGraphBuildsPerHour >= 0;
+    }
+
+    public static Double getLiveDocsSelectorThreshold(final String indexName) {
+        return KNNSettings.state().clusterService.state()
+            .getMetadata()
+            .index(indexName)
+            .getSettings()
+            .getAsDouble(ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD, ADVANCED_LIVE_DOCS_SELECTOR_THRESHOLD_DEFAULT_VALUE);
+    }
+
+    public static int getSearchThreads(final String indexName) {
+        return KNNSettings.state().clusterService.state()
+            .getMetadata()
+            .index(indexName)
+            .getSettings()
+            .getAsInt(ADVANCED_SEARCH_THREADS, ADVANCED_SEARCH_THREADS_DEFAULT_VALUE);
+    }
+
     public void initialize(Client client, ClusterService clusterService) {
         this.client = client;
         this.clusterService = clusterService;
@@ -506,6 +824,34 @@ public class KNNSettings {
         return KNNSettings.state().getSettingValue(KNN_VECTOR_STREAMING_MEMORY_LIMIT_IN_MB);
     }
 
+    public static int getGraphBuildMaxConcurrentBuilds() {
+        return KNNSettings.state().getSettingValue(KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS);
+    }
+
+    public static int getGraphBuildMaxThreads() {
+        return KNNSettings.state().getSettingValue(KNN_GRAPH_BUILD_MAX_THREADS);
+    }
+
+    public static int getQueryNativeThreadBudget() {
+        return KNNSettings.state().getSettingValue(KNN_QUERY_NATIVE_THREAD_BUDGET);
+    }
+
+    public static boolean isTrainingReadFromShardsEnabled() {
+        return KNNSettings.state().getSettingValue(KNN_TRAINING_READ_FROM_SHARDS_ENABLED);
+    }
+
+    public static int getTrainingMaxConcurrentJobs() {
+        return KNNSettings.state().getSettingValue(KNN_TRAINING_MAX_CONCURRENT_JOBS);
+    }
+
+    public static int getTrainingMaxThreads() {
+        return KNNSettings.state().getSettingValue(KNN_TRAINING_MAX_THREADS);
+    }
+
+    public static boolean isTrainingStreamingEnabled() {
+        return KNNSettings.state().getSettingValue(KNN_TRAINING_STREAMING_ENABLED);
+    }
+
     /**
      *
      * @param index Name of the index
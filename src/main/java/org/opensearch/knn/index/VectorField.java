@@ -14,9 +14,18 @@ import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
 public class VectorField extends Field {
 
     public VectorField(String name, float[] value, IndexableFieldType type) {
+        this(name, value, type, KNNVectorSerializerFactory.getDefaultSerializer());
+    }
+
+    /**
+     * @param name FieldType name
+     * @param value an array of float vector values
+     * @param type FieldType to build DocValues
+     * @param vectorSerializer serializer of the vector
+     */
+    public VectorField(String name, float[] value, IndexableFieldType type, KNNVectorSerializer vectorSerializer) {
         super(name, new BytesRef(), type);
         try {
-            final KNNVectorSerializer vectorSerializer = KNNVectorSerializerFactory.getDefaultSerializer();
             final byte[] floatToByte = vectorSerializer.floatToByteArray(value);
             this.setBytesValue(floatToByte);
         } catch (Exception e) {
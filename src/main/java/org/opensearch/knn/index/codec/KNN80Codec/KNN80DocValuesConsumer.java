@@ -5,62 +5,36 @@
 
 package org.opensearch.knn.index.codec.KNN80Codec;
 
-import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
-import org.apache.lucene.store.ChecksumIndexInput;
 import org.opensearch.common.StopWatch;
-import org.opensearch.common.xcontent.XContentHelper;
-import org.opensearch.core.common.bytes.BytesArray;
-import org.opensearch.core.xcontent.MediaTypeRegistry;
-import org.opensearch.core.xcontent.DeprecationHandler;
-import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.MergePolicyConfig;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.VectorDataType;
-import org.opensearch.knn.index.codec.transfer.VectorTransfer;
-import org.opensearch.knn.index.codec.transfer.VectorTransferByte;
-import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
-import org.opensearch.knn.jni.JNIService;
-import org.opensearch.knn.index.SpaceType;
-import org.opensearch.knn.index.codec.util.KNNCodecUtil;
+import org.opensearch.knn.index.codec.nativeindex.DeferredIndexBuilder;
+import org.opensearch.knn.index.codec.nativeindex.MergeGraphBuildPolicy;
+import org.opensearch.knn.index.codec.nativeindex.NativeIndexWriter;
 import org.opensearch.knn.index.engine.KNNEngine;
-import org.opensearch.knn.indices.Model;
-import org.opensearch.knn.indices.ModelCache;
-import org.opensearch.knn.plugin.stats.KNNCounter;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValuesFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.codecs.DocValuesConsumer;
 import org.apache.lucene.codecs.DocValuesProducer;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.EmptyDocValuesProducer;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.MergeState;
 import org.apache.lucene.index.SegmentWriteState;
-import org.apache.lucene.store.FSDirectory;
-import org.apache.lucene.store.FilterDirectory;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
-import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.plugin.stats.KNNGraphValue;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
-import java.util.HashMap;
-import java.util.Map;
-
-import static org.apache.lucene.codecs.CodecUtil.FOOTER_MAGIC;
-import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
-import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
-import static org.opensearch.knn.index.codec.util.KNNCodecUtil.buildEngineFileName;
-import static org.opensearch.knn.index.codec.util.KNNCodecUtil.calculateArraySize;
-import static org.opensearch.knn.index.engine.faiss.Faiss.FAISS_BINARY_INDEX_DESCRIPTION_PREFIX;
+import java.util.Optional;
 
 /**
  * This class writes the KNN docvalues to the segments
@@ -72,21 +46,34 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
 
     private final DocValuesConsumer delegatee;
     private final SegmentWriteState state;
-
-    private static final Long CRC32_CHECKSUM_SANITY = 0xFFFFFFFF00000000L;
+    private final Optional<MapperService> mapperService;
 
     KNN80DocValuesConsumer(DocValuesConsumer delegatee, SegmentWriteState state) {
+        this(delegatee, state, Optional.empty());
+    }
+
+    KNN80DocValuesConsumer(DocValuesConsumer delegatee, SegmentWriteState state, Optional<MapperService> mapperService) {
         this.delegatee = delegatee;
         this.state = state;
+        this.mapperService = mapperService;
     }
 
     @Override
     public void addBinaryField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
         delegatee.addBinaryField(field, valuesProducer);
         if (isKNNBinaryFieldRequired(field)) {
+            if (isIndexBuildDeferred(field)) {
+                final long vectorCount = valuesProducer.getBinary(field).cost();
+                field.putAttribute(KNNConstants.VECTOR_COUNT, Long.toString(vectorCount));
+                KNNGraphValue.REFRESH_TOTAL_DOCS.incrementBy(vectorCount);
+                // The vectors are in the doc values, the index is built in the background once the segment is searched
+                log.debug("Deferring the native index build of field [{}] of segment [{}]", field.getName(), state.segmentInfo.name);
+                KNNGraphValue.BUILD_TOTAL_DEFERRED_OPERATIONS.increment();
+                return;
+            }
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
-            addKNNBinaryField(field, valuesProducer, false, true);
+            addKNNBinaryField(field, valuesProducer, false);
             stopWatch.stop();
             long time_in_millis = stopWatch.totalTime().millis();
             KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getValue() + time_in_millis);
@@ -95,175 +82,70 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
     }
 
     private boolean isKNNBinaryFieldRequired(FieldInfo field) {
-        final KNNEngine knnEngine = getKNNEngine(field);
+        final KNNEngine knnEngine = NativeIndexWriter.getKNNEngine(field);
         log.debug(String.format("Read engine [%s] for field [%s]", knnEngine.getName(), field.getName()));
         return field.attributes().containsKey(KNNVectorFieldMapper.KNN_FIELD)
             && KNNEngine.getEnginesThatCreateCustomSegmentFiles().stream().anyMatch(engine -> engine == knnEngine);
     }
 
-    private KNNEngine getKNNEngine(@NonNull FieldInfo field) {
-        final String modelId = field.attributes().get(MODEL_ID);
-        if (modelId != null) {
-            var model = ModelCache.getInstance().get(modelId);
-            return model.getModelMetadata().getKnnEngine();
-        }
-        final String engineName = field.attributes().getOrDefault(KNNConstants.KNN_ENGINE, KNNEngine.DEFAULT.getName());
-        return KNNEngine.getEngine(engineName);
+    private boolean isIndexBuildDeferred(FieldInfo field) {
+        final boolean deferred = mapperService.map(
+            service -> service.getIndexSettings().getValue(KNNSettings.ADVANCED_DEFERRED_GRAPH_BUILD_SETTING)
+        ).orElse(false);
+        return deferred && DeferredIndexBuilder.isSupported(field);
     }
 
-    public void addKNNBinaryField(FieldInfo field, DocValuesProducer valuesProducer, boolean isMerge, boolean isRefresh)
-        throws IOException {
-        // Get values to be indexed
-        BinaryDocValues values = valuesProducer.getBinary(field);
-        final KNNEngine knnEngine = getKNNEngine(field);
-        final String engineFileName = buildEngineFileName(
-            state.segmentInfo.name,
-            knnEngine.getVersion(),
-            field.name,
-            knnEngine.getExtension()
-        );
-        final String indexPath = Paths.get(
-            ((FSDirectory) (FilterDirectory.unwrap(state.directory))).getDirectory().toString(),
-            engineFileName
-        ).toString();
-
-        // Determine if we are creating an index from a model or from scratch
-        NativeIndexCreator indexCreator;
-        KNNCodecUtil.Pair pair;
-        Map<String, String> fieldAttributes = field.attributes();
-        VectorDataType vectorDataType;
-
-        if (fieldAttributes.containsKey(MODEL_ID)) {
-            String modelId = fieldAttributes.get(MODEL_ID);
-            Model model = ModelCache.getInstance().get(modelId);
-            if (model.getModelBlob() == null) {
-                throw new RuntimeException(String.format("There is no trained model with id \"%s\"", modelId));
+    private boolean isMergeIndexBuildDeferred(FieldInfo field, long totalLiveDocs) {
+        if (mapperService.isEmpty() || DeferredIndexBuilder.isSupported(field) == false) {
+            return false;
+        }
+        final IndexSettings indexSettings = mapperService.get().getIndexSettings();
+        final String indexName = indexSettings.getIndex().getName();
+        final int maxBuildsPerHour = indexSettings.getValue(KNNSettings.ADVANCED_MAX_MERGE_GRAPH_BUILDS_PER_HOUR_SETTING);
+        final long cost = MergeGraphBuildPolicy.getBuildCost(field, totalLiveDocs);
+        final long smallSegmentBytes = indexSettings.getValue(MergePolicyConfig.INDEX_MERGE_POLICY_FLOOR_SEGMENT_SETTING).getBytes();
+        if (MergeGraphBuildPolicy.isDeferrable(state.context.mergeInfo, smallSegmentBytes) == false) {
+            if (maxBuildsPerHour >= 0) {
+                MergeGraphBuildPolicy.getInstance().recordBuild(indexName, cost);
             }
-            vectorDataType = model.getModelMetadata().getVectorDataType();
-            pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType));
-            indexCreator = () -> createKNNIndexFromTemplate(model, pair, knnEngine, indexPath);
-        } else {
-            // get vector data type from field attributes or provide default value
-            vectorDataType = VectorDataType.get(
-                fieldAttributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue())
-            );
-            pair = KNNCodecUtil.getPair(values, getVectorTransfer(vectorDataType));
-            indexCreator = () -> createKNNIndexFromScratch(field, pair, knnEngine, indexPath);
+            return false;
         }
+        return MergeGraphBuildPolicy.getInstance().tryBuild(indexName, maxBuildsPerHour, cost) == false;
+    }
 
-        // Skip index creation if no vectors or docs in segment
-        if (pair.getVectorAddress() == 0 || pair.docs.length == 0) {
-            logger.info("Skipping engine index creation as there are no vectors or docs in the segment");
-            return;
+    public void addKNNBinaryField(FieldInfo field, DocValuesProducer valuesProducer, boolean isMerge) throws IOException {
+        final VectorDataType vectorDataType = NativeIndexWriter.getVectorDataType(field);
+        final KNNVectorValues<?> knnVectorValues = KNNVectorValuesFactory.getVectorValues(vectorDataType, valuesProducer.getBinary(field));
+        // Searches read the number of vectors of the segment from the field, without opening its doc values
+        field.putAttribute(KNNConstants.VECTOR_COUNT, Long.toString(knnVectorValues.totalLiveDocs()));
+        if (isMerge == false) {
+            KNNGraphValue.REFRESH_TOTAL_DOCS.incrementBy(knnVectorValues.totalLiveDocs());
         }
-
-        long arraySize = calculateArraySize(pair.docs.length, pair.getDimension(), vectorDataType);
-
-        if (isMerge) {
-            KNNGraphValue.MERGE_CURRENT_OPERATIONS.increment();
-            KNNGraphValue.MERGE_CURRENT_DOCS.incrementBy(pair.docs.length);
-            KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.incrementBy(arraySize);
-            recordMergeStats(pair.docs.length, arraySize);
+        final int approximateThreshold = mapperService.map(
+            service -> service.getIndexSettings().getValue(KNNSettings.ADVANCED_APPROXIMATE_THRESHOLD_SETTING)
+        ).orElse(KNNSettings.ADVANCED_APPROXIMATE_THRESHOLD_DEFAULT_VALUE);
+        if (NativeIndexWriter.isIndexRequired(field, knnVectorValues.totalLiveDocs(), approximateThreshold) == false) {
+            log.debug(
+                "Skipping the native index of field [{}] of segment [{}], it has fewer than {} vectors",
+                field.getName(),
+                state.segmentInfo.name,
+                approximateThreshold
+            );
+            KNNGraphValue.BUILD_TOTAL_SKIPPED_OPERATIONS.increment();
+            return;
         }
-
-        // Increment counter for number of graph index requests
-        KNNCounter.GRAPH_INDEX_REQUESTS.increment();
-
-        if (isRefresh) {
-            recordRefreshStats();
+        if (isMerge && isMergeIndexBuildDeferred(field, knnVectorValues.totalLiveDocs())) {
+            // The merged vectors are in the doc values, the index is built in the background once the segment is searched
+            log.debug("Deferring the native index build of field [{}] of merged segment [{}]", field.getName(), state.segmentInfo.name);
+            KNNGraphValue.MERGE_TOTAL_DEFERRED_OPERATIONS.increment();
+            return;
         }
-
-        // Ensure engineFileName is added to the tracked files by Lucene's TrackingDirectoryWrapper
-        state.directory.createOutput(engineFileName, state.context).close();
-        indexCreator.createIndex();
-        writeFooter(indexPath, engineFileName);
-    }
-
-    private void recordMergeStats(int length, long arraySize) {
-        KNNGraphValue.MERGE_CURRENT_OPERATIONS.decrement();
-        KNNGraphValue.MERGE_CURRENT_DOCS.decrementBy(length);
-        KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.decrementBy(arraySize);
-        KNNGraphValue.MERGE_TOTAL_OPERATIONS.increment();
-        KNNGraphValue.MERGE_TOTAL_DOCS.incrementBy(length);
-        KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.incrementBy(arraySize);
-    }
-
-    private void recordRefreshStats() {
-        KNNGraphValue.REFRESH_TOTAL_OPERATIONS.increment();
-    }
-
-    private void createKNNIndexFromTemplate(Model model, KNNCodecUtil.Pair pair, KNNEngine knnEngine, String indexPath) {
-        Map<String, Object> parameters = new HashMap<>();
-        parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
-
-        IndexUtil.updateVectorDataTypeToParameters(parameters, model.getModelMetadata().getVectorDataType());
-
-        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
-            JNIService.createIndexFromTemplate(
-                pair.docs,
-                pair.getVectorAddress(),
-                pair.getDimension(),
-                indexPath,
-                model.getModelBlob(),
-                parameters,
-                knnEngine
-            );
-            return null;
-        });
-    }
-
-    private void createKNNIndexFromScratch(FieldInfo fieldInfo, KNNCodecUtil.Pair pair, KNNEngine knnEngine, String indexPath)
-        throws IOException {
-        Map<String, Object> parameters = new HashMap<>();
-        Map<String, String> fieldAttributes = fieldInfo.attributes();
-        String parametersString = fieldAttributes.get(KNNConstants.PARAMETERS);
-
-        // parametersString will be null when legacy mapper is used
-        if (parametersString == null) {
-            parameters.put(KNNConstants.SPACE_TYPE, fieldAttributes.getOrDefault(KNNConstants.SPACE_TYPE, SpaceType.DEFAULT.getValue()));
-
-            String efConstruction = fieldAttributes.get(KNNConstants.HNSW_ALGO_EF_CONSTRUCTION);
-            Map<String, Object> algoParams = new HashMap<>();
-            if (efConstruction != null) {
-                algoParams.put(KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION, Integer.parseInt(efConstruction));
-            }
-
-            String m = fieldAttributes.get(KNNConstants.HNSW_ALGO_M);
-            if (m != null) {
-                algoParams.put(KNNConstants.METHOD_PARAMETER_M, Integer.parseInt(m));
-            }
-            parameters.put(PARAMETERS, algoParams);
+        final NativeIndexWriter writer = NativeIndexWriter.getWriter(field, state);
+        if (isMerge) {
+            writer.mergeIndex(knnVectorValues, knnVectorValues.totalLiveDocs());
         } else {
-            parameters.putAll(
-                XContentHelper.createParser(
-                    NamedXContentRegistry.EMPTY,
-                    DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
-                    new BytesArray(parametersString),
-                    MediaTypeRegistry.getDefaultMediaType()
-                ).map()
-            );
-        }
-
-        // Update index description of Faiss for binary data type
-        if (KNNEngine.FAISS == knnEngine
-            && VectorDataType.BINARY.getValue()
-                .equals(fieldAttributes.getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue()))
-            && parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER) != null) {
-            parameters.put(
-                KNNConstants.INDEX_DESCRIPTION_PARAMETER,
-                FAISS_BINARY_INDEX_DESCRIPTION_PREFIX + parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER).toString()
-            );
-            IndexUtil.updateVectorDataTypeToParameters(parameters, VectorDataType.BINARY);
+            writer.flushIndex(knnVectorValues, knnVectorValues.totalLiveDocs());
         }
-
-        // Used to determine how many threads to use when indexing
-        parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
-
-        // Pass the path for the nms library to save the file
-        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
-            JNIService.createIndex(pair.docs, pair.getVectorAddress(), pair.getDimension(), indexPath, parameters, knnEngine);
-            return null;
-        });
     }
 
     /**
@@ -274,7 +156,8 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
     @Override
     public void merge(MergeState mergeState) {
         try {
-            delegatee.merge(mergeState);
+            // Doc values are merged field by field through mergeBinaryField, which rewrites vectors in the current format
+            super.merge(mergeState);
             assert mergeState != null;
             assert mergeState.mergeFieldInfos != null;
             for (FieldInfo fieldInfo : mergeState.mergeFieldInfos) {
@@ -282,7 +165,7 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
                 if (type == DocValuesType.BINARY && fieldInfo.attributes().containsKey(KNNVectorFieldMapper.KNN_FIELD)) {
                     StopWatch stopWatch = new StopWatch();
                     stopWatch.start();
-                    addKNNBinaryField(fieldInfo, new KNN80DocValuesReader(mergeState), true, false);
+                    addKNNBinaryField(fieldInfo, new KNN80DocValuesReader(mergeState), true);
                     stopWatch.stop();
                     long time_in_millis = stopWatch.totalTime().millis();
                     KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.getValue() + time_in_millis);
@@ -294,6 +177,29 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
         }
     }
 
+    /**
+     * Merges the binary doc values of a field. Float vectors of native engine fields are rewritten with the default
+     * serializer, so vectors written in an older format are converted once their segment is merged.
+     *
+     * @param mergeFieldInfo {@link FieldInfo} of the merged field
+     * @param mergeState Holds common state used during segment merging
+     */
+    @Override
+    public void mergeBinaryField(FieldInfo mergeFieldInfo, MergeState mergeState) throws IOException {
+        if (isKNNBinaryFieldRequired(mergeFieldInfo) == false
+            || NativeIndexWriter.getVectorDataType(mergeFieldInfo) != VectorDataType.FLOAT) {
+            delegatee.mergeBinaryField(mergeFieldInfo, mergeState);
+            return;
+        }
+        final KNN80DocValuesReader mergedValues = new KNN80DocValuesReader(mergeState);
+        delegatee.addBinaryField(mergeFieldInfo, new EmptyDocValuesProducer() {
+            @Override
+            public BinaryDocValues getBinary(FieldInfo field) {
+                return new KNN80ReserializedBinaryDocValues((KNN80BinaryDocValues) mergedValues.getBinary(field));
+            }
+        });
+    }
+
     @Override
     public void addSortedSetField(FieldInfo field, DocValuesProducer valuesProducer) throws IOException {
         delegatee.addSortedSetField(field, valuesProducer);
@@ -318,52 +224,4 @@ class KNN80DocValuesConsumer extends DocValuesConsumer implements Closeable {
     public void close() throws IOException {
         delegatee.close();
     }
-
-    @FunctionalInterface
-    private interface NativeIndexCreator {
-        void createIndex() throws IOException;
-    }
-
-    private void writeFooter(String indexPath, String engineFileName) throws IOException {
-        // Opens the engine file that was created and appends a footer to it. The footer consists of
-        // 1. A Footer magic number (int - 4 bytes)
-        // 2. A checksum algorithm id (int - 4 bytes)
-        // 3. A checksum (long - bytes)
-        // The checksum is computed on all the bytes written to the file up to that point.
-        // Logic where footer is written in Lucene can be found here:
-        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L390-L412
-        OutputStream os = Files.newOutputStream(Paths.get(indexPath), StandardOpenOption.APPEND);
-        ByteBuffer byteBuffer = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN);
-        byteBuffer.putInt(FOOTER_MAGIC);
-        byteBuffer.putInt(0);
-        os.write(byteBuffer.array());
-        os.flush();
-
-        ChecksumIndexInput checksumIndexInput = state.directory.openChecksumInput(engineFileName, state.context);
-        checksumIndexInput.seek(checksumIndexInput.length());
-        long value = checksumIndexInput.getChecksum();
-        checksumIndexInput.close();
-
-        if (isChecksumValid(value)) {
-            throw new IllegalStateException("Illegal CRC-32 checksum: " + value + " (resource=" + os + ")");
-        }
-
-        // Write the CRC checksum to the end of the OutputStream and close the stream
-        byteBuffer.putLong(0, value);
-        os.write(byteBuffer.array());
-        os.close();
-    }
-
-    private boolean isChecksumValid(long value) {
-        // Check pulled from
-        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L644-L647
-        return (value & CRC32_CHECKSUM_SANITY) != 0;
-    }
-
-    private VectorTransfer getVectorTransfer(VectorDataType vectorDataType) {
-        if (VectorDataType.BINARY == vectorDataType) {
-            return new VectorTransferByte(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
-        }
-        return new VectorTransferFloat(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
-    }
 }
@@ -11,14 +11,17 @@ import org.apache.lucene.codecs.DocValuesProducer;
 import org.apache.lucene.backward_codecs.lucene80.Lucene80DocValuesFormat;
 import org.apache.lucene.index.SegmentReadState;
 import org.apache.lucene.index.SegmentWriteState;
+import org.opensearch.index.mapper.MapperService;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Encodes/Decodes per document values
  */
 public class KNN80DocValuesFormat extends DocValuesFormat {
     private final DocValuesFormat delegate;
+    private final Optional<MapperService> mapperService;
 
     public KNN80DocValuesFormat() {
         this(new Lucene80DocValuesFormat());
@@ -30,13 +33,25 @@ public class KNN80DocValuesFormat extends DocValuesFormat {
      * @param delegate DocValuesFormat to handle non-overridden methods
      */
     public KNN80DocValuesFormat(DocValuesFormat delegate) {
+        this(delegate, Optional.empty());
+    }
+
+    /**
+     * Constructor that takes delegate in order to handle non-overridden methods, and the mapper service of the index
+     * to read the index settings that apply when writing segments
+     *
+     * @param delegate DocValuesFormat to handle non-overridden methods
+     * @param mapperService mapper service of the index
+     */
+    public KNN80DocValuesFormat(DocValuesFormat delegate, Optional<MapperService> mapperService) {
         super(delegate.getName());
         this.delegate = delegate;
+        this.mapperService = mapperService;
     }
 
     @Override
     public DocValuesConsumer fieldsConsumer(SegmentWriteState state) throws IOException {
-        return new KNN80DocValuesConsumer(delegate.fieldsConsumer(state), state);
+        return new KNN80DocValuesConsumer(delegate.fieldsConsumer(state), state, mapperService);
     }
 
     @Override
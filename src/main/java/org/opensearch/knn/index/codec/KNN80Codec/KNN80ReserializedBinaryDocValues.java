@@ -0,0 +1,70 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.KNN80Codec;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.knn.index.codec.util.KNNVectorSerializer;
+import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
+import org.opensearch.knn.index.codec.util.SerializationMode;
+
+import java.io.IOException;
+
+/**
+ * Merged float vectors of a field, returned in the format of the default serializer. Segments written with an older
+ * serialization format are rewritten in the current one when they are merged. Half precision vectors are kept as is,
+ * as the field opted in to store them that way.
+ */
+class KNN80ReserializedBinaryDocValues extends BinaryDocValues {
+
+    private final KNN80BinaryDocValues in;
+    private final KNNVectorSerializer serializer = KNNVectorSerializerFactory.getDefaultSerializer();
+    private final BytesRef bytesRef = new BytesRef();
+    private float[] vector;
+
+    KNN80ReserializedBinaryDocValues(KNN80BinaryDocValues in) {
+        this.in = in;
+    }
+
+    @Override
+    public int docID() {
+        return in.docID();
+    }
+
+    @Override
+    public int nextDoc() throws IOException {
+        return in.nextDoc();
+    }
+
+    @Override
+    public int advance(int target) throws IOException {
+        return in.advance(target);
+    }
+
+    @Override
+    public boolean advanceExact(int target) throws IOException {
+        return in.advanceExact(target);
+    }
+
+    @Override
+    public long cost() {
+        return in.getTotalLiveDocs();
+    }
+
+    @Override
+    public BytesRef binaryValue() throws IOException {
+        final BytesRef value = in.binaryValue();
+        final SerializationMode serializationMode = KNNVectorSerializerFactory.getSerializerModeFromBytesRef(value);
+        if (serializationMode != SerializationMode.ARRAY && serializationMode != SerializationMode.COLLECTION_OF_FLOATS) {
+            return value;
+        }
+        vector = KNNVectorSerializerFactory.getSerializerBySerializationMode(serializationMode).byteToFloatArray(value, vector);
+        bytesRef.bytes = serializer.floatToByteArray(vector);
+        bytesRef.offset = 0;
+        bytesRef.length = bytesRef.bytes.length;
+        return bytesRef;
+    }
+}
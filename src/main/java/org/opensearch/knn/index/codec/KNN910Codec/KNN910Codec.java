@@ -34,7 +34,7 @@ public final class KNN910Codec extends FilterCodec {
      */
     public KNN910Codec(Codec delegate) {
         super(VERSION.getCodecName(), delegate);
-        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate);
+        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate, null);
     }
 
     @Override
@@ -40,7 +40,7 @@ public final class KNN920Codec extends FilterCodec {
     @Builder
     public KNN920Codec(Codec delegate, PerFieldKnnVectorsFormat knnVectorsFormat) {
         super(VERSION.getCodecName(), delegate);
-        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate);
+        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate, null);
         perFieldKnnVectorsFormat = knnVectorsFormat;
     }
 
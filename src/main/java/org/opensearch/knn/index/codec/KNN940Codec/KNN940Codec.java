@@ -37,7 +37,7 @@ public class KNN940Codec extends FilterCodec {
     @Builder
     protected KNN940Codec(Codec delegate, PerFieldKnnVectorsFormat knnVectorsFormat) {
         super(VERSION.getCodecName(), delegate);
-        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate);
+        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate, null);
         perFieldKnnVectorsFormat = knnVectorsFormat;
     }
 
@@ -12,6 +12,7 @@ import org.apache.lucene.codecs.DocValuesFormat;
 import org.apache.lucene.codecs.FilterCodec;
 import org.apache.lucene.codecs.KnnVectorsFormat;
 import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.opensearch.index.mapper.MapperService;
 import org.opensearch.knn.index.codec.KNNCodecVersion;
 import org.opensearch.knn.index.codec.KNNFormatFacade;
 
@@ -27,7 +28,7 @@ public class KNN990Codec extends FilterCodec {
      * No arg constructor that uses Lucene99 as the delegate
      */
     public KNN990Codec() {
-        this(VERSION.getDefaultCodecDelegate(), VERSION.getPerFieldKnnVectorsFormat());
+        this(VERSION.getDefaultCodecDelegate(), VERSION.getPerFieldKnnVectorsFormat(), null);
     }
 
     /**
@@ -36,11 +37,12 @@ public class KNN990Codec extends FilterCodec {
      *
      * @param delegate codec that will perform all operations this codec does not override
      * @param knnVectorsFormat per field format for KnnVector
+     * @param mapperService mapper service of the index, null when the codec is only used to read segments
      */
     @Builder
-    protected KNN990Codec(Codec delegate, PerFieldKnnVectorsFormat knnVectorsFormat) {
+    protected KNN990Codec(Codec delegate, PerFieldKnnVectorsFormat knnVectorsFormat, MapperService mapperService) {
         super(VERSION.getCodecName(), delegate);
-        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate);
+        knnFormatFacade = VERSION.getKnnFormatFacadeSupplier().apply(delegate, mapperService);
         perFieldKnnVectorsFormat = knnVectorsFormat;
     }
 
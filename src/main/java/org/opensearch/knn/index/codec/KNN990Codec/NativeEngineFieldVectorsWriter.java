@@ -13,13 +13,11 @@ package org.opensearch.knn.index.codec.KNN990Codec;
 
 import lombok.Getter;
 import org.apache.lucene.codecs.KnnFieldVectorsWriter;
-import org.apache.lucene.index.DocsWithFieldSet;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.util.InfoStream;
 import org.apache.lucene.util.RamUsageEstimator;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.opensearch.knn.index.codec.nativeindex.IncrementalIndexBuildStrategy;
+import org.opensearch.knn.index.vectorvalues.BufferedVectors;
 
 /**
  * NativeEngineVectorFieldsWriter is a class that will be used to accumulate all the vectors during ingestion before
@@ -30,35 +28,50 @@ import java.util.Map;
  */
 class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> {
     private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(NativeEngineFieldVectorsWriter.class);
+    @Getter
     private final FieldInfo fieldInfo;
     /**
-     * We are using a map here instead of list, because for sampler interface for quantization we have to advance the iterator
-     * to a specific docId, there a list cannot be useful because a docId != index of the vector in the list. Similar
-     * thing is true when we have vector field in child document. There doc Ids will not be consistent. Hence, we need to
-     * use the map here.
+     * Vectors by ordinal along with their docIds. For the sampler interface for quantization we have to advance the
+     * iterator to a specific docId, and docId != ordinal when documents have no vector for the field or when the vector
+     * field is in a child document, so the docId to ordinal mapping is kept as well.
      */
     @Getter
-    private final Map<Integer, T> vectors;
+    private final BufferedVectors<T> vectors;
     private int lastDocID = -1;
-    @Getter
-    private final DocsWithFieldSet docsWithField;
     private final InfoStream infoStream;
+    /**
+     * Builds the native index while vectors are added, null when the index is built at flush.
+     */
+    @Getter
+    private final IncrementalIndexBuildStrategy incrementalIndexBuildStrategy;
 
     static NativeEngineFieldVectorsWriter<?> create(final FieldInfo fieldInfo, final InfoStream infoStream) {
+        return create(fieldInfo, infoStream, null);
+    }
+
+    static NativeEngineFieldVectorsWriter<?> create(
+        final FieldInfo fieldInfo,
+        final InfoStream infoStream,
+        final IncrementalIndexBuildStrategy incrementalIndexBuildStrategy
+    ) {
         switch (fieldInfo.getVectorEncoding()) {
             case FLOAT32:
-                return new NativeEngineFieldVectorsWriter<float[]>(fieldInfo, infoStream);
+                return new NativeEngineFieldVectorsWriter<float[]>(fieldInfo, infoStream, incrementalIndexBuildStrategy);
             case BYTE:
-                return new NativeEngineFieldVectorsWriter<byte[]>(fieldInfo, infoStream);
+                return new NativeEngineFieldVectorsWriter<byte[]>(fieldInfo, infoStream, incrementalIndexBuildStrategy);
         }
         throw new IllegalStateException("Unsupported Vector encoding : " + fieldInfo.getVectorEncoding());
     }
 
-    private NativeEngineFieldVectorsWriter(final FieldInfo fieldInfo, final InfoStream infoStream) {
+    private NativeEngineFieldVectorsWriter(
+        final FieldInfo fieldInfo,
+        final InfoStream infoStream,
+        final IncrementalIndexBuildStrategy incrementalIndexBuildStrategy
+    ) {
         this.fieldInfo = fieldInfo;
         this.infoStream = infoStream;
-        vectors = new HashMap<>();
-        this.docsWithField = new DocsWithFieldSet();
+        this.incrementalIndexBuildStrategy = incrementalIndexBuildStrategy;
+        this.vectors = new BufferedVectors<>();
     }
 
     /**
@@ -78,9 +91,11 @@ class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> {
             );
         }
         assert docID > lastDocID;
-        vectors.put(docID, vectorValue);
-        docsWithField.add(docID);
+        vectors.add(docID, vectorValue);
         lastDocID = docID;
+        if (incrementalIndexBuildStrategy != null) {
+            incrementalIndexBuildStrategy.addVector(docID, vectorValue);
+        }
     }
 
     /**
@@ -95,13 +110,11 @@ class NativeEngineFieldVectorsWriter<T> extends KnnFieldVectorsWriter<T> {
     }
 
     /**
-     * Return the memory usage of this object in bytes. Negative values are illegal.
+     * Return the memory usage of this object in bytes. Negative values are illegal. The vectors are the copies made by
+     * the flat vectors writer this writer is the indexing delegate of, which already accounts for them.
      */
     @Override
     public long ramBytesUsed() {
-        return SHALLOW_SIZE + docsWithField.ramBytesUsed() + (long) this.vectors.size() * (long) (RamUsageEstimator.NUM_BYTES_OBJECT_REF
-            + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER) + (long) this.vectors.size() * RamUsageEstimator.shallowSizeOfInstance(
-                Integer.class
-            ) + (long) vectors.size() * fieldInfo.getVectorDimension() * fieldInfo.getVectorEncoding().byteSize;
+        return SHALLOW_SIZE + vectors.ramBytesUsed();
     }
 }
@@ -12,23 +12,45 @@
 package org.opensearch.knn.index.codec.KNN990Codec;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.apache.lucene.codecs.KnnFieldVectorsWriter;
+import org.apache.lucene.codecs.KnnVectorsReader;
 import org.apache.lucene.codecs.KnnVectorsWriter;
 import org.apache.lucene.codecs.hnsw.FlatVectorsWriter;
+import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.apache.lucene.index.ByteVectorValues;
 import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
 import org.apache.lucene.index.MergeState;
 import org.apache.lucene.index.SegmentWriteState;
 import org.apache.lucene.index.Sorter;
+import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.common.StopWatch;
+import org.opensearch.knn.common.featureflags.KNNFeatureFlags;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.nativeindex.GraphReuseIndexBuildStrategy;
+import org.opensearch.knn.index.codec.nativeindex.IncrementalIndexBuildStrategy;
+import org.opensearch.knn.index.codec.nativeindex.NativeIndexWriter;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValuesFactory;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
+
 /**
  * A KNNVectorsWriter class for writing the vector data strcutures and flat vectors for Native Engines.
  */
+@Log4j2
 @RequiredArgsConstructor
 public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
     private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(NativeEngines990KnnVectorsWriter.class);
@@ -45,9 +67,13 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
      */
     @Override
     public KnnFieldVectorsWriter<?> addField(final FieldInfo fieldInfo) throws IOException {
-        final NativeEngineFieldVectorsWriter<?> newField = NativeEngineFieldVectorsWriter.create(fieldInfo, segmentWriteState.infoStream);
-        // TODO: we can build the graph here too iteratively. but right now I am skipping that as we need iterative
-        // graph build support on the JNI layer.
+        // Vectors are buffered on heap for the flat file. When incremental graph build is enabled for the field, they are
+        // also inserted into the native index in the background, otherwise the index is built from them during flush.
+        final NativeEngineFieldVectorsWriter<?> newField = NativeEngineFieldVectorsWriter.create(
+            fieldInfo,
+            segmentWriteState.infoStream,
+            IncrementalIndexBuildStrategy.create(fieldInfo, segmentWriteState)
+        );
         fields.add(newField);
         return flatVectorsWriter.addField(fieldInfo, newField);
     }
@@ -62,14 +88,55 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
     public void flush(int maxDoc, final Sorter.DocMap sortMap) throws IOException {
         // simply write data in the flat file
         flatVectorsWriter.flush(maxDoc, sortMap);
-        // TODO: add code for creating Vector datastructures during lucene flush operation
+        for (final NativeEngineFieldVectorsWriter<?> field : fields) {
+            final FieldInfo fieldInfo = field.getFieldInfo();
+            if (field.getVectors().size() == 0) {
+                log.debug("No vectors buffered for field [{}], skipping native index creation", fieldInfo.getName());
+                continue;
+            }
+            KNNGraphValue.REFRESH_TOTAL_DOCS.incrementBy(field.getVectors().size());
+            final VectorDataType vectorDataType = NativeIndexWriter.getVectorDataType(fieldInfo);
+            final KNNVectorValues<?> knnVectorValues = getVectorValues(vectorDataType, field, sortMap);
+
+            StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+            NativeIndexWriter.getWriter(fieldInfo, segmentWriteState, field.getIncrementalIndexBuildStrategy())
+                .flushIndex(knnVectorValues, field.getVectors().size());
+            stopWatch.stop();
+            long time_in_millis = stopWatch.totalTime().millis();
+            KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getValue() + time_in_millis);
+            log.debug("Flush operation for field [{}] completed in {} ms", fieldInfo.getName(), time_in_millis);
+        }
     }
 
+    /**
+     * Merges the flat vectors and builds the native index of the merged segment. Vectors are read through Lucene's
+     * merged vector values, which apply the merge docMaps and skip deleted docs, and are streamed into native memory
+     * in batches, so the merged graph is produced in a single pass over the merged segments.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param mergeState {@link MergeState}
+     */
     @Override
     public void mergeOneField(final FieldInfo fieldInfo, final MergeState mergeState) throws IOException {
         // This will ensure that we are merging the FlatIndex during force merge.
         flatVectorsWriter.mergeOneField(fieldInfo, mergeState);
-        // TODO: add code for creating Vector datastructures during merge operation
+
+        final VectorDataType vectorDataType = NativeIndexWriter.getVectorDataType(fieldInfo);
+        final long totalLiveDocs = countLiveDocs(fieldInfo, mergeState);
+        if (totalLiveDocs == 0) {
+            log.debug("No live docs for field [{}] in merged segments, skipping native index creation", fieldInfo.getName());
+            return;
+        }
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        NativeIndexWriter.getWriter(fieldInfo, segmentWriteState, getGraphReuseIndexBuildStrategy(fieldInfo, mergeState))
+            .mergeIndex(getMergedVectorValues(vectorDataType, fieldInfo, mergeState), totalLiveDocs);
+        stopWatch.stop();
+        long time_in_millis = stopWatch.totalTime().millis();
+        KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.set(KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.getValue() + time_in_millis);
+        log.debug("Merge operation for field [{}] completed in {} ms", fieldInfo.getName(), time_in_millis);
     }
 
     /**
@@ -99,7 +166,12 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
      */
     @Override
     public void close() throws IOException {
-        IOUtils.close(flatVectorsWriter);
+        final List<Closeable> closeables = new ArrayList<>();
+        closeables.add(flatVectorsWriter);
+        for (final NativeEngineFieldVectorsWriter<?> field : fields) {
+            closeables.add(field.getIncrementalIndexBuildStrategy());
+        }
+        IOUtils.close(closeables);
     }
 
     /**
@@ -112,4 +184,128 @@ public class NativeEngines990KnnVectorsWriter extends KnnVectorsWriter {
             .sum();
     }
 
+    private static KNNVectorValues<?> getMergedVectorValues(
+        final VectorDataType vectorDataType,
+        final FieldInfo fieldInfo,
+        final MergeState mergeState
+    ) throws IOException {
+        final DocIdSetIterator mergedVectorValues;
+        switch (fieldInfo.getVectorEncoding()) {
+            case FLOAT32:
+                mergedVectorValues = MergedVectorValues.mergeFloatVectorValues(fieldInfo, mergeState);
+                return KNNVectorValuesFactory.getVectorValues(vectorDataType, mergedVectorValues);
+            case BYTE:
+                mergedVectorValues = MergedVectorValues.mergeByteVectorValues(fieldInfo, mergeState);
+                return KNNVectorValuesFactory.getVectorValues(vectorDataType, mergedVectorValues);
+        }
+        throw new IllegalStateException("Unsupported Vector encoding : " + fieldInfo.getVectorEncoding());
+    }
+
+    /**
+     * Picks the merged segment with the most vectors for the field as the seed of the merged native index. Only
+     * segments without deletions written by this format can be a seed, as deleted nodes cannot be dropped from their
+     * graph.
+     */
+    private static GraphReuseIndexBuildStrategy getGraphReuseIndexBuildStrategy(final FieldInfo fieldInfo, final MergeState mergeState)
+        throws IOException {
+        if (KNNFeatureFlags.isMergeGraphReuseEnabled() == false || fieldInfo.attributes().containsKey(MODEL_ID)) {
+            return null;
+        }
+        // Graphs written without their vectors cannot seed a merge
+        if (NativeIndexWriter.isGraphOnlyStorage(fieldInfo)) {
+            return null;
+        }
+        final KNNEngine knnEngine = NativeIndexWriter.getKNNEngine(fieldInfo);
+        if (KNNEngine.FAISS != knnEngine) {
+            return null;
+        }
+
+        int seed = -1;
+        long seedSize = 0;
+        NativeEngines990KnnVectorsReader seedReader = null;
+        for (int i = 0; i < mergeState.knnVectorsReaders.length; i++) {
+            final FieldInfo segmentFieldInfo = mergeState.fieldInfos[i].fieldInfo(fieldInfo.name);
+            if (mergeState.liveDocs[i] != null || segmentFieldInfo == null || segmentFieldInfo.hasVectorValues() == false) {
+                continue;
+            }
+            KnnVectorsReader reader = mergeState.knnVectorsReaders[i];
+            if (reader instanceof PerFieldKnnVectorsFormat.FieldsReader) {
+                reader = ((PerFieldKnnVectorsFormat.FieldsReader) reader).getFieldReader(fieldInfo.name);
+            }
+            if (reader instanceof NativeEngines990KnnVectorsReader == false) {
+                continue;
+            }
+            final long size = fieldInfo.getVectorEncoding() == VectorEncoding.BYTE
+                ? reader.getByteVectorValues(fieldInfo.name).size()
+                : reader.getFloatVectorValues(fieldInfo.name).size();
+            if (size > seedSize) {
+                seed = i;
+                seedSize = size;
+                seedReader = (NativeEngines990KnnVectorsReader) reader;
+            }
+        }
+        if (seedReader == null) {
+            return null;
+        }
+        return GraphReuseIndexBuildStrategy.create(
+            fieldInfo.name,
+            knnEngine,
+            seedReader.getSegmentInfo(),
+            mergeState.docMaps[seed],
+            mergeState.segmentInfo.maxDoc()
+        );
+    }
+
+    /**
+     * Counts the live docs with a vector for the field across the merged segments. Merged vector values only know an
+     * upper bound of their docs, so the docs are counted per segment: segments without deletions report their size,
+     * the others are counted by walking their doc ids against their live docs, without reading the vectors.
+     */
+    private static long countLiveDocs(final FieldInfo fieldInfo, final MergeState mergeState) throws IOException {
+        long liveDocs = 0;
+        for (int i = 0; i < mergeState.knnVectorsReaders.length; i++) {
+            final KnnVectorsReader reader = mergeState.knnVectorsReaders[i];
+            final FieldInfo segmentFieldInfo = mergeState.fieldInfos[i].fieldInfo(fieldInfo.name);
+            if (reader == null || segmentFieldInfo == null || segmentFieldInfo.hasVectorValues() == false) {
+                continue;
+            }
+            final DocIdSetIterator vectorValues;
+            final long size;
+            if (fieldInfo.getVectorEncoding() == VectorEncoding.BYTE) {
+                final ByteVectorValues byteVectorValues = reader.getByteVectorValues(fieldInfo.name);
+                vectorValues = byteVectorValues;
+                size = byteVectorValues == null ? 0 : byteVectorValues.size();
+            } else {
+                final FloatVectorValues floatVectorValues = reader.getFloatVectorValues(fieldInfo.name);
+                vectorValues = floatVectorValues;
+                size = floatVectorValues == null ? 0 : floatVectorValues.size();
+            }
+            final Bits segmentLiveDocs = mergeState.liveDocs[i];
+            if (vectorValues == null || segmentLiveDocs == null) {
+                liveDocs += size;
+                continue;
+            }
+            for (int doc = vectorValues.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = vectorValues.nextDoc()) {
+                if (segmentLiveDocs.get(doc)) {
+                    liveDocs++;
+                }
+            }
+        }
+        return liveDocs;
+    }
+
+    /**
+     * Creates {@link KNNVectorValues} over the vectors buffered by the field writer. When the segment is sorted, the
+     * docIds are remapped so that the native index refers to the same docIds as the flat vectors.
+     */
+    private static <T> KNNVectorValues<T> getVectorValues(
+        final VectorDataType vectorDataType,
+        final NativeEngineFieldVectorsWriter<T> field,
+        final Sorter.DocMap sortMap
+    ) throws IOException {
+        if (sortMap == null) {
+            return KNNVectorValuesFactory.getVectorValues(vectorDataType, field.getVectors());
+        }
+        return KNNVectorValuesFactory.getVectorValues(vectorDataType, field.getVectors().remap(sortMap::oldToNew));
+    }
 }
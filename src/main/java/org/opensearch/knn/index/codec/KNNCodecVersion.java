@@ -29,7 +29,6 @@ import org.opensearch.knn.index.codec.KNN990Codec.KNN990PerFieldKnnVectorsFormat
 
 import java.util.Optional;
 import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -44,7 +43,7 @@ public enum KNNCodecVersion {
         "KNN910Codec",
         new Lucene91Codec(),
         null,
-        (delegate) -> new KNNFormatFacade(
+        (delegate, mapperService) -> new KNNFormatFacade(
             new KNN80DocValuesFormat(delegate.docValuesFormat()),
             new KNN80CompoundFormat(delegate.compoundFormat())
         ),
@@ -56,7 +55,7 @@ public enum KNNCodecVersion {
         "KNN920Codec",
         new Lucene92Codec(),
         new KNN920PerFieldKnnVectorsFormat(Optional.empty()),
-        (delegate) -> new KNNFormatFacade(
+        (delegate, mapperService) -> new KNNFormatFacade(
             new KNN80DocValuesFormat(delegate.docValuesFormat()),
             new KNN80CompoundFormat(delegate.compoundFormat())
         ),
@@ -71,7 +70,7 @@ public enum KNNCodecVersion {
         "KNN940Codec",
         new Lucene94Codec(),
         new KNN940PerFieldKnnVectorsFormat(Optional.empty()),
-        (delegate) -> new KNNFormatFacade(
+        (delegate, mapperService) -> new KNNFormatFacade(
             new KNN80DocValuesFormat(delegate.docValuesFormat()),
             new KNN80CompoundFormat(delegate.compoundFormat())
         ),
@@ -86,7 +85,7 @@ public enum KNNCodecVersion {
         "KNN950Codec",
         new Lucene95Codec(),
         new KNN950PerFieldKnnVectorsFormat(Optional.empty()),
-        (delegate) -> new KNNFormatFacade(
+        (delegate, mapperService) -> new KNNFormatFacade(
             new KNN80DocValuesFormat(delegate.docValuesFormat()),
             new KNN80CompoundFormat(delegate.compoundFormat())
         ),
@@ -101,13 +100,14 @@ public enum KNNCodecVersion {
         "KNN990Codec",
         new Lucene99Codec(),
         new KNN990PerFieldKnnVectorsFormat(Optional.empty()),
-        (delegate) -> new KNNFormatFacade(
-            new KNN80DocValuesFormat(delegate.docValuesFormat()),
+        (delegate, mapperService) -> new KNNFormatFacade(
+            new KNN80DocValuesFormat(delegate.docValuesFormat(), Optional.ofNullable(mapperService)),
             new KNN80CompoundFormat(delegate.compoundFormat())
         ),
         (userCodec, mapperService) -> KNN990Codec.builder()
             .delegate(userCodec)
             .knnVectorsFormat(new KNN990PerFieldKnnVectorsFormat(Optional.ofNullable(mapperService)))
+            .mapperService(mapperService)
             .build(),
         KNN990Codec::new
     );
@@ -117,7 +117,7 @@ public enum KNNCodecVersion {
     private final String codecName;
     private final Codec defaultCodecDelegate;
     private final PerFieldKnnVectorsFormat perFieldKnnVectorsFormat;
-    private final Function<Codec, KNNFormatFacade> knnFormatFacadeSupplier;
+    private final BiFunction<Codec, MapperService, KNNFormatFacade> knnFormatFacadeSupplier;
     private final BiFunction<Codec, MapperService, Codec> knnCodecSupplier;
     private final Supplier<Codec> defaultKnnCodecSupplier;
 
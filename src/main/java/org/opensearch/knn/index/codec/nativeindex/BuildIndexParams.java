@@ -0,0 +1,45 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.store.IndexOutputWithBuffer;
+
+import java.util.Map;
+
+/**
+ * Holds everything a {@link NativeIndexBuildStrategy} needs to build a native index for a single field.
+ */
+@Value
+@Builder
+public class BuildIndexParams {
+    @NonNull
+    String fieldName;
+    @NonNull
+    KNNEngine knnEngine;
+    @NonNull
+    String indexPath;
+    @NonNull
+    VectorDataType vectorDataType;
+    @NonNull
+    Map<String, Object> parameters;
+    /**
+     * Serialized template index, only present when the field is backed by a trained model.
+     */
+    byte[] templateIndex;
+    /**
+     * Id of the trained model the template index belongs to, only present along with templateIndex.
+     */
+    String modelId;
+    /**
+     * Output the index is streamed into. When absent, the index is written by the native library to indexPath.
+     */
+    IndexOutputWithBuffer indexOutputWithBuffer;
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.ArrayUtil;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.transfer.VectorTransfer;
+import org.opensearch.knn.index.codec.transfer.VectorTransferByte;
+import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
+import org.opensearch.knn.index.codec.util.KNNCodecUtil;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.memory.NativeMemoryAllocation;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
+import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
+import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.jni.JNICommons;
+import org.opensearch.knn.jni.JNIService;
+
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Transfers the vectors into native memory in batches bounded by the vector streaming memory limit. Faiss indices built
+ * from scratch are built incrementally, each batch being added to the index and freed before the next one is
+ * transferred, so the peak native memory of a build is the index plus a single batch. Other indices are built in a
+ * single call to the engine once all the vectors are transferred. Indices built from a trained model are built from a
+ * copy of the template index of the model cached in native memory.
+ */
+@Log4j2
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class DefaultIndexBuildStrategy implements NativeIndexBuildStrategy {
+
+    private static final DefaultIndexBuildStrategy INSTANCE = new DefaultIndexBuildStrategy();
+
+    static DefaultIndexBuildStrategy getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void buildAndWriteIndex(final BuildIndexParams indexInfo, final KNNVectorValues<?> knnVectorValues) throws IOException {
+        if (isBuiltFromBatches(indexInfo)) {
+            buildAndWriteIndexFromBatches(indexInfo, knnVectorValues);
+            return;
+        }
+        final KNNCodecUtil.Pair pair = KNNCodecUtil.getPair(knnVectorValues, getVectorTransfer(indexInfo.getVectorDataType()));
+
+        // Skip index creation if no vectors or docs in segment
+        if (pair.getVectorAddress() == 0 || pair.docs.length == 0) {
+            log.info("Skipping engine index creation as there are no vectors or docs in the segment");
+            freeVectors(pair.getVectorAddress(), indexInfo.getVectorDataType());
+            return;
+        }
+
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            if (indexInfo.getTemplateIndex() != null) {
+                createIndexFromTemplate(indexInfo, pair);
+            } else if (indexInfo.getIndexOutputWithBuffer() != null) {
+                JNIService.createIndex(
+                    pair.docs,
+                    pair.getVectorAddress(),
+                    pair.getDimension(),
+                    indexInfo.getIndexOutputWithBuffer(),
+                    indexInfo.getParameters(),
+                    indexInfo.getKnnEngine()
+                );
+            } else {
+                JNIService.createIndex(
+                    pair.docs,
+                    pair.getVectorAddress(),
+                    pair.getDimension(),
+                    indexInfo.getIndexPath(),
+                    indexInfo.getParameters(),
+                    indexInfo.getKnnEngine()
+                );
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Builds the index in native memory instead of writing it, e.g. for a segment whose index build was deferred at
+     * flush. Only supported for faiss indices built from scratch.
+     *
+     * @param indexInfo {@link BuildIndexParams}
+     * @param knnVectorValues vectors of the index
+     * @return address of the index, or 0 when there are no vectors
+     * @throws IOException if the vectors cannot be read
+     */
+    long buildIndex(final BuildIndexParams indexInfo, final KNNVectorValues<?> knnVectorValues) throws IOException {
+        final VectorTransfer vectorTransfer = getVectorTransfer(indexInfo.getVectorDataType());
+        final BatchIndexer batchIndexer = new BatchIndexer(indexInfo, vectorTransfer);
+        vectorTransfer.setBatchConsumer(batchIndexer);
+        vectorTransfer.init(knnVectorValues.totalLiveDocs());
+        try {
+            for (int doc = knnVectorValues.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = knnVectorValues.nextDoc()) {
+                // The doc is recorded first, as the transfer hands the batch over once the vector fills it
+                batchIndexer.addDoc(doc);
+                vectorTransfer.transfer(knnVectorValues);
+            }
+            vectorTransfer.close();
+        } catch (IOException | RuntimeException e) {
+            batchIndexer.freeIndex();
+            throw e;
+        }
+        return batchIndexer.indexAddress;
+    }
+
+    /**
+     * Faiss indices built from scratch are built one batch of vectors at a time, so at most one batch of vectors is in
+     * native memory next to the index instead of all of them. The other indices need all the vectors at once.
+     */
+    private static boolean isBuiltFromBatches(final BuildIndexParams indexInfo) {
+        return KNNEngine.FAISS == indexInfo.getKnnEngine() && indexInfo.getTemplateIndex() == null;
+    }
+
+    private void buildAndWriteIndexFromBatches(final BuildIndexParams indexInfo, final KNNVectorValues<?> knnVectorValues)
+        throws IOException {
+        final long indexAddress = buildIndex(indexInfo, knnVectorValues);
+
+        // Skip index creation if no vectors or docs in segment
+        if (indexAddress == 0) {
+            log.info("Skipping engine index creation as there are no vectors or docs in the segment");
+            return;
+        }
+
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            final Map<String, Object> parameters = indexInfo.getParameters();
+            if (indexInfo.getIndexOutputWithBuffer() != null) {
+                JNIService.writeIndex(indexInfo.getIndexOutputWithBuffer(), indexAddress, parameters, indexInfo.getKnnEngine());
+            } else {
+                JNIService.writeIndex(indexInfo.getIndexPath(), indexAddress, parameters, indexInfo.getKnnEngine());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Builds the index from a copy of the template index of the model, deserialized once into the native memory cache
+     * and shared by every build using the model. When the template cannot be cached, e.g. when the cache is full, or for
+     * binary templates, the template is deserialized from the model blob for this build only.
+     */
+    private static void createIndexFromTemplate(final BuildIndexParams indexInfo, final KNNCodecUtil.Pair pair) {
+        final NativeMemoryAllocation templateAllocation = getTemplateAllocation(indexInfo);
+        if (templateAllocation == null) {
+            createIndexFromTemplateBlob(indexInfo, pair);
+            return;
+        }
+
+        try {
+            // The template may have been evicted between the time it was fetched and the time it was locked
+            if (templateAllocation.isClosed()) {
+                createIndexFromTemplateBlob(indexInfo, pair);
+            } else if (indexInfo.getIndexOutputWithBuffer() != null) {
+                JNIService.createIndexFromTemplateIndex(
+                    pair.docs,
+                    pair.getVectorAddress(),
+                    pair.getDimension(),
+                    indexInfo.getIndexOutputWithBuffer(),
+                    templateAllocation.getMemoryAddress(),
+                    indexInfo.getParameters(),
+                    indexInfo.getKnnEngine()
+                );
+            } else {
+                JNIService.createIndexFromTemplateIndex(
+                    pair.docs,
+                    pair.getVectorAddress(),
+                    pair.getDimension(),
+                    indexInfo.getIndexPath(),
+                    templateAllocation.getMemoryAddress(),
+                    indexInfo.getParameters(),
+                    indexInfo.getKnnEngine()
+                );
+            }
+        } finally {
+            templateAllocation.readUnlock();
+        }
+    }
+
+    /**
+     * Gets the cached template index of the model, loading it if needed, and read locks it so that it is not freed while
+     * it is copied. Without a free spot in the cache, the template is not cached, as evicting indices in use by searches
+     * to speed up a build is not worth it.
+     *
+     * @return read locked template allocation, or null when the template cannot be cached
+     */
+    private static NativeMemoryAllocation getTemplateAllocation(final BuildIndexParams indexInfo) {
+        final KNNEngine knnEngine = indexInfo.getKnnEngine();
+        if (indexInfo.getModelId() == null
+            || KNNEngine.FAISS != knnEngine
+            || IndexUtil.isBinaryIndex(knnEngine, indexInfo.getParameters())) {
+            return null;
+        }
+
+        final NativeMemoryEntryContext.ModelTemplateEntryContext entryContext = new NativeMemoryEntryContext.ModelTemplateEntryContext(
+            indexInfo.getModelId(),
+            indexInfo.getTemplateIndex(),
+            knnEngine,
+            NativeMemoryLoadStrategy.ModelTemplateLoadStrategy.getInstance()
+        );
+        try {
+            final NativeMemoryAllocation templateAllocation = NativeMemoryCacheManager.getInstance().get(entryContext, false);
+            templateAllocation.readLock();
+            return templateAllocation;
+        } catch (ExecutionException | RuntimeException e) {
+            log.debug("Failed to cache the template index of model [{}], deserializing it for this build only", indexInfo.getModelId(), e);
+            return null;
+        }
+    }
+
+    private static void createIndexFromTemplateBlob(final BuildIndexParams indexInfo, final KNNCodecUtil.Pair pair) {
+        if (indexInfo.getIndexOutputWithBuffer() != null) {
+            JNIService.createIndexFromTemplate(
+                pair.docs,
+                pair.getVectorAddress(),
+                pair.getDimension(),
+                indexInfo.getIndexOutputWithBuffer(),
+                indexInfo.getTemplateIndex(),
+                indexInfo.getParameters(),
+                indexInfo.getKnnEngine()
+            );
+        } else {
+            JNIService.createIndexFromTemplate(
+                pair.docs,
+                pair.getVectorAddress(),
+                pair.getDimension(),
+                indexInfo.getIndexPath(),
+                indexInfo.getTemplateIndex(),
+                indexInfo.getParameters(),
+                indexInfo.getKnnEngine()
+            );
+        }
+    }
+
+    private static VectorTransfer getVectorTransfer(final VectorDataType vectorDataType) {
+        if (VectorDataType.BINARY == vectorDataType) {
+            return new VectorTransferByte(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
+        }
+        return new VectorTransferFloat(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
+    }
+
+    /**
+     * Adds every batch of transferred vectors to the index, which is initialized with the first batch, and frees the
+     * batch right after.
+     */
+    private static final class BatchIndexer implements VectorTransfer.BatchConsumer {
+        private final BuildIndexParams indexInfo;
+        private final VectorTransfer vectorTransfer;
+        private int[] docIds = new int[0];
+        private int numDocs;
+        private long indexAddress;
+
+        private BatchIndexer(final BuildIndexParams indexInfo, final VectorTransfer vectorTransfer) {
+            this.indexInfo = indexInfo;
+            this.vectorTransfer = vectorTransfer;
+        }
+
+        private void addDoc(final int docId) {
+            if (numDocs == docIds.length) {
+                docIds = ArrayUtil.grow(docIds);
+            }
+            docIds[numDocs++] = docId;
+        }
+
+        @Override
+        public void accept(final long batchAddress, final int numVectors) {
+            try {
+                final int[] batchDocIds = ArrayUtil.copyOfSubArray(docIds, 0, numDocs);
+                numDocs = 0;
+                AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                    if (indexAddress == 0) {
+                        indexAddress = JNIService.initIndex(
+                            vectorTransfer.getDimension(),
+                            indexInfo.getParameters(),
+                            indexInfo.getKnnEngine()
+                        );
+                    }
+                    JNIService.insertToIndex(
+                        batchDocIds,
+                        batchAddress,
+                        vectorTransfer.getDimension(),
+                        indexInfo.getParameters(),
+                        indexAddress,
+                        indexInfo.getKnnEngine()
+                    );
+                    return null;
+                });
+            } finally {
+                // Unlike createIndex, insertToIndex does not take ownership of the vectors
+                freeVectors(batchAddress, indexInfo.getVectorDataType());
+            }
+        }
+
+        private void freeIndex() {
+            if (indexAddress == 0) {
+                return;
+            }
+            final KNNEngine knnEngine = indexInfo.getKnnEngine();
+            JNIService.free(indexAddress, knnEngine, IndexUtil.isBinaryIndex(knnEngine, indexInfo.getParameters()));
+            indexAddress = 0;
+        }
+    }
+
+    private static void freeVectors(final long vectorAddress, final VectorDataType vectorDataType) {
+        if (vectorAddress == 0) {
+            return;
+        }
+        if (VectorDataType.BINARY == vectorDataType) {
+            JNICommons.freeByteVectorData(vectorAddress);
+        } else {
+            JNICommons.freeVectorData(vectorAddress);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.util.StringHelper;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.memory.NativeMemoryAllocation;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
+import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
+import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValuesFactory;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.opensearch.knn.common.KNNConstants.GRAPH_BUILD_THREAD_POOL;
+import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
+
+/**
+ * Builds the native index of segments flushed without one, because the index build was deferred at flush to keep it
+ * off the refresh path. The index is built from the vectors of the segment on the graph build thread pool and
+ * registered in the native memory cache, where it stays until it is evicted or the segment is closed. Until then the
+ * segment is searched exactly. The index is never written to the segment, whose files are immutable once flushed, so
+ * it is built again if it is evicted, and the segment gets a persisted index once it is merged.
+ * <p>
+ * Merged segments get here when {@link MergeGraphBuildPolicy} deferred their index build. Their builds, including the
+ * ones after an eviction or a restart, are recorded as builds of the merge policy and counted in the merge stats.
+ */
+@Log4j2
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DeferredIndexBuilder {
+
+    private static final DeferredIndexBuilder INSTANCE = new DeferredIndexBuilder();
+    private static final String KEY_SUFFIX = ".deferred";
+
+    private static ThreadPool threadPool;
+
+    private final Set<String> pendingBuilds = ConcurrentHashMap.newKeySet();
+    private final Set<String> trackedSegments = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Initializes the thread pool the indices are built on
+     *
+     * @param threadPool {@link ThreadPool}
+     */
+    public static void initialize(final ThreadPool threadPool) {
+        DeferredIndexBuilder.threadPool = threadPool;
+    }
+
+    public static DeferredIndexBuilder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Only faiss indices built from scratch can be built in memory, so the index build of other fields is never
+     * deferred.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @return true if the index build of the field can be deferred
+     */
+    public static boolean isSupported(final FieldInfo fieldInfo) {
+        return fieldInfo.attributes().containsKey(MODEL_ID) == false && KNNEngine.FAISS == NativeIndexWriter.getKNNEngine(fieldInfo);
+    }
+
+    /**
+     * Returns the index of the field of the segment if it was built.
+     *
+     * @param reader {@link SegmentReader} of the segment
+     * @param fieldInfo {@link FieldInfo} of the field
+     * @return the index, or null if it is not built yet
+     */
+    public NativeMemoryAllocation getIfBuilt(final SegmentReader reader, final FieldInfo fieldInfo) {
+        return NativeMemoryCacheManager.getInstance().getIfPresent(getKey(reader, fieldInfo));
+    }
+
+    /**
+     * Builds the index of the field of the segment in the background, unless it is already being built.
+     *
+     * @param reader {@link SegmentReader} of the segment, kept open until the index is built
+     * @param fieldInfo {@link FieldInfo} of the field
+     * @param openSearchIndexName OpenSearch index of the segment
+     */
+    public void scheduleBuild(final SegmentReader reader, final FieldInfo fieldInfo, final String openSearchIndexName) {
+        final String key = getKey(reader, fieldInfo);
+        if (pendingBuilds.add(key) == false) {
+            return;
+        }
+        if (reader.tryIncRef() == false) {
+            pendingBuilds.remove(key);
+            return;
+        }
+        try {
+            executor().execute(() -> {
+                try {
+                    get(reader, fieldInfo, openSearchIndexName);
+                } catch (Exception e) {
+                    log.warn("Failed to build the deferred index of field [{}] of segment [{}]", fieldInfo.getName(), reader, e);
+                } finally {
+                    release(key, reader);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Unable to schedule the deferred index build of field [{}] of segment [{}]", fieldInfo.getName(), reader, e);
+            release(key, reader);
+        }
+    }
+
+    /**
+     * Returns the index of the field of the segment, building it on the calling thread if it is not built yet.
+     *
+     * @param reader {@link SegmentReader} of the segment
+     * @param fieldInfo {@link FieldInfo} of the field
+     * @param openSearchIndexName OpenSearch index of the segment
+     * @return the index
+     * @throws ExecutionException if the index cannot be built
+     */
+    public NativeMemoryAllocation get(final SegmentReader reader, final FieldInfo fieldInfo, final String openSearchIndexName)
+        throws ExecutionException {
+        final String key = getKey(reader, fieldInfo);
+        if (trackedSegments.add(key)) {
+            // The index lives as long as the segment, not as long as a file
+            reader.getCoreCacheHelper().addClosedListener(coreKey -> {
+                trackedSegments.remove(key);
+                NativeMemoryCacheManager.getInstance().invalidate(key);
+            });
+        }
+        try {
+            return NativeMemoryCacheManager.getInstance().get(entryContext(key, reader, fieldInfo, openSearchIndexName), true);
+        } catch (IOException e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    private NativeMemoryEntryContext.BuiltIndexEntryContext entryContext(
+        final String key,
+        final SegmentReader reader,
+        final FieldInfo fieldInfo,
+        final String openSearchIndexName
+    ) throws IOException {
+        final VectorDataType vectorDataType = NativeIndexWriter.getVectorDataType(fieldInfo);
+        final Map<String, Object> parameters = NativeIndexWriter.getParameters(fieldInfo, vectorDataType, KNNEngine.FAISS);
+        final long totalLiveDocs = DocValues.getBinary(reader, fieldInfo.getName()).cost();
+        final long estimatedMemoryInBytes = NativeIndexWriter.estimateBuildMemoryInBytes(
+            fieldInfo,
+            vectorDataType,
+            parameters,
+            totalLiveDocs
+        );
+        final BuildIndexParams indexParams = BuildIndexParams.builder()
+            .fieldName(fieldInfo.getName())
+            .parameters(parameters)
+            .vectorDataType(vectorDataType)
+            .knnEngine(KNNEngine.FAISS)
+            .build();
+
+        return new NativeMemoryEntryContext.BuiltIndexEntryContext(
+            key,
+            (int) Math.min(Integer.MAX_VALUE, Math.max(1, estimatedMemoryInBytes / 1024)),
+            NativeMemoryLoadStrategy.BuiltIndexLoadStrategy.getInstance(),
+            openSearchIndexName,
+            KNNEngine.FAISS,
+            IndexUtil.isBinaryIndex(KNNEngine.FAISS, parameters),
+            () -> {
+                final long[] indexAddress = new long[1];
+                NativeIndexBuildScheduler.getInstance().schedule(parameters, estimatedMemoryInBytes, () -> {
+                    final KNNVectorValues<?> knnVectorValues = KNNVectorValuesFactory.getVectorValues(
+                        vectorDataType,
+                        DocValues.getBinary(reader, fieldInfo.getName())
+                    );
+                    indexAddress[0] = DefaultIndexBuildStrategy.getInstance().buildIndex(indexParams, knnVectorValues);
+                });
+                if (indexAddress[0] == 0) {
+                    throw new IOException(String.format("No vectors to build the index of field [%s] from", fieldInfo.getName()));
+                }
+                if (isMergedSegment(reader)) {
+                    recordMergeBuild(fieldInfo, openSearchIndexName, totalLiveDocs);
+                }
+                return indexAddress[0];
+            }
+        );
+    }
+
+    private static boolean isMergedSegment(final SegmentReader reader) {
+        return IndexWriter.SOURCE_MERGE.equals(reader.getSegmentInfo().info.getDiagnostics().get(IndexWriter.SOURCE));
+    }
+
+    private static void recordMergeBuild(final FieldInfo fieldInfo, final String openSearchIndexName, final long totalLiveDocs) {
+        MergeGraphBuildPolicy.getInstance().recordBuild(openSearchIndexName, MergeGraphBuildPolicy.getBuildCost(fieldInfo, totalLiveDocs));
+        KNNGraphValue.MERGE_TOTAL_DEFERRED_BUILDS.increment();
+        KNNGraphValue.MERGE_TOTAL_DOCS.incrementBy(totalLiveDocs);
+    }
+
+    private void release(final String key, final SegmentReader reader) {
+        pendingBuilds.remove(key);
+        try {
+            reader.decRef();
+        } catch (IOException e) {
+            log.warn("Failed to release segment [{}]", reader, e);
+        }
+    }
+
+    private static String getKey(final SegmentReader reader, final FieldInfo fieldInfo) {
+        // Segment names are reused across shards and after a shard is recreated, the directory and id make them unique
+        final String directory = ((FSDirectory) FilterDirectory.unwrap(reader.directory())).getDirectory().toString();
+        final String segment = reader.getSegmentName() + "_" + StringHelper.idToString(reader.getSegmentInfo().info.getId());
+        return Paths.get(directory, segment + "_" + fieldInfo.getName() + KEY_SUFFIX).toString();
+    }
+
+    private static Executor executor() {
+        // Without a thread pool, e.g. in unit tests, indices are built on the calling thread
+        if (threadPool == null) {
+            return Runnable::run;
+        }
+        return threadPool.executor(GRAPH_BUILD_THREAD_POOL);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.index.MergeState;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.FixedBitSet;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.transfer.VectorTransfer;
+import org.opensearch.knn.index.codec.transfer.VectorTransferByte;
+import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.jni.JNICommons;
+import org.opensearch.knn.jni.JNIService;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Builds the native index of a merged segment on top of the native index of one of the merged segments, the seed.
+ * The seed index is loaded with its docIds remapped to the docIds of the merged segment and only the vectors of the
+ * other segments are inserted into it, so the graph of the seed does not have to be rebuilt. Deleted nodes cannot be
+ * removed from a faiss HNSW graph, hence the seed must not have deletions.
+ */
+@Log4j2
+public final class GraphReuseIndexBuildStrategy implements NativeIndexBuildStrategy {
+
+    private final String seedIndexPath;
+    private final int[] seedDocIdMap;
+    private final FixedBitSet seedDocs;
+
+    /**
+     * Creates a strategy seeding the merged index with the native index of a merged segment
+     *
+     * @param fieldName name of the field being merged
+     * @param knnEngine {@link KNNEngine} of the field
+     * @param seedSegment {@link SegmentInfo} of the seed segment, must not have deletions
+     * @param seedDocMap {@link MergeState.DocMap} of the seed segment
+     * @param mergedMaxDoc maxDoc of the merged segment
+     * @return {@link GraphReuseIndexBuildStrategy} or null when the seed segment has no native index for the field
+     */
+    public static GraphReuseIndexBuildStrategy create(
+        final String fieldName,
+        final KNNEngine knnEngine,
+        final SegmentInfo seedSegment,
+        final MergeState.DocMap seedDocMap,
+        final int mergedMaxDoc
+    ) {
+        final String seedIndexPath = getEngineFilePath(seedSegment, fieldName, knnEngine);
+        if (seedIndexPath == null) {
+            return null;
+        }
+        final int[] seedDocIdMap = new int[seedSegment.maxDoc()];
+        final FixedBitSet seedDocs = new FixedBitSet(mergedMaxDoc);
+        for (int docId = 0; docId < seedDocIdMap.length; docId++) {
+            seedDocIdMap[docId] = seedDocMap.get(docId);
+            if (seedDocIdMap[docId] != -1) {
+                seedDocs.set(seedDocIdMap[docId]);
+            }
+        }
+        return new GraphReuseIndexBuildStrategy(seedIndexPath, seedDocIdMap, seedDocs);
+    }
+
+    private GraphReuseIndexBuildStrategy(final String seedIndexPath, final int[] seedDocIdMap, final FixedBitSet seedDocs) {
+        this.seedIndexPath = seedIndexPath;
+        this.seedDocIdMap = seedDocIdMap;
+        this.seedDocs = seedDocs;
+    }
+
+    /**
+     * Loads the seed index and inserts the vectors of the docs that do not come from the seed segment into it in
+     * batches bounded by the vector streaming memory limit, before writing it to the merged segment.
+     */
+    @Override
+    public void buildAndWriteIndex(final BuildIndexParams indexInfo, final KNNVectorValues<?> knnVectorValues) throws IOException {
+        final Map<String, Object> parameters = indexInfo.getParameters();
+        final KNNEngine knnEngine = indexInfo.getKnnEngine();
+        final long indexAddress = AccessController.doPrivileged(
+            (PrivilegedAction<Long>) () -> JNIService.loadIndexForMerge(seedIndexPath, seedDocIdMap, parameters, knnEngine)
+        );
+        log.debug("Seeded native index of field [{}] with [{}]", indexInfo.getFieldName(), seedIndexPath);
+
+        boolean inserted = false;
+        try {
+            insertNonSeedVectors(indexInfo, knnVectorValues, indexAddress);
+            inserted = true;
+        } finally {
+            if (inserted == false) {
+                JNIService.free(indexAddress, knnEngine, VectorDataType.BINARY == indexInfo.getVectorDataType());
+            }
+        }
+
+        // writeIndex releases the index, even when it fails
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            if (indexInfo.getIndexOutputWithBuffer() != null) {
+                JNIService.writeIndex(indexInfo.getIndexOutputWithBuffer(), indexAddress, parameters, knnEngine);
+            } else {
+                JNIService.writeIndex(indexInfo.getIndexPath(), indexAddress, parameters, knnEngine);
+            }
+            return null;
+        });
+    }
+
+    private void insertNonSeedVectors(final BuildIndexParams indexInfo, final KNNVectorValues<?> knnVectorValues, final long indexAddress)
+        throws IOException {
+        final long vectorsStreamingMemoryLimit = KNNSettings.getVectorStreamingMemoryLimit().getBytes();
+        final VectorTransfer vectorTransfer = VectorDataType.BINARY == indexInfo.getVectorDataType()
+            ? new VectorTransferByte(vectorsStreamingMemoryLimit)
+            : new VectorTransferFloat(vectorsStreamingMemoryLimit);
+        final BatchInserter batchInserter = new BatchInserter(indexInfo, vectorTransfer, indexAddress);
+        vectorTransfer.setBatchConsumer(batchInserter);
+        vectorTransfer.init(knnVectorValues.totalLiveDocs());
+        while (knnVectorValues.nextDoc() != DocIdSetIterator.NO_MORE_DOCS) {
+            final int docId = knnVectorValues.docId();
+            if (seedDocs.get(docId)) {
+                continue;
+            }
+            // The doc is recorded first, as the transfer hands the batch over once the vector fills it
+            batchInserter.addDoc(docId);
+            vectorTransfer.transfer(knnVectorValues);
+        }
+        vectorTransfer.close();
+    }
+
+    private static String getEngineFilePath(final SegmentInfo segmentInfo, final String fieldName, final KNNEngine knnEngine) {
+        // In case of compound file, extension would be <engine-extension> + c otherwise <engine-extension>
+        final String engineExtension = segmentInfo.getUseCompoundFile()
+            ? knnEngine.getExtension() + KNNConstants.COMPOUND_EXTENSION
+            : knnEngine.getExtension();
+        final String underLineEngineSuffix = "_" + fieldName + engineExtension;
+        return segmentInfo.files()
+            .stream()
+            .filter(fileName -> fileName.endsWith(underLineEngineSuffix))
+            .min(Comparator.comparingInt(String::length))
+            .map(fileName -> Paths.get(((FSDirectory) FilterDirectory.unwrap(segmentInfo.dir)).getDirectory().toString(), fileName))
+            .map(Object::toString)
+            .orElse(null);
+    }
+
+    /**
+     * Inserts every batch of transferred vectors into the seeded index and frees the batch right after.
+     */
+    private static final class BatchInserter implements VectorTransfer.BatchConsumer {
+        private final BuildIndexParams indexInfo;
+        private final VectorTransfer vectorTransfer;
+        private final long indexAddress;
+        private int[] docIds = new int[0];
+        private int numDocs;
+
+        private BatchInserter(final BuildIndexParams indexInfo, final VectorTransfer vectorTransfer, final long indexAddress) {
+            this.indexInfo = indexInfo;
+            this.vectorTransfer = vectorTransfer;
+            this.indexAddress = indexAddress;
+        }
+
+        private void addDoc(final int docId) {
+            if (numDocs == docIds.length) {
+                docIds = ArrayUtil.grow(docIds);
+            }
+            docIds[numDocs++] = docId;
+        }
+
+        @Override
+        public void accept(final long batchAddress, final int numVectors) {
+            try {
+                final int[] batchDocIds = ArrayUtil.copyOfSubArray(docIds, 0, numDocs);
+                numDocs = 0;
+                AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                    JNIService.insertToIndex(
+                        batchDocIds,
+                        batchAddress,
+                        vectorTransfer.getDimension(),
+                        indexInfo.getParameters(),
+                        indexAddress,
+                        indexInfo.getKnnEngine()
+                    );
+                    return null;
+                });
+            } finally {
+                // Unlike createIndex, insertToIndex does not take ownership of the vectors
+                if (VectorDataType.BINARY == indexInfo.getVectorDataType()) {
+                    JNICommons.freeByteVectorData(batchAddress);
+                } else {
+                    JNICommons.freeVectorData(batchAddress);
+                }
+            }
+        }
+    }
+}
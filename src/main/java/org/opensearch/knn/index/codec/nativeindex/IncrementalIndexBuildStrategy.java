@@ -0,0 +1,271 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.util.ArrayUtil;
+import org.opensearch.knn.common.featureflags.KNNFeatureFlags;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.transfer.VectorTransfer;
+import org.opensearch.knn.index.codec.transfer.VectorTransferByte;
+import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.jni.JNICommons;
+import org.opensearch.knn.jni.JNIService;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static org.opensearch.knn.common.KNNConstants.GRAPH_BUILD_THREAD_POOL;
+import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
+
+/**
+ * Builds the native index of a field while its documents are being indexed. Vectors are staged by a
+ * {@link VectorTransfer} and every batch bounded by the vector streaming memory limit is copied to native memory in bulk
+ * and inserted into a native index handle on the graph build thread pool. Each insert goes through the
+ * {@link NativeIndexBuildScheduler}, which grants it its threads and reserves the memory of the index it grows, like any
+ * other build. Batches of a field are inserted one after the other, as faiss indices do not support concurrent adds,
+ * while different fields and segments are built in parallel. At flush only the last partial batch is left to insert
+ * before the index is serialized, which keeps graph construction off the refresh path.
+ */
+@Log4j2
+public final class IncrementalIndexBuildStrategy implements NativeIndexBuildStrategy, Closeable {
+
+    private static ThreadPool threadPool;
+
+    private final FieldInfo fieldInfo;
+    private final KNNEngine knnEngine;
+    private final VectorDataType vectorDataType;
+    private final Map<String, Object> parameters;
+    private final int dimension;
+    private final VectorTransfer vectorTransfer;
+    private int[] batchDocIds = new int[0];
+    private int batchSize;
+    private CompletableFuture<Void> pendingInserts = CompletableFuture.completedFuture(null);
+    private long insertedVectors;
+    private volatile long indexAddress;
+
+    /**
+     * Initializes the thread pool the batches are inserted on
+     *
+     * @param threadPool {@link ThreadPool}
+     */
+    public static void initialize(final ThreadPool threadPool) {
+        IncrementalIndexBuildStrategy.threadPool = threadPool;
+    }
+
+    /**
+     * Creates an incremental build strategy for the field if the field and segment support it
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param segmentWriteState {@link SegmentWriteState}
+     * @return {@link IncrementalIndexBuildStrategy} or null when the index has to be built at flush
+     * @throws IOException if the index parameters of the field cannot be parsed
+     */
+    public static IncrementalIndexBuildStrategy create(final FieldInfo fieldInfo, final SegmentWriteState segmentWriteState)
+        throws IOException {
+        if (KNNFeatureFlags.isIncrementalGraphBuildEnabled() == false) {
+            return null;
+        }
+        // Models need the template index and a sorted segment renumbers docs at flush, both are built at flush
+        if (fieldInfo.attributes().containsKey(MODEL_ID) || segmentWriteState.segmentInfo.getIndexSort() != null) {
+            return null;
+        }
+        final KNNEngine knnEngine = NativeIndexWriter.getKNNEngine(fieldInfo);
+        if (KNNEngine.FAISS != knnEngine) {
+            return null;
+        }
+        final VectorDataType vectorDataType = NativeIndexWriter.getVectorDataType(fieldInfo);
+        return new IncrementalIndexBuildStrategy(
+            fieldInfo,
+            knnEngine,
+            vectorDataType,
+            NativeIndexWriter.getParameters(fieldInfo, vectorDataType, knnEngine)
+        );
+    }
+
+    private IncrementalIndexBuildStrategy(
+        final FieldInfo fieldInfo,
+        final KNNEngine knnEngine,
+        final VectorDataType vectorDataType,
+        final Map<String, Object> parameters
+    ) {
+        this.fieldInfo = fieldInfo;
+        this.knnEngine = knnEngine;
+        this.vectorDataType = vectorDataType;
+        this.parameters = parameters;
+        if (VectorDataType.BINARY == vectorDataType) {
+            this.dimension = fieldInfo.getVectorDimension() * Byte.SIZE;
+            this.vectorTransfer = new VectorTransferByte(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
+        } else {
+            this.dimension = fieldInfo.getVectorDimension();
+            this.vectorTransfer = new VectorTransferFloat(KNNSettings.getVectorStreamingMemoryLimit().getBytes());
+        }
+        this.vectorTransfer.setBatchConsumer(this::submitBatch);
+        // The number of vectors of the segment is not known yet, so batches are sized by the memory limit only
+        this.vectorTransfer.init(0);
+    }
+
+    /**
+     * Adds a vector to the current batch. Once the batch is full it is inserted into the native index in the
+     * background. The vector is copied, so it can be modified afterwards.
+     *
+     * @param docId docId of the vector
+     * @param vector float[] or byte[]
+     */
+    public void addVector(final int docId, final Object vector) {
+        // The doc is recorded first, as the transfer hands the batch over once the vector fills it
+        if (batchSize == batchDocIds.length) {
+            batchDocIds = ArrayUtil.grow(batchDocIds);
+        }
+        batchDocIds[batchSize++] = docId;
+        vectorTransfer.transferVector(vector);
+    }
+
+    /**
+     * Inserts the last batch, waits for all the inserts to complete and serializes the index. The vectors were already
+     * added through {@link #addVector(int, Object)}, so knnVectorValues are not read. The writer does not schedule
+     * this build, as every insert was scheduled on its own and writing the index does not build anything.
+     */
+    @Override
+    public void buildAndWriteIndex(final BuildIndexParams indexInfo, final KNNVectorValues<?> knnVectorValues) throws IOException {
+        vectorTransfer.close();
+        awaitPendingInserts();
+        if (indexAddress == 0) {
+            log.debug("No vectors were added incrementally for field [{}], building the index from scratch", fieldInfo.getName());
+            NativeIndexBuildScheduler.getInstance()
+                .schedule(
+                    indexInfo.getParameters(),
+                    NativeIndexWriter.estimateBuildMemoryInBytes(
+                        fieldInfo,
+                        indexInfo.getVectorDataType(),
+                        indexInfo.getParameters(),
+                        knnVectorValues.totalLiveDocs()
+                    ),
+                    () -> DefaultIndexBuildStrategy.getInstance().buildAndWriteIndex(indexInfo, knnVectorValues)
+                );
+            return;
+        }
+
+        // writeIndex releases the index, even when it fails
+        final long address = indexAddress;
+        indexAddress = 0;
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            if (indexInfo.getIndexOutputWithBuffer() != null) {
+                JNIService.writeIndex(indexInfo.getIndexOutputWithBuffer(), address, indexInfo.getParameters(), knnEngine);
+            } else {
+                JNIService.writeIndex(indexInfo.getIndexPath(), address, indexInfo.getParameters(), knnEngine);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Releases the native index if it was not written, e.g. when the segment is aborted.
+     */
+    @Override
+    public void close() {
+        try {
+            pendingInserts.join();
+        } catch (CompletionException e) {
+            log.debug("Incremental index build failed for field [{}]", fieldInfo.getName(), e);
+        }
+        if (indexAddress != 0) {
+            JNIService.free(indexAddress, knnEngine, VectorDataType.BINARY == vectorDataType);
+            indexAddress = 0;
+        }
+    }
+
+    private void submitBatch(final long batchAddress, final int numVectors) {
+        final int[] docIds = ArrayUtil.copyOfSubArray(batchDocIds, 0, batchSize);
+        batchSize = 0;
+        // The batch is freed even when a previous insert failed, as it owns its native memory
+        pendingInserts = pendingInserts.whenCompleteAsync((ignored, failure) -> {
+            if (failure != null) {
+                freeVectors(batchAddress);
+                return;
+            }
+            scheduleInsert(docIds, batchAddress);
+        }, executor());
+    }
+
+    private void awaitPendingInserts() throws IOException {
+        try {
+            pendingInserts.join();
+        } catch (CompletionException e) {
+            throw new IOException(
+                String.format("Failed to build the index incrementally for field [%s]", fieldInfo.getName()),
+                e.getCause()
+            );
+        }
+    }
+
+    /**
+     * Inserts a batch once the scheduler admits it. The reservation covers the index once the batch is inserted, as
+     * the index grows in native memory while the batch is inserted. The parameters are copied, as the scheduler sets
+     * the threads it grants to the insert in them.
+     */
+    private void scheduleInsert(final int[] docIds, final long batchAddress) {
+        final Map<String, Object> insertParameters = new HashMap<>(parameters);
+        final long indexedVectors = insertedVectors + docIds.length;
+        try {
+            NativeIndexBuildScheduler.getInstance()
+                .schedule(
+                    insertParameters,
+                    NativeIndexWriter.estimateBuildMemoryInBytes(fieldInfo, vectorDataType, insertParameters, indexedVectors),
+                    () -> insert(docIds, batchAddress, insertParameters)
+                );
+            insertedVectors = indexedVectors;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // Unlike createIndex, insertToIndex does not take ownership of the vectors
+            freeVectors(batchAddress);
+        }
+    }
+
+    private void insert(final int[] docIds, final long batchAddress, final Map<String, Object> insertParameters) {
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            if (indexAddress == 0) {
+                indexAddress = JNIService.initIndex(dimension, insertParameters, knnEngine);
+            }
+            JNIService.insertToIndex(docIds, batchAddress, dimension, insertParameters, indexAddress, knnEngine);
+            return null;
+        });
+    }
+
+    private void freeVectors(final long vectorAddress) {
+        if (vectorAddress == 0) {
+            return;
+        }
+        if (VectorDataType.BINARY == vectorDataType) {
+            JNICommons.freeByteVectorData(vectorAddress);
+        } else {
+            JNICommons.freeVectorData(vectorAddress);
+        }
+    }
+
+    private static Executor executor() {
+        // Without a thread pool, e.g. in unit tests, batches are inserted on the indexing thread
+        if (threadPool == null) {
+            return Runnable::run;
+        }
+        return threadPool.executor(GRAPH_BUILD_THREAD_POOL);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.store.MergeInfo;
+import org.opensearch.knn.common.KNNConstants;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a merge rebuilds the native index of a field right away. Every merge rebuilds the graph of all the
+ * vectors of the merged segments, so small merges cascading into larger ones rebuild the same vectors again and again.
+ * When index.knn.advanced.max_merge_graph_builds_per_hour is set, the graph builds of merges of an index on a node are
+ * capped over a rolling hour:
+ * <ul>
+ *     <li>the cost of a build is the number of vectors times their dimension</li>
+ *     <li>once half of the hourly builds are used, merges cheaper than the average build of the hour are deferred, so
+ *     the remaining builds go to the merges that consolidate the most vectors</li>
+ *     <li>once all of them are used, every merge is deferred until the oldest build leaves the window</li>
+ * </ul>
+ * The native index of a deferred merge is built in the background once the merged segment is searched, see
+ * {@link DeferredIndexBuilder}, and is never built if the segment is merged again before that. It is only kept in
+ * memory, so it is built again after it is evicted or the node restarts, until the segment is merged again. Only
+ * merges that are likely to be merged again are deferred, see {@link #isDeferrable(MergeInfo, long)}, the others always
+ * persist their graph and use a build of the hour through {@link #recordBuild(String, long)}. The cap only defers work
+ * rather than removing it, so the builds of deferred merges are recorded the same way. Deferred merges are counted in
+ * merge.total_deferred and the builds of their graphs in merge.total_deferred_builds.
+ */
+public final class MergeGraphBuildPolicy {
+
+    private static final MergeGraphBuildPolicy INSTANCE = new MergeGraphBuildPolicy(System::nanoTime);
+    private static final long WINDOW_IN_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final LongSupplier nanoClock;
+    private final Map<String, Deque<long[]>> buildsByIndex = new ConcurrentHashMap<>();
+
+    public static MergeGraphBuildPolicy getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    MergeGraphBuildPolicy(final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Cost of the graph build of a field, the number of vectors times their dimension.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param totalLiveDocs number of vectors of the merged segment
+     * @return cost of the build
+     */
+    public static long getBuildCost(final FieldInfo fieldInfo, final long totalLiveDocs) {
+        final String dimension = fieldInfo.getAttribute(KNNConstants.DIMENSION);
+        return totalLiveDocs * (dimension == null ? 1 : Math.max(1, Integer.parseInt(dimension)));
+    }
+
+    /**
+     * Checks whether the graph build of a merge can be deferred. Forced merges and merges of external segments, e.g.
+     * from addIndexes, produce segments that are not merged again, and so do merges into segments larger than the
+     * small segments of the merge policy, so their graph would never be persisted.
+     *
+     * @param mergeInfo {@link MergeInfo} of the merge, null when the segment is not written by a merge
+     * @param smallSegmentBytes size under which the merge policy considers a segment small, the floor segment size
+     * @return true if the graph build of the merge can be deferred
+     */
+    public static boolean isDeferrable(final MergeInfo mergeInfo, final long smallSegmentBytes) {
+        return mergeInfo != null
+            && mergeInfo.isExternal == false
+            && mergeInfo.mergeMaxNumSegments == -1
+            && mergeInfo.estimatedMergeBytes <= smallSegmentBytes;
+    }
+
+    /**
+     * Records the graph build of a merge if the hourly builds of the index allow it.
+     *
+     * @param indexName index of the merged segment
+     * @param maxBuildsPerHour maximum graph builds of merges per hour, negative for no limit
+     * @param cost cost of the build, see {@link #getBuildCost(FieldInfo, long)}
+     * @return true if the graph is built now, false if the build is deferred
+     */
+    public boolean tryBuild(final String indexName, final int maxBuildsPerHour, final long cost) {
+        if (maxBuildsPerHour < 0) {
+            return true;
+        }
+        final Deque<long[]> builds = buildsByIndex.computeIfAbsent(indexName, name -> new ArrayDeque<>());
+        synchronized (builds) {
+            final long now = nanoClock.getAsLong();
+            evictExpiredBuilds(builds, now);
+            if (builds.size() >= maxBuildsPerHour) {
+                return false;
+            }
+            if (builds.size() * 2 >= maxBuildsPerHour && cost < averageCost(builds)) {
+                return false;
+            }
+            builds.addLast(new long[] { now, cost });
+            return true;
+        }
+    }
+
+    /**
+     * Records a graph build the hourly builds of the index do not decide on, i.e. the build of the vectors of a deferred
+     * merge or of a merge that cannot be deferred, which uses the hourly builds of the index like the builds of merges.
+     *
+     * @param indexName index of the merged segment
+     * @param cost cost of the build, see {@link #getBuildCost(FieldInfo, long)}
+     */
+    public void recordBuild(final String indexName, final long cost) {
+        final Deque<long[]> builds = buildsByIndex.computeIfAbsent(indexName, name -> new ArrayDeque<>());
+        synchronized (builds) {
+            final long now = nanoClock.getAsLong();
+            evictExpiredBuilds(builds, now);
+            builds.addLast(new long[] { now, cost });
+        }
+    }
+
+    /**
+     * Forgets the builds of an index once it is removed from the node, e.g. when it is deleted, closed or relocated.
+     *
+     * @param indexName name of the index
+     */
+    public void removeIndex(final String indexName) {
+        buildsByIndex.remove(indexName);
+    }
+
+    private static void evictExpiredBuilds(final Deque<long[]> builds, final long now) {
+        while (builds.isEmpty() == false && now - builds.peekFirst()[0] >= WINDOW_IN_NANOS) {
+            builds.pollFirst();
+        }
+    }
+
+    private static long averageCost(final Deque<long[]> builds) {
+        if (builds.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (long[] build : builds) {
+            total += build[1];
+        }
+        return total / builds.size();
+    }
+}
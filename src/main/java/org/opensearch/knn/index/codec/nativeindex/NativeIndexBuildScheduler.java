@@ -0,0 +1,207 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.util.ThreadInterruptedException;
+import org.opensearch.common.CheckedRunnable;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.common.exception.OutOfNativeMemoryException;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
+import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Node level gate for native index builds. Builds run on the flush or merge thread that triggers them, but only once
+ * the scheduler admits them:
+ * <ul>
+ *     <li>at most knn.graph_build.max_concurrent_builds builds run at the same time</li>
+ *     <li>the threads of the running builds never exceed knn.graph_build.max_threads, a build gets fewer threads than
+ *     knn.algo_param.index_thread_qty when the others already use most of them</li>
+ *     <li>the estimated native memory of the build is reserved in the native memory cache as an anonymous allocation,
+ *     the same way training reserves memory for a model, so builds and loaded graphs share the same budget</li>
+ * </ul>
+ * Builds are admitted in arrival order, each waiting build holds a ticket in a queue and only the build at its head is
+ * considered for admission. When the memory of a build cannot be reserved, it waits for a running build to release its
+ * reservation. If no build is running it proceeds without a reservation, as failing a flush or a merge would fail the
+ * shard. A build that waits longer than {@link #WAIT_WARN_INTERVAL_NANOS} logs a warning on every interval, so a stuck
+ * build shows up in the logs. The memory is reserved without holding the lock of the scheduler, with the slot and the
+ * threads of the build already claimed, as a reservation may have to wait on the cache.
+ */
+@Log4j2
+public final class NativeIndexBuildScheduler {
+
+    private static final NativeIndexBuildScheduler INSTANCE = new NativeIndexBuildScheduler(NativeMemoryCacheManager::getInstance);
+
+    private final Supplier<NativeMemoryCacheManager> nativeMemoryCacheManagerSupplier;
+    @VisibleForTesting
+    static final long WAIT_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition buildCompleted = lock.newCondition();
+    private final Deque<Object> waitingBuilds = new ArrayDeque<>();
+    private int runningBuilds;
+    private int usedThreads;
+    private long completedBuilds;
+
+    public static NativeIndexBuildScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    NativeIndexBuildScheduler(final Supplier<NativeMemoryCacheManager> nativeMemoryCacheManagerSupplier) {
+        this.nativeMemoryCacheManagerSupplier = nativeMemoryCacheManagerSupplier;
+    }
+
+    /**
+     * Waits until the build is admitted and runs it on the calling thread. The number of threads granted to the build is
+     * set in the {@link KNNConstants#INDEX_THREAD_QTY} parameter before it runs.
+     *
+     * @param parameters parameters of the build, {@link KNNConstants#INDEX_THREAD_QTY} is updated with the granted threads
+     * @param estimatedMemoryInBytes native memory the build is expected to use
+     * @param build the build
+     * @throws IOException if the build fails
+     */
+    public void schedule(
+        final Map<String, Object> parameters,
+        final long estimatedMemoryInBytes,
+        final CheckedRunnable<IOException> build
+    ) throws IOException {
+        final int requestedThreads = Math.max(1, ((Number) parameters.getOrDefault(KNNConstants.INDEX_THREAD_QTY, 1)).intValue());
+        final int sizeInKB = (int) Math.min(Integer.MAX_VALUE, Math.max(1, estimatedMemoryInBytes / 1024));
+
+        final long queuedAt = System.nanoTime();
+        KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.increment();
+        int grantedThreads;
+        NativeMemoryEntryContext.AnonymousEntryContext reservation = null;
+        final Object ticket = new Object();
+        lock.lock();
+        try {
+            waitingBuilds.addLast(ticket);
+            long waitNanos = WAIT_WARN_INTERVAL_NANOS;
+            while (true) {
+                if (waitingBuilds.peekFirst() == ticket
+                    && runningBuilds < KNNSettings.getGraphBuildMaxConcurrentBuilds()
+                    && usedThreads < KNNSettings.getGraphBuildMaxThreads()) {
+                    // The slot and the threads are claimed before the lock is released, the ticket stays at the head of
+                    // the queue so that no other build is admitted while the memory is reserved
+                    grantedThreads = claim(requestedThreads);
+                    final long completedBuildsBeforeReserve = completedBuilds;
+                    final NativeMemoryEntryContext.AnonymousEntryContext entryContext = new NativeMemoryEntryContext.AnonymousEntryContext(
+                        sizeInKB,
+                        NativeMemoryLoadStrategy.AnonymousLoadStrategy.getInstance()
+                    );
+                    boolean reserved = false;
+                    // The cache manager is only called outside the lock, so completing builds are never held up by it
+                    lock.unlock();
+                    try {
+                        reserved = reserve(entryContext);
+                    } finally {
+                        lock.lock();
+                        if (reserved == false) {
+                            unclaim(grantedThreads);
+                        }
+                    }
+                    if (reserved) {
+                        reservation = entryContext;
+                        break;
+                    }
+                    if (runningBuilds == 0) {
+                        log.warn("Unable to reserve [{}] KB of native memory for a graph build, building without a reservation", sizeInKB);
+                        grantedThreads = claim(requestedThreads);
+                        break;
+                    }
+                    if (completedBuilds != completedBuildsBeforeReserve) {
+                        // A build released its memory while this one was reserving, its signal was missed so retry now
+                        continue;
+                    }
+                }
+                waitNanos = buildCompleted.awaitNanos(waitNanos);
+                if (waitNanos <= 0) {
+                    log.warn(
+                        "Graph build waiting for [{}] s, waiting builds [{}], running builds [{}], used threads [{}]",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - queuedAt),
+                        waitingBuilds.size(),
+                        runningBuilds,
+                        usedThreads
+                    );
+                    waitNanos = WAIT_WARN_INTERVAL_NANOS;
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new ThreadInterruptedException(e);
+        } finally {
+            // The next build in line may be admitted right away, e.g. when this one got fewer threads than allowed
+            waitingBuilds.remove(ticket);
+            buildCompleted.signalAll();
+            lock.unlock();
+            KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.decrement();
+            KNNGraphValue.BUILD_TOTAL_QUEUE_TIME_IN_MILLIS.incrementBy(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt));
+        }
+
+        KNNGraphValue.BUILD_CURRENT_OPERATIONS.increment();
+        KNNGraphValue.BUILD_CURRENT_THREADS.incrementBy(grantedThreads);
+        try {
+            parameters.put(KNNConstants.INDEX_THREAD_QTY, grantedThreads);
+            build.run();
+        } finally {
+            KNNGraphValue.BUILD_CURRENT_OPERATIONS.decrement();
+            KNNGraphValue.BUILD_CURRENT_THREADS.decrementBy(grantedThreads);
+            KNNGraphValue.BUILD_TOTAL_OPERATIONS.increment();
+            if (reservation != null) {
+                nativeMemoryCacheManagerSupplier.get().invalidate(reservation.getKey());
+            }
+            lock.lock();
+            try {
+                unclaim(grantedThreads);
+                completedBuilds++;
+                buildCompleted.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Must be called with the lock held
+    private int claim(final int requestedThreads) {
+        final int grantedThreads = Math.min(requestedThreads, KNNSettings.getGraphBuildMaxThreads() - usedThreads);
+        runningBuilds++;
+        usedThreads += grantedThreads;
+        return grantedThreads;
+    }
+
+    // Must be called with the lock held
+    private void unclaim(final int grantedThreads) {
+        runningBuilds--;
+        usedThreads -= grantedThreads;
+    }
+
+    private boolean reserve(final NativeMemoryEntryContext.AnonymousEntryContext entryContext) {
+        try {
+            // Builds must not evict the graphs loaded for search
+            nativeMemoryCacheManagerSupplier.get().get(entryContext, false);
+            return true;
+        } catch (OutOfNativeMemoryException e) {
+            return false;
+        } catch (ExecutionException e) {
+            log.debug("Failed to reserve native memory for a graph build", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+
+import java.io.IOException;
+
+/**
+ * Strategy for building a native engine index from {@link KNNVectorValues}. Implementations are responsible for
+ * moving the vectors into native memory and invoking the engine to build and persist the index.
+ */
+public interface NativeIndexBuildStrategy {
+
+    /**
+     * Build the native index and write it to {@link BuildIndexParams#getIndexPath()}
+     *
+     * @param indexInfo {@link BuildIndexParams}
+     * @param knnVectorValues {@link KNNVectorValues} which have not been iterated yet
+     * @throws IOException if the vectors cannot be read
+     */
+    void buildAndWriteIndex(BuildIndexParams indexInfo, KNNVectorValues<?> knnVectorValues) throws IOException;
+}
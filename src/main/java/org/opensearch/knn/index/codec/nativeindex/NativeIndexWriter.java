@@ -0,0 +1,461 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.store.ChecksumIndexInput;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.IOUtils;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.store.IndexOutputWithBuffer;
+import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.indices.Model;
+import org.opensearch.knn.indices.ModelCache;
+import org.opensearch.knn.plugin.stats.KNNCounter;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.lucene.codecs.CodecUtil.FOOTER_MAGIC;
+import static org.opensearch.knn.common.KNNConstants.GRAPH_ONLY_STORAGE;
+import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
+import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
+import static org.opensearch.knn.index.codec.util.KNNCodecUtil.buildEngineFileName;
+import static org.opensearch.knn.index.codec.util.KNNCodecUtil.calculateArraySize;
+import static org.opensearch.knn.index.engine.faiss.Faiss.FAISS_BINARY_INDEX_DESCRIPTION_PREFIX;
+
+/**
+ * Writes the native engine index file of a single field for a segment. The vectors are provided as
+ * {@link KNNVectorValues}, so the same writer is used irrespective of whether the vectors come from the in-memory
+ * buffers of a flush, from merged segments or from BinaryDocValues.
+ */
+@Log4j2
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class NativeIndexWriter {
+    private static final Long CRC32_CHECKSUM_SANITY = 0xFFFFFFFF00000000L;
+
+    private final SegmentWriteState state;
+    private final FieldInfo fieldInfo;
+    private final NativeIndexBuildStrategy indexBuilder;
+
+    /**
+     * Gets the correct writer type from fieldInfo
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param state {@link SegmentWriteState}
+     * @return correct NativeIndexWriter to make index specified in fieldInfo
+     */
+    public static NativeIndexWriter getWriter(final FieldInfo fieldInfo, final SegmentWriteState state) {
+        return new NativeIndexWriter(state, fieldInfo, DefaultIndexBuildStrategy.getInstance());
+    }
+
+    /**
+     * Gets a writer building the index with the given strategy, e.g. {@link IncrementalIndexBuildStrategy} for a field
+     * whose vectors were already added to an index or {@link GraphReuseIndexBuildStrategy} for merges. When the
+     * strategy is null, the index is built from scratch.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param state {@link SegmentWriteState}
+     * @param indexBuildStrategy {@link NativeIndexBuildStrategy} of the field, can be null
+     * @return NativeIndexWriter
+     */
+    public static NativeIndexWriter getWriter(
+        final FieldInfo fieldInfo,
+        final SegmentWriteState state,
+        final NativeIndexBuildStrategy indexBuildStrategy
+    ) {
+        if (indexBuildStrategy == null) {
+            return getWriter(fieldInfo, state);
+        }
+        return new NativeIndexWriter(state, fieldInfo, indexBuildStrategy);
+    }
+
+    /**
+     * Checks whether a segment is large enough to get a native index for the field. Smaller segments are searched
+     * exactly, which avoids building and loading an index for segments that are soon merged away. Fields built from a
+     * model always get a native index.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param totalLiveDocs number of vectors of the field in the segment
+     * @param approximateThreshold minimum number of vectors for a native index to be built
+     * @return true if the native index should be built
+     */
+    public static boolean isIndexRequired(final FieldInfo fieldInfo, final long totalLiveDocs, final int approximateThreshold) {
+        return fieldInfo.attributes().containsKey(MODEL_ID) || totalLiveDocs >= approximateThreshold;
+    }
+
+    /**
+     * Faiss hnsw fields can opt in to write their graph without the vectors, which the segment already stores. The
+     * vectors are restored into the index when it is loaded.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @return true if the native index of the field is written without its vectors
+     */
+    public static boolean isGraphOnlyStorage(final FieldInfo fieldInfo) {
+        return Boolean.parseBoolean(fieldInfo.getAttribute(GRAPH_ONLY_STORAGE));
+    }
+
+    /**
+     * Resolves the {@link KNNEngine} of a field, either from its model or from the field attributes.
+     *
+     * @param field {@link FieldInfo}
+     * @return {@link KNNEngine}
+     */
+    public static KNNEngine getKNNEngine(@NonNull final FieldInfo field) {
+        final String modelId = field.attributes().get(MODEL_ID);
+        if (modelId != null) {
+            Model model = ModelCache.getInstance().get(modelId);
+            return model.getModelMetadata().getKnnEngine();
+        }
+        final String engineName = field.attributes().getOrDefault(KNNConstants.KNN_ENGINE, KNNEngine.DEFAULT.getName());
+        return KNNEngine.getEngine(engineName);
+    }
+
+    /**
+     * Resolves the {@link VectorDataType} of a field, either from its model or from the field attributes.
+     *
+     * @param field {@link FieldInfo}
+     * @return {@link VectorDataType}
+     */
+    public static VectorDataType getVectorDataType(@NonNull final FieldInfo field) {
+        final String modelId = field.attributes().get(MODEL_ID);
+        if (modelId != null) {
+            Model model = ModelCache.getInstance().get(modelId);
+            return model.getModelMetadata().getVectorDataType();
+        }
+        return VectorDataType.get(field.attributes().getOrDefault(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.DEFAULT.getValue()));
+    }
+
+    /**
+     * Flushes vector data into the native index file of the segment
+     *
+     * @param knnVectorValues {@link KNNVectorValues} of the field being flushed
+     * @param totalLiveDocs number of docs with a vector for the field
+     * @throws IOException if the index cannot be written
+     */
+    public void flushIndex(final KNNVectorValues<?> knnVectorValues, final long totalLiveDocs) throws IOException {
+        if (buildAndWriteIndex(knnVectorValues, totalLiveDocs)) {
+            recordRefreshStats();
+        }
+    }
+
+    /**
+     * Merges vector data of the merged segments into the native index file of the new segment
+     *
+     * @param knnVectorValues {@link KNNVectorValues} over the merged vectors of the field
+     * @param totalLiveDocs number of live docs with a vector for the field across all the merged segments
+     * @throws IOException if the index cannot be written
+     */
+    public void mergeIndex(final KNNVectorValues<?> knnVectorValues, final long totalLiveDocs) throws IOException {
+        final VectorDataType vectorDataType = getVectorDataType(fieldInfo);
+        // The dimension of the vector values is only known once they are read, so the size in progress is estimated
+        // from the field
+        final long vectorsSizeInBytes = estimateVectorsSizeInBytes(fieldInfo, vectorDataType, totalLiveDocs);
+        KNNGraphValue.MERGE_CURRENT_OPERATIONS.increment();
+        KNNGraphValue.MERGE_CURRENT_DOCS.incrementBy(totalLiveDocs);
+        KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.incrementBy(vectorsSizeInBytes);
+        try {
+            if (buildAndWriteIndex(knnVectorValues, totalLiveDocs)) {
+                recordMergeStats(totalLiveDocs, calculateArraySize((int) totalLiveDocs, knnVectorValues.dimension(), vectorDataType));
+            }
+        } finally {
+            KNNGraphValue.MERGE_CURRENT_OPERATIONS.decrement();
+            KNNGraphValue.MERGE_CURRENT_DOCS.decrementBy(totalLiveDocs);
+            KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.decrementBy(vectorsSizeInBytes);
+        }
+    }
+
+    private boolean buildAndWriteIndex(final KNNVectorValues<?> knnVectorValues, final long totalLiveDocs) throws IOException {
+        if (totalLiveDocs == 0) {
+            log.debug("No live docs for field [{}], skipping native index creation", fieldInfo.getName());
+            return false;
+        }
+
+        final KNNEngine knnEngine = getKNNEngine(fieldInfo);
+        final String engineFileName = buildEngineFileName(
+            state.segmentInfo.name,
+            knnEngine.getVersion(),
+            fieldInfo.name,
+            knnEngine.getExtension()
+        );
+        final String indexPath = Paths.get(
+            ((FSDirectory) (FilterDirectory.unwrap(state.directory))).getDirectory().toString(),
+            engineFileName
+        ).toString();
+
+        // Increment counter for number of graph index requests
+        KNNCounter.GRAPH_INDEX_REQUESTS.increment();
+
+        if (KNNEngine.FAISS == knnEngine) {
+            // Faiss streams the index into the IndexOutput, so the checksum is computed while the file is written
+            // and the write goes through the directory like any other Lucene file
+            final IndexOutput indexOutput = state.directory.createOutput(engineFileName, state.context);
+            boolean success = false;
+            try {
+                final IndexOutputWithBuffer indexOutputWithBuffer = new IndexOutputWithBuffer(indexOutput);
+                scheduleBuild(indexParams(fieldInfo, indexPath, knnEngine, indexOutputWithBuffer), knnVectorValues, totalLiveDocs);
+                CodecUtil.writeFooter(indexOutput);
+                success = true;
+            } finally {
+                if (success) {
+                    indexOutput.close();
+                } else {
+                    IOUtils.closeWhileHandlingException(indexOutput);
+                }
+            }
+            return true;
+        }
+
+        // Ensure engineFileName is added to the tracked files by Lucene's TrackingDirectoryWrapper
+        state.directory.createOutput(engineFileName, state.context).close();
+        scheduleBuild(indexParams(fieldInfo, indexPath, knnEngine, null), knnVectorValues, totalLiveDocs);
+        writeFooter(indexPath, engineFileName);
+        return true;
+    }
+
+    private void scheduleBuild(final BuildIndexParams indexParams, final KNNVectorValues<?> knnVectorValues, final long totalLiveDocs)
+        throws IOException {
+        // The incremental strategy schedules every batch it inserts. Scheduling its flush as well would hold a build
+        // slot while the flush waits for the last batch to be admitted
+        if (indexBuilder instanceof IncrementalIndexBuildStrategy) {
+            indexBuilder.buildAndWriteIndex(indexParams, knnVectorValues);
+            return;
+        }
+        NativeIndexBuildScheduler.getInstance()
+            .schedule(
+                indexParams.getParameters(),
+                estimateBuildMemoryInBytes(fieldInfo, indexParams.getVectorDataType(), indexParams.getParameters(), totalLiveDocs),
+                () -> indexBuilder.buildAndWriteIndex(indexParams, knnVectorValues)
+            );
+    }
+
+    /**
+     * Estimates the native memory used to build the index of a field: the vectors transferred to native memory plus the
+     * neighbor lists of the graph, which hold up to 2 * m ids per vector on the bottom layer.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param vectorDataType {@link VectorDataType} of the field
+     * @param parameters parameters of the build
+     * @param totalLiveDocs number of vectors in the index
+     * @return estimated memory in bytes
+     */
+    static long estimateBuildMemoryInBytes(
+        final FieldInfo fieldInfo,
+        final VectorDataType vectorDataType,
+        final Map<String, Object> parameters,
+        final long totalLiveDocs
+    ) {
+        int m = KNNSettings.INDEX_KNN_DEFAULT_ALGO_PARAM_M;
+        final Object methodParameters = parameters.get(PARAMETERS);
+        if (methodParameters instanceof Map && ((Map<?, ?>) methodParameters).get(KNNConstants.METHOD_PARAMETER_M) instanceof Number) {
+            m = ((Number) ((Map<?, ?>) methodParameters).get(KNNConstants.METHOD_PARAMETER_M)).intValue();
+        }
+        return estimateVectorsSizeInBytes(fieldInfo, vectorDataType, totalLiveDocs) + totalLiveDocs * 2L * m * Integer.BYTES;
+    }
+
+    /**
+     * Estimates the size of the vectors of a field from its dimension.
+     *
+     * @param fieldInfo {@link FieldInfo}
+     * @param vectorDataType {@link VectorDataType} of the field
+     * @param totalLiveDocs number of vectors
+     * @return estimated size in bytes
+     */
+    static long estimateVectorsSizeInBytes(final FieldInfo fieldInfo, final VectorDataType vectorDataType, final long totalLiveDocs) {
+        long bytesPerVector = fieldInfo.getVectorDimension();
+        if (bytesPerVector == 0) {
+            // Fields written through doc values only record their dimension in the attributes or their model
+            final String dimension = fieldInfo.attributes().get(KNNConstants.DIMENSION);
+            final String modelId = fieldInfo.attributes().get(MODEL_ID);
+            if (dimension != null) {
+                bytesPerVector = Long.parseLong(dimension);
+            } else if (modelId != null) {
+                bytesPerVector = ModelCache.getInstance().get(modelId).getModelMetadata().getDimension();
+            }
+            if (VectorDataType.BINARY == vectorDataType) {
+                bytesPerVector /= Byte.SIZE;
+            }
+        }
+        if (VectorDataType.FLOAT == vectorDataType) {
+            bytesPerVector *= Float.BYTES;
+        }
+        return totalLiveDocs * bytesPerVector;
+    }
+
+    private BuildIndexParams indexParams(
+        final FieldInfo fieldInfo,
+        final String indexPath,
+        final KNNEngine knnEngine,
+        final IndexOutputWithBuffer indexOutputWithBuffer
+    ) throws IOException {
+        final Map<String, Object> parameters;
+        final VectorDataType vectorDataType;
+        byte[] templateIndex = null;
+        String modelId = null;
+        if (fieldInfo.attributes().containsKey(MODEL_ID)) {
+            modelId = fieldInfo.attributes().get(MODEL_ID);
+            final Model model = ModelCache.getInstance().get(modelId);
+            if (model.getModelBlob() == null) {
+                throw new RuntimeException(String.format("There is no trained model with id \"%s\"", modelId));
+            }
+            vectorDataType = model.getModelMetadata().getVectorDataType();
+            templateIndex = model.getModelBlob();
+            parameters = getTemplateParameters(vectorDataType);
+        } else {
+            vectorDataType = getVectorDataType(fieldInfo);
+            parameters = getParameters(fieldInfo, vectorDataType, knnEngine);
+        }
+
+        return BuildIndexParams.builder()
+            .fieldName(fieldInfo.name)
+            .parameters(parameters)
+            .vectorDataType(vectorDataType)
+            .knnEngine(knnEngine)
+            .indexPath(indexPath)
+            .templateIndex(templateIndex)
+            .modelId(modelId)
+            .indexOutputWithBuffer(indexOutputWithBuffer)
+            .build();
+    }
+
+    private static Map<String, Object> getTemplateParameters(final VectorDataType vectorDataType) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
+        IndexUtil.updateVectorDataTypeToParameters(parameters, vectorDataType);
+        return parameters;
+    }
+
+    static Map<String, Object> getParameters(final FieldInfo fieldInfo, final VectorDataType vectorDataType, final KNNEngine knnEngine)
+        throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        Map<String, String> fieldAttributes = fieldInfo.attributes();
+        String parametersString = fieldAttributes.get(KNNConstants.PARAMETERS);
+
+        // parametersString will be null when legacy mapper is used
+        if (parametersString == null) {
+            parameters.put(KNNConstants.SPACE_TYPE, fieldAttributes.getOrDefault(KNNConstants.SPACE_TYPE, SpaceType.DEFAULT.getValue()));
+
+            String efConstruction = fieldAttributes.get(KNNConstants.HNSW_ALGO_EF_CONSTRUCTION);
+            Map<String, Object> algoParams = new HashMap<>();
+            if (efConstruction != null) {
+                algoParams.put(KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION, Integer.parseInt(efConstruction));
+            }
+
+            String m = fieldAttributes.get(KNNConstants.HNSW_ALGO_M);
+            if (m != null) {
+                algoParams.put(KNNConstants.METHOD_PARAMETER_M, Integer.parseInt(m));
+            }
+            parameters.put(PARAMETERS, algoParams);
+        } else {
+            parameters.putAll(
+                XContentHelper.createParser(
+                    NamedXContentRegistry.EMPTY,
+                    DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                    new BytesArray(parametersString),
+                    MediaTypeRegistry.getDefaultMediaType()
+                ).map()
+            );
+        }
+
+        // Update index description of Faiss for binary data type
+        if (KNNEngine.FAISS == knnEngine
+            && VectorDataType.BINARY == vectorDataType
+            && parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER) != null) {
+            parameters.put(
+                KNNConstants.INDEX_DESCRIPTION_PARAMETER,
+                FAISS_BINARY_INDEX_DESCRIPTION_PREFIX + parameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER).toString()
+            );
+            IndexUtil.updateVectorDataTypeToParameters(parameters, VectorDataType.BINARY);
+        }
+
+        // The native layer writes the index without its vectors when the method parameters ask for it
+        if (isGraphOnlyStorage(fieldInfo)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> methodParameters = (Map<String, Object>) parameters.get(PARAMETERS);
+            methodParameters = methodParameters == null ? new HashMap<>() : new HashMap<>(methodParameters);
+            methodParameters.put(GRAPH_ONLY_STORAGE, true);
+            parameters.put(PARAMETERS, methodParameters);
+        }
+
+        // Used to determine how many threads to use when indexing
+        parameters.put(KNNConstants.INDEX_THREAD_QTY, KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
+
+        return parameters;
+    }
+
+    private void recordMergeStats(long length, long arraySize) {
+        KNNGraphValue.MERGE_TOTAL_OPERATIONS.increment();
+        KNNGraphValue.MERGE_TOTAL_DOCS.incrementBy(length);
+        KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.incrementBy(arraySize);
+    }
+
+    private void recordRefreshStats() {
+        KNNGraphValue.REFRESH_TOTAL_OPERATIONS.increment();
+    }
+
+    private void writeFooter(String indexPath, String engineFileName) throws IOException {
+        // Only used for nmslib, which writes the index file itself. Opens the engine file that was created and appends a footer
+        // to it. The footer consists of
+        // 1. A Footer magic number (int - 4 bytes)
+        // 2. A checksum algorithm id (int - 4 bytes)
+        // 3. A checksum (long - bytes)
+        // The checksum is computed on all the bytes written to the file up to that point.
+        // Logic where footer is written in Lucene can be found here:
+        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L390-L412
+        OutputStream os = Files.newOutputStream(Paths.get(indexPath), StandardOpenOption.APPEND);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN);
+        byteBuffer.putInt(FOOTER_MAGIC);
+        byteBuffer.putInt(0);
+        os.write(byteBuffer.array());
+        os.flush();
+
+        ChecksumIndexInput checksumIndexInput = state.directory.openChecksumInput(engineFileName, state.context);
+        checksumIndexInput.seek(checksumIndexInput.length());
+        long value = checksumIndexInput.getChecksum();
+        checksumIndexInput.close();
+
+        if (isChecksumValid(value)) {
+            throw new IllegalStateException("Illegal CRC-32 checksum: " + value + " (resource=" + os + ")");
+        }
+
+        // Write the CRC checksum to the end of the OutputStream and close the stream
+        byteBuffer.putLong(0, value);
+        os.write(byteBuffer.array());
+        os.close();
+    }
+
+    private boolean isChecksumValid(long value) {
+        // Check pulled from
+        // https://github.com/apache/lucene/blob/branch_9_0/lucene/core/src/java/org/apache/lucene/codecs/CodecUtil.java#L644-L647
+        return (value & CRC32_CHECKSUM_SANITY) != 0;
+    }
+}
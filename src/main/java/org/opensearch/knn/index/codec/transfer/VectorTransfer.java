@@ -8,6 +8,9 @@ package org.opensearch.knn.index.codec.transfer;
 import lombok.Data;
 import org.apache.lucene.util.BytesRef;
 import org.opensearch.knn.index.codec.util.SerializationMode;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+
+import java.io.IOException;
 
 /**
  * Abstract class to transfer vector value from Java to native memory
@@ -19,6 +22,7 @@ public abstract class VectorTransfer {
     protected long vectorsPerTransfer;
     protected long vectorAddress;
     protected int dimension;
+    protected BatchConsumer batchConsumer;
 
     public VectorTransfer(final long vectorsStreamingMemoryLimit) {
         this.vectorsStreamingMemoryLimit = vectorsStreamingMemoryLimit;
@@ -39,11 +43,43 @@ public abstract class VectorTransfer {
      */
     abstract public void transfer(final BytesRef bytesRef);
 
+    /**
+     * Transfer the vector the given {@link KNNVectorValues} is currently positioned on
+     *
+     * @param vectorValues {@link KNNVectorValues} positioned on a valid docId
+     * @throws IOException if the vector cannot be read
+     */
+    abstract public void transfer(final KNNVectorValues<?> vectorValues) throws IOException;
+
+    /**
+     * Transfer a single vector, float[] or byte[] depending on the transfer. The vector is copied right away, so it can
+     * be reused once this returns.
+     *
+     * @param vector the vector
+     */
+    abstract public void transferVector(final Object vector);
+
     /**
      * Close the transfer
      */
     abstract public void close();
 
+    /**
+     * Consumer of the vectors of a transfer batch by batch. When set on a transfer, every batch of vectorsPerTransfer
+     * vectors is copied to a new native array of its own and handed to the consumer, instead of being appended to
+     * vectorAddress, so no more than one batch is in native memory at a time.
+     */
+    @FunctionalInterface
+    public interface BatchConsumer {
+        /**
+         * Consumes a batch of vectors. The consumer owns the native array and must free it, even on failure.
+         *
+         * @param batchAddress address of the native array holding the vectors of the batch
+         * @param numVectors number of vectors in the batch
+         */
+        void accept(long batchAddress, int numVectors);
+    }
+
     /**
      * Get serialization mode of given byte stream
      *
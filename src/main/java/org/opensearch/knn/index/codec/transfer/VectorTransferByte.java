@@ -5,47 +5,72 @@
 
 package org.opensearch.knn.index.codec.transfer;
 
-import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.opensearch.knn.index.codec.util.SerializationMode;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
 import org.opensearch.knn.jni.JNICommons;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
- * Vector transfer for byte
+ * Vector transfer for byte. Vectors are staged in a direct buffer, which is copied to native memory in bulk once it
+ * holds vectorsPerTransfer vectors.
  */
 public class VectorTransferByte extends VectorTransfer {
-    private List<byte[]> vectorList;
+    private ByteBuffer buffer;
 
     public VectorTransferByte(final long vectorsStreamingMemoryLimit) {
         super(vectorsStreamingMemoryLimit);
-        vectorList = new ArrayList<>();
     }
 
     @Override
     public void init(final long totalLiveDocs) {
         this.totalLiveDocs = totalLiveDocs;
-        vectorList.clear();
+        if (buffer != null) {
+            buffer.clear();
+        }
     }
 
     @Override
     public void transfer(final BytesRef bytesRef) {
-        dimension = bytesRef.length * 8;
+        transfer(bytesRef.bytes, bytesRef.offset, bytesRef.length);
+    }
+
+    @Override
+    public void transfer(final KNNVectorValues<?> vectorValues) throws IOException {
+        // The vector is copied into the staging buffer right away, so the array reused by the iterator is not cloned
+        transferVector(vectorValues.getVector());
+    }
+
+    @Override
+    public void transferVector(final Object vector) {
+        final byte[] bytes = (byte[]) vector;
+        transfer(bytes, 0, bytes.length);
+    }
+
+    private void transfer(final byte[] bytes, final int offset, final int length) {
+        dimension = length * 8;
         if (vectorsPerTransfer == Integer.MIN_VALUE) {
             // if vectorsStreamingMemoryLimit is 100 bytes and we have 50 vectors with length of 5, then per
             // transfer we have to send 100/5 => 20 vectors.
-            vectorsPerTransfer = vectorsStreamingMemoryLimit / bytesRef.length;
+            vectorsPerTransfer = vectorsStreamingMemoryLimit / length;
             // If vectorsPerTransfer comes out to be 0, then we set number of vectors per transfer to 1, to ensure that
             // we are sending minimum number of vectors.
             if (vectorsPerTransfer == 0) {
                 vectorsPerTransfer = 1;
             }
         }
+        if (buffer == null) {
+            // No need to stage more vectors than the segment has, and a buffer cannot be larger than Integer.MAX_VALUE
+            long vectorsToStage = totalLiveDocs > 0 ? Math.min(vectorsPerTransfer, totalLiveDocs) : vectorsPerTransfer;
+            vectorsToStage = Math.min(vectorsToStage, Integer.MAX_VALUE / length);
+            vectorsPerTransfer = Math.max(1, vectorsToStage);
+            buffer = ByteBuffer.allocateDirect((int) (vectorsPerTransfer * length));
+        }
 
-        vectorList.add(ArrayUtil.copyOfSubArray(bytesRef.bytes, bytesRef.offset, bytesRef.offset + bytesRef.length));
-        if (vectorList.size() == vectorsPerTransfer) {
+        buffer.put(bytes, offset, length);
+        if (buffer.position() == vectorsPerTransfer * length) {
             transfer();
         }
     }
@@ -61,8 +86,18 @@ public class VectorTransferByte extends VectorTransfer {
     }
 
     private void transfer() {
+        if (buffer == null || buffer.position() == 0) {
+            return;
+        }
         int lengthOfVector = dimension / 8;
-        vectorAddress = JNICommons.storeByteVectorData(vectorAddress, vectorList.toArray(new byte[][] {}), totalLiveDocs * lengthOfVector);
-        vectorList.clear();
+        if (batchConsumer != null) {
+            final int numVectors = buffer.position() / lengthOfVector;
+            final long batchAddress = JNICommons.storeByteVectorDataFromBuffer(0, buffer, buffer.position(), buffer.position());
+            buffer.clear();
+            batchConsumer.accept(batchAddress, numVectors);
+            return;
+        }
+        vectorAddress = JNICommons.storeByteVectorDataFromBuffer(vectorAddress, buffer, buffer.position(), totalLiveDocs * lengthOfVector);
+        buffer.clear();
     }
 }
@@ -6,37 +6,82 @@
 package org.opensearch.knn.index.codec.transfer;
 
 import org.apache.lucene.util.BytesRef;
-import org.opensearch.knn.index.codec.util.KNNVectorSerializer;
+import org.opensearch.knn.index.codec.util.KNNVectorAsLittleEndianFloatsSerializer;
 import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
 import org.opensearch.knn.index.codec.util.SerializationMode;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
 import org.opensearch.knn.jni.JNICommons;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 
 /**
- * Vector transfer for float
+ * Vector transfer for float. Vectors are staged in a direct buffer in native byte order, which is copied to native
+ * memory in bulk once it holds vectorsPerTransfer vectors.
  */
 public class VectorTransferFloat extends VectorTransfer {
-    private List<float[]> vectorList;
+    private ByteBuffer buffer;
+    private FloatBuffer floatBuffer;
+    private float[] decodedVector;
 
     public VectorTransferFloat(final long vectorsStreamingMemoryLimit) {
         super(vectorsStreamingMemoryLimit);
-        vectorList = new ArrayList<>();
     }
 
     @Override
     public void init(final long totalLiveDocs) {
         this.totalLiveDocs = totalLiveDocs;
-        vectorList.clear();
+        if (floatBuffer != null) {
+            floatBuffer.clear();
+        }
     }
 
     @Override
     public void transfer(final BytesRef bytesRef) {
-        final KNNVectorSerializer vectorSerializer = KNNVectorSerializerFactory.getSerializerByBytesRef(bytesRef);
-        final float[] vector = vectorSerializer.byteToFloatArray(bytesRef);
-        dimension = vector.length;
+        final SerializationMode serializationMode = KNNVectorSerializerFactory.getSerializerModeFromBytesRef(bytesRef);
+        final FloatBuffer vector;
+        switch (serializationMode) {
+            case LITTLE_ENDIAN_FLOATS:
+                // Same byte order as the staging buffer on little endian platforms, so this is a plain memory copy
+                vector = KNNVectorAsLittleEndianFloatsSerializer.asFloatBuffer(bytesRef);
+                break;
+            case COLLECTION_OF_FLOATS:
+                // Floats are stored big endian one after the other, so they are decoded straight into the staging buffer
+                vector = ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length).asFloatBuffer();
+                break;
+            default:
+                // The decoded vector is copied into the staging buffer right away, so the same array is reused
+                decodedVector = KNNVectorSerializerFactory.getSerializerBySerializationMode(serializationMode)
+                    .byteToFloatArray(bytesRef, decodedVector);
+                transfer(decodedVector);
+                return;
+        }
+        ensureBuffer(vector.remaining());
+        floatBuffer.put(vector);
+        onVectorStaged();
+    }
+
+    @Override
+    public void transfer(final KNNVectorValues<?> vectorValues) throws IOException {
+        // The vector is copied into the staging buffer right away, so the array reused by the iterator is not cloned
+        transfer((float[]) vectorValues.getVector());
+    }
 
+    @Override
+    public void transferVector(final Object vector) {
+        transfer((float[]) vector);
+    }
+
+    private void transfer(final float[] vector) {
+        ensureBuffer(vector.length);
+        floatBuffer.put(vector);
+        onVectorStaged();
+    }
+
+    private void ensureBuffer(final int vectorDimension) {
+        dimension = vectorDimension;
         if (vectorsPerTransfer == Integer.MIN_VALUE) {
             // if vectorsStreamingMemoryLimit is 100 bytes and we have 50 vectors with 5 dimension, then per
             // transfer we have to send 100/(5 * 4) => 5 vectors.
@@ -47,9 +92,18 @@ public class VectorTransferFloat extends VectorTransfer {
                 vectorsPerTransfer = 1;
             }
         }
+        if (floatBuffer == null) {
+            // No need to stage more vectors than the segment has, and a buffer cannot be larger than Integer.MAX_VALUE
+            long vectorsToStage = totalLiveDocs > 0 ? Math.min(vectorsPerTransfer, totalLiveDocs) : vectorsPerTransfer;
+            vectorsToStage = Math.min(vectorsToStage, Integer.MAX_VALUE / ((long) dimension * Float.BYTES));
+            vectorsPerTransfer = Math.max(1, vectorsToStage);
+            buffer = ByteBuffer.allocateDirect((int) (vectorsPerTransfer * dimension * Float.BYTES)).order(ByteOrder.nativeOrder());
+            floatBuffer = buffer.asFloatBuffer();
+        }
+    }
 
-        vectorList.add(vector);
-        if (vectorList.size() == vectorsPerTransfer) {
+    private void onVectorStaged() {
+        if (floatBuffer.position() == vectorsPerTransfer * dimension) {
             transfer();
         }
     }
@@ -65,7 +119,17 @@ public class VectorTransferFloat extends VectorTransfer {
     }
 
     private void transfer() {
-        vectorAddress = JNICommons.storeVectorData(vectorAddress, vectorList.toArray(new float[][] {}), totalLiveDocs * dimension);
-        vectorList.clear();
+        if (floatBuffer == null || floatBuffer.position() == 0) {
+            return;
+        }
+        if (batchConsumer != null) {
+            final int numVectors = floatBuffer.position() / dimension;
+            final long batchAddress = JNICommons.storeVectorDataFromBuffer(0, buffer, floatBuffer.position(), floatBuffer.position());
+            floatBuffer.clear();
+            batchConsumer.accept(batchAddress, numVectors);
+            return;
+        }
+        vectorAddress = JNICommons.storeVectorDataFromBuffer(vectorAddress, buffer, floatBuffer.position(), totalLiveDocs * dimension);
+        floatBuffer.clear();
     }
 }
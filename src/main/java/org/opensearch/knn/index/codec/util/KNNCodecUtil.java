@@ -10,14 +10,15 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.codec.KNN80Codec.KNN80BinaryDocValues;
 import org.opensearch.knn.index.codec.transfer.VectorTransfer;
+import org.opensearch.knn.index.vectorvalues.KNNFloatVectorValues;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 public class KNNCodecUtil {
     // Floats are 4 bytes in size
@@ -44,24 +45,61 @@ public class KNNCodecUtil {
      * @throws IOException thrown when unable to get binary of vectors
      */
     public static KNNCodecUtil.Pair getPair(final BinaryDocValues values, final VectorTransfer vectorTransfer) throws IOException {
-        List<Integer> docIdList = new ArrayList<>();
+        final long totalLiveDocs = getTotalLiveDocsCount(values);
+        int[] docIds = new int[(int) Math.max(0, totalLiveDocs)];
+        int numDocs = 0;
         SerializationMode serializationMode = SerializationMode.COLLECTION_OF_FLOATS;
-        vectorTransfer.init(getTotalLiveDocsCount(values));
+        vectorTransfer.init(totalLiveDocs);
         for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
             BytesRef bytesref = values.binaryValue();
             serializationMode = vectorTransfer.getSerializationMode(bytesref);
             vectorTransfer.transfer(bytesref);
-            docIdList.add(doc);
+            // The ids are presized to the live docs, so they only grow when the count was off
+            if (numDocs == docIds.length) {
+                docIds = ArrayUtil.grow(docIds);
+            }
+            docIds[numDocs++] = doc;
         }
         vectorTransfer.close();
         return new KNNCodecUtil.Pair(
-            docIdList.stream().mapToInt(Integer::intValue).toArray(),
+            numDocs == docIds.length ? docIds : ArrayUtil.copyOfSubArray(docIds, 0, numDocs),
             vectorTransfer.getVectorAddress(),
             vectorTransfer.getDimension(),
             serializationMode
         );
     }
 
+    /**
+     * Extract docIds and vectors from {@link KNNVectorValues}. The vector values must not have been iterated yet.
+     *
+     * @param vectorValues {@link KNNVectorValues}
+     * @param vectorTransfer Utility to make transfer
+     * @return KNNCodecUtil.Pair representing doc ids and corresponding vectors
+     * @throws IOException thrown when unable to get the vectors
+     */
+    public static KNNCodecUtil.Pair getPair(final KNNVectorValues<?> vectorValues, final VectorTransfer vectorTransfer)
+        throws IOException {
+        final long totalLiveDocs = vectorValues.totalLiveDocs();
+        int[] docIds = new int[(int) Math.max(0, totalLiveDocs)];
+        int numDocs = 0;
+        vectorTransfer.init(totalLiveDocs);
+        for (int doc = vectorValues.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = vectorValues.nextDoc()) {
+            vectorTransfer.transfer(vectorValues);
+            // The ids are presized to the live docs, so they only grow when the count was off
+            if (numDocs == docIds.length) {
+                docIds = ArrayUtil.grow(docIds);
+            }
+            docIds[numDocs++] = doc;
+        }
+        vectorTransfer.close();
+        return new KNNCodecUtil.Pair(
+            numDocs == docIds.length ? docIds : ArrayUtil.copyOfSubArray(docIds, 0, numDocs),
+            vectorTransfer.getVectorAddress(),
+            vectorTransfer.getDimension(),
+            vectorValues instanceof KNNFloatVectorValues ? SerializationMode.COLLECTION_OF_FLOATS : SerializationMode.COLLECTIONS_OF_BYTES
+        );
+    }
+
     /**
      * This method provides a rough estimate of the number of bytes used for storing an array with the given parameters.
      * @param numVectors number of vectors in the array
@@ -28,11 +28,16 @@ public class KNNVectorAsCollectionOfFloatsSerializer implements KNNVectorSeriali
 
     @Override
     public float[] byteToFloatArray(BytesRef bytesRef) {
+        return byteToFloatArray(bytesRef, null);
+    }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef, float[] reuse) {
         if (bytesRef == null || bytesRef.length % BYTES_IN_FLOAT != 0) {
             throw new IllegalArgumentException("Byte stream cannot be deserialized to array of floats");
         }
         final int sizeOfFloatArray = bytesRef.length / BYTES_IN_FLOAT;
-        final float[] vector = new float[sizeOfFloatArray];
+        final float[] vector = reuse != null && reuse.length == sizeOfFloatArray ? reuse : new float[sizeOfFloatArray];
         ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length).asFloatBuffer().get(vector);
         return vector;
     }
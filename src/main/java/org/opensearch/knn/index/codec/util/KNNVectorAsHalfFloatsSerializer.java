@@ -0,0 +1,129 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Class implements KNNVectorSerializer as a header byte followed by the vector as IEEE 754 half precision floats in
+ * little endian order. It halves the size of the vectors compared to {@link KNNVectorAsLittleEndianFloatsSerializer},
+ * at the cost of the precision of the vectors. It is used for faiss fields whose graph is built with the fp16 scalar
+ * quantizer, which keeps half precision floats in the graph anyway.
+ *
+ * <p>
+ * Vectors take 2 * dimension + 1 bytes and start with a different header byte than the other formats with a header,
+ * while the formats without one take a multiple of 4 bytes or start with the Java serialization magic number.
+ * </p>
+ */
+public class KNNVectorAsHalfFloatsSerializer implements KNNVectorSerializer {
+    static final byte HEADER = 2;
+    static final int HEADER_SIZE = 1;
+    private static final int BYTES_IN_HALF_FLOAT = 2;
+    private static final float[] HALF_TO_FLOAT = new float[1 << 16];
+
+    static {
+        for (int half = 0; half < HALF_TO_FLOAT.length; half++) {
+            HALF_TO_FLOAT[half] = decode(half);
+        }
+    }
+
+    @Override
+    public byte[] floatToByteArray(float[] input) {
+        final byte[] bytes = new byte[HEADER_SIZE + input.length * BYTES_IN_HALF_FLOAT];
+        bytes[0] = HEADER;
+        for (int i = 0, offset = HEADER_SIZE; i < input.length; i++, offset += BYTES_IN_HALF_FLOAT) {
+            final short half = floatToHalfFloat(input[i]);
+            bytes[offset] = (byte) half;
+            bytes[offset + 1] = (byte) (half >>> 8);
+        }
+        return bytes;
+    }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef) {
+        return byteToFloatArray(bytesRef, null);
+    }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef, float[] reuse) {
+        if (isSerializedVector(bytesRef) == false) {
+            throw new IllegalArgumentException("Byte stream cannot be deserialized to array of half precision floats");
+        }
+        final int dimension = (bytesRef.length - HEADER_SIZE) / BYTES_IN_HALF_FLOAT;
+        final float[] vector = reuse != null && reuse.length == dimension ? reuse : new float[dimension];
+        final byte[] bytes = bytesRef.bytes;
+        for (int i = 0, offset = bytesRef.offset + HEADER_SIZE; i < dimension; i++, offset += BYTES_IN_HALF_FLOAT) {
+            vector[i] = HALF_TO_FLOAT[(bytes[offset] & 0xff) | ((bytes[offset + 1] & 0xff) << 8)];
+        }
+        return vector;
+    }
+
+    /**
+     * Converts a float to the nearest half precision float, ties to even. Values outside the half precision range
+     * become infinite.
+     *
+     * @param value float
+     * @return bits of the half precision float
+     */
+    static short floatToHalfFloat(final float value) {
+        final int bits = Float.floatToRawIntBits(value);
+        final int sign = (bits >>> 16) & 0x8000;
+        final int exponent = (bits >>> 23) & 0xff;
+        int mantissa = bits & 0x7fffff;
+        if (exponent == 0xff) {
+            // Infinity stays infinity, NaN stays NaN
+            return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0));
+        }
+        final int halfExponent = exponent - 127 + 15;
+        if (halfExponent >= 0x1f) {
+            return (short) (sign | 0x7c00);
+        }
+        if (halfExponent <= 0) {
+            // Subnormal half precision float, or zero when the value is too small
+            if (halfExponent < -10) {
+                return (short) sign;
+            }
+            mantissa |= 0x800000;
+            final int shift = 14 - halfExponent;
+            final int roundBit = 1 << (shift - 1);
+            int half = mantissa >> shift;
+            if ((mantissa & roundBit) != 0 && (mantissa & (3 * roundBit - 1)) != 0) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+        int half = sign | (halfExponent << 10) | (mantissa >> 13);
+        // Round to nearest even, a carry into the exponent is the correct result, up to infinity
+        if ((mantissa & 0x1000) != 0 && (mantissa & 0x2fff) != 0) {
+            half++;
+        }
+        return (short) half;
+    }
+
+    private static float decode(final int half) {
+        final int sign = (half & 0x8000) << 16;
+        final int exponent = (half >>> 10) & 0x1f;
+        final int mantissa = half & 0x3ff;
+        if (exponent == 0x1f) {
+            return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13));
+        }
+        if (exponent == 0) {
+            final float subnormal = mantissa * 0x1p-24f;
+            return sign == 0 ? subnormal : -subnormal;
+        }
+        return Float.intBitsToFloat(sign | ((exponent + 127 - 15) << 23) | (mantissa << 13));
+    }
+
+    /**
+     * @param bytesRef bytes of a vector
+     * @return true if the vector was serialized by this serializer
+     */
+    static boolean isSerializedVector(final BytesRef bytesRef) {
+        return bytesRef != null
+            && bytesRef.length % BYTES_IN_HALF_FLOAT == HEADER_SIZE
+            && bytesRef.bytes[bytesRef.offset] == HEADER;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.util;
+
+import org.apache.lucene.util.BytesRef;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Class implements KNNVectorSerializer as a header byte followed by the floats of the vector in little endian order.
+ * The header byte holds the version of the format. A vector takes 4 * dimension + 1 bytes, which no other float
+ * serialization mode can produce, so the format is recognized without ambiguity.
+ *
+ * <p>
+ * Little endian is the byte order of the platforms the native libraries run on, so decoding is a bulk copy through a
+ * {@link FloatBuffer} view rather than a conversion of every float.
+ * </p>
+ */
+public class KNNVectorAsLittleEndianFloatsSerializer implements KNNVectorSerializer {
+    static final byte VERSION_1 = 1;
+    static final int HEADER_SIZE = 1;
+    private static final int BYTES_IN_FLOAT = 4;
+
+    @Override
+    public byte[] floatToByteArray(float[] input) {
+        final byte[] bytes = new byte[HEADER_SIZE + input.length * BYTES_IN_FLOAT];
+        bytes[0] = VERSION_1;
+        ByteBuffer.wrap(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(input);
+        return bytes;
+    }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef) {
+        return byteToFloatArray(bytesRef, null);
+    }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef, float[] reuse) {
+        if (isSerializedVector(bytesRef) == false) {
+            // Vectors written before this format are still read through the serializer that wrote them
+            return KNNVectorSerializerFactory.getSerializerByBytesRef(bytesRef).byteToFloatArray(bytesRef, reuse);
+        }
+        final FloatBuffer floats = asFloatBuffer(bytesRef);
+        final float[] vector = reuse != null && reuse.length == floats.remaining() ? reuse : new float[floats.remaining()];
+        floats.get(vector);
+        return vector;
+    }
+
+    /**
+     * Returns a little endian view over the floats of a serialized vector, e.g. to copy them in bulk into another buffer.
+     *
+     * @param bytesRef serialized vector
+     * @return {@link FloatBuffer} over the floats of the vector
+     */
+    public static FloatBuffer asFloatBuffer(final BytesRef bytesRef) {
+        return ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset + HEADER_SIZE, bytesRef.length - HEADER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asFloatBuffer();
+    }
+
+    /**
+     * @param bytesRef bytes of a vector
+     * @return true if the vector was serialized by this serializer
+     */
+    static boolean isSerializedVector(final BytesRef bytesRef) {
+        return bytesRef != null
+            && bytesRef.length % BYTES_IN_FLOAT == HEADER_SIZE
+            && bytesRef.bytes[bytesRef.offset] == VERSION_1;
+    }
+}
@@ -25,4 +25,16 @@ public interface KNNVectorSerializer {
      * @return array of floats deserialized from the stream
      */
     float[] byteToFloatArray(BytesRef bytesRef);
+
+    /**
+     * Deserializes all bytes from the stream to array of floats, reusing the given array when it has the length of the
+     * vector. Callers that decode one vector after the other, like exact search, avoid an allocation per vector.
+     *
+     * @param bytesRef bytes that will be used for deserialization to array of floats
+     * @param reuse array to deserialize into, may be null
+     * @return array of floats deserialized from the stream, either reuse or a new array
+     */
+    default float[] byteToFloatArray(BytesRef bytesRef, float[] reuse) {
+        return byteToFloatArray(bytesRef);
+    }
 }
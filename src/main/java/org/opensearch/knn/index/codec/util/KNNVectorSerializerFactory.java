@@ -13,6 +13,8 @@ import java.util.Map;
 
 import static org.opensearch.knn.index.codec.util.SerializationMode.ARRAY;
 import static org.opensearch.knn.index.codec.util.SerializationMode.COLLECTION_OF_FLOATS;
+import static org.opensearch.knn.index.codec.util.SerializationMode.HALF_FLOATS;
+import static org.opensearch.knn.index.codec.util.SerializationMode.LITTLE_ENDIAN_FLOATS;
 
 /**
  * Class abstracts Factory for KNNVectorSerializer implementations. Exact implementation constructed and returned based on
@@ -23,7 +25,11 @@ public class KNNVectorSerializerFactory {
         ARRAY,
         new KNNVectorAsArraySerializer(),
         COLLECTION_OF_FLOATS,
-        new KNNVectorAsCollectionOfFloatsSerializer()
+        new KNNVectorAsCollectionOfFloatsSerializer(),
+        LITTLE_ENDIAN_FLOATS,
+        new KNNVectorAsLittleEndianFloatsSerializer(),
+        HALF_FLOATS,
+        new KNNVectorAsHalfFloatsSerializer()
     );
 
     private static final int ARRAY_HEADER_OFFSET = 27;
@@ -47,7 +53,7 @@ public class KNNVectorSerializerFactory {
     }
 
     public static KNNVectorSerializer getDefaultSerializer() {
-        return getSerializerBySerializationMode(COLLECTION_OF_FLOATS);
+        return getSerializerBySerializationMode(LITTLE_ENDIAN_FLOATS);
     }
 
     public static KNNVectorSerializer getSerializerByBytesRef(final BytesRef bytesRef) {
@@ -56,6 +62,12 @@ public class KNNVectorSerializerFactory {
     }
 
     public static SerializationMode getSerializerModeFromBytesRef(BytesRef bytesRef) {
+        if (KNNVectorAsLittleEndianFloatsSerializer.isSerializedVector(bytesRef)) {
+            return LITTLE_ENDIAN_FLOATS;
+        }
+        if (KNNVectorAsHalfFloatsSerializer.isSerializedVector(bytesRef)) {
+            return HALF_FLOATS;
+        }
         int numberOfAvailableBytes = bytesRef.length;
         if (numberOfAvailableBytes < ARRAY_HEADER_OFFSET) {
             return getSerializerOrThrowError(numberOfAvailableBytes, COLLECTION_OF_FLOATS);
@@ -8,5 +8,7 @@ package org.opensearch.knn.index.codec.util;
 public enum SerializationMode {
     ARRAY,
     COLLECTION_OF_FLOATS,
-    COLLECTIONS_OF_BYTES
+    COLLECTIONS_OF_BYTES,
+    LITTLE_ENDIAN_FLOATS,
+    HALF_FLOATS
 }
@@ -8,14 +8,22 @@ package org.opensearch.knn.index.engine.faiss;
 import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.engine.Encoder;
 import org.opensearch.knn.index.engine.MethodComponent;
+import org.opensearch.knn.index.engine.Parameter;
+
+import java.util.Objects;
 
 /**
  * Flat faiss encoder. Flat encoding means that it does nothing. It needs an encoder, though, because it
- * is used in generating the index description.
+ * is used in generating the index description. For hnsw, the graph only storage parameter writes the index without
+ * the vectors, which are already stored in the segment, and restores them when the index is loaded.
  */
 public class FaissFlatEncoder implements Encoder {
 
     private final static MethodComponent METHOD_COMPONENT = MethodComponent.Builder.builder(KNNConstants.ENCODER_FLAT)
+        .addParameter(
+            KNNConstants.GRAPH_ONLY_STORAGE,
+            new Parameter.BooleanParameter(KNNConstants.GRAPH_ONLY_STORAGE, false, Objects::nonNull)
+        )
         .setMapGenerator(
             ((methodComponent, methodComponentContext) -> MethodAsMapBuilder.builder(
                 KNNConstants.FAISS_FLAT_DESCRIPTION,
@@ -15,6 +15,7 @@ import static org.opensearch.knn.common.KNNConstants.ENCODER_SQ;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_CLIP;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_DESCRIPTION;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_ENCODER_FP16;
+import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_FP16_DOC_VALUES;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_ENCODER_TYPES;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_TYPE;
 
@@ -25,6 +26,7 @@ public class FaissSQEncoder implements Encoder {
     private final static MethodComponent METHOD_COMPONENT = MethodComponent.Builder.builder(ENCODER_SQ)
         .addParameter(FAISS_SQ_TYPE, new Parameter.StringParameter(FAISS_SQ_TYPE, FAISS_SQ_ENCODER_FP16, FAISS_SQ_ENCODER_TYPES::contains))
         .addParameter(FAISS_SQ_CLIP, new Parameter.BooleanParameter(FAISS_SQ_CLIP, false, Objects::nonNull))
+        .addParameter(FAISS_SQ_FP16_DOC_VALUES, new Parameter.BooleanParameter(FAISS_SQ_FP16_DOC_VALUES, false, Objects::nonNull))
         .setMapGenerator(
             ((methodComponent, methodComponentContext) -> MethodAsMapBuilder.builder(
                 FAISS_SQ_DESCRIPTION,
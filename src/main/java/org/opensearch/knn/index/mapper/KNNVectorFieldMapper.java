@@ -39,6 +39,9 @@ import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.engine.MethodComponentContext;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.VectorField;
+import org.opensearch.knn.index.codec.util.KNNVectorSerializer;
+import org.opensearch.knn.index.codec.util.KNNVectorSerializerFactory;
+import org.opensearch.knn.index.codec.util.SerializationMode;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.indices.ModelDao;
 
@@ -47,9 +50,12 @@ import static org.opensearch.knn.common.KNNConstants.ENCODER_FLAT;
 import static org.opensearch.knn.common.KNNConstants.ENCODER_SQ;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_CLIP;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_ENCODER_FP16;
+import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_FP16_DOC_VALUES;
 import static org.opensearch.knn.common.KNNConstants.FAISS_SQ_TYPE;
+import static org.opensearch.knn.common.KNNConstants.GRAPH_ONLY_STORAGE;
 import static org.opensearch.knn.common.KNNConstants.KNN_METHOD;
 import static org.opensearch.knn.common.KNNConstants.METHOD_ENCODER_PARAMETER;
+import static org.opensearch.knn.common.KNNConstants.METHOD_HNSW;
 import static org.opensearch.knn.common.KNNConstants.VECTOR_DATA_TYPE_FIELD;
 import static org.opensearch.knn.common.KNNValidationUtil.validateByteVectorValue;
 import static org.opensearch.knn.common.KNNValidationUtil.validateFloatVectorValue;
@@ -521,7 +527,7 @@ public abstract class KNNVectorFieldMapper extends ParametrizedFieldMapper {
      */
     protected List<Field> getFieldsForFloatVector(final float[] array, final FieldType fieldType) {
         final List<Field> fields = new ArrayList<>();
-        fields.add(new VectorField(name(), array, fieldType));
+        fields.add(new VectorField(name(), array, fieldType, getFloatVectorSerializer()));
         if (this.stored) {
             fields.add(createStoredFieldForFloatVector(name(), array));
         }
@@ -624,6 +630,25 @@ public abstract class KNNVectorFieldMapper extends ParametrizedFieldMapper {
 
     }
 
+    // Verify mapping and return true if it is a "faiss" "hnsw" Index of float vectors using "flat" encoder with
+    // "graph_only_storage" enabled
+    protected boolean isFaissGraphOnlyStorage(KNNMethodContext knnMethodContext) {
+        if (KNNEngine.FAISS != knnMethodContext.getKnnEngine()
+            || VectorDataType.FLOAT != vectorDataType
+            || !METHOD_HNSW.equals(knnMethodContext.getMethodComponentContext().getName())) {
+            return false;
+        }
+
+        Object encoder = knnMethodContext.getMethodComponentContext().getParameters().get(METHOD_ENCODER_PARAMETER);
+        if (!(encoder instanceof MethodComponentContext)) {
+            return false;
+        }
+
+        MethodComponentContext encoderMethodComponentContext = (MethodComponentContext) encoder;
+        return ENCODER_FLAT.equals(encoderMethodComponentContext.getName())
+            && (boolean) encoderMethodComponentContext.getParameters().getOrDefault(GRAPH_ONLY_STORAGE, false);
+    }
+
     // Verify mapping and return the value of "clip" parameter(default false) for a "faiss" Index
     // using "sq" encoder of type "fp16".
     protected boolean isFaissSQClipToFP16RangeEnabled(MethodComponentContext methodComponentContext) {
@@ -633,6 +658,32 @@ public abstract class KNNVectorFieldMapper extends ParametrizedFieldMapper {
         return false;
     }
 
+    // Verify mapping and return the value of "fp16_doc_values" parameter(default false) for a "faiss" Index
+    // using "sq" encoder of type "fp16".
+    protected boolean isFaissSQFP16DocValuesEnabled(MethodComponentContext methodComponentContext) {
+        if (Objects.nonNull(methodComponentContext)) {
+            return (boolean) methodComponentContext.getParameters().getOrDefault(FAISS_SQ_FP16_DOC_VALUES, false);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the serializer of the doc values of float vectors. Fields with a faiss fp16 scalar quantizer can opt in
+     * to store them as half precision floats, the precision their graph keeps anyway.
+     *
+     * @return {@link KNNVectorSerializer}
+     */
+    protected KNNVectorSerializer getFloatVectorSerializer() {
+        final MethodComponentContext methodComponentContext = knnMethod == null ? null : knnMethod.getMethodComponentContext();
+        if (isFaissSQfp16(methodComponentContext)
+            && isFaissSQFP16DocValuesEnabled(
+                (MethodComponentContext) methodComponentContext.getParameters().get(METHOD_ENCODER_PARAMETER)
+            )) {
+            return KNNVectorSerializerFactory.getSerializerBySerializationMode(SerializationMode.HALF_FLOATS);
+        }
+        return KNNVectorSerializerFactory.getDefaultSerializer();
+    }
+
     void validateIfCircuitBreakerIsNotTriggered() {
         if (KNNSettings.isCircuitBreakerTriggered()) {
             throw new KnnCircuitBreakerException(
@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.util.Map;
 
 import static org.opensearch.knn.common.KNNConstants.DIMENSION;
+import static org.opensearch.knn.common.KNNConstants.GRAPH_ONLY_STORAGE;
 import static org.opensearch.knn.common.KNNConstants.KNN_ENGINE;
 import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
 import static org.opensearch.knn.common.KNNConstants.SPACE_TYPE;
@@ -57,6 +58,9 @@ public class MethodFieldMapper extends KNNVectorFieldMapper {
 
         KNNEngine knnEngine = knnMethodContext.getKnnEngine();
         this.fieldType.putAttribute(KNN_ENGINE, knnEngine.getName());
+        if (isFaissGraphOnlyStorage(knnMethodContext)) {
+            this.fieldType.putAttribute(GRAPH_ONLY_STORAGE, "true");
+        }
 
         try {
             Map<String, Object> libParams = knnEngine.getKNNLibraryIndexingContext(knnMethodContext).getLibraryParameters();
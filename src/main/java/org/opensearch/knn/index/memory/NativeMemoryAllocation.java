@@ -134,7 +134,7 @@ public interface NativeMemoryAllocation {
          * @param knnEngine KNNEngine associated with the index allocation
          * @param indexPath File path to index
          * @param openSearchIndexName Name of OpenSearch index this index is associated with
-         * @param watcherHandle Handle for watching index file
+         * @param watcherHandle Handle for watching index file, null when the index was not loaded from a file
          * @param sharedIndexState Shared index state. If not shared state present, pass null.
          */
         IndexAllocation(
@@ -177,7 +177,9 @@ public interface NativeMemoryAllocation {
 
             this.closed = true;
 
-            watcherHandle.stop();
+            if (watcherHandle != null) {
+                watcherHandle.stop();
+            }
 
             // memoryAddress is sometimes initialized to 0. If this is ever the case, freeing will surely fail.
             if (memoryAddress != 0) {
@@ -465,4 +467,94 @@ public interface NativeMemoryAllocation {
             return size;
         }
     }
+
+    /**
+     * A template index of a trained model, deserialized into native memory once so that the indices of the fields using
+     * the model are built from a copy of it instead of deserializing the model blob on every build.
+     */
+    class ModelTemplateAllocation implements NativeMemoryAllocation {
+
+        private final ExecutorService executor;
+        private final long memoryAddress;
+        private final int size;
+        private volatile boolean closed;
+        @Getter
+        private final KNNEngine knnEngine;
+        @Getter
+        private final String modelId;
+        private final ReadWriteLock readWriteLock;
+
+        /**
+         * Constructor
+         *
+         * @param executor Executor service used to close the allocation
+         * @param memoryAddress Pointer in memory to the template index
+         * @param size Size the template index consumes in kilobytes
+         * @param knnEngine KNNEngine associated with the template index
+         * @param modelId Id of the model the template index belongs to
+         */
+        ModelTemplateAllocation(ExecutorService executor, long memoryAddress, int size, KNNEngine knnEngine, String modelId) {
+            this.executor = executor;
+            this.closed = false;
+            this.memoryAddress = memoryAddress;
+            this.size = size;
+            this.knnEngine = knnEngine;
+            this.modelId = modelId;
+            this.readWriteLock = new ReentrantReadWriteLock();
+        }
+
+        @Override
+        public void close() {
+            // Builds hold the read lock while copying the template, so it is freed once the last of them is done
+            executor.execute(() -> {
+                writeLock();
+                cleanup();
+                writeUnlock();
+            });
+        }
+
+        private void cleanup() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            JNIService.free(memoryAddress, knnEngine);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public long getMemoryAddress() {
+            return memoryAddress;
+        }
+
+        @Override
+        public void readLock() {
+            readWriteLock.readLock().lock();
+        }
+
+        @Override
+        public void writeLock() {
+            readWriteLock.writeLock().lock();
+        }
+
+        @Override
+        public void readUnlock() {
+            readWriteLock.readLock().unlock();
+        }
+
+        @Override
+        public void writeUnlock() {
+            readWriteLock.writeLock().unlock();
+        }
+
+        @Override
+        public int getSizeInKB() {
+            return size;
+        }
+    }
 }
@@ -304,6 +304,17 @@ public class NativeMemoryCacheManager implements Closeable {
         return cache.get(nativeMemoryEntryContext.getKey(), nativeMemoryEntryContext::load);
     }
 
+    /**
+     * Returns the entry of the key if it is loaded. Unlike {@link #get(NativeMemoryEntryContext, boolean)}, neither
+     * loads the entry nor waits for it to be loaded by another thread.
+     *
+     * @param key Identifier of the entry
+     * @return NativeMemoryAllocation of the key, or null if it is not loaded
+     */
+    public NativeMemoryAllocation getIfPresent(String key) {
+        return cache.getIfPresent(key);
+    }
+
     /**
      * Returns the NativeMemoryAllocation associated with given index
      * @param indexName name of OpenSearch index
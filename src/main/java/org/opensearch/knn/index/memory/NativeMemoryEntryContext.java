@@ -12,9 +12,13 @@
 package org.opensearch.knn.index.memory;
 
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.CheckedSupplier;
 import org.opensearch.common.Nullable;
+import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.training.StreamingTrainingDataConsumer;
 
 import java.io.IOException;
 import java.util.Map;
@@ -67,6 +71,8 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
         private final Map<String, Object> parameters;
         @Nullable
         private final String modelId;
+        @Nullable
+        private final CheckedSupplier<KNNVectorValues<?>, IOException> storageVectorValuesSupplier;
 
         /**
          * Constructor
@@ -100,12 +106,35 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             Map<String, Object> parameters,
             String openSearchIndexName,
             String modelId
+        ) {
+            this(indexPath, indexLoadStrategy, parameters, openSearchIndexName, modelId, null);
+        }
+
+        /**
+         * Constructor
+         *
+         * @param indexPath path to index file. Also used as key in cache.
+         * @param indexLoadStrategy strategy to load index into memory
+         * @param parameters load time parameters
+         * @param openSearchIndexName opensearch index associated with index
+         * @param modelId model to be loaded. If none available, pass null
+         * @param storageVectorValuesSupplier vectors of the segment, to restore the storage of an index written
+         *                                    without it. If the index always has its storage, pass null
+         */
+        public IndexEntryContext(
+            String indexPath,
+            NativeMemoryLoadStrategy.IndexLoadStrategy indexLoadStrategy,
+            Map<String, Object> parameters,
+            String openSearchIndexName,
+            String modelId,
+            CheckedSupplier<KNNVectorValues<?>, IOException> storageVectorValuesSupplier
         ) {
             super(indexPath);
             this.indexLoadStrategy = indexLoadStrategy;
             this.openSearchIndexName = openSearchIndexName;
             this.parameters = parameters;
             this.modelId = modelId;
+            this.storageVectorValuesSupplier = storageVectorValuesSupplier;
         }
 
         @Override
@@ -145,6 +174,16 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             return modelId;
         }
 
+        /**
+         * Getter
+         *
+         * @return supplier of the vectors the storage of the index is restored from. null if the index always has
+         * its storage
+         */
+        public CheckedSupplier<KNNVectorValues<?>, IOException> getStorageVectorValuesSupplier() {
+            return storageVectorValuesSupplier;
+        }
+
         private static class IndexSizeCalculator implements Function<IndexEntryContext, Integer> {
 
             static IndexSizeCalculator INSTANCE = new IndexSizeCalculator();
@@ -214,6 +253,15 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             return trainingLoadStrategy.load(this);
         }
 
+        /**
+         * Streams the training data to a consumer as it is read, instead of loading it into native memory.
+         *
+         * @param vectorDataConsumer consumer the training vectors are handed over to
+         */
+        public void stream(StreamingTrainingDataConsumer vectorDataConsumer) {
+            trainingLoadStrategy.stream(this, vectorDataConsumer);
+        }
+
         /**
          * Getter for training index name.
          *
@@ -300,4 +348,177 @@ public abstract class NativeMemoryEntryContext<T extends NativeMemoryAllocation>
             return loadStrategy.load(this);
         }
     }
+
+    /**
+     * Context of an index built in native memory from the vectors of a segment instead of loaded from its index file,
+     * e.g. when the build of the index was deferred at flush.
+     */
+    public static class BuiltIndexEntryContext extends NativeMemoryEntryContext<NativeMemoryAllocation.IndexAllocation> {
+
+        private final int size;
+        private final NativeMemoryLoadStrategy.BuiltIndexLoadStrategy loadStrategy;
+        private final String openSearchIndexName;
+        private final KNNEngine knnEngine;
+        private final boolean isBinaryIndex;
+        private final CheckedSupplier<Long, IOException> indexBuilder;
+
+        /**
+         * Constructor
+         *
+         * @param key identifies the index in the cache
+         * @param size estimated size of the index in kilobytes
+         * @param loadStrategy strategy to load the index into memory
+         * @param openSearchIndexName opensearch index associated with index
+         * @param knnEngine engine of the index
+         * @param isBinaryIndex whether the index is a binary index
+         * @param indexBuilder builds the index and returns its address
+         */
+        public BuiltIndexEntryContext(
+            String key,
+            int size,
+            NativeMemoryLoadStrategy.BuiltIndexLoadStrategy loadStrategy,
+            String openSearchIndexName,
+            KNNEngine knnEngine,
+            boolean isBinaryIndex,
+            CheckedSupplier<Long, IOException> indexBuilder
+        ) {
+            super(key);
+            this.size = size;
+            this.loadStrategy = loadStrategy;
+            this.openSearchIndexName = openSearchIndexName;
+            this.knnEngine = knnEngine;
+            this.isBinaryIndex = isBinaryIndex;
+            this.indexBuilder = indexBuilder;
+        }
+
+        @Override
+        public Integer calculateSizeInKB() {
+            return size;
+        }
+
+        @Override
+        public NativeMemoryAllocation.IndexAllocation load() throws IOException {
+            return loadStrategy.load(this);
+        }
+
+        /**
+         * Builds the index.
+         *
+         * @return address of the index
+         * @throws IOException if the index cannot be built
+         */
+        public long buildIndex() throws IOException {
+            return indexBuilder.get();
+        }
+
+        /**
+         * Getter for OpenSearch index name.
+         *
+         * @return OpenSearch index name
+         */
+        public String getOpenSearchIndexName() {
+            return openSearchIndexName;
+        }
+
+        /**
+         * Getter for engine.
+         *
+         * @return engine of the index
+         */
+        public KNNEngine getKnnEngine() {
+            return knnEngine;
+        }
+
+        /**
+         * Getter for binary index.
+         *
+         * @return whether the index is a binary index
+         */
+        public boolean isBinaryIndex() {
+            return isBinaryIndex;
+        }
+    }
+
+    /**
+     * Context of the template index of a trained model, deserialized from the model blob. There is a single entry per
+     * model, shared by the builds of every field using the model.
+     */
+    public static class ModelTemplateEntryContext extends NativeMemoryEntryContext<NativeMemoryAllocation.ModelTemplateAllocation> {
+
+        private static final String KEY_PREFIX = "model_template:";
+
+        private final String modelId;
+        private final byte[] templateIndex;
+        private final KNNEngine knnEngine;
+        private final NativeMemoryLoadStrategy.ModelTemplateLoadStrategy loadStrategy;
+
+        /**
+         * Constructor
+         *
+         * @param modelId id of the model
+         * @param templateIndex serialized template index of the model
+         * @param knnEngine engine of the model
+         * @param loadStrategy strategy to load the template index into memory
+         */
+        public ModelTemplateEntryContext(
+            String modelId,
+            byte[] templateIndex,
+            KNNEngine knnEngine,
+            NativeMemoryLoadStrategy.ModelTemplateLoadStrategy loadStrategy
+        ) {
+            super(generateKey(modelId));
+            this.modelId = modelId;
+            this.templateIndex = templateIndex;
+            this.knnEngine = knnEngine;
+            this.loadStrategy = loadStrategy;
+        }
+
+        @Override
+        public Integer calculateSizeInKB() {
+            // The deserialized template takes about as much memory as its serialization
+            return templateIndex.length / 1024 + 1;
+        }
+
+        @Override
+        public NativeMemoryAllocation.ModelTemplateAllocation load() throws IOException {
+            return loadStrategy.load(this);
+        }
+
+        /**
+         * Getter for model id.
+         *
+         * @return id of the model
+         */
+        public String getModelId() {
+            return modelId;
+        }
+
+        /**
+         * Getter for the serialized template index.
+         *
+         * @return serialized template index
+         */
+        public byte[] getTemplateIndex() {
+            return templateIndex;
+        }
+
+        /**
+         * Getter for engine.
+         *
+         * @return engine of the model
+         */
+        public KNNEngine getKnnEngine() {
+            return knnEngine;
+        }
+
+        /**
+         * Generates the key of the template index of a model in the cache.
+         *
+         * @param modelId id of the model
+         * @return key of the template index
+         */
+        public static String generateKey(String modelId) {
+            return KEY_PREFIX + modelId;
+        }
+    }
 }
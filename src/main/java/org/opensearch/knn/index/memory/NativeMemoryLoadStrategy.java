@@ -13,12 +13,17 @@ package org.opensearch.knn.index.memory;
 
 import lombok.extern.log4j.Log4j2;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.codec.transfer.VectorTransferFloat;
+import org.opensearch.knn.index.codec.util.KNNCodecUtil;
 import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.jni.JNIService;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.training.ByteTrainingDataConsumer;
 import org.opensearch.knn.training.FloatTrainingDataConsumer;
+import org.opensearch.knn.training.StreamingTrainingDataConsumer;
 import org.opensearch.knn.training.TrainingDataConsumer;
 import org.opensearch.knn.training.VectorReader;
 import org.opensearch.watcher.FileChangesListener;
@@ -99,6 +104,10 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
 
             KNNEngine knnEngine = KNNEngine.getEngineNameFromPath(indexPath.toString());
             long indexAddress = JNIService.loadIndex(indexPath.toString(), indexEntryContext.getParameters(), knnEngine);
+            long storageSizeInKB = 0;
+            if (JNIService.isIndexStorageRequired(indexAddress, knnEngine)) {
+                storageSizeInKB = setIndexStorage(indexAddress, indexEntryContext, knnEngine);
+            }
             SharedIndexState sharedIndexState = null;
             String modelId = indexEntryContext.getModelId();
             if (IndexUtil.isSharedIndexStateRequired(knnEngine, modelId, indexAddress)) {
@@ -111,7 +120,7 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
             return new NativeMemoryAllocation.IndexAllocation(
                 executor,
                 indexAddress,
-                indexEntryContext.calculateSizeInKB(),
+                (int) Math.min(Integer.MAX_VALUE, indexEntryContext.calculateSizeInKB() + storageSizeInKB),
                 knnEngine,
                 indexPath.toString(),
                 indexEntryContext.getOpenSearchIndexName(),
@@ -121,6 +130,44 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
             );
         }
 
+        /**
+         * Restores the storage of an index written without it from the vectors of its segment. The vectors are
+         * transferred to native memory and copied into the index, so the index takes more memory than its file.
+         *
+         * @return size of the storage in kilobytes
+         */
+        private long setIndexStorage(
+            final long indexAddress,
+            final NativeMemoryEntryContext.IndexEntryContext indexEntryContext,
+            final KNNEngine knnEngine
+        ) throws IOException {
+            boolean success = false;
+            try {
+                if (indexEntryContext.getStorageVectorValuesSupplier() == null) {
+                    throw new IllegalStateException(
+                        String.format("Index [%s] was written without its vectors, which are not available", indexEntryContext.getKey())
+                    );
+                }
+                final KNNCodecUtil.Pair pair = KNNCodecUtil.getPair(
+                    indexEntryContext.getStorageVectorValuesSupplier().get(),
+                    new VectorTransferFloat(KNNSettings.getVectorStreamingMemoryLimit().getBytes())
+                );
+                try {
+                    JNIService.setIndexStorage(indexAddress, pair.getVectorAddress(), pair.getDimension(), pair.docs, knnEngine);
+                } finally {
+                    if (pair.getVectorAddress() != 0) {
+                        JNICommons.freeVectorData(pair.getVectorAddress());
+                    }
+                }
+                success = true;
+                return (long) pair.docs.length * pair.getDimension() * Float.BYTES / 1024;
+            } finally {
+                if (success == false) {
+                    JNIService.free(indexAddress, knnEngine, false);
+                }
+            }
+        }
+
         @Override
         public void close() {
             executor.shutdown();
@@ -180,12 +227,8 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
 
             trainingDataAllocation.writeLock();
 
-            vectorReader.read(
-                nativeMemoryEntryContext.getClusterService(),
-                nativeMemoryEntryContext.getTrainIndexName(),
-                nativeMemoryEntryContext.getTrainFieldName(),
-                nativeMemoryEntryContext.getMaxVectorCount(),
-                nativeMemoryEntryContext.getSearchSize(),
+            read(
+                nativeMemoryEntryContext,
                 vectorDataConsumer,
                 ActionListener.wrap(response -> trainingDataAllocation.writeUnlock(), ex -> {
                     // Close unsafe will assume that the caller passes control of the writelock to it. It
@@ -201,6 +244,53 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
             return trainingDataAllocation;
         }
 
+        /**
+         * Streams the float training vectors of a training job to a consumer as they are read, without loading them into
+         * native memory, see {@link StreamingTrainingDataConsumer}.
+         *
+         * @param nativeMemoryEntryContext training data configuration
+         * @param vectorDataConsumer consumer the training vectors are handed over to
+         */
+        public void stream(
+            NativeMemoryEntryContext.TrainingDataEntryContext nativeMemoryEntryContext,
+            StreamingTrainingDataConsumer vectorDataConsumer
+        ) {
+            read(
+                nativeMemoryEntryContext,
+                vectorDataConsumer,
+                ActionListener.wrap(response -> vectorDataConsumer.onReadComplete(), vectorDataConsumer::onReadFailure)
+            );
+        }
+
+        private void read(
+            NativeMemoryEntryContext.TrainingDataEntryContext nativeMemoryEntryContext,
+            TrainingDataConsumer vectorDataConsumer,
+            ActionListener<Object> listener
+        ) {
+            if (vectorDataConsumer instanceof FloatTrainingDataConsumer && KNNSettings.isTrainingReadFromShardsEnabled()) {
+                vectorReader.readFromShards(
+                    nativeMemoryEntryContext.getClusterService(),
+                    nativeMemoryEntryContext.getTrainIndexName(),
+                    nativeMemoryEntryContext.getTrainFieldName(),
+                    nativeMemoryEntryContext.getMaxVectorCount(),
+                    nativeMemoryEntryContext.getSearchSize(),
+                    (FloatTrainingDataConsumer) vectorDataConsumer,
+                    ActionListener.wrap(listener::onResponse, listener::onFailure)
+                );
+                return;
+            }
+
+            vectorReader.read(
+                nativeMemoryEntryContext.getClusterService(),
+                nativeMemoryEntryContext.getTrainIndexName(),
+                nativeMemoryEntryContext.getTrainFieldName(),
+                nativeMemoryEntryContext.getMaxVectorCount(),
+                nativeMemoryEntryContext.getSearchSize(),
+                vectorDataConsumer,
+                ActionListener.wrap(listener::onResponse, listener::onFailure)
+            );
+        }
+
         @Override
         public void close() throws IOException {
             executor.shutdown();
@@ -242,4 +332,98 @@ public interface NativeMemoryLoadStrategy<T extends NativeMemoryAllocation, U ex
             executor.shutdown();
         }
     }
+
+    class BuiltIndexLoadStrategy
+        implements
+            NativeMemoryLoadStrategy<NativeMemoryAllocation.IndexAllocation, NativeMemoryEntryContext.BuiltIndexEntryContext>,
+            Closeable {
+
+        private static BuiltIndexLoadStrategy INSTANCE;
+
+        /**
+         * Get singleton BuiltIndexLoadStrategy
+         *
+         * @return instance of BuiltIndexLoadStrategy
+         */
+        public static synchronized BuiltIndexLoadStrategy getInstance() {
+            if (INSTANCE == null) {
+                INSTANCE = new BuiltIndexLoadStrategy();
+            }
+            return INSTANCE;
+        }
+
+        private final ExecutorService executor;
+
+        private BuiltIndexLoadStrategy() {
+            executor = Executors.newSingleThreadExecutor();
+        }
+
+        @Override
+        public NativeMemoryAllocation.IndexAllocation load(NativeMemoryEntryContext.BuiltIndexEntryContext builtIndexEntryContext)
+            throws IOException {
+            // There is no file to watch, the entry is invalidated by its builder once the segment is closed
+            return new NativeMemoryAllocation.IndexAllocation(
+                executor,
+                builtIndexEntryContext.buildIndex(),
+                builtIndexEntryContext.calculateSizeInKB(),
+                builtIndexEntryContext.getKnnEngine(),
+                builtIndexEntryContext.getKey(),
+                builtIndexEntryContext.getOpenSearchIndexName(),
+                null,
+                null,
+                builtIndexEntryContext.isBinaryIndex()
+            );
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+        }
+    }
+
+    class ModelTemplateLoadStrategy
+        implements
+            NativeMemoryLoadStrategy<NativeMemoryAllocation.ModelTemplateAllocation, NativeMemoryEntryContext.ModelTemplateEntryContext>,
+            Closeable {
+
+        private static ModelTemplateLoadStrategy INSTANCE;
+
+        /**
+         * Get singleton ModelTemplateLoadStrategy
+         *
+         * @return instance of ModelTemplateLoadStrategy
+         */
+        public static synchronized ModelTemplateLoadStrategy getInstance() {
+            if (INSTANCE == null) {
+                INSTANCE = new ModelTemplateLoadStrategy();
+            }
+            return INSTANCE;
+        }
+
+        private final ExecutorService executor;
+
+        private ModelTemplateLoadStrategy() {
+            executor = Executors.newSingleThreadExecutor();
+        }
+
+        @Override
+        public NativeMemoryAllocation.ModelTemplateAllocation load(
+            NativeMemoryEntryContext.ModelTemplateEntryContext modelTemplateEntryContext
+        ) {
+            final KNNEngine knnEngine = modelTemplateEntryContext.getKnnEngine();
+            final long templateIndexAddress = JNIService.loadTemplateIndex(modelTemplateEntryContext.getTemplateIndex(), knnEngine);
+            return new NativeMemoryAllocation.ModelTemplateAllocation(
+                executor,
+                templateIndexAddress,
+                modelTemplateEntryContext.calculateSizeInKB(),
+                knnEngine,
+                modelTemplateEntryContext.getModelId()
+            );
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+        }
+    }
 }
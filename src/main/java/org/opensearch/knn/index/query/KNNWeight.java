@@ -33,6 +33,8 @@ import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.nativeindex.DeferredIndexBuilder;
+import org.opensearch.knn.index.codec.nativeindex.NativeIndexWriter;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
@@ -43,10 +45,12 @@ import org.opensearch.knn.index.query.filtered.KNNIterator;
 import org.opensearch.knn.index.query.filtered.NestedFilteredIdsKNNByteIterator;
 import org.opensearch.knn.index.query.filtered.NestedFilteredIdsKNNIterator;
 import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValuesFactory;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.indices.ModelUtil;
 import org.opensearch.knn.jni.JNIService;
+import org.opensearch.knn.jni.NativeSearchParameters;
 import org.opensearch.knn.plugin.stats.KNNCounter;
 
 import java.io.IOException;
@@ -62,6 +66,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import static org.opensearch.knn.common.KNNConstants.KNN_ENGINE;
+import static org.opensearch.knn.common.KNNConstants.METHOD_IVF;
 import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
 import static org.opensearch.knn.common.KNNConstants.SPACE_TYPE;
 import static org.opensearch.knn.common.KNNConstants.VECTOR_DATA_TYPE_FIELD;
@@ -80,6 +85,14 @@ public class KNNWeight extends Weight {
 
     private final NativeMemoryCacheManager nativeMemoryCacheManager;
     private final Weight filterWeight;
+    // Method parameters of the query resolved once for the search of every segment
+    private final int[] searchParameters;
+    // Statistics of the native searches of the query, null unless knn.query.native_stats.enabled is set
+    private final NativeQueryStats nativeQueryStats;
+    // Whether the index may defer native index builds, in which case missing indices are built in the background
+    private final boolean graphBuildDeferred;
+    // Minimum number of vectors of a segment for its native index to be built
+    private final int approximateThreshold;
 
     public KNNWeight(KNNQuery query, float boost) {
         super(query);
@@ -87,6 +100,10 @@ public class KNNWeight extends Weight {
         this.boost = boost;
         this.nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
         this.filterWeight = null;
+        this.nativeQueryStats = KNNSettings.isNativeQueryStatsEnabled() ? new NativeQueryStats() : null;
+        this.searchParameters = NativeSearchParameters.encode(query.getMethodParameters(), nativeQueryStats != null);
+        this.graphBuildDeferred = KNNSettings.isGraphBuildDeferred(query.getIndexName());
+        this.approximateThreshold = KNNSettings.getApproximateThreshold(query.getIndexName());
     }
 
     public KNNWeight(KNNQuery query, float boost, Weight filterWeight) {
@@ -95,12 +112,23 @@ public class KNNWeight extends Weight {
         this.boost = boost;
         this.nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
         this.filterWeight = filterWeight;
+        this.nativeQueryStats = KNNSettings.isNativeQueryStatsEnabled() ? new NativeQueryStats() : null;
+        this.searchParameters = NativeSearchParameters.encode(query.getMethodParameters(), nativeQueryStats != null);
+        this.graphBuildDeferred = KNNSettings.isGraphBuildDeferred(query.getIndexName());
+        this.approximateThreshold = KNNSettings.getApproximateThreshold(query.getIndexName());
     }
 
     public static void initialize(ModelDao modelDao) {
         KNNWeight.modelDao = modelDao;
     }
 
+    /**
+     * @return statistics of the native searches of the query, or null when they are not collected
+     */
+    public NativeQueryStats getNativeQueryStats() {
+        return nativeQueryStats;
+    }
+
     @Override
     public Explanation explain(LeafReaderContext context, int doc) {
         return Explanation.match(1.0f, "No Explanation");
@@ -142,6 +170,10 @@ public class KNNWeight extends Weight {
          */
         if (filterWeight != null && canDoExactSearch(cardinality)) {
             docIdsToScoreMap.putAll(doExactSearch(context, filterBitSet, cardinality));
+        } else if (isIndexMissing(context)) {
+            // The segment is too small to get a native index, or its index is being built in the background
+            final BitSet docsBitSet = filterWeight != null ? filterBitSet : getDocsWithVectorBitSet(context);
+            docIdsToScoreMap.putAll(doExactSearch(context, docsBitSet, docsBitSet.cardinality()));
         } else {
             Map<Integer, Float> annResults = doANNSearch(context, filterBitSet, cardinality);
             if (annResults == null) {
@@ -196,6 +228,55 @@ public class KNNWeight extends Weight {
         return BitSet.of(filterIterator, maxDoc);
     }
 
+    private BitSet getDocsWithVectorBitSet(final LeafReaderContext context) throws IOException {
+        final BinaryDocValues values = DocValues.getBinary(context.reader(), knnQuery.getField());
+        return createBitSet(values, context.reader().getLiveDocs(), context.reader().maxDoc());
+    }
+
+    /**
+     * Checks whether the segment has vectors but no native index, either because it had fewer vectors than
+     * index.knn.advanced.approximate_threshold when it was written or because the index build was deferred at flush or
+     * merge. In the latter case the build is scheduled in the background, unless the index is already built or being
+     * built, or the index no longer defers builds, see {@link KNNSettings#isGraphBuildDeferred(String)}.
+     */
+    private boolean isIndexMissing(final LeafReaderContext context) throws IOException {
+        final SegmentReader reader = Lucene.segmentReader(context.reader());
+        final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(knnQuery.getField());
+        if (fieldInfo == null || fieldInfo.attributes().containsKey(KNNConstants.MODEL_ID)) {
+            return false;
+        }
+        final KNNEngine knnEngine = KNNEngine.getEngine(
+            fieldInfo.attributes().getOrDefault(KNNConstants.KNN_ENGINE, KNNEngine.DEFAULT.getName())
+        );
+        if (getEngineFiles(reader, knnEngine.getExtension()).isEmpty() == false) {
+            return false;
+        }
+        final long vectorCount = countVectors(reader, fieldInfo);
+        if (vectorCount == 0) {
+            return false;
+        }
+        if (DeferredIndexBuilder.isSupported(fieldInfo) == false
+            || NativeIndexWriter.isIndexRequired(fieldInfo, vectorCount, approximateThreshold) == false) {
+            return true;
+        }
+        if (DeferredIndexBuilder.getInstance().getIfBuilt(reader, fieldInfo) != null) {
+            return false;
+        }
+        if (graphBuildDeferred == false) {
+            return true;
+        }
+        DeferredIndexBuilder.getInstance().scheduleBuild(reader, fieldInfo, knnQuery.getIndexName());
+        return true;
+    }
+
+    // The native layer keeps the statistics of the last query of each thread, so they are read right after the query
+    private void collectNativeQueryStats(final KNNEngine knnEngine) {
+        final long[] stats = new long[NativeQueryStats.SIZE];
+        if (JNIService.getQueryStats(stats, knnEngine)) {
+            nativeQueryStats.add(stats);
+        }
+    }
+
     private int[] getParentIdsArray(final LeafReaderContext context) throws IOException {
         if (knnQuery.getParentsFilter() == null) {
             return null;
@@ -232,6 +313,8 @@ public class KNNWeight extends Weight {
         KNNEngine knnEngine;
         SpaceType spaceType;
         VectorDataType vectorDataType;
+        // Only IVF indices split the search of a query between threads, and they are always built from a model
+        boolean isIvfIndex = false;
 
         // Check if a modelId exists. If so, the space type and engine will need to be picked up from the model's
         // metadata.
@@ -245,6 +328,7 @@ public class KNNWeight extends Weight {
             knnEngine = modelMetadata.getKnnEngine();
             spaceType = modelMetadata.getSpaceType();
             vectorDataType = modelMetadata.getVectorDataType();
+            isIvfIndex = METHOD_IVF.equals(modelMetadata.getMethodComponentContext().getName());
         } else {
             String engineName = fieldInfo.attributes().getOrDefault(KNN_ENGINE, KNNEngine.NMSLIB.getName());
             knnEngine = KNNEngine.getEngine(engineName);
@@ -256,37 +340,55 @@ public class KNNWeight extends Weight {
         }
 
         List<String> engineFiles = getEngineFiles(reader, knnEngine.getExtension());
-        if (engineFiles.isEmpty()) {
+        if (engineFiles.isEmpty() && (DeferredIndexBuilder.isSupported(fieldInfo) == false || countVectors(reader, fieldInfo) == 0)) {
             log.debug("[KNN] No engine index found for field {} for segment {}", knnQuery.getField(), reader.getSegmentName());
             return null;
         }
 
-        Path indexPath = PathUtils.get(directory, engineFiles.get(0));
         final KNNQueryResult[] results;
         KNNCounter.GRAPH_QUERY_REQUESTS.increment();
 
         // We need to first get index allocation
         NativeMemoryAllocation indexAllocation;
         try {
-            indexAllocation = nativeMemoryCacheManager.get(
-                new NativeMemoryEntryContext.IndexEntryContext(
-                    indexPath.toString(),
-                    NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance(),
-                    getParametersAtLoading(spaceType, knnEngine, knnQuery.getIndexName(), vectorDataType),
-                    knnQuery.getIndexName(),
-                    modelId
-                ),
-                true
-            );
+            if (engineFiles.isEmpty()) {
+                // The index build of the segment was deferred at flush
+                indexAllocation = DeferredIndexBuilder.getInstance().get(reader, fieldInfo, knnQuery.getIndexName());
+            } else {
+                Path indexPath = PathUtils.get(directory, engineFiles.get(0));
+                indexAllocation = nativeMemoryCacheManager.get(
+                    new NativeMemoryEntryContext.IndexEntryContext(
+                        indexPath.toString(),
+                        NativeMemoryLoadStrategy.IndexLoadStrategy.getInstance(),
+                        getParametersAtLoading(spaceType, knnEngine, knnQuery.getIndexName(), vectorDataType),
+                        knnQuery.getIndexName(),
+                        modelId,
+                        NativeIndexWriter.isGraphOnlyStorage(fieldInfo)
+                            ? () -> KNNVectorValuesFactory.getVectorValues(vectorDataType, fieldInfo, reader)
+                            : null
+                    ),
+                    true
+                );
+            }
         } catch (ExecutionException e) {
             GRAPH_QUERY_ERRORS.increment();
             throw new RuntimeException(e);
         }
 
-        // From cardinality select different filterIds type
-        FilterIdsSelector filterIdsSelector = FilterIdsSelector.getFilterIdSelector(filterIdsBitSet, cardinality);
+        // From cardinality select different filterIds type, or have faiss skip the deleted docs when there is no filter
+        FilterIdsSelector filterIdsSelector = filterWeight == null && knnEngine == KNNEngine.FAISS ? getLiveDocsSelector(reader) : null;
+        if (filterIdsSelector == null) {
+            filterIdsSelector = FilterIdsSelector.getFilterIdSelector(filterIdsBitSet, cardinality);
+        }
         long[] filterIds = filterIdsSelector.getFilterIds();
         FilterIdsSelector.FilterIdsSelectorType filterType = filterIdsSelector.getFilterType();
+        // k-NN and radial searches of float vectors of faiss IVF indices may use more than one thread, see
+        // NativeSearchThreadBudget. The native layer runs every other search on a single thread, so they do not take
+        // threads from the budget.
+        final int searchThreads = knnEngine == KNNEngine.FAISS && knnQuery.getVectorDataType() != VectorDataType.BINARY && isIvfIndex
+            ? NativeSearchThreadBudget.getInstance().acquire(KNNSettings.getSearchThreads(knnQuery.getIndexName()))
+            : 1;
+        final int[] segmentSearchParameters = NativeSearchParameters.withThreads(searchParameters, searchThreads);
         // Now that we have the allocation, we need to readLock it
         indexAllocation.readLock();
         try {
@@ -300,7 +402,7 @@ public class KNNWeight extends Weight {
                         indexAllocation.getMemoryAddress(),
                         knnQuery.getByteQueryVector(),
                         knnQuery.getK(),
-                        knnQuery.getMethodParameters(),
+                        searchParameters,
                         knnEngine,
                         filterIds,
                         filterType.getValue(),
@@ -311,19 +413,22 @@ public class KNNWeight extends Weight {
                         indexAllocation.getMemoryAddress(),
                         knnQuery.getQueryVector(),
                         knnQuery.getK(),
-                        knnQuery.getMethodParameters(),
+                        segmentSearchParameters,
                         knnEngine,
                         filterIds,
                         filterType.getValue(),
                         parentIds
                     );
+                    if (nativeQueryStats != null) {
+                        collectNativeQueryStats(knnEngine);
+                    }
                 }
             } else {
                 results = JNIService.radiusQueryIndex(
                     indexAllocation.getMemoryAddress(),
                     knnQuery.getQueryVector(),
                     knnQuery.getRadius(),
-                    knnQuery.getMethodParameters(),
+                    segmentSearchParameters,
                     knnEngine,
                     knnQuery.getContext().getMaxResultWindow(),
                     filterIds,
@@ -336,6 +441,7 @@ public class KNNWeight extends Weight {
             throw new RuntimeException(e);
         } finally {
             indexAllocation.readUnlock();
+            NativeSearchThreadBudget.getInstance().release(searchThreads);
         }
 
         /*
@@ -353,6 +459,23 @@ public class KNNWeight extends Weight {
             .collect(Collectors.toMap(KNNQueryResult::getId, result -> knnEngine.score(result.getScore(), spaceType)));
     }
 
+    private FilterIdsSelector getLiveDocsSelector(final SegmentReader reader) {
+        if (reader.getLiveDocs() == null) {
+            return null;
+        }
+        return LiveDocsSelectorCache.getInstance().getSelector(reader, KNNSettings.getLiveDocsSelectorThreshold(knnQuery.getIndexName()));
+    }
+
+    private long countVectors(final SegmentReader reader, final FieldInfo fieldInfo) throws IOException {
+        final String vectorCount = fieldInfo.getAttribute(KNNConstants.VECTOR_COUNT);
+        if (vectorCount != null) {
+            return Long.parseLong(vectorCount);
+        }
+        // Segments written before the count was recorded in the field
+        final BinaryDocValues values = reader.getBinaryDocValues(knnQuery.getField());
+        return values == null ? 0 : values.cost();
+    }
+
     @VisibleForTesting
     List<String> getEngineFiles(SegmentReader reader, String extension) throws IOException {
         /*
@@ -374,14 +497,18 @@ public class KNNWeight extends Weight {
 
     private Map<Integer, Float> doExactSearch(final LeafReaderContext leafReaderContext, final BitSet filterIdsBitSet, int cardinality) {
         try {
+            // Radial searches keep the vectors within the radius, up to the max result window, instead of the top k
+            final boolean isRadialSearch = knnQuery.getRadius() != null;
+            final int size = isRadialSearch ? knnQuery.getContext().getMaxResultWindow() : this.knnQuery.getK();
+            final float minScore = isRadialSearch ? getRadialMinScore(leafReaderContext) : Float.NEGATIVE_INFINITY;
             // Creating min heap and init with MAX DocID and Score as -INF.
-            final HitQueue queue = new HitQueue(Math.min(this.knnQuery.getK(), cardinality), true);
+            final HitQueue queue = new HitQueue(Math.min(size, cardinality), true);
             ScoreDoc topDoc = queue.top();
             final Map<Integer, Float> docToScore = new HashMap<>();
             KNNIterator iterator = getFilteredKNNIterator(leafReaderContext, filterIdsBitSet);
             int docId;
             while ((docId = iterator.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
-                if (iterator.score() > topDoc.score) {
+                if (iterator.score() > topDoc.score && iterator.score() >= minScore) {
                     topDoc.score = iterator.score();
                     topDoc.doc = docId;
                     // As the HitQueue is min heap, updating top will bring the doc with -INF score or worst score we
@@ -409,6 +536,17 @@ public class KNNWeight extends Weight {
         return Collections.emptyMap();
     }
 
+    /**
+     * Translates the radius of the query, which is a distance in the space of the engine, to the score the exact
+     * search iterators return, so that a vector is within the radius when its score is at least this value.
+     */
+    private float getRadialMinScore(final LeafReaderContext leafReaderContext) {
+        final SegmentReader reader = Lucene.segmentReader(leafReaderContext.reader());
+        final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(knnQuery.getField());
+        final KNNEngine knnEngine = KNNEngine.getEngine(fieldInfo.attributes().getOrDefault(KNN_ENGINE, KNNEngine.DEFAULT.getName()));
+        return knnEngine.score(knnQuery.getRadius(), getSpaceType(fieldInfo));
+    }
+
     private KNNIterator getFilteredKNNIterator(final LeafReaderContext leafReaderContext, final BitSet filterIdsBitSet) throws IOException {
         final SegmentReader reader = Lucene.segmentReader(leafReaderContext.reader());
         final FieldInfo fieldInfo = reader.getFieldInfos().fieldInfo(knnQuery.getField());
@@ -0,0 +1,74 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live docs of segments as {@link FilterIdsSelector}s, so that the native engine skips deleted docs during the search of
+ * a query without filter instead of returning them. Without it, the deleted docs among the top k results are dropped
+ * once the results are back, and a segment with many deletions returns fewer than k results.
+ *
+ * <p>
+ * The selectors are bitmaps of maxDoc bits, built once per segment reader and released when the reader is closed. A
+ * new reader is opened whenever docs of the segment are deleted, so a selector never gets stale.
+ * </p>
+ */
+public final class LiveDocsSelectorCache {
+
+    private static final LiveDocsSelectorCache INSTANCE = new LiveDocsSelectorCache();
+
+    private final Map<IndexReader.CacheKey, FilterIdsSelector> selectors = new ConcurrentHashMap<>();
+
+    public static LiveDocsSelectorCache getInstance() {
+        return INSTANCE;
+    }
+
+    private LiveDocsSelectorCache() {}
+
+    /**
+     * Returns the selector of the live docs of a segment reader, if its docs are deleted above the given threshold.
+     *
+     * @param reader segment reader
+     * @param deletedDocsPercentageThreshold percentage of deleted docs of the segment above which deleted docs are skipped
+     *                                       by the native engine
+     * @return {@link FilterIdsSelector} of the live docs, or null when the segment has not enough deleted docs
+     */
+    public FilterIdsSelector getSelector(final LeafReader reader, final double deletedDocsPercentageThreshold) {
+        final Bits liveDocs = reader.getLiveDocs();
+        if (liveDocs == null || reader.numDeletedDocs() * 100.0 <= deletedDocsPercentageThreshold * reader.maxDoc()) {
+            return null;
+        }
+        final IndexReader.CacheHelper cacheHelper = reader.getReaderCacheHelper();
+        if (cacheHelper == null) {
+            return toSelector(liveDocs);
+        }
+        final IndexReader.CacheKey key = cacheHelper.getKey();
+        final FilterIdsSelector cached = selectors.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final FilterIdsSelector selector = toSelector(liveDocs);
+        if (selectors.putIfAbsent(key, selector) == null) {
+            cacheHelper.addClosedListener(selectors::remove);
+        }
+        return selector;
+    }
+
+    int size() {
+        return selectors.size();
+    }
+
+    private static FilterIdsSelector toSelector(final Bits liveDocs) {
+        return new FilterIdsSelector(FixedBitSet.copyOf(liveDocs).getBits(), FilterIdsSelector.FilterIdsSelectorType.BITMAP);
+    }
+}
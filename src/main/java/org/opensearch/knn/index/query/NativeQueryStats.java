@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.opensearch.knn.plugin.stats.KNNCounter;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the native searches of a query, summed over the segments it searches, collected when
+ * knn.query.native_stats.enabled is set. They tell why a query is slow: many visited vectors, distance computations or
+ * hops for a high ef_search or nprobes, many filter rejections for a restrictive filter. Only faiss collects them: the
+ * nmslib search computes its distances without counting them.
+ *
+ * <p>
+ * Segments are searched concurrently with concurrent segment search, so the statistics are adders.
+ * </p>
+ */
+public final class NativeQueryStats {
+    // Positions of the statistics in the array filled by the native layer, must match faiss_wrapper.h
+    static final int VISITED = 0;
+    static final int FILTER_REJECTIONS = 1;
+    static final int LISTS_PROBED = 2;
+    static final int DISTANCE_COMPUTATIONS = 3;
+    static final int HOPS = 4;
+    static final int SIZE = 5;
+
+    private final LongAdder segments = new LongAdder();
+    private final LongAdder visited = new LongAdder();
+    private final LongAdder filterRejections = new LongAdder();
+    private final LongAdder listsProbed = new LongAdder();
+    private final LongAdder distanceComputations = new LongAdder();
+    private final LongAdder hops = new LongAdder();
+
+    /**
+     * Adds the statistics of the search of a segment, to the query and to the k-NN stats of the node.
+     *
+     * @param stats statistics of the native search, see {@link org.opensearch.knn.jni.JNIService#getQueryStats}
+     */
+    void add(final long[] stats) {
+        segments.increment();
+        visited.add(stats[VISITED]);
+        filterRejections.add(stats[FILTER_REJECTIONS]);
+        listsProbed.add(stats[LISTS_PROBED]);
+        distanceComputations.add(stats[DISTANCE_COMPUTATIONS]);
+        hops.add(stats[HOPS]);
+        KNNCounter.NATIVE_QUERY_VISITED.incrementBy(stats[VISITED]);
+        KNNCounter.NATIVE_QUERY_FILTER_REJECTIONS.incrementBy(stats[FILTER_REJECTIONS]);
+        KNNCounter.NATIVE_QUERY_LISTS_PROBED.incrementBy(stats[LISTS_PROBED]);
+        KNNCounter.NATIVE_QUERY_DISTANCE_COMPUTATIONS.incrementBy(stats[DISTANCE_COMPUTATIONS]);
+        KNNCounter.NATIVE_QUERY_HOPS.incrementBy(stats[HOPS]);
+    }
+
+    public long getSegments() {
+        return segments.sum();
+    }
+
+    public long getVisited() {
+        return visited.sum();
+    }
+
+    public long getFilterRejections() {
+        return filterRejections.sum();
+    }
+
+    public long getListsProbed() {
+        return listsProbed.sum();
+    }
+
+    public long getDistanceComputations() {
+        return distanceComputations.sum();
+    }
+
+    public long getHops() {
+        return hops.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            Locale.ROOT,
+            "segments:%d, visited:%d, filter_rejections:%d, lists_probed:%d, distance_computations:%d, hops:%d",
+            getSegments(),
+            getVisited(),
+            getFilterRejections(),
+            getListsProbed(),
+            getDistanceComputations(),
+            getHops()
+        );
+    }
+}
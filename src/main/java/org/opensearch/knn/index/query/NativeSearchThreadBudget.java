@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.opensearch.knn.index.KNNSettings;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Node level budget of the threads native searches use on top of their search thread. The native search of a segment
+ * of an index setting index.knn.advanced.search_threads above 1 takes the threads it needs beyond its search thread from
+ * the budget, knn.query.native_thread_budget, and gives them back once the search completes.
+ *
+ * <p>
+ * Searches never wait for threads: a search gets whatever is left of the budget, down to its search thread only, so
+ * batch queries use idle cores without delaying interactive ones.
+ * </p>
+ */
+public final class NativeSearchThreadBudget {
+
+    private static final NativeSearchThreadBudget INSTANCE = new NativeSearchThreadBudget(KNNSettings::getQueryNativeThreadBudget);
+
+    private final IntSupplier budgetSupplier;
+    private int usedThreads;
+
+    public static NativeSearchThreadBudget getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    NativeSearchThreadBudget(final IntSupplier budgetSupplier) {
+        this.budgetSupplier = budgetSupplier;
+    }
+
+    /**
+     * Takes the threads of a search from the budget. Every call must be followed by a call to {@link #release(int)} with
+     * the returned number of threads.
+     *
+     * @param requestedThreads number of threads the search asks for, its search thread included
+     * @return number of threads granted to the search, its search thread included, between 1 and requestedThreads
+     */
+    public int acquire(final int requestedThreads) {
+        if (requestedThreads <= 1) {
+            return 1;
+        }
+        final int budget = budgetSupplier.getAsInt();
+        synchronized (this) {
+            final int extraThreads = Math.max(0, Math.min(requestedThreads - 1, budget - usedThreads));
+            usedThreads += extraThreads;
+            return 1 + extraThreads;
+        }
+    }
+
+    /**
+     * Gives the threads of a completed search back to the budget.
+     *
+     * @param grantedThreads number of threads returned by {@link #acquire(int)}
+     */
+    public void release(final int grantedThreads) {
+        if (grantedThreads <= 1) {
+            return;
+        }
+        synchronized (this) {
+            usedThreads -= grantedThreads - 1;
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getUsedThreads() {
+        return usedThreads;
+    }
+}
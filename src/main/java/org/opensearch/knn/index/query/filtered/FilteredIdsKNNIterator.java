@@ -31,6 +31,7 @@ public class FilteredIdsKNNIterator implements KNNIterator {
     protected final SpaceType spaceType;
     protected float currentScore = Float.NEGATIVE_INFINITY;
     protected int docId;
+    private float[] reusableVector;
 
     public FilteredIdsKNNIterator(
         final BitSet filterIdsBitSet,
@@ -72,7 +73,9 @@ public class FilteredIdsKNNIterator implements KNNIterator {
     protected float computeScore() throws IOException {
         final BytesRef value = binaryDocValues.binaryValue();
         final KNNVectorSerializer vectorSerializer = KNNVectorSerializerFactory.getSerializerByBytesRef(value);
-        final float[] vector = vectorSerializer.byteToFloatArray(value);
+        // The vector is only needed to compute the score, so the same array is reused for every doc
+        final float[] vector = vectorSerializer.byteToFloatArray(value, reusableVector);
+        reusableVector = vector;
         // Calculates a similarity score between the two vectors with a specified function. Higher similarity
         // scores correspond to closer vectors.
         return spaceType.getKnnVectorSimilarityFunction().compare(queryVector, vector);
@@ -14,6 +14,7 @@ import org.apache.lucene.search.QueryVisitor;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
+import org.opensearch.knn.index.query.NativeQueryStats;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -31,13 +32,27 @@ final class DocAndScoreQuery extends Query {
     private final float[] scores;
     private final int[] segmentStarts;
     private final Object contextIdentity;
+    // Statistics of the native searches that found the docs, shown in the profile output when collected
+    private final NativeQueryStats nativeQueryStats;
 
     DocAndScoreQuery(int k, int[] docs, float[] scores, int[] segmentStarts, Object contextIdentity) {
+        this(k, docs, scores, segmentStarts, contextIdentity, null);
+    }
+
+    DocAndScoreQuery(
+        int k,
+        int[] docs,
+        float[] scores,
+        int[] segmentStarts,
+        Object contextIdentity,
+        NativeQueryStats nativeQueryStats
+    ) {
         this.k = k;
         this.docs = docs;
         this.scores = scores;
         this.segmentStarts = segmentStarts;
         this.contextIdentity = contextIdentity;
+        this.nativeQueryStats = nativeQueryStats;
     }
 
     @Override
@@ -160,7 +175,8 @@ final class DocAndScoreQuery extends Query {
 
     @Override
     public String toString(String field) {
-        return "DocAndScore[" + k + "][docs:" + Arrays.toString(docs) + ", scores:" + Arrays.toString(scores) + "]";
+        final String description = "DocAndScore[" + k + "][docs:" + Arrays.toString(docs) + ", scores:" + Arrays.toString(scores) + "]";
+        return nativeQueryStats == null ? description : description + "[native_stats:" + nativeQueryStats + "]";
     }
 
     @Override
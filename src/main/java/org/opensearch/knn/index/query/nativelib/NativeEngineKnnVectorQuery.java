@@ -20,6 +20,7 @@ import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.util.Bits;
 import org.opensearch.knn.index.query.KNNQuery;
 import org.opensearch.knn.index.query.KNNWeight;
+import org.opensearch.knn.index.query.NativeQueryStats;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -59,10 +60,10 @@ public class NativeEngineKnnVectorQuery extends Query {
         if (topK.scoreDocs.length == 0) {
             return new MatchNoDocsQuery();
         }
-        return createRewrittenQuery(reader, topK);
+        return createRewrittenQuery(reader, topK, knnWeight.getNativeQueryStats());
     }
 
-    private Query createRewrittenQuery(IndexReader reader, TopDocs topK) {
+    private Query createRewrittenQuery(IndexReader reader, TopDocs topK, NativeQueryStats nativeQueryStats) {
         int len = topK.scoreDocs.length;
         Arrays.sort(topK.scoreDocs, Comparator.comparingInt(a -> a.doc));
         int[] docs = new int[len];
@@ -72,7 +73,7 @@ public class NativeEngineKnnVectorQuery extends Query {
             scores[i] = topK.scoreDocs[i].score;
         }
         int[] segmentStarts = findSegmentStarts(reader, docs);
-        return new DocAndScoreQuery(knnQuery.getK(), docs, scores, segmentStarts, reader.getContext().id());
+        return new DocAndScoreQuery(knnQuery.getK(), docs, scores, segmentStarts, reader.getContext().id(), nativeQueryStats);
     }
 
     private static int[] findSegmentStarts(IndexReader reader, int[] docs) {
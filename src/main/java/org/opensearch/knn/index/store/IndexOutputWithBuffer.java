@@ -0,0 +1,37 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.store;
+
+import lombok.AllArgsConstructor;
+import org.apache.lucene.store.IndexOutput;
+
+import java.io.IOException;
+
+/**
+ * Wraps a Lucene {@link IndexOutput} so that native code can stream the serialized index into it. The native layer
+ * fills a byte array and hands it over through {@link #writeBytes(byte[], int)}, so the file goes through the
+ * {@link org.apache.lucene.store.Directory} (rate limiting, file tracking) and its checksum is computed as it is written.
+ */
+@AllArgsConstructor
+public class IndexOutputWithBuffer {
+    private final IndexOutput indexOutput;
+
+    /**
+     * Called from native code, the name and signature must stay in sync with jni_util.cpp.
+     *
+     * @param buffer bytes to write
+     * @param length number of bytes of the buffer to write, starting from offset 0
+     * @throws IOException if the bytes cannot be written
+     */
+    public void writeBytes(final byte[] buffer, final int length) throws IOException {
+        indexOutput.writeBytes(buffer, 0, length);
+    }
+
+    @Override
+    public String toString() {
+        return "{indexOutput=" + indexOutput + "}";
+    }
+}
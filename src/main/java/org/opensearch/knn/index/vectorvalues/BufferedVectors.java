@@ -0,0 +1,203 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.vectorvalues;
+
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Vectors buffered for a field until flush, stored by ordinal in pages of primitive docIds and vector references.
+ * Compared to a map keyed by docId, this avoids a boxed key and a map entry per vector, and growing the buffer never
+ * copies more than a single page. Vectors are added in increasing docId order, so the
+ * docId of an ordinal is found directly and the ordinal of a docId by binary search, which is what advancing to a
+ * given docId, e.g. when sampling vectors for quantization, needs.
+ *
+ * <p>
+ * The vector arrays themselves are not copied: they are the copies made by Lucene's flat vectors writer, which owns
+ * them and accounts for them, so they are not part of {@link #ramBytesUsed()}.
+ * </p>
+ *
+ * @param <T> float[] or byte[]
+ */
+public final class BufferedVectors<T> implements Accountable {
+    private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(BufferedVectors.class);
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private int[][] docIdPages = new int[0][];
+    private Object[][] vectorPages = new Object[0][];
+    private int size;
+
+    /**
+     * Buffers a vector. DocIds must be added in increasing order.
+     *
+     * @param docId docId of the vector
+     * @param vector float[] or byte[], must not be modified afterwards
+     */
+    public void add(final int docId, final T vector) {
+        assert size == 0 || docId > docId(size - 1);
+        final int page = size >>> PAGE_SHIFT;
+        final int offset = size & PAGE_MASK;
+        if (page == docIdPages.length) {
+            docIdPages = ArrayUtil.grow(docIdPages, page + 1);
+            vectorPages = ArrayUtil.grow(vectorPages, page + 1);
+        }
+        // Only the last page is allowed to be partially allocated, so fields with few vectors stay small
+        if (docIdPages[page] == null) {
+            final int length = Math.min(PAGE_SIZE, ArrayUtil.oversize(1, Integer.BYTES));
+            docIdPages[page] = new int[length];
+            vectorPages[page] = new Object[length];
+        } else if (offset == docIdPages[page].length) {
+            final int length = Math.min(PAGE_SIZE, ArrayUtil.oversize(offset + 1, Integer.BYTES));
+            docIdPages[page] = ArrayUtil.growExact(docIdPages[page], length);
+            vectorPages[page] = ArrayUtil.growExact(vectorPages[page], length);
+        }
+        docIdPages[page][offset] = docId;
+        vectorPages[page][offset] = vector;
+        size++;
+    }
+
+    /**
+     * @return number of buffered vectors
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param ord ordinal of a buffered vector
+     * @return docId of the vector
+     */
+    public int docId(final int ord) {
+        return docIdPages[ord >>> PAGE_SHIFT][ord & PAGE_MASK];
+    }
+
+    /**
+     * @param ord ordinal of a buffered vector
+     * @return the vector
+     */
+    @SuppressWarnings("unchecked")
+    public T vector(final int ord) {
+        return (T) vectorPages[ord >>> PAGE_SHIFT][ord & PAGE_MASK];
+    }
+
+    /**
+     * Finds the ordinal of the first vector whose docId is greater than or equal to the given docId.
+     *
+     * @param docId target docId
+     * @param fromOrd ordinal to start the search from
+     * @return ordinal, or {@link #size()} when all the docIds are smaller
+     */
+    public int ceilingOrdinal(final int docId, final int fromOrd) {
+        int low = fromOrd;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midDocId = docId(mid);
+            if (midDocId < docId) {
+                low = mid + 1;
+            } else if (midDocId > docId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param docId docId of a vector
+     * @return the vector of the docId, or null when the docId has no vector
+     */
+    public T get(final int docId) {
+        final int ord = ceilingOrdinal(docId, 0);
+        return ord < size && docId(ord) == docId ? vector(ord) : null;
+    }
+
+    /**
+     * Returns the buffered vectors under new docIds, e.g. the docIds of a sorted segment. The vectors are shared.
+     *
+     * @param docIdMap maps the current docId of a vector to its new docId
+     * @return {@link BufferedVectors} in increasing order of the new docIds
+     */
+    public BufferedVectors<T> remap(final IntUnaryOperator docIdMap) {
+        // Pack newDocId and ordinal in a long, so that sorting the longs sorts the ordinals by new docId
+        final long[] newDocIdAndOrd = new long[size];
+        for (int ord = 0; ord < size; ord++) {
+            newDocIdAndOrd[ord] = ((long) docIdMap.applyAsInt(docId(ord)) << 32) | ord;
+        }
+        Arrays.sort(newDocIdAndOrd);
+        final BufferedVectors<T> remapped = new BufferedVectors<>();
+        for (long value : newDocIdAndOrd) {
+            remapped.add((int) (value >>> 32), vector((int) value));
+        }
+        return remapped;
+    }
+
+    /**
+     * @return a new {@link Iterator} over the buffered vectors
+     */
+    public Iterator iterator() {
+        return new Iterator();
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        long ramBytesUsed = SHALLOW_SIZE + RamUsageEstimator.shallowSizeOf(docIdPages) + RamUsageEstimator.shallowSizeOf(vectorPages);
+        for (int page = 0; page < docIdPages.length && docIdPages[page] != null; page++) {
+            ramBytesUsed += RamUsageEstimator.sizeOf(docIdPages[page]) + RamUsageEstimator.shallowSizeOf(vectorPages[page]);
+        }
+        return ramBytesUsed;
+    }
+
+    /**
+     * {@link DocIdSetIterator} over the docIds of the buffered vectors, which also gives access to the vector of the
+     * current doc.
+     */
+    public final class Iterator extends DocIdSetIterator {
+        private int ord = -1;
+        private int docId = -1;
+
+        @Override
+        public int docID() {
+            return docId;
+        }
+
+        @Override
+        public int nextDoc() {
+            return moveTo(ord + 1);
+        }
+
+        @Override
+        public int advance(final int target) {
+            return moveTo(ceilingOrdinal(target, ord + 1));
+        }
+
+        @Override
+        public long cost() {
+            return size;
+        }
+
+        /**
+         * @return vector of the current doc
+         */
+        public T vector() {
+            return BufferedVectors.this.vector(ord);
+        }
+
+        private int moveTo(final int newOrd) {
+            ord = newOrd;
+            docId = ord < size ? docId(ord) : NO_MORE_DOCS;
+            return docId;
+        }
+    }
+}
@@ -5,10 +5,14 @@
 
 package org.opensearch.knn.index.vectorvalues;
 
+import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.DocsWithFieldSet;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.opensearch.knn.index.VectorDataType;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -27,6 +31,29 @@ public final class KNNVectorValuesFactory {
         return getVectorValues(vectorDataType, new KNNVectorValuesIterator.DocIdsIteratorValues(docIdSetIterator));
     }
 
+    /**
+     * Returns a {@link KNNVectorValues} over the vectors of a field of a segment, whether they are stored as vector
+     * values or as binary doc values.
+     *
+     * @param vectorDataType {@link VectorDataType}
+     * @param fieldInfo {@link FieldInfo} of the field
+     * @param leafReader {@link LeafReader} of the segment
+     * @return {@link KNNVectorValues}
+     */
+    public static <T> KNNVectorValues<T> getVectorValues(
+        final VectorDataType vectorDataType,
+        final FieldInfo fieldInfo,
+        final LeafReader leafReader
+    ) throws IOException {
+        if (fieldInfo.hasVectorValues() == false) {
+            return getVectorValues(vectorDataType, DocValues.getBinary(leafReader, fieldInfo.getName()));
+        }
+        if (VectorDataType.FLOAT == vectorDataType) {
+            return getVectorValues(vectorDataType, leafReader.getFloatVectorValues(fieldInfo.getName()));
+        }
+        return getVectorValues(vectorDataType, leafReader.getByteVectorValues(fieldInfo.getName()));
+    }
+
     /**
      * Returns a {@link KNNVectorValues} for the given {@link DocIdSetIterator} and a Map of docId and vectors.
      *
@@ -42,6 +69,17 @@ public final class KNNVectorValuesFactory {
         return getVectorValues(vectorDataType, new KNNVectorValuesIterator.FieldWriterIteratorValues<T>(docIdWithFieldSet, vectors));
     }
 
+    /**
+     * Returns a {@link KNNVectorValues} over the vectors buffered by a field writer.
+     *
+     * @param vectorDataType {@link VectorDataType}
+     * @param vectors {@link BufferedVectors}
+     * @return {@link KNNVectorValues} of type float[] or byte[]
+     */
+    public static <T> KNNVectorValues<T> getVectorValues(final VectorDataType vectorDataType, final BufferedVectors<T> vectors) {
+        return getVectorValues(vectorDataType, new KNNVectorValuesIterator.FieldWriterIteratorValues<T>(vectors));
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> KNNVectorValues<T> getVectorValues(
         final VectorDataType vectorDataType,
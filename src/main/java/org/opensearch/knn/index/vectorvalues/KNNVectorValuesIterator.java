@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * An abstract class that provides an iterator to iterate over KNNVectors, as KNNVectors are stored as different
@@ -138,12 +139,19 @@ public interface KNNVectorValuesIterator {
      */
     class FieldWriterIteratorValues<T> implements KNNVectorValuesIterator {
         private final DocIdSetIterator docIdSetIterator;
-        private final Map<Integer, T> vectors;
+        private final Supplier<T> vectorSupplier;
 
         FieldWriterIteratorValues(@NonNull final DocsWithFieldSet docsWithFieldSet, @NonNull final Map<Integer, T> vectors) {
             assert docsWithFieldSet.iterator().cost() == vectors.size();
-            this.vectors = vectors;
-            this.docIdSetIterator = docsWithFieldSet.iterator();
+            final DocIdSetIterator iterator = docsWithFieldSet.iterator();
+            this.docIdSetIterator = iterator;
+            this.vectorSupplier = () -> vectors.get(iterator.docID());
+        }
+
+        FieldWriterIteratorValues(@NonNull final BufferedVectors<T> vectors) {
+            final BufferedVectors<T>.Iterator iterator = vectors.iterator();
+            this.docIdSetIterator = iterator;
+            this.vectorSupplier = iterator::vector;
         }
 
         @Override
@@ -162,11 +170,11 @@ public interface KNNVectorValuesIterator {
         }
 
         /**
-         * Returns a Map of docId and vector.
-         * @return {@link Map}
+         * Returns the vector of the current doc.
+         * @return float[] or byte[]
          */
         public T vectorsValue() {
-            return vectors.get(docId());
+            return vectorSupplier.get();
         }
 
         @Override
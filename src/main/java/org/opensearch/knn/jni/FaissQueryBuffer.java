@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.jni;
+
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.query.KNNQueryResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Queries faiss indices through a direct buffer per search thread, enabled with knn.faiss.direct_buffer_query.enabled.
+ * The query vector is written to the buffer and the native layer writes the results right after it, so a query needs
+ * neither the copy of the query vector array in and out of the native layer nor an upcall per result to create its
+ * {@link KNNQueryResult}.
+ *
+ * <p>
+ * Layout of the buffer, in native byte order:
+ * <pre>
+ * | query vector: dimension floats | ids: k ints | distances: k floats |
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * Only k-NN queries on float vectors use the buffer. Radial, binary and byte queries, index loading and the transfer
+ * of vectors for index builds still go through the JNI arrays of {@link FaissService}.
+ * </p>
+ */
+final class FaissQueryBuffer {
+
+    private static final boolean ENABLED = KNNSettings.isFaissDirectBufferQueryEnabled();
+    private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<>();
+
+    private FaissQueryBuffer() {}
+
+    /**
+     * @return true if faiss queries on float vectors go through a direct buffer
+     */
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Query a faiss index with an optional filter.
+     *
+     * @param indexPointer pointer to index in memory
+     * @param queryVector vector to be used for query
+     * @param k neighbors to be returned
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
+     * @param filterIds list of doc ids to include in the query result, null for no filter
+     * @param filterIdsType how to filter ids: Batch or BitMap
+     * @param parentIds list of parent doc ids when the knn field is a nested field
+     * @return KNNQueryResult array of k neighbors
+     */
+    static KNNQueryResult[] queryIndex(
+        long indexPointer,
+        float[] queryVector,
+        int k,
+        int[] searchParameters,
+        long[] filterIds,
+        int filterIdsType,
+        int[] parentIds
+    ) {
+        final int idsOffset = Float.BYTES * queryVector.length;
+        final int distancesOffset = idsOffset + Integer.BYTES * k;
+        final ByteBuffer buffer = getBuffer(distancesOffset + Float.BYTES * k);
+        buffer.asFloatBuffer().put(queryVector);
+
+        final int resultSize = FaissService.queryIndexWithBuffer(
+            indexPointer,
+            buffer,
+            queryVector.length,
+            k,
+            searchParameters,
+            filterIds,
+            filterIdsType,
+            parentIds
+        );
+
+        final KNNQueryResult[] results = new KNNQueryResult[resultSize];
+        for (int i = 0; i < resultSize; i++) {
+            final int id = buffer.getInt(idsOffset + Integer.BYTES * i);
+            results[i] = new KNNQueryResult(id, buffer.getFloat(distancesOffset + Float.BYTES * i));
+        }
+        return results;
+    }
+
+    private static ByteBuffer getBuffer(final int capacity) {
+        ByteBuffer buffer = BUFFERS.get();
+        if (buffer == null || buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+            BUFFERS.set(buffer);
+        }
+        return buffer;
+    }
+}
@@ -14,7 +14,9 @@ package org.opensearch.knn.jni;
 import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.query.KNNQueryResult;
 import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.store.IndexOutputWithBuffer;
 
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Map;
@@ -77,6 +79,138 @@ class FaissService {
      */
     public static native void createBinaryIndex(int[] ids, long vectorsAddress, int dim, String indexPath, Map<String, Object> parameters);
 
+    /**
+     * Same as {@link #createIndex}, except that the index is streamed into the given output instead of a file.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vector to be indexed
+     * @param output output the index is written to
+     * @param parameters parameters to build index
+     */
+    public static native void createIndexToOutput(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        Map<String, Object> parameters
+    );
+
+    /**
+     * Same as {@link #createBinaryIndex}, except that the index is streamed into the given output instead of a file.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vector to be indexed
+     * @param output output the index is written to
+     * @param parameters parameters to build index
+     */
+    public static native void createBinaryIndexToOutput(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        Map<String, Object> parameters
+    );
+
+    /**
+     * Initialize an empty index that vectors can be added to in batches with {@link #insertToIndex}
+     *
+     * @param dim dimension of the vectors to be indexed
+     * @param parameters parameters to build index
+     * @return address of the initialized index
+     */
+    public static native long initIndex(int dim, Map<String, Object> parameters);
+
+    /**
+     * Initialize an empty binary index that vectors can be added to in batches with {@link #insertToBinaryIndex}
+     *
+     * @param dim dimension of the vectors to be indexed
+     * @param parameters parameters to build index
+     * @return address of the initialized index
+     */
+    public static native long initBinaryIndex(int dim, Map<String, Object> parameters);
+
+    /**
+     * Add a batch of vectors to an index created by {@link #initIndex}. Unlike createIndex, the memory occupied by the
+     * vectorsAddress is not freed, so the caller is responsible for freeing it.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vectors to be indexed
+     * @param indexAddress address of the index returned by initIndex
+     * @param threadCount number of threads to use for adding the vectors
+     */
+    public static native void insertToIndex(int[] ids, long vectorsAddress, int dim, long indexAddress, int threadCount);
+
+    /**
+     * Add a batch of binary vectors to an index created by {@link #initBinaryIndex}. Unlike createBinaryIndex, the memory
+     * occupied by the vectorsAddress is not freed, so the caller is responsible for freeing it.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vectors to be indexed
+     * @param indexAddress address of the index returned by initBinaryIndex
+     * @param threadCount number of threads to use for adding the vectors
+     */
+    public static native void insertToBinaryIndex(int[] ids, long vectorsAddress, int dim, long indexAddress, int threadCount);
+
+    /**
+     * Serialize an index created by {@link #initIndex} to disk. The index is freed by this call, even on failure.
+     *
+     * @param indexAddress address of the index returned by initIndex
+     * @param indexPath path to save index file to
+     * @param parameters parameters the index was initialized with
+     */
+    public static native void writeIndex(long indexAddress, String indexPath, Map<String, Object> parameters);
+
+    /**
+     * Serialize a binary index created by {@link #initBinaryIndex} to disk. The index is freed by this call, even on failure.
+     *
+     * @param indexAddress address of the index returned by initBinaryIndex
+     * @param indexPath path to save index file to
+     */
+    public static native void writeBinaryIndex(long indexAddress, String indexPath);
+
+    /**
+     * Same as {@link #writeIndex}, except that the index is streamed into the given output instead of a file.
+     *
+     * @param indexAddress address of the index returned by initIndex
+     * @param output output the index is written to
+     * @param parameters parameters the index was initialized with
+     */
+    public static native void writeIndexToOutput(long indexAddress, IndexOutputWithBuffer output, Map<String, Object> parameters);
+
+    /**
+     * Same as {@link #writeBinaryIndex}, except that the index is streamed into the given output instead of a file.
+     *
+     * @param indexAddress address of the index returned by initBinaryIndex
+     * @param output output the index is written to
+     */
+    public static native void writeBinaryIndexToOutput(long indexAddress, IndexOutputWithBuffer output);
+
+    /**
+     * Load an index from disk so that more vectors can be added to it with {@link #insertToIndex}. Every id of the
+     * loaded index is replaced with the value at that position in docIdMap. The index has to be released with
+     * {@link #writeIndex}.
+     *
+     * @param indexPath path of the index file
+     * @param docIdMap new id for every id of the index
+     * @return address of the loaded index
+     */
+    public static native long loadIndexForMerge(String indexPath, int[] docIdMap);
+
+    /**
+     * Load a binary index from disk so that more vectors can be added to it with {@link #insertToBinaryIndex}. Every
+     * id of the loaded index is replaced with the value at that position in docIdMap. The index has to be released
+     * with {@link #writeBinaryIndex}.
+     *
+     * @param indexPath path of the index file
+     * @param docIdMap new id for every id of the index
+     * @return address of the loaded index
+     */
+    public static native long loadBinaryIndexForMerge(String indexPath, int[] docIdMap);
+
     /**
      * Create an index for the native library with a provided template index
      *
@@ -115,6 +249,93 @@ class FaissService {
         Map<String, Object> parameters
     );
 
+    /**
+     * Same as {@link #createIndexFromTemplate}, except that the index is streamed into the given output instead of a file.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vector to be indexed
+     * @param output output the index is written to
+     * @param templateIndex empty template index
+     * @param parameters additional build time parameters
+     */
+    public static native void createIndexFromTemplateToOutput(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        byte[] templateIndex,
+        Map<String, Object> parameters
+    );
+
+    /**
+     * Same as {@link #createBinaryIndexFromTemplate}, except that the index is streamed into the given output instead of
+     * a file.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vector to be indexed
+     * @param output output the index is written to
+     * @param templateIndex empty template index
+     * @param parameters additional build time parameters
+     */
+    public static native void createBinaryIndexFromTemplateToOutput(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        byte[] templateIndex,
+        Map<String, Object> parameters
+    );
+
+    /**
+     * Deserialize a template index into memory, so that indices can be created from it without deserializing it again.
+     * The template index is freed with {@link #free}.
+     *
+     * @param templateIndex empty template index
+     * @return pointer to location in memory the template index resides in
+     */
+    public static native long loadTemplateIndex(byte[] templateIndex);
+
+    /**
+     * Same as {@link #createIndexFromTemplate}, except that the index is created from a copy of a template index loaded
+     * with {@link #loadTemplateIndex}.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vector to be indexed
+     * @param indexPath path to save index file to
+     * @param templateIndexPointer pointer to the loaded template index
+     * @param parameters additional build time parameters
+     */
+    public static native void createIndexFromTemplateIndex(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        String indexPath,
+        long templateIndexPointer,
+        Map<String, Object> parameters
+    );
+
+    /**
+     * Same as {@link #createIndexFromTemplateIndex}, except that the index is streamed into the given output instead of a file.
+     *
+     * @param ids array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim dimension of the vector to be indexed
+     * @param output output the index is written to
+     * @param templateIndexPointer pointer to the loaded template index
+     * @param parameters additional build time parameters
+     */
+    public static native void createIndexFromTemplateIndexToOutput(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        long templateIndexPointer,
+        Map<String, Object> parameters
+    );
+
     /**
      * Load an index into memory
      *
@@ -131,6 +352,26 @@ class FaissService {
      */
     public static native long loadBinaryIndex(String indexPath);
 
+    /**
+     * Determine if index was written without the storage of its vectors, see
+     * {@link KNNConstants#GRAPH_ONLY_STORAGE}.
+     *
+     * @param indexAddr address of index to be checked.
+     * @return true if the storage of the index has to be set with {@link #setIndexStorage}; false otherwise
+     */
+    public static native boolean isIndexStorageRequired(long indexAddr);
+
+    /**
+     * Restore the storage of an index written without it. The vectors are copied, so the memory occupied by the
+     * vectorsAddress is not freed by this call.
+     *
+     * @param indexAddr address of the index
+     * @param vectorsAddress address of native memory where the vectors of the index are stored
+     * @param dim dimension of the vectors
+     * @param ids id of every vector
+     */
+    public static native void setIndexStorage(long indexAddr, long vectorsAddress, int dim, int[] ids);
+
     /**
      * Determine if index contains shared state.
      *
@@ -167,7 +408,7 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @param methodParameters method parameter
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @param parentIds list of parent doc ids when the knn field is a nested field
      * @return KNNQueryResult array of k neighbors
      */
@@ -175,7 +416,7 @@ class FaissService {
         long indexPointer,
         float[] queryVector,
         int k,
-        Map<String, ?> methodParameters,
+        int[] searchParameters,
         int[] parentIds
     );
 
@@ -185,7 +426,7 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @param methodParameters method parameter
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @param filterIds list of doc ids to include in the query result
      * @param parentIds list of parent doc ids when the knn field is a nested field
      * @return KNNQueryResult array of k neighbors
@@ -194,19 +435,53 @@ class FaissService {
         long indexPointer,
         float[] queryVector,
         int k,
-        Map<String, ?> methodParameters,
+        int[] searchParameters,
         long[] filterIds,
         int filterIdsType,
         int[] parentIds
     );
 
+    /**
+     * Query an index with an optional filter, exchanging the query vector and the results through a direct buffer. See
+     * {@link FaissQueryBuffer} for its layout.
+     *
+     * @param indexPointer pointer to index in memory
+     * @param buffer direct buffer in native order holding the query vector, with room for the ids and distances of k results
+     * @param dimension dimension of the query vector
+     * @param k neighbors to be returned
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
+     * @param filterIds list of doc ids to include in the query result, null for no filter
+     * @param filterIdsType how to filter ids: Batch or BitMap
+     * @param parentIds list of parent doc ids when the knn field is a nested field
+     * @return number of results written to the buffer
+     */
+    public static native int queryIndexWithBuffer(
+        long indexPointer,
+        ByteBuffer buffer,
+        int dimension,
+        int k,
+        int[] searchParameters,
+        long[] filterIds,
+        int filterIdsType,
+        int[] parentIds
+    );
+
+    /**
+     * Copies the statistics of the last query of the calling thread, collected when its search parameters ask for them,
+     * see {@link NativeSearchParameters#COLLECT_STATS}. The statistics are, in order: the vectors visited, the visited
+     * vectors rejected by the filter, the inverted lists probed, the distances computed and the HNSW hops.
+     *
+     * @param stats array receiving the statistics
+     */
+    public static native void getQueryStats(long[] stats);
+
     /**
      * Query a binary index with filter
      *
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
-     * @param methodParameters method parameter
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @param filterIds list of doc ids to include in the query result
      * @param parentIds list of parent doc ids when the knn field is a nested field
      * @return KNNQueryResult array of k neighbors
@@ -215,7 +490,7 @@ class FaissService {
         long indexPointer,
         byte[] queryVector,
         int k,
-        Map<String, ?> methodParameters,
+        int[] searchParameters,
         long[] filterIds,
         int filterIdsType,
         int[] parentIds
@@ -268,6 +543,40 @@ class FaissService {
      */
     public static native byte[] trainIndex(Map<String, Object> indexParameters, int dimension, long trainVectorsPointer);
 
+    /**
+     * Create an empty index to be trained by streaming its training vectors, batch by batch, with mini-batch k-means.
+     * Only IVF indices with a flat or PQ encoder can be trained by streaming.
+     *
+     * @param indexParameters parameters used to build index
+     * @param dimension dimension for the index
+     * @return pointer to the streaming trainer, to be passed to {@link #finishStreamingTraining} or {@link #freeStreamingTraining}
+     */
+    public static native long initStreamingTraining(Map<String, Object> indexParameters, int dimension);
+
+    /**
+     * Train the index of a streaming trainer on a batch of vectors
+     *
+     * @param trainerPointer pointer to the streaming trainer
+     * @param vectors vectors of the batch, one after the other
+     * @param numVectors number of vectors of the batch
+     */
+    public static native void addStreamingTrainingVectors(long trainerPointer, float[] vectors, int numVectors);
+
+    /**
+     * Complete the training of a streaming trainer and free it
+     *
+     * @param trainerPointer pointer to the streaming trainer
+     * @return bytes array of trained template index
+     */
+    public static native byte[] finishStreamingTraining(long trainerPointer);
+
+    /**
+     * Free a streaming trainer whose training does not complete
+     *
+     * @param trainerPointer pointer to the streaming trainer
+     */
+    public static native void freeStreamingTraining(long trainerPointer);
+
     /**
      * Train an empty binary index
      *
@@ -297,7 +606,7 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param radius search within radius threshold
-     * @param methodParameters parameters to be used for the query
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @param indexMaxResultWindow maximum number of results to return
      * @param filteredIds list of doc ids to include in the query result
      * @param filterIdsType type of filter ids
@@ -308,7 +617,7 @@ class FaissService {
         long indexPointer,
         float[] queryVector,
         float radius,
-        Map<String, ?> methodParameters,
+        int[] searchParameters,
         int indexMaxResultWindow,
         long[] filteredIds,
         int filterIdsType,
@@ -321,7 +630,7 @@ class FaissService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param radius search within radius threshold
-     * @param methodParameters parameters to be used for the query
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @param indexMaxResultWindow maximum number of results to return
      * @param parentIds list of parent doc ids when the knn field is a nested field
      * @return KNNQueryResult array of neighbors within radius
@@ -330,7 +639,7 @@ class FaissService {
         long indexPointer,
         float[] queryVector,
         float radius,
-        Map<String, ?> methodParameters,
+        int[] searchParameters,
         int indexMaxResultWindow,
         int[] parentIds
     );
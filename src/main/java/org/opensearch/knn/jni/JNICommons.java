@@ -13,6 +13,7 @@ package org.opensearch.knn.jni;
 
 import org.opensearch.knn.common.KNNConstants;
 
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
@@ -66,6 +67,42 @@ public class JNICommons {
      */
     public static native long storeByteVectorData(long memoryAddress, byte[][] data, long initialCapacity);
 
+    /**
+     * Same as {@link JNICommons#storeVectorData(long, float[][], long)}, except that the floats are copied in bulk from
+     * a direct buffer instead of being read vector by vector from a 2D Java array. The buffer must hold at least
+     * numElements floats in native byte order, starting at position 0.
+     *
+     * <p>
+     *   The function is not threadsafe. If multiple threads are trying to insert on same memory location, then it can
+     *   lead to data corruption.
+     * </p>
+     *
+     * @param memoryAddress The address of the memory location where data will be stored.
+     * @param buffer direct {@link ByteBuffer} containing the vectors one after the other.
+     * @param numElements number of floats to store.
+     * @param initialCapacity The initial capacity of the memory location.
+     * @return memory address where the data is stored.
+     */
+    public static native long storeVectorDataFromBuffer(long memoryAddress, ByteBuffer buffer, long numElements, long initialCapacity);
+
+    /**
+     * Same as {@link JNICommons#storeByteVectorData(long, byte[][], long)}, except that the bytes are copied in bulk
+     * from a direct buffer instead of being read vector by vector from a 2D Java array. The buffer must hold at least
+     * numElements bytes, starting at position 0.
+     *
+     * <p>
+     *   The function is not threadsafe. If multiple threads are trying to insert on same memory location, then it can
+     *   lead to data corruption.
+     * </p>
+     *
+     * @param memoryAddress The address of the memory location where data will be stored.
+     * @param buffer direct {@link ByteBuffer} containing the vectors one after the other.
+     * @param numElements number of bytes to store.
+     * @param initialCapacity The initial capacity of the memory location.
+     * @return memory address where the data is stored.
+     */
+    public static native long storeByteVectorDataFromBuffer(long memoryAddress, ByteBuffer buffer, long numElements, long initialCapacity);
+
     /**
      * Free up the memory allocated for the data stored in memory address. This function should be used with the memory
      * address returned by {@link JNICommons#storeVectorData(long, float[][], long)}
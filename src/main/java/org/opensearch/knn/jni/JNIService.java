@@ -13,10 +13,13 @@ package org.opensearch.knn.jni;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.opensearch.common.Nullable;
+import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.util.IndexUtil;
 import org.opensearch.knn.index.query.KNNQueryResult;
 import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.store.IndexOutputWithBuffer;
 
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -62,6 +65,158 @@ public class JNIService {
         throw new IllegalArgumentException(String.format("CreateIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Same as {@link #createIndex(int[], long, int, String, Map, KNNEngine)}, except that the index is streamed into the
+     * given output instead of a file. Only supported for faiss.
+     *
+     * @param ids        array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim        dimension of the vector to be indexed
+     * @param output     output the index is written to
+     * @param parameters parameters to build index
+     * @param knnEngine  engine to build index for
+     */
+    public static void createIndex(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        Map<String, Object> parameters,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.createBinaryIndexToOutput(ids, vectorsAddress, dim, output, parameters);
+            } else {
+                FaissService.createIndexToOutput(ids, vectorsAddress, dim, output, parameters);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(
+            String.format("CreateIndex to IndexOutput not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
+    /**
+     * Initialize an empty index that vectors can be added to in batches with
+     * {@link #insertToIndex(int[], long, int, Map, long, KNNEngine)}. Only supported for faiss.
+     *
+     * @param dim           dimension of vectors to be indexed
+     * @param parameters    parameters to build index
+     * @param knnEngine     engine to build index for
+     * @return address of the initialized index
+     */
+    public static long initIndex(int dim, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                return FaissService.initBinaryIndex(dim, parameters);
+            }
+            return FaissService.initIndex(dim, parameters);
+        }
+
+        throw new IllegalArgumentException(String.format("InitIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
+    /**
+     * Add a batch of vectors to an index created by {@link #initIndex(int, Map, KNNEngine)}. The memory occupied by the
+     * vectorsAddress is not freed by this call.
+     *
+     * @param ids            array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim            dimension of vectors to be indexed
+     * @param parameters     parameters the index was initialized with
+     * @param indexAddress   address of the index returned by initIndex
+     * @param knnEngine      engine to build index for
+     */
+    public static void insertToIndex(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        Map<String, Object> parameters,
+        long indexAddress,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine) {
+            int threadCount = ((Number) parameters.getOrDefault(KNNConstants.INDEX_THREAD_QTY, 0)).intValue();
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.insertToBinaryIndex(ids, vectorsAddress, dim, indexAddress, threadCount);
+            } else {
+                FaissService.insertToIndex(ids, vectorsAddress, dim, indexAddress, threadCount);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(String.format("InsertToIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
+    /**
+     * Serialize an index created by {@link #initIndex(int, Map, KNNEngine)}. The index is freed by this call, even on
+     * failure, so the indexAddress must not be used afterwards.
+     *
+     * @param indexPath     path to save index file to
+     * @param indexAddress  address of the index returned by initIndex
+     * @param parameters    parameters the index was initialized with
+     * @param knnEngine     engine to build index for
+     */
+    public static void writeIndex(String indexPath, long indexAddress, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.writeBinaryIndex(indexAddress, indexPath);
+            } else {
+                FaissService.writeIndex(indexAddress, indexPath, parameters);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(String.format("WriteIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
+    /**
+     * Same as {@link #writeIndex(String, long, Map, KNNEngine)}, except that the index is streamed into the given output
+     * instead of a file. The index is freed by this call, even on failure.
+     *
+     * @param output        output the index is written to
+     * @param indexAddress  address of the index returned by initIndex
+     * @param parameters    parameters the index was initialized with
+     * @param knnEngine     engine to build index for
+     */
+    public static void writeIndex(IndexOutputWithBuffer output, long indexAddress, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.writeBinaryIndexToOutput(indexAddress, output);
+            } else {
+                FaissService.writeIndexToOutput(indexAddress, output, parameters);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(String.format("WriteIndex not supported for provided engine : %s", knnEngine.getName()));
+    }
+
+    /**
+     * Load an existing index so that more vectors can be inserted into it with insertToIndex, replacing each of its ids
+     * with the value at that position in docIdMap. The index is released by writeIndex.
+     *
+     * @param indexPath     path of the index file to load
+     * @param docIdMap      new id for every id of the index
+     * @param parameters    parameters of the index
+     * @param knnEngine     engine of the index
+     * @return address of the loaded index
+     */
+    public static long loadIndexForMerge(String indexPath, int[] docIdMap, Map<String, Object> parameters, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                return FaissService.loadBinaryIndexForMerge(indexPath, docIdMap);
+            }
+            return FaissService.loadIndexForMerge(indexPath, docIdMap);
+        }
+
+        throw new IllegalArgumentException(
+            String.format("LoadIndexForMerge not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
     /**
      * Create an index for the native library with a provided template index
      *
@@ -97,6 +252,123 @@ public class JNIService {
         );
     }
 
+    /**
+     * Same as {@link #createIndexFromTemplate(int[], long, int, String, byte[], Map, KNNEngine)}, except that the index
+     * is streamed into the given output instead of a file.
+     *
+     * @param ids           array of ids mapping to the data passed in
+     * @param vectorsAddress address of native memory where vectors are stored
+     * @param dim           dimension of vectors to be indexed
+     * @param output        output the index is written to
+     * @param templateIndex empty template index
+     * @param parameters    parameters to build index
+     * @param knnEngine     engine to build index for
+     */
+    public static void createIndexFromTemplate(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        byte[] templateIndex,
+        Map<String, Object> parameters,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine) {
+            if (IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+                FaissService.createBinaryIndexFromTemplateToOutput(ids, vectorsAddress, dim, output, templateIndex, parameters);
+            } else {
+                FaissService.createIndexFromTemplateToOutput(ids, vectorsAddress, dim, output, templateIndex, parameters);
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException(
+            String.format("CreateIndexFromTemplate not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
+    /**
+     * Deserialize a template index into memory, so that indices can be created from it with
+     * {@link #createIndexFromTemplateIndex} without deserializing the template again. The template index is freed with
+     * {@link #free(long, KNNEngine)}.
+     *
+     * @param templateIndex empty template index
+     * @param knnEngine     engine the template index is for
+     * @return pointer to location in memory the template index resides in
+     */
+    public static long loadTemplateIndex(byte[] templateIndex, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            return FaissService.loadTemplateIndex(templateIndex);
+        }
+
+        throw new IllegalArgumentException(
+            String.format(Locale.ROOT, "LoadTemplateIndex not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
+    /**
+     * Same as {@link #createIndexFromTemplate(int[], long, int, String, byte[], Map, KNNEngine)}, except that the index
+     * is created from a copy of a template index loaded with {@link #loadTemplateIndex}. Binary template indices are not
+     * supported.
+     *
+     * @param ids                  array of ids mapping to the data passed in
+     * @param vectorsAddress       address of native memory where vectors are stored
+     * @param dim                  dimension of vectors to be indexed
+     * @param indexPath            path to save index file to
+     * @param templateIndexPointer pointer to the loaded template index
+     * @param parameters           parameters to build index
+     * @param knnEngine            engine to build index for
+     */
+    public static void createIndexFromTemplateIndex(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        String indexPath,
+        long templateIndexPointer,
+        Map<String, Object> parameters,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine && !IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+            FaissService.createIndexFromTemplateIndex(ids, vectorsAddress, dim, indexPath, templateIndexPointer, parameters);
+            return;
+        }
+
+        throw new IllegalArgumentException(
+            String.format(Locale.ROOT, "CreateIndexFromTemplateIndex not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
+    /**
+     * Same as {@link #createIndexFromTemplateIndex(int[], long, int, String, long, Map, KNNEngine)}, except that the
+     * index is streamed into the given output instead of a file.
+     *
+     * @param ids                  array of ids mapping to the data passed in
+     * @param vectorsAddress       address of native memory where vectors are stored
+     * @param dim                  dimension of vectors to be indexed
+     * @param output               output the index is written to
+     * @param templateIndexPointer pointer to the loaded template index
+     * @param parameters           parameters to build index
+     * @param knnEngine            engine to build index for
+     */
+    public static void createIndexFromTemplateIndex(
+        int[] ids,
+        long vectorsAddress,
+        int dim,
+        IndexOutputWithBuffer output,
+        long templateIndexPointer,
+        Map<String, Object> parameters,
+        KNNEngine knnEngine
+    ) {
+        if (KNNEngine.FAISS == knnEngine && !IndexUtil.isBinaryIndex(knnEngine, parameters)) {
+            FaissService.createIndexFromTemplateIndexToOutput(ids, vectorsAddress, dim, output, templateIndexPointer, parameters);
+            return;
+        }
+
+        throw new IllegalArgumentException(
+            String.format(Locale.ROOT, "CreateIndexFromTemplateIndex not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
     /**
      * Load an index into memory
      *
@@ -121,6 +393,42 @@ public class JNIService {
         throw new IllegalArgumentException(String.format("LoadIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Determine if index was written without the storage of its vectors, which then has to be restored with
+     * {@link #setIndexStorage(long, long, int, int[], KNNEngine)} before the index is searched. Only faiss indices can
+     * be written without storage. So for all other engines it will return false.
+     *
+     * @param indexAddr address of index to be checked.
+     * @param knnEngine engine
+     * @return true if the index requires its storage to be restored; false otherwise
+     */
+    public static boolean isIndexStorageRequired(long indexAddr, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            return FaissService.isIndexStorageRequired(indexAddr);
+        }
+
+        return false;
+    }
+
+    /**
+     * Restore the storage of an index written without it from the vectors of its segment. The vectors are copied, so
+     * the memory occupied by the vectorsAddress is not freed by this call.
+     *
+     * @param indexAddr      address of the index
+     * @param vectorsAddress address of native memory where the vectors are stored
+     * @param dim            dimension of the vectors
+     * @param ids            id of every vector
+     * @param knnEngine      engine of the index
+     */
+    public static void setIndexStorage(long indexAddr, long vectorsAddress, int dim, int[] ids, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            FaissService.setIndexStorage(indexAddr, vectorsAddress, dim, ids);
+            return;
+        }
+
+        throw new IllegalArgumentException(String.format("SetIndexStorage not supported for provided engine : %s", knnEngine.getName()));
+    }
+
     /**
      * Determine if index contains shared state. Currently, we cannot do this in the plugin because we do not store the
      * model definition anywhere. Only faiss supports indices that have shared state. So for all other engines it will
@@ -178,7 +486,7 @@ public class JNIService {
      * @param indexPointer      pointer to index in memory
      * @param queryVector       vector to be used for query
      * @param k                 neighbors to be returned
-     * @param methodParameters  method parameter
+     * @param searchParameters  parameters of the query, see {@link NativeSearchParameters}
      * @param knnEngine         engine to query index
      * @param filteredIds       array of ints on which should be used for search.
      * @param filterIdsType     how to filter ids: Batch or BitMap
@@ -188,14 +496,14 @@ public class JNIService {
         long indexPointer,
         float[] queryVector,
         int k,
-        @Nullable Map<String, ?> methodParameters,
+        @Nullable int[] searchParameters,
         KNNEngine knnEngine,
         long[] filteredIds,
         int filterIdsType,
         int[] parentIds
     ) {
         if (KNNEngine.NMSLIB == knnEngine) {
-            return NmslibService.queryIndex(indexPointer, queryVector, k, methodParameters);
+            return NmslibService.queryIndex(indexPointer, queryVector, k, searchParameters);
         }
 
         if (KNNEngine.FAISS == knnEngine) {
@@ -203,29 +511,57 @@ public class JNIService {
             // k-NN results are already returned. Otherwise, it's a filter case and we need to run search with
             // filterIds. FilterIds is coming as empty then its the case where we need to do search with Faiss engine
             // normally.
+            if (FaissQueryBuffer.isEnabled()) {
+                return FaissQueryBuffer.queryIndex(
+                    indexPointer,
+                    queryVector,
+                    k,
+                    searchParameters,
+                    ArrayUtils.isNotEmpty(filteredIds) ? filteredIds : null,
+                    filterIdsType,
+                    parentIds
+                );
+            }
             if (ArrayUtils.isNotEmpty(filteredIds)) {
                 return FaissService.queryIndexWithFilter(
                     indexPointer,
                     queryVector,
                     k,
-                    methodParameters,
+                    searchParameters,
                     filteredIds,
                     filterIdsType,
                     parentIds
                 );
             }
-            return FaissService.queryIndex(indexPointer, queryVector, k, methodParameters, parentIds);
+            return FaissService.queryIndex(indexPointer, queryVector, k, searchParameters, parentIds);
         }
         throw new IllegalArgumentException(String.format("QueryIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Copies the statistics of the last query of the calling thread on a float index, when its search parameters ask
+     * for them, see {@link NativeSearchParameters#COLLECT_STATS}.
+     *
+     * @param stats     array receiving the visited vectors, the filter rejections, the inverted lists probed, the distance
+     *                  computations and the HNSW hops
+     * @param knnEngine engine of the index queried
+     * @return true if the engine collects query statistics, which nmslib does not
+     */
+    public static boolean getQueryStats(long[] stats, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            FaissService.getQueryStats(stats);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Query a binary index
      *
      * @param indexPointer      pointer to index in memory
      * @param queryVector       vector to be used for query
      * @param k                 neighbors to be returned
-     * @param methodParameters  method parameter
+     * @param searchParameters  parameters of the query, see {@link NativeSearchParameters}
      * @param knnEngine         engine to query index
      * @param filteredIds       array of ints on which should be used for search.
      * @param filterIdsType     how to filter ids: Batch or BitMap
@@ -235,7 +571,7 @@ public class JNIService {
         long indexPointer,
         byte[] queryVector,
         int k,
-        @Nullable Map<String, ?> methodParameters,
+        @Nullable int[] searchParameters,
         KNNEngine knnEngine,
         long[] filteredIds,
         int filterIdsType,
@@ -246,7 +582,7 @@ public class JNIService {
                 indexPointer,
                 queryVector,
                 k,
-                methodParameters,
+                searchParameters,
                 ArrayUtils.isEmpty(filteredIds) ? null : filteredIds,
                 filterIdsType,
                 parentIds
@@ -322,6 +658,55 @@ public class JNIService {
         throw new IllegalArgumentException(String.format("TrainIndex not supported for provided engine : %s", knnEngine.getName()));
     }
 
+    /**
+     * Create an empty index to be trained by streaming its training vectors, batch by batch, see
+     * {@link #addStreamingTrainingVectors}. Only faiss IVF indices with a flat or PQ encoder can be trained by streaming.
+     *
+     * @param indexParameters parameters used to build index
+     * @param dimension       dimension for the index
+     * @param knnEngine       engine to perform the training
+     * @return pointer to the streaming trainer
+     */
+    public static long initStreamingTraining(Map<String, Object> indexParameters, int dimension, KNNEngine knnEngine) {
+        if (KNNEngine.FAISS == knnEngine) {
+            return FaissService.initStreamingTraining(indexParameters, dimension);
+        }
+
+        throw new IllegalArgumentException(
+            String.format(Locale.ROOT, "Streaming training not supported for provided engine : %s", knnEngine.getName())
+        );
+    }
+
+    /**
+     * Train the index of a streaming trainer on a batch of vectors
+     *
+     * @param trainerPointer pointer to the streaming trainer
+     * @param vectors        vectors of the batch, one after the other
+     * @param numVectors     number of vectors of the batch
+     */
+    public static void addStreamingTrainingVectors(long trainerPointer, float[] vectors, int numVectors) {
+        FaissService.addStreamingTrainingVectors(trainerPointer, vectors, numVectors);
+    }
+
+    /**
+     * Complete the training of a streaming trainer and free it
+     *
+     * @param trainerPointer pointer to the streaming trainer
+     * @return bytes array of trained template index
+     */
+    public static byte[] finishStreamingTraining(long trainerPointer) {
+        return FaissService.finishStreamingTraining(trainerPointer);
+    }
+
+    /**
+     * Free a streaming trainer whose training does not complete
+     *
+     * @param trainerPointer pointer to the streaming trainer
+     */
+    public static void freeStreamingTraining(long trainerPointer) {
+        FaissService.freeStreamingTraining(trainerPointer);
+    }
+
     /**
      * <p>
      *  The function is deprecated. Use {@link JNICommons#storeVectorData(long, float[][], long)}
@@ -343,7 +728,7 @@ public class JNIService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param radius search within radius threshold
-     * @param methodParameters parameters to be used when loading index
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @param knnEngine engine to query index
      * @param indexMaxResultWindow maximum number of results to return
      * @param filteredIds list of doc ids to include in the query result
@@ -355,7 +740,7 @@ public class JNIService {
         long indexPointer,
         float[] queryVector,
         float radius,
-        @Nullable Map<String, ?> methodParameters,
+        @Nullable int[] searchParameters,
         KNNEngine knnEngine,
         int indexMaxResultWindow,
         long[] filteredIds,
@@ -368,14 +753,14 @@ public class JNIService {
                     indexPointer,
                     queryVector,
                     radius,
-                    methodParameters,
+                    searchParameters,
                     indexMaxResultWindow,
                     filteredIds,
                     filterIdsType,
                     parentIds
                 );
             }
-            return FaissService.rangeSearchIndex(indexPointer, queryVector, radius, methodParameters, indexMaxResultWindow, parentIds);
+            return FaissService.rangeSearchIndex(indexPointer, queryVector, radius, searchParameters, indexMaxResultWindow, parentIds);
         }
         throw new IllegalArgumentException("RadiusQueryIndex not supported for provided engine");
     }
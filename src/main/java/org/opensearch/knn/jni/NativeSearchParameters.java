@@ -0,0 +1,94 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.jni;
+
+import org.opensearch.common.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_SEARCH;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NPROBES;
+
+/**
+ * Encodes the method parameters of a query as the int array the native query methods take, every parameter at a fixed
+ * position and {@link #UNSET} when the query does not set it. Reading an int array in the native layer is a single JNI
+ * call, while reading a Java map takes several calls per entry, so queries resolve their parameters once in Java and
+ * pass the same array to the search of every segment.
+ *
+ * <p>
+ * The positions must match the ones of the native layer, see commons.h.
+ * </p>
+ */
+public final class NativeSearchParameters {
+    public static final int EF_SEARCH = 0;
+    public static final int NPROBES = 1;
+    // 1 to collect the statistics of the query, see JNIService#getQueryStats
+    public static final int COLLECT_STATS = 2;
+    // Number of threads the search of a segment may use, see NativeSearchThreadBudget
+    public static final int THREADS = 3;
+    public static final int UNSET = -1;
+    private static final int SIZE = 4;
+
+    private NativeSearchParameters() {}
+
+    /**
+     * @param methodParameters method parameters of a query
+     * @return search parameters of the query, or null when the query has no method parameters
+     */
+    public static int[] encode(@Nullable final Map<String, ?> methodParameters) {
+        return encode(methodParameters, false);
+    }
+
+    /**
+     * @param methodParameters method parameters of a query
+     * @param collectStats whether the native layer collects the statistics of the query
+     * @return search parameters of the query, or null when the query has no method parameters and collects no statistics
+     */
+    public static int[] encode(@Nullable final Map<String, ?> methodParameters, final boolean collectStats) {
+        final boolean hasMethodParameters = methodParameters != null && methodParameters.isEmpty() == false;
+        if (hasMethodParameters == false && collectStats == false) {
+            return null;
+        }
+        final int[] searchParameters = new int[SIZE];
+        Arrays.fill(searchParameters, UNSET);
+        if (hasMethodParameters) {
+            set(searchParameters, EF_SEARCH, methodParameters.get(METHOD_PARAMETER_EF_SEARCH));
+            set(searchParameters, NPROBES, methodParameters.get(METHOD_PARAMETER_NPROBES));
+        }
+        if (collectStats) {
+            searchParameters[COLLECT_STATS] = 1;
+        }
+        return searchParameters;
+    }
+
+    /**
+     * @param searchParameters search parameters of a query, may be null
+     * @param threads number of threads granted to the search of a segment
+     * @return the search parameters when the search runs on the calling thread only, otherwise a copy of them that
+     * lets the search use the granted threads
+     */
+    public static int[] withThreads(@Nullable final int[] searchParameters, final int threads) {
+        if (threads <= 1) {
+            return searchParameters;
+        }
+        final int[] withThreads;
+        if (searchParameters == null) {
+            withThreads = new int[SIZE];
+            Arrays.fill(withThreads, UNSET);
+        } else {
+            withThreads = Arrays.copyOf(searchParameters, SIZE);
+        }
+        withThreads[THREADS] = threads;
+        return withThreads;
+    }
+
+    private static void set(final int[] searchParameters, final int position, final Object value) {
+        if (value instanceof Number) {
+            searchParameters[position] = ((Number) value).intValue();
+        }
+    }
+}
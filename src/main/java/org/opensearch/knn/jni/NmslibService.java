@@ -67,9 +67,10 @@ class NmslibService {
      * @param indexPointer pointer to index in memory
      * @param queryVector vector to be used for query
      * @param k neighbors to be returned
+     * @param searchParameters parameters of the query, see {@link NativeSearchParameters}
      * @return KNNQueryResult array of k neighbors
      */
-    public static native KNNQueryResult[] queryIndex(long indexPointer, float[] queryVector, int k, Map<String, ?> methodParameters);
+    public static native KNNQueryResult[] queryIndex(long indexPointer, float[] queryVector, int k, int[] searchParameters);
 
     /**
      * Free native memory pointer
@@ -22,6 +22,9 @@ import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
 import org.opensearch.knn.index.query.parser.KNNQueryBuilderParser;
 import org.opensearch.knn.index.query.KNNWeight;
 import org.opensearch.knn.index.codec.KNNCodecService;
+import org.opensearch.knn.index.codec.nativeindex.DeferredIndexBuilder;
+import org.opensearch.knn.index.codec.nativeindex.IncrementalIndexBuildStrategy;
+import org.opensearch.knn.index.codec.nativeindex.MergeGraphBuildPolicy;
 import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
 import org.opensearch.knn.indices.ModelGraveyard;
 import org.opensearch.knn.indices.ModelCache;
@@ -58,14 +61,20 @@ import org.opensearch.common.settings.IndexScopedSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
+import org.opensearch.core.index.Index;
 import org.opensearch.index.IndexModule;
 import org.opensearch.index.IndexSettings;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason;
 import org.opensearch.index.mapper.Mapper;
 import org.opensearch.knn.plugin.transport.RemoveModelFromCacheAction;
 import org.opensearch.knn.plugin.transport.RemoveModelFromCacheTransportAction;
+import org.opensearch.knn.plugin.transport.SampleTrainingVectorsAction;
+import org.opensearch.knn.plugin.transport.SampleTrainingVectorsTransportAction;
 import org.opensearch.knn.plugin.transport.SearchModelAction;
 import org.opensearch.knn.plugin.transport.SearchModelTransportAction;
 import org.opensearch.knn.plugin.transport.TrainingJobRouteDecisionInfoAction;
@@ -111,6 +120,7 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import static java.util.Collections.singletonList;
+import static org.opensearch.knn.common.KNNConstants.GRAPH_BUILD_THREAD_POOL;
 import static org.opensearch.knn.common.KNNConstants.KNN_THREAD_POOL_PREFIX;
 import static org.opensearch.knn.common.KNNConstants.MODEL_INDEX_NAME;
 import static org.opensearch.knn.common.KNNConstants.TRAIN_THREAD_POOL;
@@ -206,6 +216,8 @@ public class KNNPlugin extends Plugin
         KNNVectorFieldMapperUtil.initialize(ModelDao.OpenSearchKNNModelDao.getInstance());
         KNNWeight.initialize(ModelDao.OpenSearchKNNModelDao.getInstance());
         TrainingModelRequest.initialize(ModelDao.OpenSearchKNNModelDao.getInstance(), clusterService);
+        IncrementalIndexBuildStrategy.initialize(threadPool);
+        DeferredIndexBuilder.initialize(threadPool);
 
         clusterService.addListener(TrainingJobClusterStateListener.getInstance());
 
@@ -269,7 +281,8 @@ public class KNNPlugin extends Plugin
             new ActionHandler<>(RemoveModelFromCacheAction.INSTANCE, RemoveModelFromCacheTransportAction.class),
             new ActionHandler<>(SearchModelAction.INSTANCE, SearchModelTransportAction.class),
             new ActionHandler<>(UpdateModelGraveyardAction.INSTANCE, UpdateModelGraveyardTransportAction.class),
-            new ActionHandler<>(ClearCacheAction.INSTANCE, ClearCacheTransportAction.class)
+            new ActionHandler<>(ClearCacheAction.INSTANCE, ClearCacheTransportAction.class),
+            new ActionHandler<>(SampleTrainingVectorsAction.INSTANCE, SampleTrainingVectorsTransportAction.class)
         );
     }
 
@@ -289,6 +302,12 @@ public class KNNPlugin extends Plugin
     @Override
     public void onIndexModule(IndexModule indexModule) {
         KNNSettings.state().onIndexModule(indexModule);
+        indexModule.addIndexEventListener(new IndexEventListener() {
+            @Override
+            public void afterIndexRemoved(Index index, IndexSettings indexSettings, IndexRemovalReason reason) {
+                MergeGraphBuildPolicy.getInstance().removeIndex(index.getName());
+            }
+        });
     }
 
     /**
@@ -325,7 +344,24 @@ public class KNNPlugin extends Plugin
 
     @Override
     public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
-        return ImmutableList.of(new FixedExecutorBuilder(settings, TRAIN_THREAD_POOL, 1, 1, KNN_THREAD_POOL_PREFIX, false));
+        return ImmutableList.of(
+            new FixedExecutorBuilder(
+                settings,
+                TRAIN_THREAD_POOL,
+                KNNSettings.KNN_TRAINING_MAX_CONCURRENT_JOBS_SETTING.get(settings),
+                1,
+                KNN_THREAD_POOL_PREFIX,
+                false
+            ),
+            new FixedExecutorBuilder(
+                settings,
+                GRAPH_BUILD_THREAD_POOL,
+                Math.max(1, OpenSearchExecutors.allocatedProcessors(settings) / 2),
+                -1,
+                KNN_THREAD_POOL_PREFIX,
+                false
+            )
+        );
     }
 
     @Override
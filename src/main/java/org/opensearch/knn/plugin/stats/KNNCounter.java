@@ -26,7 +26,12 @@ public enum KNNCounter {
     MIN_SCORE_QUERY_REQUESTS("min_score_query_requests"),
     MIN_SCORE_QUERY_WITH_FILTER_REQUESTS("min_score_query_with_filter_requests"),
     MAX_DISTANCE_QUERY_REQUESTS("max_distance_query_requests"),
-    MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS("max_distance_query_with_filter_requests");
+    MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS("max_distance_query_with_filter_requests"),
+    NATIVE_QUERY_VISITED("native_query_visited"),
+    NATIVE_QUERY_FILTER_REJECTIONS("native_query_filter_rejections"),
+    NATIVE_QUERY_LISTS_PROBED("native_query_lists_probed"),
+    NATIVE_QUERY_DISTANCE_COMPUTATIONS("native_query_distance_computations"),
+    NATIVE_QUERY_HOPS("native_query_hops");
 
     private String name;
     private AtomicLong count;
@@ -66,6 +71,15 @@ public enum KNNCounter {
         count.getAndIncrement();
     }
 
+    /**
+     * Increment the value of a counter by a specified amount
+     *
+     * @param delta The amount to increment
+     */
+    public void incrementBy(long delta) {
+        count.getAndAdd(delta);
+    }
+
     /**
      * @param value counter value
      * Set the value of a counter
@@ -14,13 +14,23 @@ public enum KNNGraphValue {
 
     REFRESH_TOTAL_OPERATIONS("total"),
     REFRESH_TOTAL_TIME_IN_MILLIS("total_time_in_millis"),
+    REFRESH_TOTAL_DOCS("total_docs"),
     MERGE_CURRENT_OPERATIONS("current"),
     MERGE_CURRENT_DOCS("current_docs"),
     MERGE_CURRENT_SIZE_IN_BYTES("current_size_in_bytes"),
     MERGE_TOTAL_OPERATIONS("total"),
     MERGE_TOTAL_TIME_IN_MILLIS("total_time_in_millis"),
     MERGE_TOTAL_DOCS("total_docs"),
-    MERGE_TOTAL_SIZE_IN_BYTES("total_size_in_bytes");
+    MERGE_TOTAL_SIZE_IN_BYTES("total_size_in_bytes"),
+    MERGE_TOTAL_DEFERRED_OPERATIONS("total_deferred"),
+    MERGE_TOTAL_DEFERRED_BUILDS("total_deferred_builds"),
+    BUILD_CURRENT_OPERATIONS("current"),
+    BUILD_CURRENT_THREADS("current_threads"),
+    BUILD_CURRENT_QUEUE_DEPTH("current_queue_depth"),
+    BUILD_TOTAL_OPERATIONS("total"),
+    BUILD_TOTAL_QUEUE_TIME_IN_MILLIS("total_queue_time_in_millis"),
+    BUILD_TOTAL_DEFERRED_OPERATIONS("total_deferred"),
+    BUILD_TOTAL_SKIPPED_OPERATIONS("total_skipped");
 
     private String name;
     private AtomicLong value;
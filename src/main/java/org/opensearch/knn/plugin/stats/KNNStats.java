@@ -31,6 +31,8 @@ import java.util.function.Supplier;
  */
 public class KNNStats {
 
+    private static final String MERGE_REBUILD_AMPLIFICATION = "rebuild_amplification";
+
     private final Map<String, KNNStat<?>> knnStats;
 
     /**
@@ -116,6 +118,22 @@ public class KNNStats {
                 StatNames.MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS.getName(),
                 new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS))
             );
+
+        // Native Query Stats, collected when knn.query.native_stats.enabled is set
+        builder.put(StatNames.NATIVE_QUERY_VISITED.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.NATIVE_QUERY_VISITED)))
+            .put(
+                StatNames.NATIVE_QUERY_FILTER_REJECTIONS.getName(),
+                new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.NATIVE_QUERY_FILTER_REJECTIONS))
+            )
+            .put(
+                StatNames.NATIVE_QUERY_LISTS_PROBED.getName(),
+                new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.NATIVE_QUERY_LISTS_PROBED))
+            )
+            .put(
+                StatNames.NATIVE_QUERY_DISTANCE_COMPUTATIONS.getName(),
+                new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.NATIVE_QUERY_DISTANCE_COMPUTATIONS))
+            )
+            .put(StatNames.NATIVE_QUERY_HOPS.getName(), new KNNStat<>(false, new KNNCounterSupplier(KNNCounter.NATIVE_QUERY_HOPS)));
     }
 
     private void addNativeMemoryStats(ImmutableMap.Builder<String, KNNStat<?>> builder) {
@@ -210,12 +228,37 @@ public class KNNStats {
         mergeMap.put(KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.getName(), KNNGraphValue.MERGE_TOTAL_TIME_IN_MILLIS.getValue());
         mergeMap.put(KNNGraphValue.MERGE_TOTAL_DOCS.getName(), KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
         mergeMap.put(KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getName(), KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
+        mergeMap.put(KNNGraphValue.MERGE_TOTAL_DEFERRED_OPERATIONS.getName(), KNNGraphValue.MERGE_TOTAL_DEFERRED_OPERATIONS.getValue());
+        mergeMap.put(KNNGraphValue.MERGE_TOTAL_DEFERRED_BUILDS.getName(), KNNGraphValue.MERGE_TOTAL_DEFERRED_BUILDS.getValue());
+        mergeMap.put(MERGE_REBUILD_AMPLIFICATION, getMergeRebuildAmplification());
         Map<String, Object> refreshMap = new HashMap<>();
         refreshMap.put(KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getName(), KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         refreshMap.put(KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getName(), KNNGraphValue.REFRESH_TOTAL_TIME_IN_MILLIS.getValue());
+        refreshMap.put(KNNGraphValue.REFRESH_TOTAL_DOCS.getName(), KNNGraphValue.REFRESH_TOTAL_DOCS.getValue());
+        Map<String, Object> buildMap = new HashMap<>();
+        buildMap.put(KNNGraphValue.BUILD_CURRENT_OPERATIONS.getName(), KNNGraphValue.BUILD_CURRENT_OPERATIONS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_CURRENT_THREADS.getName(), KNNGraphValue.BUILD_CURRENT_THREADS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.getName(), KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_OPERATIONS.getName(), KNNGraphValue.BUILD_TOTAL_OPERATIONS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_QUEUE_TIME_IN_MILLIS.getName(), KNNGraphValue.BUILD_TOTAL_QUEUE_TIME_IN_MILLIS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_DEFERRED_OPERATIONS.getName(), KNNGraphValue.BUILD_TOTAL_DEFERRED_OPERATIONS.getValue());
+        buildMap.put(KNNGraphValue.BUILD_TOTAL_SKIPPED_OPERATIONS.getName(), KNNGraphValue.BUILD_TOTAL_SKIPPED_OPERATIONS.getValue());
         Map<String, Map<String, Object>> graphStatsMap = new HashMap<>();
         graphStatsMap.put(StatNames.MERGE.getName(), mergeMap);
         graphStatsMap.put(StatNames.REFRESH.getName(), refreshMap);
+        graphStatsMap.put(StatNames.BUILD.getName(), buildMap);
         return graphStatsMap;
     }
+
+    /**
+     * Vectors inserted into graphs by merges per vector flushed, i.e. how many times a vector is rebuilt on average
+     * after it was first written. The in memory builds of deferred merges count as merges.
+     */
+    private static double getMergeRebuildAmplification() {
+        final long flushedDocs = KNNGraphValue.REFRESH_TOTAL_DOCS.getValue();
+        if (flushedDocs == 0) {
+            return 0;
+        }
+        return (double) KNNGraphValue.MERGE_TOTAL_DOCS.getValue() / flushedDocs;
+    }
 }
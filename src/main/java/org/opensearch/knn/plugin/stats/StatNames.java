@@ -45,10 +45,16 @@ public enum StatNames {
     GRAPH_STATS("graph_stats"),
     REFRESH("refresh"),
     MERGE("merge"),
+    BUILD("build"),
     MIN_SCORE_QUERY_REQUESTS(KNNCounter.MIN_SCORE_QUERY_REQUESTS.getName()),
     MIN_SCORE_QUERY_WITH_FILTER_REQUESTS(KNNCounter.MIN_SCORE_QUERY_WITH_FILTER_REQUESTS.getName()),
     MAX_DISTANCE_QUERY_REQUESTS(KNNCounter.MAX_DISTANCE_QUERY_REQUESTS.getName()),
-    MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS(KNNCounter.MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS.getName());
+    MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS(KNNCounter.MAX_DISTANCE_QUERY_WITH_FILTER_REQUESTS.getName()),
+    NATIVE_QUERY_VISITED(KNNCounter.NATIVE_QUERY_VISITED.getName()),
+    NATIVE_QUERY_FILTER_REJECTIONS(KNNCounter.NATIVE_QUERY_FILTER_REJECTIONS.getName()),
+    NATIVE_QUERY_LISTS_PROBED(KNNCounter.NATIVE_QUERY_LISTS_PROBED.getName()),
+    NATIVE_QUERY_DISTANCE_COMPUTATIONS(KNNCounter.NATIVE_QUERY_DISTANCE_COMPUTATIONS.getName()),
+    NATIVE_QUERY_HOPS(KNNCounter.NATIVE_QUERY_HOPS.getName());
 
     private String name;
 
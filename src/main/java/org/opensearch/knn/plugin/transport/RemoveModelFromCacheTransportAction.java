@@ -19,6 +19,8 @@ import org.opensearch.action.support.nodes.TransportNodesAction;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
 import org.opensearch.knn.indices.ModelCache;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
@@ -80,6 +82,9 @@ public class RemoveModelFromCacheTransportAction extends TransportNodesAction<
     protected RemoveModelFromCacheNodeResponse nodeOperation(RemoveModelFromCacheNodeRequest nodeRequest) {
         logger.debug("[KNN] Removing model \"" + nodeRequest.getModelId() + "\" on node \"" + clusterService.localNode().getId() + ".");
         ModelCache.getInstance().remove(nodeRequest.getModelId());
+        // The template index deserialized from the model blob is stale as well
+        NativeMemoryCacheManager.getInstance()
+            .invalidate(NativeMemoryEntryContext.ModelTemplateEntryContext.generateKey(nodeRequest.getModelId()));
         return new RemoveModelFromCacheNodeResponse(clusterService.localNode());
     }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.core.common.io.stream.Writeable;
+
+/**
+ * Action used to read a batch of training vectors from a shard, on the node holding the shard. It reads the data of the
+ * index, so it is an index read action and the read permissions of the index apply to it.
+ */
+public class SampleTrainingVectorsAction extends ActionType<SampleTrainingVectorsResponse> {
+
+    public static final String NAME = "indices:data/read/knn/sample_training_vectors";
+    public static final SampleTrainingVectorsAction INSTANCE = new SampleTrainingVectorsAction(NAME, SampleTrainingVectorsResponse::new);
+
+    /**
+     * Constructor.
+     *
+     * @param name name of action
+     * @param responseReader reader for SampleTrainingVectorsResponse response
+     */
+    public SampleTrainingVectorsAction(String name, Writeable.Reader<SampleTrainingVectorsResponse> responseReader) {
+        super(name, responseReader);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.single.shard.SingleShardRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.knn.index.KNNIndexShard;
+import org.opensearch.knn.training.VectorSampler;
+
+import java.io.IOException;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Request to read a batch of the training vectors of a shard, starting at a cursor returned by the previous batch. Only
+ * the vectors selected by the sampler, as left by the previous batch, are part of the batch.
+ */
+@Getter
+public class SampleTrainingVectorsRequest extends SingleShardRequest<SampleTrainingVectorsRequest> {
+
+    private final int shardId;
+    private final String fieldName;
+    private final int maxVectors;
+    private final KNNIndexShard.VectorCursor cursor;
+    private final VectorSampler sampler;
+    private final String preference;
+
+    /**
+     * Constructor
+     *
+     * @param indexName name of the index to read vectors from
+     * @param shardId id of the shard to read vectors from
+     * @param fieldName name of the field to read vectors from
+     * @param maxVectors maximum number of vectors of the batch
+     * @param cursor cursor returned by the previous batch, {@link KNNIndexShard.VectorCursor#START} for the first one
+     * @param sampler sampler returned by the previous batch
+     * @param preference preference routing all the batches of a shard to the same copy of the shard
+     */
+    public SampleTrainingVectorsRequest(
+        String indexName,
+        int shardId,
+        String fieldName,
+        int maxVectors,
+        KNNIndexShard.VectorCursor cursor,
+        VectorSampler sampler,
+        String preference
+    ) {
+        super(indexName);
+        this.shardId = shardId;
+        this.fieldName = fieldName;
+        this.maxVectors = maxVectors;
+        this.cursor = cursor;
+        this.sampler = sampler;
+        this.preference = preference;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param in input stream
+     * @throws IOException if read from stream fails
+     */
+    public SampleTrainingVectorsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.shardId = in.readVInt();
+        this.fieldName = in.readString();
+        this.maxVectors = in.readVInt();
+        this.cursor = new KNNIndexShard.VectorCursor(in);
+        this.sampler = new VectorSampler(in);
+        this.preference = in.readOptionalString();
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = validateNonNullIndex();
+        if (fieldName == null) {
+            validationException = addValidationError("field name is missing", validationException);
+        }
+        if (sampler == null) {
+            validationException = addValidationError("sampler is missing", validationException);
+        }
+        if (maxVectors <= 0) {
+            validationException = addValidationError("maxVectors must be > 0", validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(shardId);
+        out.writeString(fieldName);
+        out.writeVInt(maxVectors);
+        cursor.writeTo(out);
+        sampler.writeTo(out);
+        out.writeOptionalString(preference);
+    }
+}
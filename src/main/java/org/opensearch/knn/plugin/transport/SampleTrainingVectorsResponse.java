@@ -0,0 +1,105 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import lombok.Getter;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.knn.index.KNNIndexShard;
+import org.opensearch.knn.training.VectorSampler;
+
+import java.io.IOException;
+
+/**
+ * Batch of the training vectors of a shard. The vectors are packed one after the other in a single float array, so they
+ * are neither parsed from the source of the docs nor boxed on their way to the training node.
+ */
+@Getter
+public class SampleTrainingVectorsResponse extends ActionResponse {
+
+    private final int dimension;
+    private final float[] vectors;
+    // Cursor of the next batch of the shard, null when the shard has no more vectors
+    private final KNNIndexShard.VectorCursor nextCursor;
+    // Sampler of the next batch, that has seen the vectors of this one
+    private final VectorSampler sampler;
+    // Whether document or field level security applies to the request, in which case no vector is read from the shard
+    private final boolean restricted;
+
+    /**
+     * Constructor
+     *
+     * @param dimension dimension of the vectors, 0 when the batch is empty
+     * @param vectors vectors of the batch, one after the other
+     * @param nextCursor cursor of the next batch, null when the shard has no more vectors
+     * @param sampler sampler of the next batch
+     */
+    public SampleTrainingVectorsResponse(
+        int dimension,
+        float[] vectors,
+        KNNIndexShard.VectorCursor nextCursor,
+        VectorSampler sampler
+    ) {
+        this(dimension, vectors, nextCursor, sampler, false);
+    }
+
+    private SampleTrainingVectorsResponse(
+        int dimension,
+        float[] vectors,
+        KNNIndexShard.VectorCursor nextCursor,
+        VectorSampler sampler,
+        boolean restricted
+    ) {
+        this.dimension = dimension;
+        this.vectors = vectors;
+        this.nextCursor = nextCursor;
+        this.sampler = sampler;
+        this.restricted = restricted;
+    }
+
+    /**
+     * Response to a request that document or field level security applies to, the vectors have to be read through a
+     * search that applies it.
+     *
+     * @param sampler sampler of the request, left as is
+     * @return empty response
+     */
+    public static SampleTrainingVectorsResponse restricted(VectorSampler sampler) {
+        return new SampleTrainingVectorsResponse(0, new float[0], null, sampler, true);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param in input stream
+     * @throws IOException if read from stream fails
+     */
+    public SampleTrainingVectorsResponse(StreamInput in) throws IOException {
+        super(in);
+        this.dimension = in.readVInt();
+        this.vectors = in.readFloatArray();
+        this.nextCursor = in.readOptionalWriteable(KNNIndexShard.VectorCursor::new);
+        this.sampler = new VectorSampler(in);
+        this.restricted = in.readBoolean();
+    }
+
+    /**
+     * @return number of vectors of the batch
+     */
+    public int getVectorCount() {
+        return dimension == 0 ? 0 : vectors.length / dimension;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(dimension);
+        out.writeFloatArray(vectors);
+        out.writeOptionalWriteable(nextCursor);
+        sampler.writeTo(out);
+        out.writeBoolean(restricted);
+    }
+}
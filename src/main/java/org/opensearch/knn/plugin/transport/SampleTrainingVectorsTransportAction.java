@@ -0,0 +1,170 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.single.shard.TransportSingleShardAction;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.routing.ShardsIterator;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.knn.index.KNNIndexShard;
+import org.opensearch.knn.training.VectorSampler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a batch of the training vectors of a shard on a node holding a copy of the shard. The vectors are read from the
+ * vector values or binary doc values of the segments of the shard, see {@link KNNIndexShard#readFloatVectors}, instead
+ * of the source of the docs. All the batches of a read of a shard use the searcher acquired by its first batch, see
+ * {@link TrainingVectorsSearchers}.
+ * <p>
+ * Raw segment reads cannot apply document or field level security, so when the security plugin restricts the request
+ * no vector is read and the response tells the caller to read the vectors through a search instead.
+ */
+public class SampleTrainingVectorsTransportAction extends TransportSingleShardAction<
+    SampleTrainingVectorsRequest,
+    SampleTrainingVectorsResponse> {
+
+    // Thread context headers the security plugin sets when document level security, field level security or field
+    // masking applies to the request
+    private static final List<String> DLS_FLS_HEADERS = List.of(
+        "_opendistro_security_dls_query",
+        "_opendistro_security_dls_filter_level_query",
+        "_opendistro_security_fls_fields",
+        "_opendistro_security_masked_fields"
+    );
+
+    private final IndicesService indicesService;
+    private final TrainingVectorsSearchers searchers;
+
+    @Inject
+    public SampleTrainingVectorsTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        IndicesService indicesService,
+        ActionFilters actionFilters,
+        IndexNameExpressionResolver indexNameExpressionResolver
+    ) {
+        super(
+            SampleTrainingVectorsAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            indexNameExpressionResolver,
+            SampleTrainingVectorsRequest::new,
+            ThreadPool.Names.SEARCH
+        );
+        this.indicesService = indicesService;
+        this.searchers = new TrainingVectorsSearchers(threadPool::relativeTimeInMillis);
+        threadPool.scheduleWithFixedDelay(searchers::releaseExpired, TrainingVectorsSearchers.KEEP_ALIVE, ThreadPool.Names.GENERIC);
+    }
+
+    @Override
+    protected SampleTrainingVectorsResponse shardOperation(SampleTrainingVectorsRequest request, ShardId shardId) throws IOException {
+        if (request.getCursor().getReaderId() == null && isDocumentOrFieldLevelSecurityApplied()) {
+            return SampleTrainingVectorsResponse.restricted(request.getSampler());
+        }
+        final KNNIndexShard.VectorCursor cursor = request.getCursor().getReaderId() == null
+            ? request.getCursor().withReaderId(searchers.pin(getKNNIndexShard(shardId).acquireTrainingVectorsSearcher()))
+            : request.getCursor();
+        final VectorBatch batch = new VectorBatch(request.getMaxVectors());
+        // The request is not serialized when the shard is local
+        final VectorSampler sampler = request.getSampler().copy();
+        final KNNIndexShard.VectorCursor nextCursor;
+        try {
+            nextCursor = searchers.use(
+                cursor.getReaderId(),
+                searcher -> KNNIndexShard.readFloatVectors(
+                    searcher.getIndexReader(),
+                    request.getFieldName(),
+                    cursor,
+                    request.getMaxVectors(),
+                    sampler,
+                    batch::add
+                )
+            );
+        } catch (Exception e) {
+            searchers.release(cursor.getReaderId());
+            throw e;
+        }
+        if (nextCursor == null) {
+            searchers.release(cursor.getReaderId());
+        }
+        return new SampleTrainingVectorsResponse(batch.dimension, batch.toArray(), nextCursor, sampler);
+    }
+
+    private KNNIndexShard getKNNIndexShard(final ShardId shardId) {
+        return new KNNIndexShard(indicesService.indexServiceSafe(shardId.getIndex()).getShard(shardId.id()));
+    }
+
+    private boolean isDocumentOrFieldLevelSecurityApplied() {
+        final ThreadContext threadContext = threadPool.getThreadContext();
+        for (String header : DLS_FLS_HEADERS) {
+            if (threadContext.getHeader(header) != null || threadContext.getTransient(header) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Writeable.Reader<SampleTrainingVectorsResponse> getResponseReader() {
+        return SampleTrainingVectorsResponse::new;
+    }
+
+    @Override
+    protected boolean resolveIndex(SampleTrainingVectorsRequest request) {
+        return true;
+    }
+
+    @Override
+    protected ShardsIterator shards(ClusterState state, InternalRequest request) {
+        return clusterService.operationRouting()
+            .getShards(state, request.concreteIndex(), request.request().getShardId(), request.request().getPreference());
+    }
+
+    /**
+     * Packs the vectors of a batch one after the other
+     */
+    private static class VectorBatch {
+        private final int maxVectors;
+        private int dimension;
+        private float[] vectors;
+        private int size;
+
+        private VectorBatch(final int maxVectors) {
+            this.maxVectors = maxVectors;
+        }
+
+        private void add(final float[] vector) {
+            if (vectors == null) {
+                dimension = vector.length;
+                vectors = new float[maxVectors * dimension];
+            }
+            System.arraycopy(vector, 0, vectors, size, dimension);
+            size += dimension;
+        }
+
+        private float[] toArray() {
+            if (vectors == null) {
+                return new float[0];
+            }
+            return size == vectors.length ? vectors : Arrays.copyOf(vectors, size);
+        }
+    }
+}
@@ -18,17 +18,25 @@ import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.ToXContentFragment;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.knn.index.util.IndexUtil;
 
 import java.io.IOException;
 
 import static org.opensearch.knn.common.KNNConstants.TRAINING_JOB_COUNT_FIELD_NAME;
+import static org.opensearch.knn.common.KNNConstants.TRAINING_NODE_CAPACITY_KEY;
 
 /**
  * Node level response containing training job route decision info.
  */
 public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse implements ToXContentFragment {
 
+    // Nodes on versions before 3.0.0 run one training job at a time and do not report their free native memory
+    public static final int DEFAULT_MAX_TRAINING_JOB_COUNT = 1;
+    public static final long UNKNOWN_FREE_NATIVE_MEMORY = -1;
+
     private final Integer trainingJobCount;
+    private final int maxTrainingJobCount;
+    private final long freeNativeMemoryInKB;
 
     /**
      * Constructor
@@ -39,6 +47,13 @@ public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse i
     public TrainingJobRouteDecisionInfoNodeResponse(StreamInput in) throws IOException {
         super(in);
         this.trainingJobCount = in.readInt();
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(in.getVersion(), TRAINING_NODE_CAPACITY_KEY)) {
+            this.maxTrainingJobCount = in.readVInt();
+            this.freeNativeMemoryInKB = in.readLong();
+        } else {
+            this.maxTrainingJobCount = DEFAULT_MAX_TRAINING_JOB_COUNT;
+            this.freeNativeMemoryInKB = UNKNOWN_FREE_NATIVE_MEMORY;
+        }
     }
 
     /**
@@ -47,14 +62,37 @@ public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse i
      * @param node node
      */
     public TrainingJobRouteDecisionInfoNodeResponse(DiscoveryNode node, Integer trainingJobCount) {
+        this(node, trainingJobCount, DEFAULT_MAX_TRAINING_JOB_COUNT, UNKNOWN_FREE_NATIVE_MEMORY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param node node
+     * @param trainingJobCount number of training jobs running on the node
+     * @param maxTrainingJobCount maximum number of training jobs running at the same time on the node
+     * @param freeNativeMemoryInKB native memory left for new training jobs on the node
+     */
+    public TrainingJobRouteDecisionInfoNodeResponse(
+        DiscoveryNode node,
+        Integer trainingJobCount,
+        int maxTrainingJobCount,
+        long freeNativeMemoryInKB
+    ) {
         super(node);
         this.trainingJobCount = trainingJobCount;
+        this.maxTrainingJobCount = maxTrainingJobCount;
+        this.freeNativeMemoryInKB = freeNativeMemoryInKB;
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeInt(trainingJobCount);
+        if (IndexUtil.isVersionOnOrAfterMinRequiredVersion(out.getVersion(), TRAINING_NODE_CAPACITY_KEY)) {
+            out.writeVInt(maxTrainingJobCount);
+            out.writeLong(freeNativeMemoryInKB);
+        }
     }
 
     /**
@@ -66,6 +104,25 @@ public class TrainingJobRouteDecisionInfoNodeResponse extends BaseNodeResponse i
         return trainingJobCount;
     }
 
+    /**
+     * Getter for the maximum training job count
+     *
+     * @return The maximum number of training jobs running at the same time on the node
+     */
+    public int getMaxTrainingJobCount() {
+        return maxTrainingJobCount;
+    }
+
+    /**
+     * Getter for free native memory
+     *
+     * @return The native memory left for new training jobs on the node in KB, {@link #UNKNOWN_FREE_NATIVE_MEMORY} if
+     * the node does not report it
+     */
+    public long getFreeNativeMemoryInKB() {
+        return freeNativeMemoryInKB;
+    }
+
     /**
      * Add training job route decision info to xcontent builder
      *
@@ -82,6 +82,12 @@ public class TrainingJobRouteDecisionInfoTransportAction extends TransportNodesA
 
     @Override
     protected TrainingJobRouteDecisionInfoNodeResponse nodeOperation(TrainingJobRouteDecisionInfoNodeRequest request) {
-        return new TrainingJobRouteDecisionInfoNodeResponse(clusterService.localNode(), TrainingJobRunner.getInstance().getJobCount());
+        final TrainingJobRunner trainingJobRunner = TrainingJobRunner.getInstance();
+        return new TrainingJobRouteDecisionInfoNodeResponse(
+            clusterService.localNode(),
+            trainingJobRunner.getJobCount(),
+            trainingJobRunner.getMaxJobCount(),
+            trainingJobRunner.getFreeNativeMemoryInKB()
+        );
     }
 }
@@ -22,7 +22,9 @@ import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.ValidationException;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.training.StreamingTrainingDataConsumer;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportRequestOptions;
@@ -72,7 +74,7 @@ public class TrainingJobRouterTransportAction extends HandledTransportAction<Tra
             TrainingJobRouteDecisionInfoAction.INSTANCE,
             new TrainingJobRouteDecisionInfoRequest(),
             ActionListener.wrap(response -> {
-                DiscoveryNode node = selectNode(request.getPreferredNodeId(), response);
+                DiscoveryNode node = selectNode(request.getPreferredNodeId(), estimateJobMemoryInKB(request), response);
 
                 if (node == null) {
                     ValidationException exception = new ValidationException();
@@ -92,9 +94,20 @@ public class TrainingJobRouterTransportAction extends HandledTransportAction<Tra
         );
     }
 
-    protected DiscoveryNode selectNode(String preferredNode, TrainingJobRouteDecisionInfoResponse jobInfo) {
+    /**
+     * Selects the node to train on: the preferred node if it has training capacity, otherwise the node with training
+     * capacity that has the most free native memory. A node has training capacity if it runs fewer jobs than it can
+     * and the job fits in its free native memory. Nodes that do not report their free native memory come last.
+     *
+     * @param preferredNode id of the node preferred by the user, may be empty
+     * @param estimatedMemoryInKB native memory the job is expected to use in KB
+     * @param jobInfo training job route decision info of the nodes
+     * @return selected node, null if no node has training capacity
+     */
+    protected DiscoveryNode selectNode(String preferredNode, long estimatedMemoryInKB, TrainingJobRouteDecisionInfoResponse jobInfo) {
 
         DiscoveryNode selectedNode = null;
+        long selectedNodeFreeMemory = Long.MIN_VALUE;
 
         Map<String, DiscoveryNode> eligibleNodes = clusterService.state().nodes().getDataNodes();
         DiscoveryNode currentNode;
@@ -106,11 +119,20 @@ public class TrainingJobRouterTransportAction extends HandledTransportAction<Tra
                 continue;
             }
 
-            if (response.getTrainingJobCount() < 1) {
-                selectedNode = currentNode;
-                // Return right away if the user didnt pass a preferred node or this is the preferred node
-                if (StringUtils.isEmpty(preferredNode) || selectedNode.getId().equals(preferredNode)) {
-                    return selectedNode;
+            final long freeNativeMemoryInKB = response.getFreeNativeMemoryInKB();
+            if (freeNativeMemoryInKB != TrainingJobRouteDecisionInfoNodeResponse.UNKNOWN_FREE_NATIVE_MEMORY
+                && estimatedMemoryInKB > freeNativeMemoryInKB) {
+                continue;
+            }
+
+            if (response.getTrainingJobCount() < response.getMaxTrainingJobCount()) {
+                // Return right away if this is the preferred node
+                if (StringUtils.isNotEmpty(preferredNode) && currentNode.getId().equals(preferredNode)) {
+                    return currentNode;
+                }
+                if (freeNativeMemoryInKB > selectedNodeFreeMemory) {
+                    selectedNode = currentNode;
+                    selectedNodeFreeMemory = freeNativeMemoryInKB;
                 }
             }
         }
@@ -118,6 +140,26 @@ public class TrainingJobRouterTransportAction extends HandledTransportAction<Tra
         return selectedNode;
     }
 
+    /**
+     * Estimates the native memory the training job of a request uses, like {@link org.opensearch.knn.training.TrainingJob}
+     * does once it runs: its training data, or what the trainer works with if it trains by streaming, plus the model.
+     *
+     * @param request training request, with the size of its training data set
+     * @return estimated native memory of the job in KB
+     */
+    static long estimateJobMemoryInKB(TrainingModelRequest request) {
+        final long modelMemoryInKB = request.getKnnMethodContext().estimateOverheadInKB(request.getDimension());
+        if (StreamingTrainingDataConsumer.isSupported(request.getKnnMethodContext(), request.getVectorDataType())
+            && KNNSettings.isTrainingStreamingEnabled()) {
+            return StreamingTrainingDataConsumer.estimateNativeMemoryInKB(
+                request.getKnnMethodContext(),
+                request.getDimension(),
+                request.getSearchSize()
+            ) + modelMemoryInKB;
+        }
+        return request.getTrainingDataSizeInKB() + modelMemoryInKB;
+    }
+
     protected void getTrainingIndexSizeInKB(TrainingModelRequest trainingModelRequest, ActionListener<Integer> listener) {
         // For this function, I referred to the rest count action: https://github.com/opensearch-project/OpenSearch/
         // blob/main/server/src/main/java/org/opensearch/rest/action/search/RestCountAction.java
@@ -0,0 +1,142 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.log4j.Log4j2;
+import org.opensearch.common.CheckedFunction;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.engine.Engine;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Searchers the training vectors of shards are read from, one per read of a shard. A read is made of several batches,
+ * each one resuming from the cursor of the previous one, so the searcher is kept open between the batches for the
+ * segments not to change under the cursors. A searcher is released once every vector of the shard was read, or when no
+ * batch used it for {@link #KEEP_ALIVE}, like the context of a scroll, e.g. when the training job stopped reading.
+ */
+@Log4j2
+final class TrainingVectorsSearchers {
+
+    static final TimeValue KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final LongSupplier relativeTimeInMillis;
+    private final Map<String, PinnedSearcher> searchers = new ConcurrentHashMap<>();
+
+    TrainingVectorsSearchers(final LongSupplier relativeTimeInMillis) {
+        this.relativeTimeInMillis = relativeTimeInMillis;
+    }
+
+    /**
+     * Keeps a searcher open for the next batches of a read.
+     *
+     * @param searcher searcher of the shard
+     * @return id of the searcher
+     */
+    String pin(final Engine.Searcher searcher) {
+        final String id = UUIDs.randomBase64UUID();
+        searchers.put(id, new PinnedSearcher(searcher, relativeTimeInMillis.getAsLong()));
+        return id;
+    }
+
+    /**
+     * Reads from a pinned searcher. The searcher is not released while it is in use.
+     *
+     * @param id id of the searcher
+     * @param read read of the searcher
+     * @return result of the read
+     * @throws IOException if the read fails
+     */
+    <T> T use(final String id, final CheckedFunction<Engine.Searcher, T, IOException> read) throws IOException {
+        final PinnedSearcher pinnedSearcher = searchers.get(id);
+        if (pinnedSearcher == null) {
+            throw notFound(id);
+        }
+        synchronized (pinnedSearcher) {
+            if (pinnedSearcher.released) {
+                throw notFound(id);
+            }
+            try {
+                return read.apply(pinnedSearcher.searcher);
+            } finally {
+                pinnedSearcher.lastAccessTime = relativeTimeInMillis.getAsLong();
+            }
+        }
+    }
+
+    /**
+     * Releases a searcher once its read is done.
+     *
+     * @param id id of the searcher
+     */
+    void release(final String id) {
+        final PinnedSearcher pinnedSearcher = searchers.remove(id);
+        if (pinnedSearcher != null) {
+            pinnedSearcher.release();
+        }
+    }
+
+    /**
+     * Releases the searchers that no batch used for {@link #KEEP_ALIVE}.
+     */
+    void releaseExpired() {
+        final long now = relativeTimeInMillis.getAsLong();
+        final Iterator<PinnedSearcher> iterator = searchers.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().releaseIfIdle(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    int size() {
+        return searchers.size();
+    }
+
+    private static IllegalStateException notFound(final String id) {
+        return new IllegalStateException(String.format(Locale.ROOT, "Training vectors searcher [%s] not found, it may have expired", id));
+    }
+
+    private static final class PinnedSearcher {
+        private final Engine.Searcher searcher;
+        private long lastAccessTime;
+        private boolean released;
+
+        private PinnedSearcher(final Engine.Searcher searcher, final long lastAccessTime) {
+            this.searcher = searcher;
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        // Checked under the lock, so that a searcher in use by a batch is not released
+        private synchronized boolean releaseIfIdle(final long now) {
+            if (now - lastAccessTime < KEEP_ALIVE.millis()) {
+                return false;
+            }
+            release();
+            return true;
+        }
+
+        private synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                searcher.close();
+            } catch (Exception e) {
+                log.warn("Failed to release training vectors searcher", e);
+            }
+        }
+    }
+}
@@ -13,10 +13,13 @@ package org.opensearch.knn.training;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.knn.jni.JNICommons;
 import org.opensearch.knn.jni.JNIService;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.search.SearchHit;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +28,9 @@ import java.util.List;
  */
 public class FloatTrainingDataConsumer extends TrainingDataConsumer {
 
+    // Staging buffer of the packed vectors read from the shards, reused across batches
+    private ByteBuffer buffer;
+
     /**
      * Constructor
      *
@@ -64,4 +70,25 @@ public class FloatTrainingDataConsumer extends TrainingDataConsumer {
 
         accept(vectors);
     }
+
+    /**
+     * Transfers vectors packed one after the other, as read from the shards of the training index, to native memory in
+     * bulk, without boxing them.
+     *
+     * @param vectors vectors, one after the other
+     * @param dimension dimension of the vectors
+     * @param vectorsToAdd number of vectors to transfer, from the start of the array
+     */
+    public void processTrainingVectors(float[] vectors, int dimension, int vectorsToAdd) {
+        final int numElements = vectorsToAdd * dimension;
+        if (buffer == null || buffer.capacity() < numElements * Float.BYTES) {
+            buffer = ByteBuffer.allocateDirect(numElements * Float.BYTES).order(ByteOrder.nativeOrder());
+        }
+        buffer.clear();
+        buffer.asFloatBuffer().put(vectors, 0, numElements);
+        trainingDataAllocation.setMemoryAddress(
+            JNICommons.storeVectorDataFromBuffer(trainingDataAllocation.getMemoryAddress(), buffer, numElements, numElements)
+        );
+        setTotalVectorsCountAdded(getTotalVectorsCountAdded() + vectorsToAdd);
+    }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.lang.ArrayUtils;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.engine.KNNMethodContext;
+import org.opensearch.knn.index.engine.MethodComponentContext;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.opensearch.knn.common.KNNConstants.ENCODER_FLAT;
+import static org.opensearch.knn.common.KNNConstants.ENCODER_PARAMETER_PQ_CODE_SIZE;
+import static org.opensearch.knn.common.KNNConstants.ENCODER_PARAMETER_PQ_CODE_SIZE_DEFAULT;
+import static org.opensearch.knn.common.KNNConstants.ENCODER_PQ;
+import static org.opensearch.knn.common.KNNConstants.METHOD_ENCODER_PARAMETER;
+import static org.opensearch.knn.common.KNNConstants.METHOD_IVF;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NLIST;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NLIST_DEFAULT;
+
+/**
+ * Hands the float training vectors over to a native streaming trainer batch by batch, as they are read, instead of
+ * transferring all of them to native memory first, see {@link org.opensearch.knn.jni.JNIService#initStreamingTraining}.
+ *
+ * <p>
+ * The batches are queued for the training thread, see {@link #train(Consumer)}, so that the next batch is read while the
+ * trainer works on the previous ones. At most {@link #MAX_QUEUED_BATCHES} batches are queued: the read of the next batch
+ * waits for the training thread to take one, which bounds the memory of the training vectors to a few batches.
+ * </p>
+ *
+ * <p>
+ * The native memory the trainer works with is not bounded by the queue, see {@link #estimateNativeMemoryInKB}.
+ * </p>
+ */
+public class StreamingTrainingDataConsumer extends FloatTrainingDataConsumer {
+
+    static final int MAX_QUEUED_BATCHES = 2;
+    // How long training waits for the next batch before giving up on the read, like the keep alive of a scroll
+    static final TimeValue READ_TIMEOUT = TimeValue.timeValueMinutes(5);
+    // Vectors per centroid the native trainer buffers to seed its centroids, see faiss_streaming_trainer.h
+    private static final int SEED_POINTS_PER_CENTROID = 4;
+
+    private final int dimension;
+    private final TimeValue readTimeout;
+    private final Deque<float[]> batches = new ArrayDeque<>();
+    private Runnable pendingRead;
+    private Runnable pendingStop;
+    private boolean readComplete;
+    private Exception failure;
+    // Set once training stops, after which batches are dropped and no further batch is read
+    private boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param dimension dimension of the training vectors
+     */
+    public StreamingTrainingDataConsumer(int dimension) {
+        this(dimension, READ_TIMEOUT);
+    }
+
+    @VisibleForTesting
+    StreamingTrainingDataConsumer(int dimension, TimeValue readTimeout) {
+        super(null);
+        this.dimension = dimension;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Whether a model can be trained by streaming its training vectors: faiss IVF models on float vectors with a flat or
+     * PQ encoder.
+     *
+     * @param knnMethodContext method definition of the model
+     * @param vectorDataType data type of the training vectors
+     * @return true if the model can be trained by streaming
+     */
+    public static boolean isSupported(KNNMethodContext knnMethodContext, VectorDataType vectorDataType) {
+        if (knnMethodContext.getKnnEngine() != KNNEngine.FAISS || vectorDataType != VectorDataType.FLOAT) {
+            return false;
+        }
+        MethodComponentContext methodComponentContext = knnMethodContext.getMethodComponentContext();
+        if (!METHOD_IVF.equals(methodComponentContext.getName())) {
+            return false;
+        }
+        Object encoder = methodComponentContext.getParameters().get(METHOD_ENCODER_PARAMETER);
+        if (encoder == null) {
+            return true;
+        }
+        if (!(encoder instanceof MethodComponentContext)) {
+            return false;
+        }
+        String encoderName = ((MethodComponentContext) encoder).getName();
+        return ENCODER_FLAT.equals(encoderName) || ENCODER_PQ.equals(encoderName);
+    }
+
+    /**
+     * Estimates the native memory the streaming trainer works with: the vectors it buffers to seed the centroids, plus
+     * the copy of a batch and the residuals and sub vectors it computes from either of them, plus the centroids and PQ
+     * codebooks it trains.
+     *
+     * @param knnMethodContext method definition of the model, see {@link #isSupported}
+     * @param dimension dimension of the training vectors
+     * @param batchSize number of vectors in a batch
+     * @return estimated native memory in kilobytes
+     */
+    public static int estimateNativeMemoryInKB(KNNMethodContext knnMethodContext, int dimension, int batchSize) {
+        MethodComponentContext methodComponentContext = knnMethodContext.getMethodComponentContext();
+        long nlist = (Integer) methodComponentContext.getParameters().getOrDefault(METHOD_PARAMETER_NLIST, METHOD_PARAMETER_NLIST_DEFAULT);
+        long ksub = 0;
+        Object encoder = methodComponentContext.getParameters().get(METHOD_ENCODER_PARAMETER);
+        if (encoder instanceof MethodComponentContext && ENCODER_PQ.equals(((MethodComponentContext) encoder).getName())) {
+            int codeSize = (Integer) ((MethodComponentContext) encoder).getParameters()
+                .getOrDefault(ENCODER_PARAMETER_PQ_CODE_SIZE, ENCODER_PARAMETER_PQ_CODE_SIZE_DEFAULT);
+            ksub = 1L << codeSize;
+        }
+
+        // Seeding and each batch copy their vectors, then compute a residual and a sub vector plus a label per vector
+        long workingVectors = SEED_POINTS_PER_CENTROID * Math.max(nlist, ksub) + batchSize;
+        long bytes = workingVectors * (3L * dimension * Float.BYTES + Long.BYTES) + (nlist + ksub) * dimension * Float.BYTES;
+        return Math.toIntExact((bytes + 1023) / 1024);
+    }
+
+    @Override
+    public void accept(List<?> floats) {
+        float[] batch = new float[floats.size() * dimension];
+        int offset = 0;
+        for (Object vector : floats) {
+            float[] primitive = ArrayUtils.toPrimitive((Float[]) vector);
+            System.arraycopy(primitive, 0, batch, offset, dimension);
+            offset += dimension;
+        }
+        offer(batch);
+    }
+
+    @Override
+    public void processTrainingVectors(float[] vectors, int dimension, int vectorsToAdd) {
+        offer(Arrays.copyOf(vectors, vectorsToAdd * dimension));
+        setTotalVectorsCountAdded(getTotalVectorsCountAdded() + vectorsToAdd);
+    }
+
+    @Override
+    public void whenReadyForNextBatch(Runnable readNextBatch, Runnable stopReading) {
+        final boolean stop;
+        synchronized (this) {
+            if (!closed && batches.size() >= MAX_QUEUED_BATCHES) {
+                pendingRead = readNextBatch;
+                pendingStop = stopReading;
+                return;
+            }
+            stop = closed;
+        }
+        if (stop) {
+            stopReading.run();
+        } else {
+            readNextBatch.run();
+        }
+    }
+
+    /**
+     * Called once every training vector is read
+     */
+    public synchronized void onReadComplete() {
+        readComplete = true;
+        notifyAll();
+    }
+
+    /**
+     * Called when the training vectors cannot be read
+     *
+     * @param e cause of the failure
+     */
+    public synchronized void onReadFailure(Exception e) {
+        failure = e;
+        notifyAll();
+    }
+
+    /**
+     * Hands the batches over to the trainer, on the calling thread, as they are read, until every training vector is
+     * read. When training fails, the batches read afterwards are dropped and the read is stopped.
+     *
+     * @param trainer trains on a batch of vectors, one after the other
+     * @throws InterruptedException if interrupted while waiting for a batch
+     * @throws IllegalStateException if the read fails, or if no batch is read within the read timeout
+     */
+    public void train(Consumer<float[]> trainer) throws InterruptedException {
+        try {
+            while (true) {
+                final float[] batch;
+                final Runnable read;
+                synchronized (this) {
+                    final long deadline = System.nanoTime() + readTimeout.nanos();
+                    while (batches.isEmpty() && !readComplete && failure == null) {
+                        final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                        if (remainingMillis <= 0) {
+                            throw new IllegalStateException(
+                                String.format(Locale.ROOT, "No training vectors were read within [%s]", readTimeout)
+                            );
+                        }
+                        wait(remainingMillis);
+                    }
+                    if (failure != null) {
+                        throw new IllegalStateException("Failed to read training vectors", failure);
+                    }
+                    if (batches.isEmpty()) {
+                        return;
+                    }
+                    batch = batches.poll();
+                    read = pendingRead;
+                    pendingRead = null;
+                    pendingStop = null;
+                }
+                if (read != null) {
+                    read.run();
+                }
+                if (batch.length > 0) {
+                    trainer.accept(batch);
+                }
+            }
+        } finally {
+            final Runnable stop;
+            synchronized (this) {
+                closed = true;
+                batches.clear();
+                stop = pendingStop;
+                pendingRead = null;
+                pendingStop = null;
+            }
+            if (stop != null) {
+                stop.run();
+            }
+        }
+    }
+
+    private synchronized void offer(float[] batch) {
+        if (closed) {
+            return;
+        }
+        batches.add(batch);
+        notifyAll();
+    }
+}
@@ -44,6 +44,27 @@ public abstract class TrainingDataConsumer {
 
     public abstract void processTrainingVectors(SearchResponse searchResponse, int vectorsToAdd, String fieldName);
 
+    /**
+     * Reads the next batch of training vectors once the consumer can take it. Consumers that are done with a batch once
+     * it is processed take the next one right away.
+     *
+     * @param readNextBatch reads the next batch of training vectors
+     */
+    public void whenReadyForNextBatch(Runnable readNextBatch) {
+        whenReadyForNextBatch(readNextBatch, () -> {});
+    }
+
+    /**
+     * Reads the next batch of training vectors once the consumer can take it, or stops reading if the consumer will
+     * not take any more vectors, so that the reader releases what it holds, e.g. its scroll context.
+     *
+     * @param readNextBatch reads the next batch of training vectors
+     * @param stopReading stops the read of the training vectors
+     */
+    public void whenReadyForNextBatch(Runnable readNextBatch, Runnable stopReading) {
+        readNextBatch.run();
+    }
+
     /**
      * Traverses the hit to the desired field and extracts its value.
      *
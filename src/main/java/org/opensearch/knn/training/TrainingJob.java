@@ -24,6 +24,7 @@ import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
 import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
+import org.opensearch.knn.index.memory.NativeMemoryLoadStrategy;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.indices.ModelState;
@@ -50,6 +51,8 @@ public class TrainingJob implements Runnable {
     private final Model model;
 
     private String modelId;
+    // Whether the job trains by streaming its training vectors, decided once so that admission and training agree
+    private Boolean streamingTraining;
 
     /**
      * Constructor.
@@ -115,8 +118,40 @@ public class TrainingJob implements Runnable {
         return model;
     }
 
+    /**
+     * Native memory the job is expected to use: its training data and the space reserved for the model. Jobs training
+     * by streaming never load their training data into native memory, only what the trainer works with.
+     *
+     * @return estimated native memory of the job in KB
+     */
+    public long getEstimatedMemoryInKB() {
+        if (isStreamingTraining()) {
+            return (long) getStreamingTrainerMemoryInKB() + modelAnonymousEntryContext.calculateSizeInKB();
+        }
+        return (long) trainingDataEntryContext.calculateSizeInKB() + modelAnonymousEntryContext.calculateSizeInKB();
+    }
+
+    /**
+     * Whether the job trains its model as the training vectors are read, with mini-batch k-means, instead of loading all
+     * of them into native memory first, see {@link KNNSettings#KNN_TRAINING_STREAMING_ENABLED_SETTING}.
+     *
+     * @return true if the job trains by streaming
+     */
+    public boolean isStreamingTraining() {
+        if (streamingTraining == null) {
+            streamingTraining = StreamingTrainingDataConsumer.isSupported(knnMethodContext, model.getModelMetadata().getVectorDataType())
+                && KNNSettings.isTrainingStreamingEnabled();
+        }
+        return streamingTraining;
+    }
+
     @Override
     public void run() {
+        if (isStreamingTraining()) {
+            runStreamingTraining();
+            return;
+        }
+
         NativeMemoryAllocation trainingDataAllocation = null;
         NativeMemoryAllocation modelAnonymousAllocation = null;
         ModelMetadata modelMetadata = model.getModelMetadata();
@@ -181,27 +216,8 @@ public class TrainingJob implements Runnable {
             if (trainingDataAllocation.isClosed()) {
                 throw new RuntimeException("Unable to load training data into memory: allocation is already closed");
             }
-            setVersionInKnnMethodContext();
-            Map<String, Object> trainParameters = model.getModelMetadata()
-                .getKnnEngine()
-                .getKNNLibraryIndexingContext(knnMethodContext)
-                .getLibraryParameters();
-            trainParameters.put(
-                KNNConstants.INDEX_THREAD_QTY,
-                KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY)
-            );
-
-            if (VectorDataType.BINARY == model.getModelMetadata().getVectorDataType()) {
-                trainParameters.put(
-                    KNNConstants.INDEX_DESCRIPTION_PARAMETER,
-                    FAISS_BINARY_INDEX_DESCRIPTION_PREFIX + trainParameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER).toString()
-                );
-            }
-
-            IndexUtil.updateVectorDataTypeToParameters(trainParameters, model.getModelMetadata().getVectorDataType());
-
             byte[] modelBlob = JNIService.trainIndex(
-                trainParameters,
+                getTrainParameters(),
                 model.getModelMetadata().getDimension(),
                 trainingDataAllocation.getMemoryAddress(),
                 model.getModelMetadata().getKnnEngine()
@@ -228,6 +244,134 @@ public class TrainingJob implements Runnable {
         }
     }
 
+    private int getStreamingTrainerMemoryInKB() {
+        return StreamingTrainingDataConsumer.estimateNativeMemoryInKB(
+            knnMethodContext,
+            model.getModelMetadata().getDimension(),
+            trainingDataEntryContext.getSearchSize()
+        );
+    }
+
+    private void runStreamingTraining() {
+        NativeMemoryAllocation modelAnonymousAllocation = null;
+        NativeMemoryAllocation trainerAnonymousAllocation = null;
+        NativeMemoryEntryContext.AnonymousEntryContext trainerAnonymousEntryContext = new NativeMemoryEntryContext.AnonymousEntryContext(
+            getStreamingTrainerMemoryInKB(),
+            NativeMemoryLoadStrategy.AnonymousLoadStrategy.getInstance()
+        );
+        ModelMetadata modelMetadata = model.getModelMetadata();
+
+        try {
+            // Reserve space in the cache for the model
+            modelAnonymousAllocation = nativeMemoryCacheManager.get(modelAnonymousEntryContext, false);
+
+            // Lock until training completes
+            modelAnonymousAllocation.readLock();
+        } catch (Exception e) {
+            logger.error("Failed to allocate space in native memory for model \"" + modelId + "\": " + e.getMessage());
+            modelMetadata.setState(ModelState.FAILED);
+            modelMetadata.setError(
+                "Failed to allocate space in native memory for the model. " + "Check if there is enough memory to perform the request."
+            );
+
+            if (modelAnonymousAllocation != null) {
+                nativeMemoryCacheManager.invalidate(modelAnonymousEntryContext.getKey());
+            }
+
+            KNNCounter.TRAINING_ERRORS.increment();
+
+            return;
+        }
+
+        try {
+            // Reserve space in the cache for the vectors the trainer works with, which are not part of the model
+            trainerAnonymousAllocation = nativeMemoryCacheManager.get(trainerAnonymousEntryContext, false);
+
+            // Lock until training completes
+            trainerAnonymousAllocation.readLock();
+        } catch (Exception e) {
+            logger.error("Failed to allocate space in native memory for the trainer of model \"" + modelId + "\": " + e.getMessage());
+            modelMetadata.setState(ModelState.FAILED);
+            modelMetadata.setError(
+                "Failed to allocate space in native memory for training. " + "Check if there is enough memory to perform the request."
+            );
+
+            modelAnonymousAllocation.readUnlock();
+            nativeMemoryCacheManager.invalidate(modelAnonymousEntryContext.getKey());
+
+            if (trainerAnonymousAllocation != null) {
+                nativeMemoryCacheManager.invalidate(trainerAnonymousEntryContext.getKey());
+            }
+
+            KNNCounter.TRAINING_ERRORS.increment();
+
+            return;
+        }
+
+        long trainerPointer = 0;
+        try {
+            if (modelAnonymousAllocation.isClosed() || trainerAnonymousAllocation.isClosed()) {
+                throw new RuntimeException("Unable to reserve memory for model: allocation is already closed");
+            }
+
+            final int dimension = modelMetadata.getDimension();
+            trainerPointer = JNIService.initStreamingTraining(getTrainParameters(), dimension, modelMetadata.getKnnEngine());
+            final long trainer = trainerPointer;
+
+            // Read the training vectors in the background and train on them on this thread as they come
+            StreamingTrainingDataConsumer trainingDataConsumer = new StreamingTrainingDataConsumer(dimension);
+            trainingDataEntryContext.stream(trainingDataConsumer);
+            trainingDataConsumer.train(batch -> JNIService.addStreamingTrainingVectors(trainer, batch, batch.length / dimension));
+
+            // Finishing the training frees the trainer, whether it succeeds or not
+            trainerPointer = 0;
+            byte[] modelBlob = JNIService.finishStreamingTraining(trainer);
+
+            // Once training finishes, update model
+            model.setModelBlob(modelBlob);
+            modelMetadata.setState(ModelState.CREATED);
+        } catch (Exception e) {
+            logger.error("Failed to run streaming training job for model \"" + modelId + "\": ", e);
+            modelMetadata.setState(ModelState.FAILED);
+            modelMetadata.setError(
+                "Failed to execute training. May be caused by an invalid method definition or " + "not enough memory to perform training."
+            );
+
+            KNNCounter.TRAINING_ERRORS.increment();
+
+        } finally {
+            if (trainerPointer != 0) {
+                JNIService.freeStreamingTraining(trainerPointer);
+            }
+            trainerAnonymousAllocation.readUnlock();
+            nativeMemoryCacheManager.invalidate(trainerAnonymousEntryContext.getKey());
+            modelAnonymousAllocation.readUnlock();
+            nativeMemoryCacheManager.invalidate(modelAnonymousEntryContext.getKey());
+        }
+    }
+
+    private Map<String, Object> getTrainParameters() {
+        setVersionInKnnMethodContext();
+        Map<String, Object> trainParameters = model.getModelMetadata()
+            .getKnnEngine()
+            .getKNNLibraryIndexingContext(knnMethodContext)
+            .getLibraryParameters();
+        trainParameters.put(
+            KNNConstants.INDEX_THREAD_QTY,
+            KNNSettings.state().getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY)
+        );
+
+        if (VectorDataType.BINARY == model.getModelMetadata().getVectorDataType()) {
+            trainParameters.put(
+                KNNConstants.INDEX_DESCRIPTION_PARAMETER,
+                FAISS_BINARY_INDEX_DESCRIPTION_PREFIX + trainParameters.get(KNNConstants.INDEX_DESCRIPTION_PARAMETER).toString()
+            );
+        }
+
+        IndexUtil.updateVectorDataTypeToParameters(trainParameters, model.getModelMetadata().getVectorDataType());
+        return trainParameters;
+    }
+
     private void setVersionInKnnMethodContext() {
         // We are picking up the node version here. For more details why we did this please check below conversation
         // Ref: https://github.com/opensearch-project/k-NN/pull/1353#discussion_r1434428542
@@ -11,11 +11,14 @@
 
 package org.opensearch.knn.training;
 
+import lombok.AllArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.common.ValidationException;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
@@ -26,7 +29,6 @@ import org.opensearch.threadpool.ThreadPool;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.opensearch.knn.common.KNNConstants.TRAIN_THREAD_POOL;
@@ -34,6 +36,18 @@ import static org.opensearch.knn.common.KNNConstants.TRAIN_THREAD_POOL;
 /**
  * TrainingJobRunner is a singleton class responsible for submitting TrainingJobs to the k-NN training pool executor.
  * Capacity of queue and number of threads of the executor can be configured from executor construction (in KNNPlugin).
+ *
+ * <p>
+ * A job is admitted when no other job runs on the node, or when all of these hold:
+ * <ul>
+ *     <li>fewer than knn.training.max_concurrent_jobs jobs run</li>
+ *     <li>the knn.algo_param.index_thread_qty threads of the job fit in knn.training.max_threads with the threads of the
+ *     running jobs</li>
+ *     <li>the estimated native memory of the job, see {@link TrainingJob#getEstimatedMemoryInKB()}, fits in the native
+ *     memory left by the loaded graphs and the estimates of the running jobs</li>
+ * </ul>
+ * Jobs that are not admitted are rejected right away, so that the router can send them to another node.
+ * </p>
  */
 public class TrainingJobRunner {
 
@@ -43,8 +57,9 @@ public class TrainingJobRunner {
     private static ModelDao modelDao;
     private static ThreadPool threadPool;
 
-    private final Semaphore semaphore;
     private final AtomicInteger jobCount;
+    private int usedThreads;
+    private long reservedMemoryInKB;
 
     /**
      * Get singleton instance of TrainingJobRunner
@@ -60,7 +75,6 @@ public class TrainingJobRunner {
 
     private TrainingJobRunner() {
         this.jobCount = new AtomicInteger(0);
-        this.semaphore = new Semaphore(1);
     }
 
     /**
@@ -75,7 +89,7 @@ public class TrainingJobRunner {
     }
 
     /**
-     * Execute a training job. This function will first grab a permit, and then serialize the initial model, then
+     * Execute a training job. This function will first admit the job, and then serialize the initial model, then
      * execute training, and then serialize the final result.
      *
      * @param trainingJob training job to be executed
@@ -83,40 +97,37 @@ public class TrainingJobRunner {
      */
     public void execute(TrainingJob trainingJob, ActionListener<IndexResponse> listener) throws IOException, ExecutionException,
         InterruptedException {
-        // If the semaphore cannot be acquired, the node is unable to execute this job. This allows us to limit
-        // the number of training jobs that enter this function. Although the training threadpool size will also prevent
-        // this, we want to prevent this before we perform any serialization.
-        if (!semaphore.tryAcquire()) {
+        // If the job cannot be admitted, the node is unable to execute this job. This allows us to limit the number of
+        // training jobs that enter this function. Although the training threadpool size will also prevent this, we want
+        // to prevent this before we perform any serialization.
+        final Admission admission = admit(trainingJob);
+        if (admission == null) {
             ValidationException exception = new ValidationException();
             exception.addValidationError("Unable to run training job: No training capacity on node.");
             KNNCounter.TRAINING_ERRORS.increment();
             throw exception;
         }
 
-        jobCount.incrementAndGet();
-
         // Serialize model before training. The model should be in the training state and the model binary should be
         // null. This notifies users that their model is training, but not yet ready for use.
         try {
             serializeModel(trainingJob, ActionListener.wrap(indexResponse -> {
                 // Respond to the request with the initial index response
                 listener.onResponse(indexResponse);
-                train(trainingJob);
+                train(trainingJob, admission);
             }, exception -> {
                 // Serialization failed. Let listener handle the exception, but free up resources.
-                jobCount.decrementAndGet();
-                semaphore.release();
+                release(admission);
                 logger.error("Unable to initialize model serialization: " + exception.getMessage());
                 listener.onFailure(exception);
             }), false);
         } catch (IOException | ExecutionException | InterruptedException e) {
-            jobCount.decrementAndGet();
-            semaphore.release();
+            release(admission);
             throw e;
         }
     }
 
-    private void train(TrainingJob trainingJob) {
+    private void train(TrainingJob trainingJob, Admission admission) {
         // Attempt to submit job to training thread pool. On failure, release the resources and serialize the failure.
 
         // Listener for update model after training index action
@@ -140,8 +151,7 @@ public class TrainingJobRunner {
                     logger.error("Unable to complete training for \"" + trainingJob.getModelId() + "\": " + e.getMessage());
                     KNNCounter.TRAINING_ERRORS.increment();
                 } finally {
-                    jobCount.decrementAndGet();
-                    semaphore.release();
+                    release(admission);
                 }
             });
         } catch (RejectedExecutionException ree) {
@@ -156,8 +166,7 @@ public class TrainingJobRunner {
             } catch (IOException | ExecutionException | InterruptedException e) {
                 logger.error("Unable to serialize the failure for model \"{}\": ", trainingJob.getModelId(), e);
             } finally {
-                jobCount.decrementAndGet();
-                semaphore.release();
+                release(admission);
                 KNNCounter.TRAINING_ERRORS.increment();
             }
         }
@@ -177,6 +186,27 @@ public class TrainingJobRunner {
         }
     }
 
+    private synchronized Admission admit(TrainingJob trainingJob) {
+        final int threads = Math.max(1, KNNSettings.state().<Integer>getSettingValue(KNNSettings.KNN_ALGO_PARAM_INDEX_THREAD_QTY));
+        final long memoryInKB = Math.max(0, trainingJob.getEstimatedMemoryInKB());
+        if (jobCount.get() > 0
+            && (jobCount.get() >= KNNSettings.getTrainingMaxConcurrentJobs()
+                || usedThreads + threads > KNNSettings.getTrainingMaxThreads()
+                || memoryInKB > getFreeNativeMemoryInKB())) {
+            return null;
+        }
+        jobCount.incrementAndGet();
+        usedThreads += threads;
+        reservedMemoryInKB += memoryInKB;
+        return new Admission(threads, memoryInKB);
+    }
+
+    private synchronized void release(Admission admission) {
+        jobCount.decrementAndGet();
+        usedThreads -= admission.threads;
+        reservedMemoryInKB -= admission.memoryInKB;
+    }
+
     /**
      * Get all jobs in the runner.
      *
@@ -185,4 +215,35 @@ public class TrainingJobRunner {
     public int getJobCount() {
         return jobCount.get();
     }
+
+    /**
+     * Get the maximum number of jobs the runner runs at the same time.
+     *
+     * @return maximum number of running jobs
+     */
+    public int getMaxJobCount() {
+        return KNNSettings.getTrainingMaxConcurrentJobs();
+    }
+
+    /**
+     * Get the native memory left for new training jobs: the native memory limit minus everything in the cache, i.e. the
+     * loaded graphs, training data and reservations of index builds, and minus the estimated memory of the running jobs.
+     * What the running jobs already loaded is counted twice, which errs on the side of not over-committing memory.
+     *
+     * @return free native memory in KB
+     */
+    public synchronized long getFreeNativeMemoryInKB() {
+        final NativeMemoryCacheManager nativeMemoryCacheManager = NativeMemoryCacheManager.getInstance();
+        final long cacheMemoryInKB = nativeMemoryCacheManager.getCacheSizeInKilobytes();
+        return Math.max(0, nativeMemoryCacheManager.getMaxCacheSizeInKilobytes() - cacheMemoryInKB - reservedMemoryInKB);
+    }
+
+    /**
+     * Threads and native memory taken by an admitted job
+     */
+    @AllArgsConstructor
+    private static final class Admission {
+        private final int threads;
+        private final long memoryInKB;
+    }
 }
@@ -20,15 +20,25 @@ import org.opensearch.action.search.SearchScrollRequestBuilder;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Randomness;
+import org.opensearch.common.UUIDs;
 import org.opensearch.common.ValidationException;
+import org.opensearch.common.lucene.search.function.CombineFunction;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.mapper.SeqNoFieldMapper;
 import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.functionscore.FunctionScoreQueryBuilder;
+import org.opensearch.index.query.functionscore.ScoreFunctionBuilders;
+import org.opensearch.knn.index.KNNIndexShard;
 import org.opensearch.knn.index.util.IndexUtil;
+import org.opensearch.knn.plugin.transport.SampleTrainingVectorsAction;
+import org.opensearch.knn.plugin.transport.SampleTrainingVectorsRequest;
+import org.opensearch.knn.plugin.transport.SampleTrainingVectorsResponse;
 import org.opensearch.search.SearchHit;
-import org.opensearch.search.sort.SortOrder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class VectorReader {
@@ -48,7 +58,9 @@ public class VectorReader {
     }
 
     /**
-     * Read vectors from a provided index/field and pass them to vectorConsumer that will do something with them.
+     * Read vectors from a provided index/field and pass them to vectorConsumer that will do something with them. The
+     * docs are scrolled in a random order, so that the maxVectorCount vectors read are a uniform sample of the vectors of
+     * the index rather than the first vectors of its first shards.
      *
      * @param clusterService cluster service to get information about the index
      * @param indexName name of index containing vectors
@@ -67,7 +79,87 @@ public class VectorReader {
         TrainingDataConsumer vectorConsumer,
         ActionListener<SearchResponse> listener
     ) {
+        validate(clusterService, indexName, fieldName, maxVectorCount, searchSize);
 
+        // Start reading vectors from index
+        SearchScrollRequestBuilder searchScrollRequestBuilder = createSearchScrollRequestBuilder();
+
+        ActionListener<SearchResponse> vectorReaderListener = new VectorReaderListener(
+            client,
+            fieldName,
+            maxVectorCount,
+            0,
+            listener,
+            vectorConsumer,
+            searchScrollRequestBuilder
+        );
+
+        createSearchRequestBuilder(indexName, fieldName, Integer.min(maxVectorCount, searchSize)).execute(vectorReaderListener);
+    }
+
+    /**
+     * Read float vectors from a provided index/field straight from the segments of its shards, on the nodes holding
+     * them, and pass them to vectorConsumer. The shards are read one after the other, in batches of searchSize vectors
+     * packed in a float array, see {@link SampleTrainingVectorsAction}. The vectors of the index are counted first, so
+     * that the maxVectorCount vectors read are a uniform sample of all of them, see {@link VectorSampler}. When document
+     * or field level security applies to the index, the vectors are read through a scroll instead, see
+     * {@link #read}, as reads from the segments would not apply it.
+     *
+     * @param clusterService cluster service to get information about the index
+     * @param indexName name of index containing vectors
+     * @param fieldName name of field containing vectors
+     * @param maxVectorCount maximum number of vectors to return
+     * @param searchSize maximum number of vectors to return in a given batch
+     * @param vectorConsumer consumer used to do something with the collected vectors after each batch
+     * @param listener ActionListener that should be called once all batches complete
+     */
+    public void readFromShards(
+        ClusterService clusterService,
+        String indexName,
+        String fieldName,
+        int maxVectorCount,
+        int searchSize,
+        FloatTrainingDataConsumer vectorConsumer,
+        ActionListener<Void> listener
+    ) {
+        validate(clusterService, indexName, fieldName, maxVectorCount, searchSize);
+
+        final int numberOfShards = clusterService.state().metadata().index(indexName).getNumberOfShards();
+        client.prepareSearch(indexName)
+            .setQuery(new ExistsQueryBuilder(fieldName))
+            .setSize(0)
+            .setTrackTotalHits(true)
+            .execute(ActionListener.wrap(countResponse -> {
+                VectorSampler sampler = new VectorSampler(
+                    Randomness.get().nextLong(),
+                    countResponse.getHits().getTotalHits().value,
+                    maxVectorCount
+                );
+                ShardVectorReaderListener shardVectorReaderListener = new ShardVectorReaderListener(
+                    client,
+                    indexName,
+                    numberOfShards,
+                    fieldName,
+                    maxVectorCount,
+                    searchSize,
+                    listener,
+                    vectorConsumer,
+                    sampler,
+                    () -> read(
+                        clusterService,
+                        indexName,
+                        fieldName,
+                        maxVectorCount,
+                        searchSize,
+                        vectorConsumer,
+                        ActionListener.wrap(searchResponse -> listener.onResponse(null), listener::onFailure)
+                    )
+                );
+                shardVectorReaderListener.readNextBatch();
+            }, listener::onFailure));
+    }
+
+    private void validate(ClusterService clusterService, String indexName, String fieldName, int maxVectorCount, int searchSize) {
         ValidationException validationException = null;
 
         // Validate arguments
@@ -97,31 +189,19 @@ public class VectorReader {
         if (validationException != null) {
             throw validationException;
         }
-
-        // Start reading vectors from index
-        SearchScrollRequestBuilder searchScrollRequestBuilder = createSearchScrollRequestBuilder();
-
-        ActionListener<SearchResponse> vectorReaderListener = new VectorReaderListener(
-            client,
-            fieldName,
-            maxVectorCount,
-            0,
-            listener,
-            vectorConsumer,
-            searchScrollRequestBuilder
-        );
-
-        createSearchRequestBuilder(indexName, fieldName, Integer.min(maxVectorCount, searchSize)).execute(vectorReaderListener);
     }
 
     private SearchRequestBuilder createSearchRequestBuilder(String indexName, String fieldName, int resultSize) {
-        ExistsQueryBuilder queryBuilder = new ExistsQueryBuilder(fieldName);
+        // Score the docs with a random score, seeded once for the whole scroll, and scroll them by score
+        FunctionScoreQueryBuilder queryBuilder = new FunctionScoreQueryBuilder(
+            new ExistsQueryBuilder(fieldName),
+            ScoreFunctionBuilders.randomFunction().seed(Randomness.get().nextLong()).setField(SeqNoFieldMapper.NAME)
+        ).boostMode(CombineFunction.REPLACE);
 
         SearchRequestBuilder searchRequestBuilder = client.prepareSearch(indexName);
         searchRequestBuilder.setScroll(scrollTime);
         searchRequestBuilder.setQuery(queryBuilder);
         searchRequestBuilder.setSize(resultSize);
-        searchRequestBuilder.addSort("_doc", SortOrder.ASC);
 
         // We are only interested in reading vectors from a particular field
         searchRequestBuilder.setFetchSource(fieldName, null);
@@ -135,6 +215,120 @@ public class VectorReader {
         return searchScrollRequestBuilder;
     }
 
+    private static IllegalStateException readStopped() {
+        return new IllegalStateException("Training stopped before every training vector was read");
+    }
+
+    private static class ShardVectorReaderListener implements ActionListener<SampleTrainingVectorsResponse> {
+
+        final Client client;
+        final String indexName;
+        final int numberOfShards;
+        final String fieldName;
+        final int maxVectorCount;
+        final int searchSize;
+        final ActionListener<Void> listener;
+        final FloatTrainingDataConsumer vectorConsumer;
+        VectorSampler sampler;
+        // Reads the vectors through a scroll, when the reads from the segments are restricted
+        final Runnable scrollFallback;
+        // Keeps the batches of a shard on the same copy of the shard, so that the cursors of the batches stay valid
+        final String preference = UUIDs.randomBase64UUID();
+        int shardId;
+        KNNIndexShard.VectorCursor cursor = KNNIndexShard.VectorCursor.START;
+
+        /**
+         * Constructor
+         *
+         * @param indexName name of index to read vectors from
+         * @param numberOfShards number of shards of the index
+         * @param fieldName name of field to read vectors from
+         * @param maxVectorCount maximum total number of vectors that should be read from the shards
+         * @param searchSize maximum number of vectors of a batch
+         * @param listener listener to be called when all batches complete
+         * @param vectorConsumer Consumer used to do something with the vectors
+         * @param sampler sampler of the vectors of the index
+         * @param scrollFallback reads the vectors through a scroll instead, when the reads from the segments are
+         *                       restricted by document or field level security
+         */
+        ShardVectorReaderListener(
+            Client client,
+            String indexName,
+            int numberOfShards,
+            String fieldName,
+            int maxVectorCount,
+            int searchSize,
+            ActionListener<Void> listener,
+            FloatTrainingDataConsumer vectorConsumer,
+            VectorSampler sampler,
+            Runnable scrollFallback
+        ) {
+            this.client = client;
+            this.indexName = indexName;
+            this.numberOfShards = numberOfShards;
+            this.fieldName = fieldName;
+            this.maxVectorCount = maxVectorCount;
+            this.searchSize = searchSize;
+            this.listener = listener;
+            this.vectorConsumer = vectorConsumer;
+            this.sampler = sampler;
+            this.scrollFallback = scrollFallback;
+        }
+
+        void readNextBatch() {
+            int batchSize = Integer.min(searchSize, maxVectorCount - vectorConsumer.getTotalVectorsCountAdded());
+            client.execute(
+                SampleTrainingVectorsAction.INSTANCE,
+                new SampleTrainingVectorsRequest(indexName, shardId, fieldName, batchSize, cursor, sampler, preference),
+                this
+            );
+        }
+
+        @Override
+        public void onResponse(SampleTrainingVectorsResponse response) {
+            if (response.isRestricted()) {
+                if (vectorConsumer.getTotalVectorsCountAdded() == 0) {
+                    scrollFallback.run();
+                } else {
+                    listener.onFailure(
+                        new IllegalStateException(
+                            String.format(
+                                Locale.ROOT,
+                                "Document or field level security applies to shard [%d] of index [%s] but not to the shards read before",
+                                shardId,
+                                indexName
+                            )
+                        )
+                    );
+                }
+                return;
+            }
+            int vectorsToAdd = Integer.min(maxVectorCount - vectorConsumer.getTotalVectorsCountAdded(), response.getVectorCount());
+            if (vectorsToAdd > 0) {
+                vectorConsumer.processTrainingVectors(response.getVectors(), response.getDimension(), vectorsToAdd);
+            }
+
+            sampler = response.getSampler();
+            if (response.getNextCursor() != null) {
+                cursor = response.getNextCursor();
+            } else {
+                shardId++;
+                cursor = KNNIndexShard.VectorCursor.START;
+            }
+
+            if (vectorConsumer.getTotalVectorsCountAdded() >= maxVectorCount || sampler.isComplete() || shardId == numberOfShards) {
+                listener.onResponse(null);
+            } else {
+                vectorConsumer.whenReadyForNextBatch(this::readNextBatch, () -> listener.onFailure(readStopped()));
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
     private static class VectorReaderListener<T> implements ActionListener<SearchResponse> {
 
         final Client client;
@@ -199,7 +393,7 @@ public class VectorReader {
             } else {
                 // Create a new search that starts where the last search left off
                 searchScrollRequestBuilder.setScrollId(searchResponse.getScrollId());
-                searchScrollRequestBuilder.execute(this);
+                vectorConsumer.whenReadyForNextBatch(() -> searchScrollRequestBuilder.execute(this), () -> onFailure(readStopped()));
             }
         }
 
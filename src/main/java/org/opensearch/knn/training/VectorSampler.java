@@ -0,0 +1,111 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+
+import java.io.IOException;
+
+/**
+ * Uniform random sample, without replacement, of sampleSize training vectors out of the population vectors of an index,
+ * drawn in a single pass over the vectors of all its shards and segments (selection sampling, Knuth's Algorithm S).
+ * Every vector is selected with probability (sampleSize - selected) / (population - seen), so every vector of the index
+ * has the same chance to be part of the sample wherever it sits, and the sample is complete once the last vector of the
+ * index is seen.
+ *
+ * <p>
+ * The decision for a vector only depends on the seed and on the position of the vector in the pass, so the state of the
+ * sampler travels with the batches of the pass, see {@link org.opensearch.knn.plugin.transport.SampleTrainingVectorsRequest}.
+ * When the population is underestimated, for instance because docs were added during the pass, the vectors past the
+ * population are selected until the sample is complete.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public final class VectorSampler implements Writeable {
+
+    private final long seed;
+    private final long population;
+    private final int sampleSize;
+    private long seen;
+    private int selected;
+
+    /**
+     * Constructor
+     *
+     * @param seed seed of the random decisions of the sampler
+     * @param population number of vectors of the index
+     * @param sampleSize number of vectors to select
+     */
+    public VectorSampler(long seed, long population, int sampleSize) {
+        this(seed, population, sampleSize, 0, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param in input stream
+     * @throws IOException if read from stream fails
+     */
+    public VectorSampler(StreamInput in) throws IOException {
+        this(in.readLong(), in.readVLong(), in.readVInt(), in.readVLong(), in.readVInt());
+    }
+
+    /**
+     * Decides whether the next vector of the pass is part of the sample.
+     *
+     * @return true if the vector is selected
+     */
+    public boolean select() {
+        if (isComplete()) {
+            return false;
+        }
+        final long remainingPopulation = population - seen;
+        final double random = uniform(seed, seen);
+        seen++;
+        if (remainingPopulation > 0 && random * remainingPopulation >= sampleSize - selected) {
+            return false;
+        }
+        selected++;
+        return true;
+    }
+
+    /**
+     * @return true once sampleSize vectors are selected
+     */
+    public boolean isComplete() {
+        return selected >= sampleSize;
+    }
+
+    /**
+     * @return copy of the sampler, to draw from without changing this one
+     */
+    public VectorSampler copy() {
+        return new VectorSampler(seed, population, sampleSize, seen, selected);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(seed);
+        out.writeVLong(population);
+        out.writeVInt(sampleSize);
+        out.writeVLong(seen);
+        out.writeVInt(selected);
+    }
+
+    private static double uniform(final long seed, final long position) {
+        // SplitMix64 finalizer of the position, so that the decisions of the pass are independent of each other
+        long z = seed + (position + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
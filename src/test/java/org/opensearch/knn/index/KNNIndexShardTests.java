@@ -152,7 +152,8 @@ public class KNNIndexShardTests extends KNNSingleNodeTestCase {
             path,
             spaceType,
             modelId,
-            vectorDataType
+            vectorDataType,
+            null
         );
 
         assertEquals(includedFileNames.size(), included.size());
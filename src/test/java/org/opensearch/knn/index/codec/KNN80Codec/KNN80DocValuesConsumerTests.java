@@ -10,6 +10,7 @@ import com.google.common.collect.ImmutableSet;
 import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.codecs.DocValuesConsumer;
 import org.apache.lucene.codecs.DocValuesProducer;
+import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.FieldInfos;
 import org.apache.lucene.index.SegmentInfo;
@@ -23,8 +24,11 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.mapper.MapperService;
 import org.opensearch.knn.KNNTestCase;
 import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.vectorvalues.TestVectorValues;
@@ -46,7 +50,9 @@ import org.opensearch.knn.plugin.stats.KNNCounter;
 import org.opensearch.knn.plugin.stats.KNNGraphValue;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -104,7 +110,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(delegate, null) {
 
             @Override
-            public void addKNNBinaryField(FieldInfo field, DocValuesProducer valuesProducer, boolean isMerge, boolean isRefresh) {
+            public void addKNNBinaryField(FieldInfo field, DocValuesProducer valuesProducer, boolean isMerge) {
                 called[0] = true;
             }
         };
@@ -141,7 +147,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(delegate, state) {
 
             @Override
-            public void addKNNBinaryField(FieldInfo field, DocValuesProducer valuesProducer, boolean isMerge, boolean isRefresh) {
+            public void addKNNBinaryField(FieldInfo field, DocValuesProducer valuesProducer, boolean isMerge) {
                 called[0] = true;
             }
         };
@@ -177,7 +183,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         SegmentWriteState state = new SegmentWriteState(null, directory, segmentInfo, fieldInfos, null, IOContext.DEFAULT);
         KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(null, state);
         FieldInfo fieldInfo = KNNCodecTestUtil.FieldInfoBuilder.builder("test-field").build();
-        knn80DocValuesConsumer.addKNNBinaryField(fieldInfo, randomVectorDocValuesProducer, true, true);
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfo, randomVectorDocValuesProducer, true);
         assertEquals(initialGraphIndexRequests, KNNCounter.GRAPH_INDEX_REQUESTS.getCount());
         assertEquals(initialRefreshOperations, KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         assertEquals(initialMergeOperations, KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue());
@@ -185,6 +191,46 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertEquals(initialMergeDocs, KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
     }
 
+    public void testAddKNNBinaryField_whenFewerVectorsThanApproximateThreshold_thenIndexSkipped() throws IOException {
+        TestVectorValues.RandomVectorDocValuesProducer randomVectorDocValuesProducer = new TestVectorValues.RandomVectorDocValuesProducer(
+            10,
+            16
+        );
+        long initialGraphIndexRequests = KNNCounter.GRAPH_INDEX_REQUESTS.getCount();
+        long initialSkippedOperations = KNNGraphValue.BUILD_TOTAL_SKIPPED_OPERATIONS.getValue();
+        String segmentName = String.format("test_segment%s", randomAlphaOfLength(4));
+
+        SegmentInfo segmentInfo = KNNCodecTestUtil.segmentInfoBuilder()
+            .directory(directory)
+            .segmentName(segmentName)
+            .docsInSegment(10)
+            .codec(codec)
+            .build();
+        FieldInfo fieldInfo = KNNCodecTestUtil.FieldInfoBuilder.builder("test-field")
+            .addAttribute(KNNVectorFieldMapper.KNN_FIELD, "true")
+            .addAttribute(KNNConstants.KNN_ENGINE, KNNEngine.FAISS.getName())
+            .build();
+        SegmentWriteState state = new SegmentWriteState(
+            null,
+            directory,
+            segmentInfo,
+            new FieldInfos(new FieldInfo[] { fieldInfo }),
+            null,
+            IOContext.DEFAULT
+        );
+        IndexSettings indexSettings = mock(IndexSettings.class);
+        when(indexSettings.getValue(KNNSettings.ADVANCED_APPROXIMATE_THRESHOLD_SETTING)).thenReturn(100);
+        MapperService mapperService = mock(MapperService.class);
+        when(mapperService.getIndexSettings()).thenReturn(indexSettings);
+
+        KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(null, state, Optional.of(mapperService));
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfo, randomVectorDocValuesProducer, false);
+
+        assertEquals(initialGraphIndexRequests, (long) KNNCounter.GRAPH_INDEX_REQUESTS.getCount());
+        assertEquals(1 + initialSkippedOperations, (long) KNNGraphValue.BUILD_TOTAL_SKIPPED_OPERATIONS.getValue());
+        assertTrue(Arrays.stream(directory.listAll()).noneMatch(file -> file.startsWith(segmentName)));
+    }
+
     public void testAddKNNBinaryField_fromScratch_nmslibCurrent() throws IOException {
         // Set information about the segment and the fields
         String segmentName = String.format("test_segment%s", randomAlphaOfLength(4));
@@ -225,6 +271,9 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
 
         long initialRefreshOperations = KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue();
         long initialMergeOperations = KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue();
+        long initialMergeDocs = KNNGraphValue.MERGE_TOTAL_DOCS.getValue();
+        long initialMergeSizeInBytes = KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue();
+        long initialMergeCurrentSizeInBytes = KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.getValue();
 
         // Add documents to the field
         KNN80DocValuesConsumer knn80DocValuesConsumer = new KNN80DocValuesConsumer(null, state);
@@ -232,7 +281,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
             docsInSegment,
             dimension
         );
-        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true, true);
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true);
 
         // The document should be created in the correct location
         String expectedFile = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
@@ -245,10 +294,12 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertLoadableByEngine(null, state, expectedFile, knnEngine, spaceType, dimension);
 
         // The graph creation statistics should be updated
-        assertEquals(1 + initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
+        assertEquals(initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         assertEquals(1 + initialMergeOperations, (long) KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue());
-        assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
-        assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
+        assertEquals(docsInSegment + initialMergeDocs, (long) KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
+        assertTrue(KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue() > initialMergeSizeInBytes);
+        // The size of the merge in progress is released once the merge is done
+        assertEquals(initialMergeCurrentSizeInBytes, (long) KNNGraphValue.MERGE_CURRENT_SIZE_IN_BYTES.getValue());
     }
 
     public void testAddKNNBinaryField_fromScratch_nmslibLegacy() throws IOException {
@@ -288,7 +339,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
             docsInSegment,
             dimension
         );
-        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true, true);
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true);
 
         // The document should be created in the correct location
         String expectedFile = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
@@ -301,7 +352,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertLoadableByEngine(null, state, expectedFile, knnEngine, spaceType, dimension);
 
         // The graph creation statistics should be updated
-        assertEquals(1 + initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
+        assertEquals(initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         assertEquals(1 + initialMergeOperations, (long) KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
@@ -354,7 +405,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
             docsInSegment,
             dimension
         );
-        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true, true);
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true);
 
         // The document should be created in the correct location
         String expectedFile = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
@@ -367,7 +418,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertLoadableByEngine(HNSW_METHODPARAMETERS, state, expectedFile, knnEngine, spaceType, dimension);
 
         // The graph creation statistics should be updated
-        assertEquals(1 + initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
+        assertEquals(initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         assertEquals(1 + initialMergeOperations, (long) KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
@@ -422,7 +473,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
             docsInSegment,
             dimension
         );
-        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true, true);
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true);
 
         // The document should be created in the correct location
         String expectedFile = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
@@ -435,7 +486,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertBinaryIndexLoadableByEngine(state, expectedFile, knnEngine, spaceType, dimension, dataType);
 
         // The graph creation statistics should be updated
-        assertEquals(1 + initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
+        assertEquals(initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         assertEquals(1 + initialMergeOperations, (long) KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
@@ -521,7 +572,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
             docsInSegment,
             dimension
         );
-        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true, true);
+        knn80DocValuesConsumer.addKNNBinaryField(fieldInfoArray[0], randomVectorDocValuesProducer, true);
 
         // The document should be created in the correct location
         String expectedFile = KNNCodecUtil.buildEngineFileName(segmentName, knnEngine.getVersion(), fieldName, knnEngine.getExtension());
@@ -534,7 +585,7 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         assertLoadableByEngine(HNSW_METHODPARAMETERS, state, expectedFile, knnEngine, spaceType, dimension);
 
         // The graph creation statistics should be updated
-        assertEquals(1 + initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
+        assertEquals(initialRefreshOperations, (long) KNNGraphValue.REFRESH_TOTAL_OPERATIONS.getValue());
         assertEquals(1 + initialMergeOperations, (long) KNNGraphValue.MERGE_TOTAL_OPERATIONS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_DOCS.getValue());
         assertNotEquals(0, (long) KNNGraphValue.MERGE_TOTAL_SIZE_IN_BYTES.getValue());
@@ -606,6 +657,49 @@ public class KNN80DocValuesConsumerTests extends KNNTestCase {
         knn80DocValuesConsumer.addBinaryField(fieldInfo, docValuesProducer);
 
         verify(delegate, times(1)).addBinaryField(fieldInfo, docValuesProducer);
-        verify(knn80DocValuesConsumer, never()).addKNNBinaryField(any(), any(), eq(false), eq(true));
+        verify(knn80DocValuesConsumer, never()).addKNNBinaryField(any(), any(), eq(false));
+    }
+
+    public void testAddBinaryField_whenDeferredGraphBuild_thenNoInvocations_addKNNBinary() throws IOException {
+        var fieldInfo = KNNCodecTestUtil.FieldInfoBuilder.builder("test-field")
+            .addAttribute(KNNVectorFieldMapper.KNN_FIELD, "true")
+            .addAttribute(KNNConstants.KNN_ENGINE, KNNEngine.FAISS.getName())
+            .build();
+        DocValuesProducer docValuesProducer = mock(DocValuesProducer.class);
+        BinaryDocValues binaryDocValues = mock(BinaryDocValues.class);
+        when(binaryDocValues.cost()).thenReturn(10L);
+        when(docValuesProducer.getBinary(fieldInfo)).thenReturn(binaryDocValues);
+        var delegate = mock(DocValuesConsumer.class);
+
+        IndexSettings indexSettings = mock(IndexSettings.class);
+        when(indexSettings.getValue(KNNSettings.ADVANCED_DEFERRED_GRAPH_BUILD_SETTING)).thenReturn(true);
+        MapperService mapperService = mock(MapperService.class);
+        when(mapperService.getIndexSettings()).thenReturn(indexSettings);
+        SegmentInfo segmentInfo = KNNCodecTestUtil.segmentInfoBuilder()
+            .directory(directory)
+            .segmentName("test_segment")
+            .docsInSegment(10)
+            .codec(codec)
+            .build();
+        SegmentWriteState state = new SegmentWriteState(
+            null,
+            directory,
+            segmentInfo,
+            new FieldInfos(new FieldInfo[] { fieldInfo }),
+            null,
+            IOContext.DEFAULT
+        );
+        long initialDeferredOperations = KNNGraphValue.BUILD_TOTAL_DEFERRED_OPERATIONS.getValue();
+        long initialRefreshDocs = KNNGraphValue.REFRESH_TOTAL_DOCS.getValue();
+
+        var knn80DocValuesConsumer = spy(new KNN80DocValuesConsumer(delegate, state, Optional.of(mapperService)));
+        knn80DocValuesConsumer.addBinaryField(fieldInfo, docValuesProducer);
+
+        verify(delegate, times(1)).addBinaryField(fieldInfo, docValuesProducer);
+        verify(knn80DocValuesConsumer, never()).addKNNBinaryField(any(), any(), eq(false));
+        assertEquals(1 + initialDeferredOperations, (long) KNNGraphValue.BUILD_TOTAL_DEFERRED_OPERATIONS.getValue());
+        assertEquals(10 + initialRefreshDocs, (long) KNNGraphValue.REFRESH_TOTAL_DOCS.getValue());
+        // Searches of the segment read the number of vectors from the field
+        assertEquals("10", fieldInfo.getAttribute(KNNConstants.VECTOR_COUNT));
     }
 }
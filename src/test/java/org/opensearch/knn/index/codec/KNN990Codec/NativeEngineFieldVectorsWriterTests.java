@@ -17,6 +17,7 @@ import org.apache.lucene.util.InfoStream;
 import org.junit.Assert;
 import org.mockito.Mockito;
 import org.opensearch.knn.index.codec.KNNCodecTestCase;
+import org.opensearch.knn.index.codec.nativeindex.IncrementalIndexBuildStrategy;
 
 public class NativeEngineFieldVectorsWriterTests extends KNNCodecTestCase {
 
@@ -68,6 +69,24 @@ public class NativeEngineFieldVectorsWriterTests extends KNNCodecTestCase {
         Mockito.verify(fieldInfo, Mockito.times(2)).getVectorEncoding();
     }
 
+    @SuppressWarnings("unchecked")
+    public void testAddValue_whenIncrementalIndexBuild_thenVectorsForwarded() {
+        final FieldInfo fieldInfo = Mockito.mock(FieldInfo.class);
+        Mockito.when(fieldInfo.getVectorEncoding()).thenReturn(VectorEncoding.FLOAT32);
+        final IncrementalIndexBuildStrategy incrementalIndexBuildStrategy = Mockito.mock(IncrementalIndexBuildStrategy.class);
+        final NativeEngineFieldVectorsWriter<float[]> floatWriter = (NativeEngineFieldVectorsWriter<float[]>) NativeEngineFieldVectorsWriter
+            .create(fieldInfo, InfoStream.getDefault(), incrementalIndexBuildStrategy);
+        final float[] vec1 = new float[] { 1.0f, 2.0f };
+        final float[] vec2 = new float[] { 2.0f, 2.0f };
+        floatWriter.addValue(1, vec1);
+        floatWriter.addValue(2, vec2);
+
+        Assert.assertEquals(incrementalIndexBuildStrategy, floatWriter.getIncrementalIndexBuildStrategy());
+        Assert.assertEquals(vec1, floatWriter.getVectors().get(1));
+        Mockito.verify(incrementalIndexBuildStrategy).addVector(1, vec1);
+        Mockito.verify(incrementalIndexBuildStrategy).addVector(2, vec2);
+    }
+
     @SuppressWarnings("unchecked")
     public void testCopyValue_whenValidInput_thenException() {
         final FieldInfo fieldInfo = Mockito.mock(FieldInfo.class);
@@ -22,6 +22,7 @@ import org.apache.lucene.document.Field;
 import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.KnnByteVectorField;
 import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.ByteVectorValues;
 import org.apache.lucene.index.FloatVectorValues;
 import org.apache.lucene.index.IndexOptions;
@@ -33,7 +34,10 @@ import org.apache.lucene.index.SegmentReadState;
 import org.apache.lucene.index.SegmentReader;
 import org.apache.lucene.index.SegmentWriteState;
 import org.apache.lucene.index.SerialMergeScheduler;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
 import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.index.VectorSimilarityFunction;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
@@ -42,25 +46,38 @@ import org.apache.lucene.util.Bits;
 import org.junit.After;
 import org.junit.Assert;
 import org.mockito.Mockito;
+import org.opensearch.Version;
 import org.opensearch.common.lucene.Lucene;
+import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.knn.KNNTestCase;
 import org.opensearch.knn.common.KNNConstants;
 import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.util.KNNCodecUtil;
+import org.opensearch.knn.index.engine.KNNMethodContext;
+import org.opensearch.knn.index.engine.MethodComponentContext;
 import org.opensearch.knn.index.mapper.KNNVectorFieldMapper;
 import org.opensearch.knn.index.engine.KNNEngine;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.opensearch.knn.common.KNNConstants.METHOD_HNSW;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_M;
+
 @Log4j2
 public class NativeEngines990KnnVectorsFormatTests extends KNNTestCase {
     private static final Codec TESTING_CODEC = new UnitTestCodec();
     private static final String FLAT_VECTOR_FILE_EXT = ".vec";
     private static final String HNSW_FILE_EXT = ".hnsw";
+    private static final String FAISS_FILE_EXT = ".faiss";
     private static final String FLOAT_VECTOR_FIELD = "float_field";
     private static final String BYTE_VECTOR_FIELD = "byte_field";
+    private static final String ID_FIELD = "id";
     private Directory dir;
     private RandomIndexWriter indexWriter;
 
@@ -102,7 +119,7 @@ public class NativeEngines990KnnVectorsFormatTests extends KNNTestCase {
             new KnnFloatVectorField(FLOAT_VECTOR_FIELD, floatVector, createVectorField(3, VectorEncoding.FLOAT32)),
             indexWriter
         );
-        addFieldToIndex(new KnnByteVectorField(BYTE_VECTOR_FIELD, byteVector, createVectorField(2, VectorEncoding.BYTE)), indexWriter);
+        addFieldToIndex(new KnnByteVectorField(BYTE_VECTOR_FIELD, byteVector, createBinaryVectorField(2)), indexWriter);
         final IndexReader indexReader = indexWriter.getReader();
         // ensuring segments are created
         indexWriter.flush();
@@ -113,11 +130,13 @@ public class NativeEngines990KnnVectorsFormatTests extends KNNTestCase {
         IndexSearcher searcher = new IndexSearcher(indexReader);
         final LeafReader leafReader = searcher.getLeafContexts().get(0).reader();
         SegmentReader segmentReader = Lucene.segmentReader(leafReader);
+        // graphs are built during flush, nmslib graph for the float field and faiss graph for the binary field.
         final List<String> hnswfiles = getFilesFromSegment(dir, HNSW_FILE_EXT);
-        // 0 hnsw files for now as we have not integrated graph creation here.
-        assertEquals(0, hnswfiles.size());
-        assertEquals(hnswfiles.stream().filter(x -> x.contains(FLOAT_VECTOR_FIELD)).count(), 0);
-        assertEquals(hnswfiles.stream().filter(x -> x.contains(BYTE_VECTOR_FIELD)).count(), 0);
+        assertEquals(1, hnswfiles.size());
+        assertEquals(1, hnswfiles.stream().filter(x -> x.contains(FLOAT_VECTOR_FIELD)).count());
+        final List<String> faissfiles = getFilesFromSegment(dir, FAISS_FILE_EXT);
+        assertEquals(1, faissfiles.size());
+        assertEquals(1, faissfiles.stream().filter(x -> x.contains(BYTE_VECTOR_FIELD)).count());
 
         // Even setting IWC to not use compound file it still uses compound file, hence ensuring we don't check .vec
         // file in case segment uses compound format. use this seed once we fix this to validate everything is
@@ -153,6 +172,48 @@ public class NativeEngines990KnnVectorsFormatTests extends KNNTestCase {
         indexReader.close();
     }
 
+    @SneakyThrows
+    public void testNativeEngineVectorFormat_whenSegmentsMerged_thenGraphBuiltForLiveDocs() {
+        dir = newFSDirectory(createTempDir());
+        ((BaseDirectoryWrapper) dir).setCheckIndexOnClose(false);
+        final IndexWriterConfig iwc = newIndexWriterConfig();
+        iwc.setMergeScheduler(new SerialMergeScheduler());
+        iwc.setCodec(TESTING_CODEC);
+        iwc.setUseCompoundFile(false);
+        iwc.setMergePolicy(new TieredMergePolicy());
+        indexWriter = new RandomIndexWriter(random(), dir, iwc);
+
+        final float[][] vectors = { { 1.0f, 3.0f, 4.0f }, { 2.0f, 5.0f, 7.0f }, { 3.0f, 6.0f, 8.0f } };
+        for (int i = 0; i < vectors.length; i++) {
+            final Document doc = new Document();
+            doc.add(new StringField(ID_FIELD, String.valueOf(i), Field.Store.NO));
+            doc.add(new KnnFloatVectorField(FLOAT_VECTOR_FIELD, vectors[i], createVectorField(3, VectorEncoding.FLOAT32)));
+            indexWriter.addDocument(doc);
+            // one segment per document
+            indexWriter.commit();
+        }
+        indexWriter.deleteDocuments(new Term(ID_FIELD, "1"));
+        indexWriter.forceMerge(1);
+        indexWriter.commit();
+
+        final IndexReader indexReader = indexWriter.getReader();
+        indexWriter.close();
+        assertEquals(1, indexReader.leaves().size());
+        final LeafReader leafReader = indexReader.leaves().get(0).reader();
+        final SegmentReader segmentReader = Lucene.segmentReader(leafReader);
+        final String segmentPrefix = KNNCodecUtil.buildEngineFilePrefix(segmentReader.getSegmentName());
+        final List<String> hnswfiles = getFilesFromSegment(dir, HNSW_FILE_EXT).stream()
+            .filter(x -> x.startsWith(segmentPrefix))
+            .collect(Collectors.toList());
+        assertEquals(1, hnswfiles.size());
+        assertTrue(hnswfiles.get(0).contains(FLOAT_VECTOR_FIELD));
+
+        // deleted doc is not part of the merged segment
+        final FloatVectorValues floatVectorValues = leafReader.getFloatVectorValues(FLOAT_VECTOR_FIELD);
+        assertEquals(2, floatVectorValues.size());
+        indexReader.close();
+    }
+
     private List<String> getFilesFromSegment(Directory dir, String fileFormat) throws IOException {
         return Arrays.stream(dir.listAll()).filter(x -> x.contains(fileFormat)).collect(Collectors.toList());
     }
@@ -206,4 +267,30 @@ public class NativeEngines990KnnVectorsFormatTests extends KNNTestCase {
         nativeVectorField.freeze();
         return nativeVectorField;
     }
+
+    @SneakyThrows
+    private FieldType createBinaryVectorField(int dimensionInBytes) {
+        final KNNMethodContext knnMethodContext = new KNNMethodContext(
+            KNNEngine.FAISS,
+            SpaceType.HAMMING,
+            new MethodComponentContext(METHOD_HNSW, Map.of(METHOD_PARAMETER_M, 16, METHOD_PARAMETER_EF_CONSTRUCTION, 512))
+        );
+        knnMethodContext.getMethodComponentContext().setIndexVersion(Version.CURRENT);
+        final String parameterString = XContentFactory.jsonBuilder()
+            .map(KNNEngine.FAISS.getKNNLibraryIndexingContext(knnMethodContext).getLibraryParameters())
+            .toString();
+
+        FieldType nativeVectorField = new FieldType();
+        nativeVectorField.setTokenized(false);
+        nativeVectorField.setIndexOptions(IndexOptions.NONE);
+        nativeVectorField.putAttribute(KNNVectorFieldMapper.KNN_FIELD, "true");
+        nativeVectorField.putAttribute(KNNConstants.KNN_METHOD, KNNConstants.METHOD_HNSW);
+        nativeVectorField.putAttribute(KNNConstants.KNN_ENGINE, KNNEngine.FAISS.getName());
+        nativeVectorField.putAttribute(KNNConstants.SPACE_TYPE, SpaceType.HAMMING.getValue());
+        nativeVectorField.putAttribute(KNNConstants.VECTOR_DATA_TYPE_FIELD, VectorDataType.BINARY.getValue());
+        nativeVectorField.putAttribute(KNNConstants.PARAMETERS, parameterString);
+        nativeVectorField.setVectorAttributes(dimensionInBytes, VectorEncoding.BYTE, VectorSimilarityFunction.EUCLIDEAN);
+        nativeVectorField.freeze();
+        return nativeVectorField;
+    }
 }
@@ -22,25 +22,25 @@ public class KNNCodecFactoryTests extends KNNTestCase {
     public void testKNN910Codec() {
         assertDelegateForVersion(V_9_1_0, Lucene91Codec.class);
         assertNull(V_9_1_0.getPerFieldKnnVectorsFormat());
-        assertNotNull(V_9_1_0.getKnnFormatFacadeSupplier().apply(V_9_1_0.getDefaultCodecDelegate()));
+        assertNotNull(V_9_1_0.getKnnFormatFacadeSupplier().apply(V_9_1_0.getDefaultCodecDelegate(), null));
     }
 
     public void testKNN920Codec() {
         assertDelegateForVersion(V_9_2_0, Lucene92Codec.class);
         assertNotNull(V_9_2_0.getPerFieldKnnVectorsFormat());
-        assertNotNull(V_9_2_0.getKnnFormatFacadeSupplier().apply(V_9_2_0.getDefaultCodecDelegate()));
+        assertNotNull(V_9_2_0.getKnnFormatFacadeSupplier().apply(V_9_2_0.getDefaultCodecDelegate(), null));
     }
 
     public void testKNN940Codec() {
         assertDelegateForVersion(V_9_4_0, Lucene94Codec.class);
         assertNotNull(V_9_4_0.getPerFieldKnnVectorsFormat());
-        assertNotNull(V_9_4_0.getKnnFormatFacadeSupplier().apply(V_9_4_0.getDefaultCodecDelegate()));
+        assertNotNull(V_9_4_0.getKnnFormatFacadeSupplier().apply(V_9_4_0.getDefaultCodecDelegate(), null));
     }
 
     public void testKNN950Codec() {
         assertDelegateForVersion(V_9_5_0, Lucene95Codec.class);
         assertNotNull(V_9_5_0.getPerFieldKnnVectorsFormat());
-        assertNotNull(V_9_5_0.getKnnFormatFacadeSupplier().apply(V_9_5_0.getDefaultCodecDelegate()));
+        assertNotNull(V_9_5_0.getKnnFormatFacadeSupplier().apply(V_9_5_0.getDefaultCodecDelegate(), null));
     }
 
     private void assertDelegateForVersion(final KNNCodecVersion codecVersion, final Class expectedCodecClass) {
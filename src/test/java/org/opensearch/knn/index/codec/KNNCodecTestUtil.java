@@ -32,6 +32,7 @@ import org.opensearch.knn.index.query.KNNQueryResult;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.engine.KNNEngine;
 import org.opensearch.knn.jni.JNIService;
+import org.opensearch.knn.jni.NativeSearchParameters;
 
 import java.io.IOException;
 import java.nio.file.Paths;
@@ -211,7 +212,16 @@ public class KNNCodecTestUtil {
         long indexPtr = JNIService.loadIndex(filePath, Maps.newHashMap(ImmutableMap.of(SPACE_TYPE, spaceType.getValue())), knnEngine);
         int k = 2;
         float[] queryVector = new float[dimension];
-        KNNQueryResult[] results = JNIService.queryIndex(indexPtr, queryVector, k, methodParameters, knnEngine, null, 0, null);
+        KNNQueryResult[] results = JNIService.queryIndex(
+            indexPtr,
+            queryVector,
+            k,
+            NativeSearchParameters.encode(methodParameters),
+            knnEngine,
+            null,
+            0,
+            null
+        );
         assertTrue(results.length > 0);
         JNIService.free(indexPtr, knnEngine);
     }
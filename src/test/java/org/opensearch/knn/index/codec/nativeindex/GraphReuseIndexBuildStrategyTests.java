@@ -0,0 +1,133 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.SneakyThrows;
+import org.apache.lucene.index.DocsWithFieldSet;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.StringHelper;
+import org.apache.lucene.util.Version;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.KNNCodecVersion;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValues;
+import org.opensearch.knn.index.vectorvalues.KNNVectorValuesFactory;
+import org.opensearch.knn.jni.JNICommons;
+import org.opensearch.knn.jni.JNIService;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+
+public class GraphReuseIndexBuildStrategyTests extends KNNTestCase {
+
+    private static final String FIELD_NAME = "test_field";
+    private static final String SEED_SEGMENT_NAME = "_0";
+    private static final String SEED_ENGINE_FILE = "_0_165_test_field.faiss";
+
+    @SneakyThrows
+    public void testCreate_whenSeedHasNoEngineFile_thenNull() {
+        try (Directory directory = newFSDirectory(createTempDir())) {
+            final SegmentInfo seedSegment = createSegmentInfo(directory, Set.of());
+            assertNull(GraphReuseIndexBuildStrategy.create(FIELD_NAME, KNNEngine.FAISS, seedSegment, docId -> docId, 2));
+        }
+    }
+
+    @SneakyThrows
+    public void testBuildAndWriteIndex_whenSeeded_thenOnlyOtherSegmentsInserted() {
+        try (
+            Directory directory = newFSDirectory(createTempDir());
+            MockedStatic<JNIService> jniServiceMockedStatic = mockStatic(JNIService.class);
+            MockedStatic<JNICommons> jniCommonsMockedStatic = mockStatic(JNICommons.class)
+        ) {
+            // Seed docs 0 and 1 become docs 1 and 2 of the merged segment, docs 0 and 3 come from other segments
+            final SegmentInfo seedSegment = createSegmentInfo(directory, Set.of(SEED_ENGINE_FILE));
+            final GraphReuseIndexBuildStrategy strategy = GraphReuseIndexBuildStrategy.create(
+                FIELD_NAME,
+                KNNEngine.FAISS,
+                seedSegment,
+                docId -> docId + 1,
+                4
+            );
+            assertNotNull(strategy);
+
+            final Map<Integer, float[]> vectors = Map.of(
+                0,
+                new float[] { 1, 2 },
+                1,
+                new float[] { 2, 3 },
+                2,
+                new float[] { 3, 4 },
+                3,
+                new float[] { 4, 5 }
+            );
+            final DocsWithFieldSet docsWithFieldSet = new DocsWithFieldSet();
+            vectors.keySet().stream().sorted().forEach(docsWithFieldSet::add);
+            final KNNVectorValues<float[]> knnVectorValues = KNNVectorValuesFactory.getVectorValues(
+                VectorDataType.FLOAT,
+                docsWithFieldSet,
+                vectors
+            );
+
+            final Map<String, Object> parameters = Map.of();
+            final BuildIndexParams buildIndexParams = BuildIndexParams.builder()
+                .fieldName(FIELD_NAME)
+                .knnEngine(KNNEngine.FAISS)
+                .indexPath("merged.faiss")
+                .vectorDataType(VectorDataType.FLOAT)
+                .parameters(parameters)
+                .build();
+            jniServiceMockedStatic.when(
+                () -> JNIService.loadIndexForMerge(any(), eq(new int[] { 1, 2 }), eq(parameters), eq(KNNEngine.FAISS))
+            ).thenReturn(100L);
+            jniCommonsMockedStatic.when(() -> JNICommons.storeVectorDataFromBuffer(eq(0L), any(), anyLong(), anyLong())).thenReturn(200L);
+
+            strategy.buildAndWriteIndex(buildIndexParams, knnVectorValues);
+
+            jniServiceMockedStatic.verify(
+                () -> JNIService.loadIndexForMerge(
+                    Mockito.endsWith(SEED_ENGINE_FILE),
+                    eq(new int[] { 1, 2 }),
+                    eq(parameters),
+                    eq(KNNEngine.FAISS)
+                )
+            );
+            jniServiceMockedStatic.verify(
+                () -> JNIService.insertToIndex(new int[] { 0, 3 }, 200L, 2, parameters, 100L, KNNEngine.FAISS)
+            );
+            jniServiceMockedStatic.verify(() -> JNIService.writeIndex("merged.faiss", 100L, parameters, KNNEngine.FAISS));
+            jniCommonsMockedStatic.verify(() -> JNICommons.freeVectorData(200L));
+        }
+    }
+
+    private SegmentInfo createSegmentInfo(final Directory directory, final Set<String> files) {
+        final SegmentInfo segmentInfo = new SegmentInfo(
+            directory,
+            Version.LATEST,
+            Version.LATEST,
+            SEED_SEGMENT_NAME,
+            2,
+            false,
+            false,
+            KNNCodecVersion.current().getDefaultCodecDelegate(),
+            Map.of(),
+            new byte[StringHelper.ID_LENGTH],
+            Map.of(),
+            Sort.INDEXORDER
+        );
+        segmentInfo.setFiles(files);
+        return segmentInfo;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.store.MergeInfo;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.codec.KNNCodecTestUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MergeGraphBuildPolicyTests extends KNNTestCase {
+
+    private static final String INDEX_NAME = "test-index";
+
+    public void testTryBuild_whenNoLimit_thenAlwaysBuilds() {
+        final MergeGraphBuildPolicy policy = new MergeGraphBuildPolicy(() -> 0L);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.tryBuild(INDEX_NAME, -1, 1));
+        }
+    }
+
+    public void testTryBuild_whenLimitReached_thenDefersUntilOldestBuildLeavesWindow() {
+        final AtomicLong now = new AtomicLong();
+        final MergeGraphBuildPolicy policy = new MergeGraphBuildPolicy(now::get);
+
+        assertTrue(policy.tryBuild(INDEX_NAME, 2, 100));
+        now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        assertTrue(policy.tryBuild(INDEX_NAME, 2, 100));
+        assertFalse(policy.tryBuild(INDEX_NAME, 2, 1000));
+        // Other indices have their own builds
+        assertTrue(policy.tryBuild("other-index", 2, 100));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(50));
+        assertTrue(policy.tryBuild(INDEX_NAME, 2, 1000));
+        assertFalse(policy.tryBuild(INDEX_NAME, 2, 1000));
+    }
+
+    public void testTryBuild_whenHalfOfBuildsUsed_thenDefersSmallMerges() {
+        final MergeGraphBuildPolicy policy = new MergeGraphBuildPolicy(() -> 0L);
+
+        assertTrue(policy.tryBuild(INDEX_NAME, 4, 100));
+        assertTrue(policy.tryBuild(INDEX_NAME, 4, 300));
+        // Average cost of the builds of the hour is 200
+        assertFalse(policy.tryBuild(INDEX_NAME, 4, 199));
+        assertTrue(policy.tryBuild(INDEX_NAME, 4, 200));
+    }
+
+    public void testRecordBuild_whenDeferredMergeBuilt_thenUsesBuildsOfHour() {
+        final MergeGraphBuildPolicy policy = new MergeGraphBuildPolicy(() -> 0L);
+
+        assertTrue(policy.tryBuild(INDEX_NAME, 2, 100));
+        policy.recordBuild(INDEX_NAME, 100);
+        assertFalse(policy.tryBuild(INDEX_NAME, 2, 1000));
+    }
+
+    public void testRemoveIndex_thenBuildsForgotten() {
+        final MergeGraphBuildPolicy policy = new MergeGraphBuildPolicy(() -> 0L);
+
+        assertTrue(policy.tryBuild(INDEX_NAME, 1, 100));
+        assertFalse(policy.tryBuild(INDEX_NAME, 1, 100));
+        policy.removeIndex(INDEX_NAME);
+        assertTrue(policy.tryBuild(INDEX_NAME, 1, 100));
+    }
+
+    public void testIsDeferrable() {
+        final long smallSegmentBytes = 1024;
+        assertTrue(MergeGraphBuildPolicy.isDeferrable(new MergeInfo(100, 1024, false, -1), smallSegmentBytes));
+        // Not a merge
+        assertFalse(MergeGraphBuildPolicy.isDeferrable(null, smallSegmentBytes));
+        // Merged segment larger than a small segment
+        assertFalse(MergeGraphBuildPolicy.isDeferrable(new MergeInfo(100, 1025, false, -1), smallSegmentBytes));
+        // Forced merge
+        assertFalse(MergeGraphBuildPolicy.isDeferrable(new MergeInfo(100, 1024, false, 1), smallSegmentBytes));
+        // External segments
+        assertFalse(MergeGraphBuildPolicy.isDeferrable(new MergeInfo(100, 1024, true, -1), smallSegmentBytes));
+    }
+
+    public void testGetBuildCost() {
+        final FieldInfo fieldInfo = KNNCodecTestUtil.FieldInfoBuilder.builder("test-field")
+            .addAttribute(KNNConstants.DIMENSION, "128")
+            .build();
+        assertEquals(128 * 1000L, MergeGraphBuildPolicy.getBuildCost(fieldInfo, 1000));
+        assertEquals(1000L, MergeGraphBuildPolicy.getBuildCost(KNNCodecTestUtil.FieldInfoBuilder.builder("test-field").build(), 1000));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.SneakyThrows;
+import org.opensearch.common.CheckedRunnable;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.common.exception.OutOfNativeMemoryException;
+import org.opensearch.knn.index.KNNSettings;
+import org.opensearch.knn.index.memory.NativeMemoryCacheManager;
+import org.opensearch.knn.index.memory.NativeMemoryEntryContext;
+import org.opensearch.knn.plugin.stats.KNNGraphValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NativeIndexBuildSchedulerTests extends KNNTestCase {
+
+    @SneakyThrows
+    public void testSchedule_whenMoreThreadsRequestedThanAllowed_thenThreadsCapped() {
+        setGraphBuildSettings(2, 4);
+        final NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> nativeMemoryCacheManager);
+        final Map<String, Object> parameters = new HashMap<>(Map.of(KNNConstants.INDEX_THREAD_QTY, 8));
+        final long totalOperations = KNNGraphValue.BUILD_TOTAL_OPERATIONS.getValue();
+
+        final AtomicBoolean built = new AtomicBoolean();
+        scheduler.schedule(parameters, 10 * 1024, () -> {
+            assertEquals(4, parameters.get(KNNConstants.INDEX_THREAD_QTY));
+            assertEquals(4L, (long) KNNGraphValue.BUILD_CURRENT_THREADS.getValue());
+            built.set(true);
+        });
+
+        assertTrue(built.get());
+        assertEquals(totalOperations + 1, (long) KNNGraphValue.BUILD_TOTAL_OPERATIONS.getValue());
+        assertEquals(0L, (long) KNNGraphValue.BUILD_CURRENT_THREADS.getValue());
+        verify(nativeMemoryCacheManager, times(1)).get(any(NativeMemoryEntryContext.AnonymousEntryContext.class), eq(false));
+        verify(nativeMemoryCacheManager, times(1)).invalidate(anyString());
+    }
+
+    @SneakyThrows
+    public void testSchedule_whenMaxConcurrentBuildsReached_thenWaitsForRunningBuild() {
+        setGraphBuildSettings(1, 4);
+        final NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> nativeMemoryCacheManager);
+
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        final AtomicBoolean secondBuilt = new AtomicBoolean();
+        final Thread first = new Thread(() -> schedule(scheduler, () -> {
+            firstStarted.countDown();
+            releaseFirst.await();
+        }));
+        final Thread second = new Thread(() -> schedule(scheduler, () -> secondBuilt.set(true)));
+
+        first.start();
+        assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+        second.start();
+        assertBusy(() -> assertEquals(1L, (long) KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.getValue()));
+        assertFalse(secondBuilt.get());
+
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+        assertTrue(secondBuilt.get());
+        assertEquals(0L, (long) KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.getValue());
+        assertEquals(0L, (long) KNNGraphValue.BUILD_CURRENT_OPERATIONS.getValue());
+    }
+
+    @SneakyThrows
+    public void testSchedule_whenSeveralBuildsWaiting_thenAdmittedInArrivalOrder() {
+        setGraphBuildSettings(1, 4);
+        final NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> nativeMemoryCacheManager);
+
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        final List<String> builtOrder = Collections.synchronizedList(new ArrayList<>());
+        final Thread first = new Thread(() -> schedule(scheduler, () -> {
+            firstStarted.countDown();
+            releaseFirst.await();
+        }));
+        final Thread second = new Thread(() -> schedule(scheduler, () -> builtOrder.add("second")));
+        final Thread third = new Thread(() -> schedule(scheduler, () -> builtOrder.add("third")));
+
+        first.start();
+        assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+        second.start();
+        assertBusy(() -> assertEquals(1L, (long) KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.getValue()));
+        third.start();
+        assertBusy(() -> assertEquals(2L, (long) KNNGraphValue.BUILD_CURRENT_QUEUE_DEPTH.getValue()));
+
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+        third.join();
+        assertEquals(List.of("second", "third"), builtOrder);
+    }
+
+    @SneakyThrows
+    public void testSchedule_whenMemoryCannotBeReservedAndNoBuildRunning_thenBuildsWithoutReservation() {
+        setGraphBuildSettings(2, 4);
+        final NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+        when(nativeMemoryCacheManager.get(any(NativeMemoryEntryContext.AnonymousEntryContext.class), eq(false))).thenThrow(
+            new OutOfNativeMemoryException("Entry cannot be loaded into cache because it would not fit")
+        );
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> nativeMemoryCacheManager);
+
+        final AtomicBoolean built = new AtomicBoolean();
+        scheduler.schedule(new HashMap<>(Map.of(KNNConstants.INDEX_THREAD_QTY, 1)), Long.MAX_VALUE, () -> built.set(true));
+
+        assertTrue(built.get());
+        verify(nativeMemoryCacheManager, never()).invalidate(anyString());
+    }
+
+    @SneakyThrows
+    public void testSchedule_whenReservationBlocked_thenRunningBuildCompletes() {
+        setGraphBuildSettings(2, 4);
+        final NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+        final AtomicInteger reservations = new AtomicInteger();
+        final CountDownLatch secondReserving = new CountDownLatch(1);
+        final CountDownLatch releaseSecondReservation = new CountDownLatch(1);
+        when(nativeMemoryCacheManager.get(any(NativeMemoryEntryContext.AnonymousEntryContext.class), eq(false))).thenAnswer(invocation -> {
+            if (reservations.incrementAndGet() == 2) {
+                secondReserving.countDown();
+                releaseSecondReservation.await();
+            }
+            return null;
+        });
+        final NativeIndexBuildScheduler scheduler = new NativeIndexBuildScheduler(() -> nativeMemoryCacheManager);
+
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        final AtomicBoolean secondBuilt = new AtomicBoolean();
+        final Thread first = new Thread(() -> schedule(scheduler, () -> {
+            firstStarted.countDown();
+            releaseFirst.await();
+        }));
+        final Thread second = new Thread(() -> schedule(scheduler, () -> secondBuilt.set(true)));
+
+        first.start();
+        assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+        second.start();
+        assertTrue(secondReserving.await(10, TimeUnit.SECONDS));
+
+        // The first build releases its slot while the second one is still reserving its memory
+        releaseFirst.countDown();
+        first.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(first.isAlive());
+        assertFalse(secondBuilt.get());
+
+        releaseSecondReservation.countDown();
+        second.join();
+        assertTrue(secondBuilt.get());
+        verify(nativeMemoryCacheManager, times(2)).invalidate(anyString());
+    }
+
+    @SneakyThrows
+    private static void schedule(final NativeIndexBuildScheduler scheduler, final CheckedRunnable<Exception> build) {
+        scheduler.schedule(new HashMap<>(Map.of(KNNConstants.INDEX_THREAD_QTY, 1)), 1024, () -> {
+            try {
+                build.run();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private void setGraphBuildSettings(final int maxConcurrentBuilds, final int maxThreads) {
+        final Set<Setting<?>> defaultClusterSettings = new HashSet<>(ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        defaultClusterSettings.addAll(
+            KNNSettings.state()
+                .getSettings()
+                .stream()
+                .filter(s -> s.getProperties().contains(Setting.Property.NodeScope))
+                .collect(Collectors.toList())
+        );
+        final Settings settings = Settings.builder()
+            .put(KNNSettings.KNN_GRAPH_BUILD_MAX_CONCURRENT_BUILDS, maxConcurrentBuilds)
+            .put(KNNSettings.KNN_GRAPH_BUILD_MAX_THREADS, maxThreads)
+            .build();
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, defaultClusterSettings));
+    }
+}
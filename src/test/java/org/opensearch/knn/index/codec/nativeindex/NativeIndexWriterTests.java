@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.codec.nativeindex;
+
+import lombok.SneakyThrows;
+import org.apache.lucene.index.FieldInfo;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.common.KNNConstants;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.codec.KNNCodecTestUtil;
+import org.opensearch.knn.index.engine.KNNEngine;
+
+import java.util.Map;
+
+import static org.opensearch.knn.common.KNNConstants.GRAPH_ONLY_STORAGE;
+import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
+
+public class NativeIndexWriterTests extends KNNTestCase {
+
+    private static final String FIELD_PARAMETERS = "{\"index_description\":\"HNSW16,Flat\",\"spaceType\":\"l2\",\"name\":\"hnsw\","
+        + "\"data_type\":\"float\",\"parameters\":{\"ef_search\":100,\"ef_construction\":100}}";
+
+    @SneakyThrows
+    public void testGetParameters_whenGraphOnlyStorage_thenMethodParametersAskForIt() {
+        final FieldInfo fieldInfo = KNNCodecTestUtil.FieldInfoBuilder.builder("test-field")
+            .addAttribute(KNNConstants.KNN_ENGINE, KNNEngine.FAISS.getName())
+            .addAttribute(KNNConstants.PARAMETERS, FIELD_PARAMETERS)
+            .addAttribute(GRAPH_ONLY_STORAGE, "true")
+            .build();
+
+        assertTrue(NativeIndexWriter.isGraphOnlyStorage(fieldInfo));
+        final Map<String, Object> parameters = NativeIndexWriter.getParameters(fieldInfo, VectorDataType.FLOAT, KNNEngine.FAISS);
+        final Map<?, ?> methodParameters = (Map<?, ?>) parameters.get(PARAMETERS);
+        assertEquals(true, methodParameters.get(GRAPH_ONLY_STORAGE));
+        assertEquals(100, methodParameters.get(KNNConstants.METHOD_PARAMETER_EF_CONSTRUCTION));
+    }
+
+    @SneakyThrows
+    public void testGetParameters_whenNotGraphOnlyStorage_thenMethodParametersUnchanged() {
+        final FieldInfo fieldInfo = KNNCodecTestUtil.FieldInfoBuilder.builder("test-field")
+            .addAttribute(KNNConstants.KNN_ENGINE, KNNEngine.FAISS.getName())
+            .addAttribute(KNNConstants.PARAMETERS, FIELD_PARAMETERS)
+            .build();
+
+        assertFalse(NativeIndexWriter.isGraphOnlyStorage(fieldInfo));
+        final Map<String, Object> parameters = NativeIndexWriter.getParameters(fieldInfo, VectorDataType.FLOAT, KNNEngine.FAISS);
+        assertFalse(((Map<?, ?>) parameters.get(PARAMETERS)).containsKey(GRAPH_ONLY_STORAGE));
+    }
+}
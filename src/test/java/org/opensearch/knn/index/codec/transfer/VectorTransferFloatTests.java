@@ -14,6 +14,8 @@ import org.opensearch.knn.jni.JNICommons;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.stream.IntStream;
 
@@ -42,6 +44,46 @@ public class VectorTransferFloatTests extends TestCase {
         }
     }
 
+    @SneakyThrows
+    public void testTransfer_whenBatchConsumer_thenEveryBatchHandedOver() {
+        final List<Integer> batchSizes = new ArrayList<>();
+        VectorTransferFloat vectorTransfer = new VectorTransferFloat(160);
+        vectorTransfer.setBatchConsumer((batchAddress, numVectors) -> {
+            assertNotEquals(0, batchAddress);
+            batchSizes.add(numVectors);
+            JNICommons.freeVectorData(batchAddress);
+        });
+        vectorTransfer.init(5);
+        for (int i = 0; i < 5; i++) {
+            vectorTransfer.transfer(getByteArrayOfVectors(20));
+        }
+        vectorTransfer.close();
+
+        // 160 bytes hold 2 vectors of 20 floats, and the last vector is handed over on close
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals(0, vectorTransfer.getVectorAddress());
+    }
+
+    public void testTransferVector_whenInitWithoutLiveDocs_thenBatchesBoundedByMemoryLimit() {
+        final List<Integer> batchSizes = new ArrayList<>();
+        VectorTransferFloat vectorTransfer = new VectorTransferFloat(160);
+        vectorTransfer.setBatchConsumer((batchAddress, numVectors) -> {
+            batchSizes.add(numVectors);
+            JNICommons.freeVectorData(batchAddress);
+        });
+        vectorTransfer.init(0);
+        final float[] vector = new float[20];
+        for (int i = 0; i < 5; i++) {
+            // The same array is reused for every vector, as it is copied right away
+            vector[0] = i;
+            vectorTransfer.transferVector(vector);
+        }
+        vectorTransfer.close();
+
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals(20, vectorTransfer.getDimension());
+    }
+
     @SneakyThrows
     public void testSerializationMode_whenCalled_thenReturn() {
         final BytesRef bytesRef = getByteArrayOfVectors(20);
@@ -11,6 +11,8 @@ import org.opensearch.knn.KNNTestCase;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Random;
 import java.util.stream.IntStream;
 
@@ -116,6 +118,85 @@ public class KNNVectorSerializerTests extends KNNTestCase {
         }
     }
 
+    public void testVectorAsLittleEndianFloatsSerializer_whenDefault_thenHeaderAndLittleEndianFloats() {
+        final float[] vector = getArrayOfRandomFloats(20);
+        final KNNVectorSerializer defaultSerializer = KNNVectorSerializerFactory.getDefaultSerializer();
+
+        final byte[] bytes = defaultSerializer.floatToByteArray(vector);
+
+        assertEquals(1 + vector.length * Float.BYTES, bytes.length);
+        assertEquals(KNNVectorAsLittleEndianFloatsSerializer.VERSION_1, bytes[0]);
+        assertEquals(vector[0], ByteBuffer.wrap(bytes, 1, Float.BYTES).order(ByteOrder.LITTLE_ENDIAN).getFloat(), 0.0f);
+        final BytesRef serializedVector = new BytesRef(bytes);
+        assertEquals(SerializationMode.LITTLE_ENDIAN_FLOATS, KNNVectorSerializerFactory.getSerializerModeFromBytesRef(serializedVector));
+        final KNNVectorSerializer serializer = KNNVectorSerializerFactory.getSerializerByBytesRef(serializedVector);
+        assertArrayEquals(vector, serializer.byteToFloatArray(serializedVector), 0.0f);
+    }
+
+    public void testVectorAsLittleEndianFloatsSerializer_whenReuseHasVectorLength_thenDecodedIntoReuse() {
+        final float[] vector = getArrayOfRandomFloats(8);
+        final KNNVectorSerializer serializer = KNNVectorSerializerFactory.getSerializerBySerializationMode(
+            SerializationMode.LITTLE_ENDIAN_FLOATS
+        );
+        final BytesRef serializedVector = new BytesRef(serializer.floatToByteArray(vector));
+
+        final float[] reuse = new float[8];
+        assertSame(reuse, serializer.byteToFloatArray(serializedVector, reuse));
+        assertArrayEquals(vector, reuse, 0.0f);
+        assertNotSame(reuse, serializer.byteToFloatArray(serializedVector, new float[4]));
+    }
+
+    public void testVectorAsLittleEndianFloatsSerializer_whenOlderFormat_thenStillReadable() throws Exception {
+        final float[] vector = getArrayOfRandomFloats(20);
+        final ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        final DataOutputStream ds = new DataOutputStream(bas);
+        for (float f : vector)
+            ds.writeFloat(f);
+        final BytesRef vectorAsCollectionOfFloats = new BytesRef(bas.toByteArray());
+        final BytesRef vectorAsArray = new BytesRef(
+            KNNVectorSerializerFactory.getSerializerBySerializationMode(SerializationMode.ARRAY).floatToByteArray(vector)
+        );
+        final KNNVectorSerializer defaultSerializer = KNNVectorSerializerFactory.getDefaultSerializer();
+
+        assertArrayEquals(vector, defaultSerializer.byteToFloatArray(vectorAsCollectionOfFloats), 0.0f);
+        assertArrayEquals(vector, defaultSerializer.byteToFloatArray(vectorAsArray), 0.0f);
+    }
+
+    public void testVectorAsHalfFloatsSerializer_whenSerialized_thenHeaderAndHalfPrecisionFloats() {
+        final float[] vector = { 1.5f, -2.0f, 0.0f, 65504.0f, 0.099975586f };
+        final KNNVectorSerializer serializer = KNNVectorSerializerFactory.getSerializerBySerializationMode(SerializationMode.HALF_FLOATS);
+        final BytesRef serializedVector = new BytesRef(serializer.floatToByteArray(vector));
+
+        assertEquals(1 + 2 * vector.length, serializedVector.length);
+        assertEquals(KNNVectorAsHalfFloatsSerializer.HEADER, serializedVector.bytes[0]);
+        assertEquals(SerializationMode.HALF_FLOATS, KNNVectorSerializerFactory.getSerializerModeFromBytesRef(serializedVector));
+        assertArrayEquals(vector, serializer.byteToFloatArray(serializedVector), 0.0f);
+        assertArrayEquals(vector, KNNVectorSerializerFactory.getDefaultSerializer().byteToFloatArray(serializedVector), 0.0f);
+    }
+
+    public void testVectorAsHalfFloatsSerializer_whenRandomVector_thenWithinHalfPrecision() {
+        final float[] vector = getArrayOfRandomFloats(64);
+        final KNNVectorSerializer serializer = KNNVectorSerializerFactory.getSerializerBySerializationMode(SerializationMode.HALF_FLOATS);
+
+        final float[] deserializedVector = serializer.byteToFloatArray(new BytesRef(serializer.floatToByteArray(vector)));
+        for (int i = 0; i < vector.length; i++) {
+            assertEquals(vector[i], deserializedVector[i], Math.max(Math.ulp(vector[i]) * (1 << 12), 0x1p-25f));
+        }
+    }
+
+    public void testFloatToHalfFloat_whenEdgeCases_thenConverted() {
+        assertEquals((short) 0x3c00, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(1.0f));
+        assertEquals((short) 0x7bff, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(65504.0f));
+        assertEquals((short) 0x7c00, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(70000.0f));
+        assertEquals((short) 0xfc00, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(Float.NEGATIVE_INFINITY));
+        assertEquals((short) 0x0001, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(0x1p-24f));
+        assertEquals((short) 0x0000, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(0x1p-26f));
+        assertEquals((short) 0x8000, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(-0.0f));
+        // Ties are rounded to even
+        assertEquals((short) 0x3c00, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(1.0f + 0x1p-11f));
+        assertEquals((short) 0x3c02, KNNVectorAsHalfFloatsSerializer.floatToHalfFloat(1.0f + 0x3p-11f));
+    }
+
     private float[] getArrayOfRandomFloats(int arrayLength) {
         float[] vector = new float[arrayLength];
         IntStream.range(0, arrayLength).forEach(index -> vector[index] = random.nextFloat());
@@ -471,4 +471,47 @@ public class NativeMemoryAllocationTests extends KNNTestCase {
 
         assertEquals(size, anonymousAllocation.getSizeInKB());
     }
+
+    public void testModelTemplateAllocation_close() throws InterruptedException {
+        long trainPointer = JNIService.transferVectors(0, new float[][] { { 1, 2 }, { 3, 4 }, { 5, 6 }, { 7, 8 } });
+        Map<String, Object> parameters = ImmutableMap.of(
+            KNNConstants.INDEX_DESCRIPTION_PARAMETER,
+            "IVF2,Flat",
+            KNNConstants.SPACE_TYPE,
+            SpaceType.L2.getValue()
+        );
+        byte[] templateIndex = JNIService.trainIndex(parameters, 2, trainPointer, KNNEngine.FAISS);
+        JNICommons.freeVectorData(trainPointer);
+        long memoryAddress = JNIService.loadTemplateIndex(templateIndex, KNNEngine.FAISS);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        NativeMemoryAllocation.ModelTemplateAllocation modelTemplateAllocation = new NativeMemoryAllocation.ModelTemplateAllocation(
+            executorService,
+            memoryAddress,
+            templateIndex.length / 1024 + 1,
+            KNNEngine.FAISS,
+            "model-id"
+        );
+        assertEquals(memoryAddress, modelTemplateAllocation.getMemoryAddress());
+        assertEquals("model-id", modelTemplateAllocation.getModelId());
+
+        // A build copying the template holds off the free
+        modelTemplateAllocation.readLock();
+        modelTemplateAllocation.close();
+        Thread.sleep(1000);
+        assertFalse(modelTemplateAllocation.isClosed());
+        modelTemplateAllocation.readUnlock();
+
+        Thread.sleep(1000 * 2);
+        modelTemplateAllocation.writeLock();
+        assertTrue(modelTemplateAllocation.isClosed());
+        modelTemplateAllocation.writeUnlock();
+
+        // Closing again does not free the template twice
+        modelTemplateAllocation.close();
+        Thread.sleep(1000);
+        assertTrue(modelTemplateAllocation.isClosed());
+
+        executorService.shutdown();
+    }
 }
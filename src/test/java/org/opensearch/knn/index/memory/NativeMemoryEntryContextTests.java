@@ -262,6 +262,45 @@ public class NativeMemoryEntryContextTests extends KNNTestCase {
         }
     }
 
+    public void testModelTemplateEntryContext_load() throws IOException {
+        NativeMemoryLoadStrategy.ModelTemplateLoadStrategy modelTemplateLoadStrategy = mock(
+            NativeMemoryLoadStrategy.ModelTemplateLoadStrategy.class
+        );
+        NativeMemoryEntryContext.ModelTemplateEntryContext entryContext = new NativeMemoryEntryContext.ModelTemplateEntryContext(
+            "model-id",
+            new byte[2048],
+            KNNEngine.FAISS,
+            modelTemplateLoadStrategy
+        );
+
+        NativeMemoryAllocation.ModelTemplateAllocation modelTemplateAllocation = new NativeMemoryAllocation.ModelTemplateAllocation(
+            null,
+            0,
+            3,
+            KNNEngine.FAISS,
+            "model-id"
+        );
+
+        when(modelTemplateLoadStrategy.load(entryContext)).thenReturn(modelTemplateAllocation);
+
+        assertEquals(modelTemplateAllocation, entryContext.load());
+    }
+
+    public void testModelTemplateEntryContext_getKeyAndSize() {
+        NativeMemoryEntryContext.ModelTemplateEntryContext entryContext = new NativeMemoryEntryContext.ModelTemplateEntryContext(
+            "model-id",
+            new byte[2048],
+            KNNEngine.FAISS,
+            null
+        );
+
+        String key = entryContext.getKey();
+        assertEquals(NativeMemoryEntryContext.ModelTemplateEntryContext.generateKey("model-id"), key);
+        assertNotEquals(NativeMemoryEntryContext.ModelTemplateEntryContext.generateKey("other-model-id"), key);
+        assertEquals(3, (int) entryContext.calculateSizeInKB());
+        assertEquals("model-id", entryContext.getModelId());
+    }
+
     private static class TestNativeMemoryEntryContext extends NativeMemoryEntryContext<TestNativeMemoryAllocation> {
 
         int size;
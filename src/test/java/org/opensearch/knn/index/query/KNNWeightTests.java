@@ -50,6 +50,8 @@ import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
 import org.opensearch.knn.indices.ModelState;
 import org.opensearch.knn.jni.JNIService;
+import org.opensearch.knn.jni.NativeSearchParameters;
+import org.opensearch.knn.plugin.stats.KNNCounter;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -67,6 +69,7 @@ import static java.util.Collections.emptyMap;
 import static org.apache.lucene.search.DocIdSetIterator.NO_MORE_DOCS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -74,11 +77,13 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.opensearch.knn.KNNRestTestCase.INDEX_NAME;
 import static org.opensearch.knn.common.KNNConstants.INDEX_DESCRIPTION_PARAMETER;
 import static org.opensearch.knn.common.KNNConstants.KNN_ENGINE;
+import static org.opensearch.knn.common.KNNConstants.METHOD_IVF;
 import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_SEARCH;
 import static org.opensearch.knn.common.KNNConstants.MODEL_ID;
 import static org.opensearch.knn.common.KNNConstants.PARAMETERS;
@@ -100,6 +105,7 @@ public class KNNWeightTests extends KNNTestCase {
     private static final String CIRCUIT_BREAKER_LIMIT_100KB = "100Kb";
     private static final Integer EF_SEARCH = 10;
     private static final Map<String, ?> HNSW_METHOD_PARAMETERS = Map.of(METHOD_PARAMETER_EF_SEARCH, EF_SEARCH);
+    private static final int[] HNSW_SEARCH_PARAMETERS = NativeSearchParameters.encode(HNSW_METHOD_PARAMETERS);
 
     private static final Map<Integer, Float> DOC_ID_TO_SCORES = Map.of(10, 0.4f, 101, 0.05f, 100, 0.8f, 50, 0.52f);
     private static final Map<Integer, Float> FILTERED_DOC_ID_TO_SCORES = Map.of(101, 0.05f, 100, 0.8f, 50, 0.52f);
@@ -147,6 +153,9 @@ public class KNNWeightTests extends KNNTestCase {
     @Before
     public void setupBeforeTest() {
         knnSettingsMockedStatic.when(() -> KNNSettings.getFilteredExactSearchThreshold(INDEX_NAME)).thenReturn(0);
+        knnSettingsMockedStatic.when(KNNSettings::isNativeQueryStatsEnabled).thenReturn(false);
+        knnSettingsMockedStatic.when(() -> KNNSettings.getSearchThreads(INDEX_NAME)).thenReturn(1);
+        knnSettingsMockedStatic.when(KNNSettings::getQueryNativeThreadBudget).thenReturn(0);
         jniServiceMockedStatic = mockStatic(JNIService.class);
     }
 
@@ -411,7 +420,7 @@ public class KNNWeightTests extends KNNTestCase {
         // Given
         int k = 3;
         jniServiceMockedStatic.when(
-            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any())
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any())
         ).thenReturn(getFilteredKNNQueryResults());
 
         jniServiceMockedStatic.when(
@@ -419,7 +428,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(BYTE_QUERY_VECTOR),
                 eq(k),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 any(),
                 anyInt(),
@@ -476,7 +485,7 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(BYTE_QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     any(),
                     anyInt(),
@@ -486,12 +495,143 @@ public class KNNWeightTests extends KNNTestCase {
             );
         } else {
             jniServiceMockedStatic.verify(
-                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any()),
+                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any()),
                 times(1)
             );
         }
     }
 
+    @SneakyThrows
+    public void testScorer_whenNativeQueryStatsEnabled_thenStatsCollected() {
+        // Given
+        int k = 3;
+        knnSettingsMockedStatic.when(KNNSettings::isNativeQueryStatsEnabled).thenReturn(true);
+        final int[] searchParameters = NativeSearchParameters.encode(HNSW_METHOD_PARAMETERS, true);
+        jniServiceMockedStatic.when(
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(searchParameters), any(), any(), anyInt(), any())
+        ).thenReturn(getFilteredKNNQueryResults());
+        jniServiceMockedStatic.when(() -> JNIService.getQueryStats(any(), eq(KNNEngine.FAISS))).thenAnswer(invocation -> {
+            final long[] stats = invocation.getArgument(0);
+            stats[NativeQueryStats.VISITED] = 120;
+            stats[NativeQueryStats.FILTER_REJECTIONS] = 7;
+            stats[NativeQueryStats.DISTANCE_COMPUTATIONS] = 150;
+            stats[NativeQueryStats.HOPS] = 12;
+            return true;
+        });
+        final SegmentReader reader = mockSegmentReader();
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+
+        final KNNQuery query = KNNQuery.builder()
+            .field(FIELD_NAME)
+            .queryVector(QUERY_VECTOR)
+            .k(k)
+            .indexName(INDEX_NAME)
+            .methodParameters(HNSW_METHOD_PARAMETERS)
+            .vectorDataType(VectorDataType.FLOAT)
+            .build();
+        final KNNWeight knnWeight = new KNNWeight(query, 1.0f);
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        final Map<String, String> attributesMap = ImmutableMap.of(
+            KNN_ENGINE,
+            KNNEngine.FAISS.getName(),
+            PARAMETERS,
+            String.format(Locale.ROOT, "{\"%s\":\"%s\"}", INDEX_DESCRIPTION_PARAMETER, "HNSW32")
+        );
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.attributes()).thenReturn(attributesMap);
+
+        // When
+        assertNotNull(knnWeight.scorer(leafReaderContext));
+
+        // Then
+        final NativeQueryStats nativeQueryStats = knnWeight.getNativeQueryStats();
+        assertEquals(1, nativeQueryStats.getSegments());
+        assertEquals(120, nativeQueryStats.getVisited());
+        assertEquals(7, nativeQueryStats.getFilterRejections());
+        assertEquals(0, nativeQueryStats.getListsProbed());
+        assertEquals(150, nativeQueryStats.getDistanceComputations());
+        assertEquals(12, nativeQueryStats.getHops());
+        assertEquals(120L, (long) KNNCounter.NATIVE_QUERY_VISITED.getCount());
+        assertEquals(12L, (long) KNNCounter.NATIVE_QUERY_HOPS.getCount());
+    }
+
+    @SneakyThrows
+    public void testScorer_whenSearchThreadsSetOnIVF_thenThreadsTakenFromBudget() {
+        validateScorer_whenSearchThreadsSet(true, 3);
+    }
+
+    @SneakyThrows
+    public void testScorer_whenSearchThreadsSetOnHNSW_thenSingleThread() {
+        validateScorer_whenSearchThreadsSet(false, 1);
+    }
+
+    private void validateScorer_whenSearchThreadsSet(final boolean isIvfIndex, final int expectedThreads) throws IOException {
+        // Given
+        int k = 3;
+        knnSettingsMockedStatic.when(() -> KNNSettings.getSearchThreads(INDEX_NAME)).thenReturn(4);
+        knnSettingsMockedStatic.when(KNNSettings::getQueryNativeThreadBudget).thenReturn(2);
+        final int[] searchParameters = NativeSearchParameters.withThreads(HNSW_SEARCH_PARAMETERS, expectedThreads);
+        jniServiceMockedStatic.when(
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(searchParameters), any(), any(), anyInt(), any())
+        ).thenAnswer(invocation -> {
+            assertEquals(expectedThreads - 1, NativeSearchThreadBudget.getInstance().getUsedThreads());
+            return getFilteredKNNQueryResults();
+        });
+        final SegmentReader reader = mockSegmentReader();
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+
+        final KNNQuery query = KNNQuery.builder()
+            .field(FIELD_NAME)
+            .queryVector(QUERY_VECTOR)
+            .k(k)
+            .indexName(INDEX_NAME)
+            .methodParameters(HNSW_METHOD_PARAMETERS)
+            .vectorDataType(VectorDataType.FLOAT)
+            .build();
+        final KNNWeight knnWeight = new KNNWeight(query, 1.0f);
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        if (isIvfIndex) {
+            // IVF indices are built from a model
+            final ModelDao modelDao = mock(ModelDao.class);
+            final ModelMetadata modelMetadata = mock(ModelMetadata.class);
+            when(modelMetadata.getKnnEngine()).thenReturn(KNNEngine.FAISS);
+            when(modelMetadata.getSpaceType()).thenReturn(SpaceType.L2);
+            when(modelMetadata.getState()).thenReturn(ModelState.CREATED);
+            when(modelMetadata.getVectorDataType()).thenReturn(VectorDataType.FLOAT);
+            when(modelMetadata.getMethodComponentContext()).thenReturn(new MethodComponentContext(METHOD_IVF, emptyMap()));
+            when(modelDao.getMetadata(eq("modelId"))).thenReturn(modelMetadata);
+            KNNWeight.initialize(modelDao);
+            when(fieldInfo.attributes()).thenReturn(Map.of());
+            when(fieldInfo.getAttribute(eq(MODEL_ID))).thenReturn("modelId");
+        } else {
+            when(fieldInfo.attributes()).thenReturn(
+                ImmutableMap.of(
+                    KNN_ENGINE,
+                    KNNEngine.FAISS.getName(),
+                    PARAMETERS,
+                    String.format(Locale.ROOT, "{\"%s\":\"%s\"}", INDEX_DESCRIPTION_PARAMETER, "HNSW32")
+                )
+            );
+        }
+
+        // When
+        final KNNScorer knnScorer = (KNNScorer) knnWeight.scorer(leafReaderContext);
+
+        // Then
+        assertNotNull(knnScorer);
+        jniServiceMockedStatic.verify(
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(searchParameters), any(), any(), anyInt(), any())
+        );
+        assertEquals(0, NativeSearchThreadBudget.getInstance().getUsedThreads());
+    }
+
     @SneakyThrows
     public void testANNWithFilterQuery_whenDoingANN_thenSuccess() {
         validateANNWithFilterQuery_whenDoingANN_thenSuccess(false);
@@ -516,7 +656,7 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(BYTE_QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     eq(filterBitSet.getBits()),
                     anyInt(),
@@ -529,7 +669,7 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     eq(filterBitSet.getBits()),
                     anyInt(),
@@ -607,7 +747,7 @@ public class KNNWeightTests extends KNNTestCase {
                     anyLong(),
                     eq(BYTE_QUERY_VECTOR),
                     eq(k),
-                    eq(HNSW_METHOD_PARAMETERS),
+                    eq(HNSW_SEARCH_PARAMETERS),
                     any(),
                     any(),
                     anyInt(),
@@ -617,7 +757,7 @@ public class KNNWeightTests extends KNNTestCase {
             );
         } else {
             jniServiceMockedStatic.verify(
-                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any()),
+                () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(k), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any()),
                 times(1)
             );
         }
@@ -1040,7 +1180,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(QUERY_VECTOR),
                 eq(1),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 any(),
                 anyInt(),
@@ -1057,7 +1197,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(QUERY_VECTOR),
                 eq(1),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 any(),
                 anyInt(),
@@ -1080,7 +1220,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(queryVector),
                 eq(radius),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 eq(maxResults),
                 any(),
@@ -1150,7 +1290,7 @@ public class KNNWeightTests extends KNNTestCase {
                 anyLong(),
                 eq(queryVector),
                 eq(radius),
-                eq(HNSW_METHOD_PARAMETERS),
+                eq(HNSW_SEARCH_PARAMETERS),
                 any(),
                 eq(maxResults),
                 any(),
@@ -1171,6 +1311,85 @@ public class KNNWeightTests extends KNNTestCase {
         assertTrue(Comparators.isInOrder(actualDocIds, Comparator.naturalOrder()));
     }
 
+    @SneakyThrows
+    public void testScorer_whenRadialSearchOnSegmentWithoutIndex_thenExactSearchWithinRadius() {
+        final float[] queryVector = new float[] { 0.1f, 0.3f };
+        // The squared l2 distances to the query are 0 and 2, so only the first vector is within the radius
+        final float[][] vectors = new float[][] { { 0.1f, 0.3f }, { 1.1f, 1.3f } };
+        final float radius = 0.5f;
+        knnSettingsMockedStatic.when(() -> KNNSettings.getApproximateThreshold(INDEX_NAME)).thenReturn(10);
+        KNNQuery.Context context = mock(KNNQuery.Context.class);
+        when(context.getMaxResultWindow()).thenReturn(1000);
+
+        final KNNQuery query = KNNQuery.builder()
+            .field(FIELD_NAME)
+            .queryVector(queryVector)
+            .radius(radius)
+            .indexName(INDEX_NAME)
+            .context(context)
+            .build();
+        final float boost = (float) randomDoubleBetween(0, 10, true);
+        final KNNWeight knnWeight = new KNNWeight(query, boost);
+
+        final LeafReaderContext leafReaderContext = mock(LeafReaderContext.class);
+        final SegmentReader reader = mock(SegmentReader.class);
+        when(leafReaderContext.reader()).thenReturn(reader);
+        when(reader.maxDoc()).thenReturn(vectors.length);
+        when(reader.getLiveDocs()).thenReturn(null);
+
+        final FSDirectory directory = mock(FSDirectory.class);
+        when(reader.directory()).thenReturn(directory);
+        final SegmentInfo segmentInfo = new SegmentInfo(
+            directory,
+            Version.LATEST,
+            Version.LATEST,
+            SEGMENT_NAME,
+            vectors.length,
+            false,
+            false,
+            KNNCodecVersion.current().getDefaultCodecDelegate(),
+            Map.of(),
+            new byte[StringHelper.ID_LENGTH],
+            Map.of(),
+            Sort.RELEVANCE
+        );
+        segmentInfo.setFiles(Set.of());
+        final SegmentCommitInfo segmentCommitInfo = new SegmentCommitInfo(segmentInfo, 0, 0, 0, 0, 0, new byte[StringHelper.ID_LENGTH]);
+        when(reader.getSegmentInfo()).thenReturn(segmentCommitInfo);
+
+        final FieldInfos fieldInfos = mock(FieldInfos.class);
+        final FieldInfo fieldInfo = mock(FieldInfo.class);
+        when(reader.getFieldInfos()).thenReturn(fieldInfos);
+        when(fieldInfos.fieldInfo(any())).thenReturn(fieldInfo);
+        when(fieldInfo.getName()).thenReturn(FIELD_NAME);
+        when(fieldInfo.attributes()).thenReturn(Map.of(SPACE_TYPE, SpaceType.L2.getValue(), KNN_ENGINE, KNNEngine.FAISS.getName()));
+        when(fieldInfo.getAttribute(SPACE_TYPE)).thenReturn(SpaceType.L2.getValue());
+
+        final BinaryDocValues binaryDocValues = mock(BinaryDocValues.class);
+        when(reader.getBinaryDocValues(FIELD_NAME)).thenReturn(binaryDocValues);
+        when(binaryDocValues.cost()).thenReturn((long) vectors.length);
+        when(binaryDocValues.nextDoc()).thenReturn(0, 1, NO_MORE_DOCS);
+        when(binaryDocValues.advance(0)).thenReturn(0);
+        when(binaryDocValues.advance(1)).thenReturn(1);
+        final KNNVectorAsArraySerializer serializer = new KNNVectorAsArraySerializer();
+        when(binaryDocValues.binaryValue()).thenReturn(
+            new BytesRef(serializer.floatToByteArray(vectors[0])),
+            new BytesRef(serializer.floatToByteArray(vectors[1]))
+        );
+
+        final KNNScorer knnScorer = (KNNScorer) knnWeight.scorer(leafReaderContext);
+        assertNotNull(knnScorer);
+        jniServiceMockedStatic.verify(
+            () -> JNIService.radiusQueryIndex(anyLong(), any(), anyFloat(), any(), any(), anyInt(), any(), anyInt(), any()),
+            never()
+        );
+
+        final DocIdSetIterator docIdSetIterator = knnScorer.iterator();
+        assertEquals(0, docIdSetIterator.nextDoc());
+        assertEquals(boost, knnScorer.score(), 0.01f);
+        assertEquals(NO_MORE_DOCS, docIdSetIterator.nextDoc());
+    }
+
     private SegmentReader getMockedSegmentReader() {
         final SegmentReader reader = mock(SegmentReader.class);
         when(reader.maxDoc()).thenReturn(1);
@@ -1231,7 +1450,7 @@ public class KNNWeightTests extends KNNTestCase {
         final Map<String, String> fileAttributes
     ) throws IOException {
         jniServiceMockedStatic.when(
-            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(K), eq(HNSW_METHOD_PARAMETERS), any(), any(), anyInt(), any())
+            () -> JNIService.queryIndex(anyLong(), eq(QUERY_VECTOR), eq(K), eq(HNSW_SEARCH_PARAMETERS), any(), any(), anyInt(), any())
         ).thenReturn(getKNNQueryResults());
 
         final KNNQuery query = KNNQuery.builder()
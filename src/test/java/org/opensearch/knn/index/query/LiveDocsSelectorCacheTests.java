@@ -0,0 +1,78 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import lombok.SneakyThrows;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.FixedBitSet;
+import org.opensearch.knn.KNNTestCase;
+
+public class LiveDocsSelectorCacheTests extends KNNTestCase {
+
+    private static final String ID_FIELD = "id";
+    private static final int NUM_DOCS = 10;
+    private static final int[] DELETED_DOCS = { 1, 4, 7 };
+
+    @SneakyThrows
+    public void testGetSelector_whenDeletedDocsAboveThreshold_thenBitmapOfLiveDocs() {
+        try (Directory directory = newDirectory()) {
+            writeSegmentWithDeletions(directory);
+            final DirectoryReader reader = DirectoryReader.open(directory);
+            final LeafReader leafReader = reader.leaves().get(0).reader();
+            final int cachedSelectors = LiveDocsSelectorCache.getInstance().size();
+
+            final FilterIdsSelector selector = LiveDocsSelectorCache.getInstance().getSelector(leafReader, 20);
+            assertNotNull(selector);
+            assertEquals(FilterIdsSelector.FilterIdsSelectorType.BITMAP, selector.getFilterType());
+            final FixedBitSet liveDocs = new FixedBitSet(selector.getFilterIds(), NUM_DOCS);
+            assertEquals(NUM_DOCS - DELETED_DOCS.length, liveDocs.cardinality());
+            for (int deletedDoc : DELETED_DOCS) {
+                assertFalse(liveDocs.get(deletedDoc));
+            }
+
+            // The selector is built once per reader and released with it
+            assertSame(selector, LiveDocsSelectorCache.getInstance().getSelector(leafReader, 20));
+            assertEquals(cachedSelectors + 1, LiveDocsSelectorCache.getInstance().size());
+            reader.close();
+            assertEquals(cachedSelectors, LiveDocsSelectorCache.getInstance().size());
+        }
+    }
+
+    @SneakyThrows
+    public void testGetSelector_whenDeletedDocsBelowThreshold_thenNull() {
+        try (Directory directory = newDirectory()) {
+            writeSegmentWithDeletions(directory);
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                assertNull(LiveDocsSelectorCache.getInstance().getSelector(reader.leaves().get(0).reader(), 30));
+            }
+        }
+    }
+
+    private void writeSegmentWithDeletions(final Directory directory) throws Exception {
+        final IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (int i = 0; i < NUM_DOCS; i++) {
+                final Document document = new Document();
+                document.add(new StringField(ID_FIELD, Integer.toString(i), Field.Store.NO));
+                writer.addDocument(document);
+            }
+            writer.commit();
+            for (int deletedDoc : DELETED_DOCS) {
+                writer.deleteDocuments(new Term(ID_FIELD, Integer.toString(deletedDoc)));
+            }
+            writer.commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.query;
+
+import org.opensearch.knn.KNNTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NativeSearchThreadBudgetTests extends KNNTestCase {
+
+    public void testAcquire_whenSingleThreadRequested_thenBudgetNotUsed() {
+        final NativeSearchThreadBudget budget = new NativeSearchThreadBudget(() -> 0);
+        assertEquals(1, budget.acquire(1));
+        assertEquals(1, budget.acquire(0));
+        assertEquals(1, budget.acquire(4));
+        assertEquals(0, budget.getUsedThreads());
+    }
+
+    public void testAcquire_whenBudgetUsed_thenFewerThreadsGranted() {
+        final NativeSearchThreadBudget budget = new NativeSearchThreadBudget(() -> 4);
+        assertEquals(3, budget.acquire(3));
+        assertEquals(3, budget.acquire(8));
+        assertEquals(1, budget.acquire(2));
+        assertEquals(4, budget.getUsedThreads());
+
+        budget.release(3);
+        assertEquals(2, budget.getUsedThreads());
+        assertEquals(3, budget.acquire(8));
+        budget.release(3);
+        budget.release(3);
+        budget.release(1);
+        assertEquals(0, budget.getUsedThreads());
+    }
+
+    public void testAcquire_whenBudgetLowered_thenNoExtraThreadGranted() {
+        final AtomicInteger budgetValue = new AtomicInteger(4);
+        final NativeSearchThreadBudget budget = new NativeSearchThreadBudget(budgetValue::get);
+        assertEquals(5, budget.acquire(5));
+
+        budgetValue.set(2);
+        assertEquals(1, budget.acquire(5));
+        budget.release(5);
+        assertEquals(3, budget.acquire(5));
+        budget.release(3);
+        assertEquals(0, budget.getUsedThreads());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.index.vectorvalues;
+
+import org.apache.lucene.search.DocIdSetIterator;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.VectorDataType;
+
+public class BufferedVectorsTests extends KNNTestCase {
+
+    public void testAdd_whenManyPages_thenVectorsByOrdinalAndDocId() {
+        final int count = 10_000;
+        final BufferedVectors<float[]> vectors = new BufferedVectors<>();
+        for (int i = 0; i < count; i++) {
+            vectors.add(i * 2, new float[] { i });
+        }
+
+        assertEquals(count, vectors.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i * 2, vectors.docId(i));
+            assertEquals(i, vectors.vector(i)[0], 0.0f);
+            assertEquals(i, vectors.get(i * 2)[0], 0.0f);
+            assertNull(vectors.get(i * 2 + 1));
+        }
+    }
+
+    public void testIterator_whenAdvance_thenVectorOfTargetOrNextDoc() {
+        final BufferedVectors<byte[]> vectors = new BufferedVectors<>();
+        vectors.add(1, new byte[] { 1 });
+        vectors.add(4, new byte[] { 4 });
+        vectors.add(9, new byte[] { 9 });
+
+        final BufferedVectors<byte[]>.Iterator iterator = vectors.iterator();
+        assertEquals(3, iterator.cost());
+        assertEquals(1, iterator.nextDoc());
+        assertEquals(1, iterator.vector()[0]);
+        assertEquals(9, iterator.advance(5));
+        assertEquals(9, iterator.vector()[0]);
+        assertEquals(DocIdSetIterator.NO_MORE_DOCS, iterator.nextDoc());
+    }
+
+    public void testRemap_whenDocIdsReversed_thenSortedByNewDocId() {
+        final BufferedVectors<float[]> vectors = new BufferedVectors<>();
+        final float[] first = new float[] { 1 };
+        final float[] second = new float[] { 2 };
+        vectors.add(0, first);
+        vectors.add(3, second);
+
+        final BufferedVectors<float[]> remapped = vectors.remap(docId -> 10 - docId);
+
+        assertEquals(7, remapped.docId(0));
+        assertSame(second, remapped.vector(0));
+        assertEquals(10, remapped.docId(1));
+        assertSame(first, remapped.vector(1));
+    }
+
+    public void testRamBytesUsed_whenVectorsAdded_thenGrowsWithoutVectorPayload() {
+        final BufferedVectors<float[]> vectors = new BufferedVectors<>();
+        final long emptyRamBytesUsed = vectors.ramBytesUsed();
+        for (int i = 0; i < 100; i++) {
+            vectors.add(i, new float[1024]);
+        }
+        assertTrue(vectors.ramBytesUsed() > emptyRamBytesUsed);
+        // The vectors are owned by the flat vectors writer, only docIds and references are accounted here
+        assertTrue(vectors.ramBytesUsed() < 100L * 1024 * Float.BYTES);
+    }
+
+    public void testGetVectorValues_whenBufferedVectors_thenIteratesAllVectors() throws Exception {
+        final BufferedVectors<float[]> vectors = new BufferedVectors<>();
+        vectors.add(2, new float[] { 1, 2 });
+        vectors.add(5, new float[] { 3, 4 });
+
+        final KNNVectorValues<float[]> vectorValues = KNNVectorValuesFactory.getVectorValues(VectorDataType.FLOAT, vectors);
+        assertEquals(2, vectorValues.totalLiveDocs());
+        assertEquals(2, vectorValues.nextDoc());
+        assertArrayEquals(new float[] { 1, 2 }, vectorValues.getVector(), 0.0f);
+        assertEquals(5, vectorValues.nextDoc());
+        assertArrayEquals(new float[] { 3, 4 }, vectorValues.getVector(), 0.0f);
+        assertEquals(DocIdSetIterator.NO_MORE_DOCS, vectorValues.nextDoc());
+    }
+}
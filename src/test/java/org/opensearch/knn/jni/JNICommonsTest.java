@@ -13,6 +13,9 @@ package org.opensearch.knn.jni;
 
 import org.opensearch.knn.KNNTestCase;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 public class JNICommonsTest extends KNNTestCase {
 
     public void testStoreVectorData_whenVaildInputThenSuccess() {
@@ -37,4 +40,22 @@ public class JNICommonsTest extends KNNTestCase {
         long memoryAddress = JNICommons.storeVectorData(0, data, 8);
         JNICommons.freeVectorData(memoryAddress);
     }
+
+    public void testStoreVectorDataFromBuffer_whenValidInput_thenSuccess() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(4 * Float.BYTES).order(ByteOrder.nativeOrder());
+        buffer.asFloatBuffer().put(new float[] { 0, 1, 1, 2 });
+        long memoryAddress = JNICommons.storeVectorDataFromBuffer(0, buffer, 4, 8);
+        assertTrue(memoryAddress > 0);
+        assertEquals(memoryAddress, JNICommons.storeVectorDataFromBuffer(memoryAddress, buffer, 4, 8));
+        JNICommons.freeVectorData(memoryAddress);
+    }
+
+    public void testStoreByteVectorDataFromBuffer_whenValidInput_thenSuccess() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        buffer.put(new byte[] { 0, 1, 1, 2 });
+        long memoryAddress = JNICommons.storeByteVectorDataFromBuffer(0, buffer, 4, 8);
+        assertTrue(memoryAddress > 0);
+        assertEquals(memoryAddress, JNICommons.storeByteVectorDataFromBuffer(memoryAddress, buffer, 4, 8));
+        JNICommons.freeByteVectorData(memoryAddress);
+    }
 }
@@ -14,6 +14,10 @@ package org.opensearch.knn.jni;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import lombok.SneakyThrows;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.IndexOutput;
 import org.junit.BeforeClass;
 import org.opensearch.Version;
 import org.opensearch.common.xcontent.XContentFactory;
@@ -28,9 +32,11 @@ import org.opensearch.knn.index.query.KNNQueryResult;
 import org.opensearch.knn.index.engine.MethodComponentContext;
 import org.opensearch.knn.index.SpaceType;
 import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.store.IndexOutputWithBuffer;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -195,7 +201,7 @@ public class JNIServiceTests extends KNNTestCase {
                 docIds,
                 memoryAddress,
                 0,
-                null,
+                (String) null,
                 ImmutableMap.of(KNNConstants.SPACE_TYPE, SpaceType.L2.getValue()),
                 KNNEngine.NMSLIB
             )
@@ -391,7 +397,7 @@ public class JNIServiceTests extends KNNTestCase {
                 docIds,
                 testData.loadDataToMemoryAddress(),
                 testData.indexData.getDimension(),
-                null,
+                (String) null,
                 ImmutableMap.of(INDEX_DESCRIPTION_PARAMETER, faissMethod, KNNConstants.SPACE_TYPE, SpaceType.L2.getValue()),
                 KNNEngine.FAISS
             )
@@ -535,7 +541,7 @@ public class JNIServiceTests extends KNNTestCase {
 
         String sqfp16IndexDescription = "HNSW16,SQfp16";
         int k = 10;
-        Map<String, ?> methodParameters = Map.of("ef_search", 12);
+        int[] searchParameters = NativeSearchParameters.encode(Map.of("ef_search", 12));
         float[][] truncatedVectors = truncateToFp16Range(testData.indexData.vectors);
         long memoryAddress = JNICommons.storeVectorData(0, truncatedVectors, (long) truncatedVectors.length * truncatedVectors[0].length);
         Path tmpFile = createTempFile();
@@ -553,7 +559,7 @@ public class JNIServiceTests extends KNNTestCase {
         assertNotEquals(0, pointer);
 
         for (float[] query : testData.queries) {
-            KNNQueryResult[] results = JNIService.queryIndex(pointer, query, k, methodParameters, KNNEngine.FAISS, null, 0, null);
+            KNNQueryResult[] results = JNIService.queryIndex(pointer, query, k, searchParameters, KNNEngine.FAISS, null, 0, null);
             assertEquals(k, results.length);
         }
 
@@ -563,7 +569,7 @@ public class JNIServiceTests extends KNNTestCase {
                 pointer,
                 query,
                 k,
-                methodParameters,
+                searchParameters,
                 KNNEngine.FAISS,
                 new long[] { 0 },
                 0,
@@ -666,6 +672,60 @@ public class JNIServiceTests extends KNNTestCase {
         }
     }
 
+    @SneakyThrows
+    public void testCreateIndex_faiss_toIndexOutput_thenSameBytesAsFile() {
+        // A flat index is used as HNSW graphs built with several threads are not deterministic
+        final Map<String, Object> parameters = ImmutableMap.of(
+            INDEX_DESCRIPTION_PARAMETER,
+            "Flat",
+            KNNConstants.SPACE_TYPE,
+            SpaceType.L2.getValue()
+        );
+        Path tmpFile = createTempFile();
+        JNIService.createIndex(
+            testData.indexData.docs,
+            testData.loadDataToMemoryAddress(),
+            testData.indexData.getDimension(),
+            tmpFile.toAbsolutePath().toString(),
+            parameters,
+            KNNEngine.FAISS
+        );
+
+        try (Directory directory = newFSDirectory(createTempDir())) {
+            try (IndexOutput indexOutput = directory.createOutput("test.faiss", IOContext.DEFAULT)) {
+                JNIService.createIndex(
+                    testData.indexData.docs,
+                    testData.loadDataToMemoryAddress(),
+                    testData.indexData.getDimension(),
+                    new IndexOutputWithBuffer(indexOutput),
+                    parameters,
+                    KNNEngine.FAISS
+                );
+            }
+            final byte[] expected = Files.readAllBytes(tmpFile);
+            try (IndexInput indexInput = directory.openInput("test.faiss", IOContext.DEFAULT)) {
+                assertEquals(expected.length, indexInput.length());
+                final byte[] actual = new byte[expected.length];
+                indexInput.readBytes(actual, 0, actual.length);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    public void testCreateIndex_toIndexOutput_whenNmslib_thenThrow() {
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> JNIService.createIndex(
+                new int[] {},
+                0,
+                0,
+                (IndexOutputWithBuffer) null,
+                ImmutableMap.of(KNNConstants.SPACE_TYPE, SpaceType.L2.getValue()),
+                KNNEngine.NMSLIB
+            )
+        );
+    }
+
     @SneakyThrows
     public void testCreateIndex_binary_faiss_valid() {
         Path tmpFile1 = createTempFile();
@@ -903,7 +963,7 @@ public class JNIServiceTests extends KNNTestCase {
                         pointer,
                         query,
                         k,
-                        Map.of("ef_search", efSearch),
+                        NativeSearchParameters.encode(Map.of("ef_search", efSearch)),
                         KNNEngine.FAISS,
                         null,
                         0,
@@ -918,7 +978,7 @@ public class JNIServiceTests extends KNNTestCase {
                         pointer,
                         query,
                         k,
-                        Map.of("ef_search", efSearch),
+                        NativeSearchParameters.encode(Map.of("ef_search", efSearch)),
                         KNNEngine.FAISS,
                         new long[] { 0 },
                         0,
@@ -930,6 +990,40 @@ public class JNIServiceTests extends KNNTestCase {
         }
     }
 
+    public void testQueryIndex_faiss_whenDirectBuffer_thenSameResultsAsArrays() throws IOException {
+        int k = 10;
+        int[] searchParameters = NativeSearchParameters.encode(Map.of("ef_search", 100));
+        Path tmpFile = createTempFile();
+        JNIService.createIndex(
+            testData.indexData.docs,
+            testData.loadDataToMemoryAddress(),
+            testData.indexData.getDimension(),
+            tmpFile.toAbsolutePath().toString(),
+            ImmutableMap.of(INDEX_DESCRIPTION_PARAMETER, faissMethod, KNNConstants.SPACE_TYPE, SpaceType.L2.getValue()),
+            KNNEngine.FAISS
+        );
+        long pointer = JNIService.loadIndex(
+            tmpFile.toAbsolutePath().toString(),
+            ImmutableMap.of(KNNConstants.SPACE_TYPE, SpaceType.L2.getValue()),
+            KNNEngine.FAISS
+        );
+        assertNotEquals(0, pointer);
+
+        for (float[] query : testData.queries) {
+            KNNQueryResult[] expected = FaissService.queryIndex(pointer, query, k, searchParameters, null);
+            KNNQueryResult[] results = FaissQueryBuffer.queryIndex(pointer, query, k, searchParameters, null, 0, null);
+            assertEquals(expected.length, results.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].getId(), results[i].getId());
+                assertEquals(expected[i].getScore(), results[i].getScore(), 0.0f);
+            }
+        }
+
+        // Filter will result in no ids
+        assertEquals(0, FaissQueryBuffer.queryIndex(pointer, testData.queries[0], k, searchParameters, new long[] { 0 }, 0, null).length);
+        JNIService.free(pointer, KNNEngine.FAISS);
+    }
+
     public void testQueryIndex_faiss_parentIds() throws IOException {
 
         int k = 100;
@@ -964,7 +1058,7 @@ public class JNIServiceTests extends KNNTestCase {
                         pointer,
                         query,
                         k,
-                        Map.of("ef_search", efSearch),
+                        NativeSearchParameters.encode(Map.of("ef_search", efSearch)),
                         KNNEngine.FAISS,
                         null,
                         0,
@@ -1272,6 +1366,45 @@ public class JNIServiceTests extends KNNTestCase {
         assertNotEquals(0, pointer);
     }
 
+    public void testCreateIndexFromTemplateIndex_whenTemplateLoadedOnce_thenReusedAcrossBuilds() throws IOException {
+        long trainPointer = JNIService.transferVectors(0, testData.indexData.vectors);
+        Map<String, Object> trainParameters = ImmutableMap.of(
+            INDEX_DESCRIPTION_PARAMETER,
+            "IVF16,PQ16x8",
+            KNNConstants.SPACE_TYPE,
+            SpaceType.L2.getValue()
+        );
+        byte[] faissIndex = JNIService.trainIndex(trainParameters, 128, trainPointer, KNNEngine.FAISS);
+        JNICommons.freeVectorData(trainPointer);
+
+        long templateIndexPointer = JNIService.loadTemplateIndex(faissIndex, KNNEngine.FAISS);
+        assertNotEquals(0, templateIndexPointer);
+
+        for (int i = 0; i < 2; i++) {
+            Path tmpFile = createTempFile();
+            JNIService.createIndexFromTemplateIndex(
+                testData.indexData.docs,
+                testData.loadDataToMemoryAddress(),
+                testData.indexData.getDimension(),
+                tmpFile.toAbsolutePath().toString(),
+                templateIndexPointer,
+                ImmutableMap.of(INDEX_THREAD_QTY, 1),
+                KNNEngine.FAISS
+            );
+            assertTrue(tmpFile.toFile().length() > 0);
+
+            long pointer = JNIService.loadIndex(tmpFile.toAbsolutePath().toString(), Collections.emptyMap(), KNNEngine.FAISS);
+            assertNotEquals(0, pointer);
+            JNIService.free(pointer, KNNEngine.FAISS);
+        }
+
+        JNIService.free(templateIndexPointer, KNNEngine.FAISS);
+    }
+
+    public void testLoadTemplateIndex_whenNotFaiss_thenThrow() {
+        expectThrows(IllegalArgumentException.class, () -> JNIService.loadTemplateIndex(new byte[] { 1 }, KNNEngine.NMSLIB));
+    }
+
     @SneakyThrows
     public void testIndexLoad_whenStateIsShared_thenSucceed() {
         // Creates a single IVFPQ-l2 index. Then, we will configure a set of indices in memory in different ways to
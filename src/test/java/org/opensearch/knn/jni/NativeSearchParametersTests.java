@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.jni;
+
+import org.opensearch.knn.KNNTestCase;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_EF_SEARCH;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NPROBES;
+
+public class NativeSearchParametersTests extends KNNTestCase {
+
+    public void testEncode_whenNoMethodParameters_thenNull() {
+        assertNull(NativeSearchParameters.encode(null));
+        assertNull(NativeSearchParameters.encode(Collections.emptyMap()));
+    }
+
+    public void testEncode_whenMethodParameters_thenEveryParameterAtItsPosition() {
+        final int[] efSearchOnly = NativeSearchParameters.encode(Map.of(METHOD_PARAMETER_EF_SEARCH, 100));
+        assertEquals(100, efSearchOnly[NativeSearchParameters.EF_SEARCH]);
+        assertEquals(NativeSearchParameters.UNSET, efSearchOnly[NativeSearchParameters.NPROBES]);
+
+        final int[] nprobesOnly = NativeSearchParameters.encode(Map.of(METHOD_PARAMETER_NPROBES, 8));
+        assertEquals(NativeSearchParameters.UNSET, nprobesOnly[NativeSearchParameters.EF_SEARCH]);
+        assertEquals(8, nprobesOnly[NativeSearchParameters.NPROBES]);
+    }
+
+    public void testEncode_whenCollectStats_thenStatsAskedWithoutMethodParameters() {
+        final int[] searchParameters = NativeSearchParameters.encode(null, true);
+        assertEquals(NativeSearchParameters.UNSET, searchParameters[NativeSearchParameters.EF_SEARCH]);
+        assertEquals(NativeSearchParameters.UNSET, searchParameters[NativeSearchParameters.NPROBES]);
+        assertEquals(1, searchParameters[NativeSearchParameters.COLLECT_STATS]);
+
+        final int[] withoutStats = NativeSearchParameters.encode(Map.of(METHOD_PARAMETER_EF_SEARCH, 100));
+        assertEquals(NativeSearchParameters.UNSET, withoutStats[NativeSearchParameters.COLLECT_STATS]);
+    }
+
+    public void testWithThreads_whenMoreThanOneThread_thenCopyWithThreads() {
+        final int[] searchParameters = NativeSearchParameters.encode(Map.of(METHOD_PARAMETER_NPROBES, 8));
+        assertSame(searchParameters, NativeSearchParameters.withThreads(searchParameters, 1));
+        assertNull(NativeSearchParameters.withThreads(null, 1));
+
+        final int[] withThreads = NativeSearchParameters.withThreads(searchParameters, 4);
+        assertEquals(8, withThreads[NativeSearchParameters.NPROBES]);
+        assertEquals(4, withThreads[NativeSearchParameters.THREADS]);
+        assertEquals(NativeSearchParameters.UNSET, searchParameters[NativeSearchParameters.THREADS]);
+
+        final int[] threadsOnly = NativeSearchParameters.withThreads(null, 2);
+        assertEquals(NativeSearchParameters.UNSET, threadsOnly[NativeSearchParameters.NPROBES]);
+        assertEquals(2, threadsOnly[NativeSearchParameters.THREADS]);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.KNNIndexShard;
+import org.opensearch.knn.training.VectorSampler;
+
+import java.io.IOException;
+
+public class SampleTrainingVectorsRequestTests extends KNNTestCase {
+    public void testStreams() throws IOException {
+        KNNIndexShard.VectorCursor cursor = new KNNIndexShard.VectorCursor("reader-id", 5, 100);
+        VectorSampler sampler = new VectorSampler(7, 10000, 1000, 250, 20);
+        SampleTrainingVectorsRequest request = new SampleTrainingVectorsRequest("test-index", 2, "test-field", 500, cursor, sampler, "abc");
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        request.writeTo(streamOutput);
+        SampleTrainingVectorsRequest requestCopy = new SampleTrainingVectorsRequest(streamOutput.bytes().streamInput());
+        assertEquals("test-index", requestCopy.index());
+        assertEquals(2, requestCopy.getShardId());
+        assertEquals("test-field", requestCopy.getFieldName());
+        assertEquals(500, requestCopy.getMaxVectors());
+        assertEquals(cursor, requestCopy.getCursor());
+        assertEquals(250, requestCopy.getSampler().getSeen());
+        assertEquals(20, requestCopy.getSampler().getSelected());
+        assertEquals("abc", requestCopy.getPreference());
+        assertNull(requestCopy.validate());
+    }
+
+    public void testValidate_whenNoVectors_thenInvalid() {
+        SampleTrainingVectorsRequest request = new SampleTrainingVectorsRequest(
+            "test-index",
+            0,
+            "test-field",
+            0,
+            KNNIndexShard.VectorCursor.START,
+            new VectorSampler(7, 10000, 1000),
+            null
+        );
+        assertNotNull(request.validate());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.KNNIndexShard;
+import org.opensearch.knn.training.VectorSampler;
+
+import java.io.IOException;
+
+public class SampleTrainingVectorsResponseTests extends KNNTestCase {
+    public void testStreams() throws IOException {
+        float[] vectors = new float[] { 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f };
+        KNNIndexShard.VectorCursor nextCursor = new KNNIndexShard.VectorCursor("reader-id", 37, 12);
+        VectorSampler sampler = new VectorSampler(7, 10000, 1000, 250, 2);
+        SampleTrainingVectorsResponse response = new SampleTrainingVectorsResponse(3, vectors, nextCursor, sampler);
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        response.writeTo(streamOutput);
+        SampleTrainingVectorsResponse responseCopy = new SampleTrainingVectorsResponse(streamOutput.bytes().streamInput());
+        assertEquals(3, responseCopy.getDimension());
+        assertEquals(2, responseCopy.getVectorCount());
+        assertArrayEquals(vectors, responseCopy.getVectors(), 0.0f);
+        assertEquals(nextCursor, responseCopy.getNextCursor());
+        assertEquals(250, responseCopy.getSampler().getSeen());
+        assertEquals(2, responseCopy.getSampler().getSelected());
+        assertFalse(responseCopy.isRestricted());
+    }
+
+    public void testStreams_whenRestricted_thenNoVectors() throws IOException {
+        SampleTrainingVectorsResponse response = SampleTrainingVectorsResponse.restricted(new VectorSampler(7, 10000, 1000));
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        response.writeTo(streamOutput);
+        SampleTrainingVectorsResponse responseCopy = new SampleTrainingVectorsResponse(streamOutput.bytes().streamInput());
+        assertTrue(responseCopy.isRestricted());
+        assertEquals(0, responseCopy.getVectorCount());
+        assertNull(responseCopy.getNextCursor());
+    }
+
+    public void testStreams_whenLastBatch_thenNoCursor() throws IOException {
+        SampleTrainingVectorsResponse response = new SampleTrainingVectorsResponse(0, new float[0], null, new VectorSampler(7, 0, 1000));
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        response.writeTo(streamOutput);
+        SampleTrainingVectorsResponse responseCopy = new SampleTrainingVectorsResponse(streamOutput.bytes().streamInput());
+        assertEquals(0, responseCopy.getVectorCount());
+        assertNull(responseCopy.getNextCursor());
+    }
+}
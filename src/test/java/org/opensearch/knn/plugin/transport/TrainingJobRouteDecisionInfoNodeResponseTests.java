@@ -16,6 +16,7 @@ import com.google.common.net.InetAddresses;
 import org.opensearch.Version;
 import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -47,6 +48,33 @@ public class TrainingJobRouteDecisionInfoNodeResponseTests extends KNNTestCase {
         assertEquals(original.getTrainingJobCount(), copy.getTrainingJobCount());
     }
 
+    public void testStreams_whenNodeCapacity_thenCapacityCopied() throws IOException {
+        DiscoveryNode discoveryNode = new DiscoveryNode(
+            "id",
+            new TransportAddress(InetAddresses.fromInteger(randomInt()), 9200),
+            Version.CURRENT
+        );
+        TrainingJobRouteDecisionInfoNodeResponse original = new TrainingJobRouteDecisionInfoNodeResponse(discoveryNode, 1, 4, 2048L);
+
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        original.writeTo(streamOutput);
+        TrainingJobRouteDecisionInfoNodeResponse copy = new TrainingJobRouteDecisionInfoNodeResponse(streamOutput.bytes().streamInput());
+        assertEquals(1, copy.getTrainingJobCount().intValue());
+        assertEquals(4, copy.getMaxTrainingJobCount());
+        assertEquals(2048L, copy.getFreeNativeMemoryInKB());
+
+        // Nodes on older versions neither send nor read the capacity
+        BytesStreamOutput oldStreamOutput = new BytesStreamOutput();
+        oldStreamOutput.setVersion(Version.V_2_16_0);
+        original.writeTo(oldStreamOutput);
+        StreamInput oldStreamInput = oldStreamOutput.bytes().streamInput();
+        oldStreamInput.setVersion(Version.V_2_16_0);
+        TrainingJobRouteDecisionInfoNodeResponse oldCopy = new TrainingJobRouteDecisionInfoNodeResponse(oldStreamInput);
+        assertEquals(1, oldCopy.getTrainingJobCount().intValue());
+        assertEquals(TrainingJobRouteDecisionInfoNodeResponse.DEFAULT_MAX_TRAINING_JOB_COUNT, oldCopy.getMaxTrainingJobCount());
+        assertEquals(TrainingJobRouteDecisionInfoNodeResponse.UNKNOWN_FREE_NATIVE_MEMORY, oldCopy.getFreeNativeMemoryInKB());
+    }
+
     public void testGetTrainingJobCount() {
         int trainingJobCount = 13;
 
@@ -79,7 +79,7 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         );
 
         // Select the node
-        DiscoveryNode selectedNode = transportAction.selectNode(null, infoResponse);
+        DiscoveryNode selectedNode = transportAction.selectNode(null, 0, infoResponse);
         assertEquals(nodeIds.get(0), selectedNode.getId());
     }
 
@@ -119,7 +119,7 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         );
 
         // Select the node
-        DiscoveryNode selectedNode = transportAction.selectNode(null, infoResponse);
+        DiscoveryNode selectedNode = transportAction.selectNode(null, 0, infoResponse);
         assertNull(selectedNode);
     }
 
@@ -160,7 +160,7 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         );
 
         // Select the node
-        DiscoveryNode selectedNode = transportAction.selectNode(null, infoResponse);
+        DiscoveryNode selectedNode = transportAction.selectNode(null, 0, infoResponse);
         assertEquals(nodeIds.get(1), selectedNode.getId());
     }
 
@@ -203,7 +203,7 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         );
 
         // Select the node
-        DiscoveryNode selectedNode = transportAction.selectNode(preferredNode, infoResponse);
+        DiscoveryNode selectedNode = transportAction.selectNode(preferredNode, 0, infoResponse);
         assertEquals(preferredNode, selectedNode.getId());
     }
 
@@ -246,11 +246,85 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         );
 
         // Select the node
-        DiscoveryNode selectedNode = transportAction.selectNode(preferredNode, infoResponse);
+        DiscoveryNode selectedNode = transportAction.selectNode(preferredNode, 0, infoResponse);
         assertNotNull(selectedNode);
         assertNotEquals(preferredNode, selectedNode.getId());
     }
 
+    public void testMultiNode_whenConcurrentJobs_thenNodeWithMostFreeMemorySelected() {
+        List<String> nodeIds = ImmutableList.of("node-1", "node-2", "node-3");
+
+        Map<String, DiscoveryNode> discoveryNodesMap = generateDiscoveryNodes(nodeIds);
+        ClusterService clusterService = generateMockedClusterService(discoveryNodesMap);
+
+        List<TrainingJobRouteDecisionInfoNodeResponse> responseList = new ArrayList<>();
+
+        // First node runs a job out of 2, with some free memory
+        responseList.add(new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(0)), 1, 2, 1000));
+
+        // Second node runs a job out of 2, with the most free memory
+        responseList.add(new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(1)), 1, 2, 5000));
+
+        // Third node has the most free memory, but no capacity
+        responseList.add(new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(2)), 2, 2, 9000));
+
+        TrainingJobRouteDecisionInfoResponse infoResponse = new TrainingJobRouteDecisionInfoResponse(
+            ClusterName.DEFAULT,
+            responseList,
+            Collections.emptyList()
+        );
+
+        TrainingJobRouterTransportAction transportAction = new TrainingJobRouterTransportAction(
+            mock(TransportService.class),
+            new ActionFilters(Collections.emptySet()),
+            clusterService,
+            mock(Client.class)
+        );
+
+        assertEquals(nodeIds.get(1), transportAction.selectNode(null, 0, infoResponse).getId());
+
+        // The preferred node is selected whenever it has capacity
+        assertEquals(nodeIds.get(0), transportAction.selectNode(nodeIds.get(0), 0, infoResponse).getId());
+        assertEquals(nodeIds.get(1), transportAction.selectNode(nodeIds.get(2), 0, infoResponse).getId());
+    }
+
+    public void testMultiNode_whenJobDoesNotFit_thenNodeSkipped() {
+        List<String> nodeIds = ImmutableList.of("node-1", "node-2", "node-3");
+
+        Map<String, DiscoveryNode> discoveryNodesMap = generateDiscoveryNodes(nodeIds);
+        ClusterService clusterService = generateMockedClusterService(discoveryNodesMap);
+
+        List<TrainingJobRouteDecisionInfoNodeResponse> responseList = new ArrayList<>();
+
+        // First node has little free memory
+        responseList.add(new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(0)), 0, 2, 1000));
+
+        // Second node has enough free memory
+        responseList.add(new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(1)), 1, 2, 5000));
+
+        // Third node does not report its free memory
+        responseList.add(new TrainingJobRouteDecisionInfoNodeResponse(discoveryNodesMap.get(nodeIds.get(2)), 0));
+
+        TrainingJobRouteDecisionInfoResponse infoResponse = new TrainingJobRouteDecisionInfoResponse(
+            ClusterName.DEFAULT,
+            responseList,
+            Collections.emptyList()
+        );
+
+        TrainingJobRouterTransportAction transportAction = new TrainingJobRouterTransportAction(
+            mock(TransportService.class),
+            new ActionFilters(Collections.emptySet()),
+            clusterService,
+            mock(Client.class)
+        );
+
+        // The preferred node is skipped when the job does not fit in its free memory
+        assertEquals(nodeIds.get(1), transportAction.selectNode(nodeIds.get(0), 2000, infoResponse).getId());
+
+        // Nodes that do not report their free memory are not skipped
+        assertEquals(nodeIds.get(2), transportAction.selectNode(null, 6000, infoResponse).getId());
+    }
+
     public void testMultiNode_withoutCapacity() {
         // Mock datanodes in the cluster through mocking the cluster service
         List<String> nodeIds = ImmutableList.of("node-1", "node-2", "node-3");
@@ -288,7 +362,7 @@ public class TrainingJobRouterTransportActionTests extends KNNTestCase {
         );
 
         // Select the node
-        DiscoveryNode selectedNode = transportAction.selectNode(null, infoResponse);
+        DiscoveryNode selectedNode = transportAction.selectNode(null, 0, infoResponse);
         assertNull(selectedNode);
     }
 
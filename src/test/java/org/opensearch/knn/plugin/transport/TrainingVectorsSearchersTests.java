@@ -0,0 +1,59 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.plugin.transport;
+
+import org.opensearch.index.engine.Engine;
+import org.opensearch.knn.KNNTestCase;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TrainingVectorsSearchersTests extends KNNTestCase {
+
+    public void testUse_whenPinned_thenSameSearcherUntilReleased() throws IOException {
+        TrainingVectorsSearchers searchers = new TrainingVectorsSearchers(() -> 0L);
+        Engine.Searcher searcher = mock(Engine.Searcher.class);
+
+        String id = searchers.pin(searcher);
+        assertSame(searcher, searchers.use(id, s -> s));
+        assertSame(searcher, searchers.use(id, s -> s));
+        verify(searcher, never()).close();
+
+        searchers.release(id);
+        verify(searcher, times(1)).close();
+        assertEquals(0, searchers.size());
+        expectThrows(IllegalStateException.class, () -> searchers.use(id, s -> s));
+
+        // Releasing twice closes the searcher once
+        searchers.release(id);
+        verify(searcher, times(1)).close();
+    }
+
+    public void testReleaseExpired_whenIdleForKeepAlive_thenReleased() throws IOException {
+        AtomicLong now = new AtomicLong(0L);
+        TrainingVectorsSearchers searchers = new TrainingVectorsSearchers(now::get);
+        Engine.Searcher idleSearcher = mock(Engine.Searcher.class);
+        Engine.Searcher usedSearcher = mock(Engine.Searcher.class);
+        String idleId = searchers.pin(idleSearcher);
+        String usedId = searchers.pin(usedSearcher);
+
+        now.set(TrainingVectorsSearchers.KEEP_ALIVE.millis() / 2);
+        searchers.use(usedId, s -> s);
+        now.set(TrainingVectorsSearchers.KEEP_ALIVE.millis());
+        searchers.releaseExpired();
+
+        verify(idleSearcher, times(1)).close();
+        verify(usedSearcher, never()).close();
+        assertEquals(1, searchers.size());
+        expectThrows(IllegalStateException.class, () -> searchers.use(idleId, s -> s));
+        assertSame(usedSearcher, searchers.use(usedId, s -> s));
+    }
+}
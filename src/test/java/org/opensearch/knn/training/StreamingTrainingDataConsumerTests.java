@@ -0,0 +1,162 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import com.google.common.collect.ImmutableMap;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.SpaceType;
+import org.opensearch.knn.index.VectorDataType;
+import org.opensearch.knn.index.engine.KNNEngine;
+import org.opensearch.knn.index.engine.KNNMethodContext;
+import org.opensearch.knn.index.engine.MethodComponentContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.opensearch.knn.common.KNNConstants.ENCODER_PARAMETER_PQ_CODE_SIZE;
+import static org.opensearch.knn.common.KNNConstants.ENCODER_PQ;
+import static org.opensearch.knn.common.KNNConstants.ENCODER_SQ;
+import static org.opensearch.knn.common.KNNConstants.METHOD_ENCODER_PARAMETER;
+import static org.opensearch.knn.common.KNNConstants.METHOD_HNSW;
+import static org.opensearch.knn.common.KNNConstants.METHOD_IVF;
+import static org.opensearch.knn.common.KNNConstants.METHOD_PARAMETER_NLIST;
+
+public class StreamingTrainingDataConsumerTests extends KNNTestCase {
+
+    public void testIsSupported_whenFaissIVFOnFloats_thenOnlyFlatAndPQEncoders() {
+        assertTrue(isSupported(KNNEngine.FAISS, METHOD_IVF, null, VectorDataType.FLOAT));
+        assertTrue(isSupported(KNNEngine.FAISS, METHOD_IVF, ENCODER_PQ, VectorDataType.FLOAT));
+
+        assertFalse(isSupported(KNNEngine.FAISS, METHOD_IVF, ENCODER_SQ, VectorDataType.FLOAT));
+        assertFalse(isSupported(KNNEngine.FAISS, METHOD_HNSW, null, VectorDataType.FLOAT));
+        assertFalse(isSupported(KNNEngine.FAISS, METHOD_IVF, null, VectorDataType.BINARY));
+        assertFalse(isSupported(KNNEngine.NMSLIB, METHOD_HNSW, null, VectorDataType.FLOAT));
+    }
+
+    public void testEstimateNativeMemoryInKB_whenSeedAndBatch_thenBothCounted() {
+        // 4 * 4 seed vectors of 16 floats, copied twice more plus a label each, and 4 centroids
+        assertEquals(4, StreamingTrainingDataConsumer.estimateNativeMemoryInKB(methodContext(KNNEngine.FAISS, METHOD_IVF, null), 16, 0));
+        // Plus 16 batch vectors
+        assertEquals(
+            7,
+            StreamingTrainingDataConsumer.estimateNativeMemoryInKB(methodContext(KNNEngine.FAISS, METHOD_IVF, null), 16, 16)
+        );
+
+        // PQ seeds 4 vectors per codeword once there are more codewords than centroids
+        KNNMethodContext pqContext = new KNNMethodContext(
+            KNNEngine.FAISS,
+            SpaceType.L2,
+            new MethodComponentContext(
+                METHOD_IVF,
+                ImmutableMap.of(
+                    METHOD_PARAMETER_NLIST,
+                    4,
+                    METHOD_ENCODER_PARAMETER,
+                    new MethodComponentContext(ENCODER_PQ, ImmutableMap.of(ENCODER_PARAMETER_PQ_CODE_SIZE, 8))
+                )
+            )
+        );
+        assertEquals(217, StreamingTrainingDataConsumer.estimateNativeMemoryInKB(pqContext, 16, 0));
+    }
+
+    public void testTrain_whenBatchesQueued_thenTrainedInOrderAndReadsDeferred() throws InterruptedException {
+        StreamingTrainingDataConsumer consumer = new StreamingTrainingDataConsumer(2);
+        AtomicInteger reads = new AtomicInteger();
+
+        // Reads go on while fewer than MAX_QUEUED_BATCHES batches are queued
+        consumer.processTrainingVectors(new float[] { 1, 2, 3, 4, 0, 0 }, 2, 2);
+        consumer.whenReadyForNextBatch(reads::incrementAndGet);
+        assertEquals(1, reads.get());
+        consumer.processTrainingVectors(new float[] { 5, 6 }, 2, 1);
+        assertEquals(3, consumer.getTotalVectorsCountAdded());
+
+        // The read of the next batch waits for the trainer to take a batch
+        consumer.whenReadyForNextBatch(() -> {
+            reads.incrementAndGet();
+            consumer.accept(Collections.singletonList(new Float[] { 7f, 8f }));
+            consumer.onReadComplete();
+        });
+        assertEquals(1, reads.get());
+
+        List<float[]> trained = new ArrayList<>();
+        consumer.train(trained::add);
+
+        assertEquals(2, reads.get());
+        assertEquals(3, trained.size());
+        assertArrayEquals(new float[] { 1, 2, 3, 4 }, trained.get(0), 0.0f);
+        assertArrayEquals(new float[] { 5, 6 }, trained.get(1), 0.0f);
+        assertArrayEquals(new float[] { 7, 8 }, trained.get(2), 0.0f);
+    }
+
+    public void testTrain_whenReadFails_thenThrow() {
+        StreamingTrainingDataConsumer consumer = new StreamingTrainingDataConsumer(2);
+        consumer.processTrainingVectors(new float[] { 1, 2 }, 2, 1);
+        consumer.onReadFailure(new RuntimeException("read failure"));
+
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> consumer.train(batch -> {}));
+        assertEquals("read failure", e.getCause().getMessage());
+    }
+
+    public void testTrain_whenTrainingFails_thenReadStopped() {
+        StreamingTrainingDataConsumer consumer = new StreamingTrainingDataConsumer(2);
+        consumer.processTrainingVectors(new float[] { 1, 2 }, 2, 1);
+
+        expectThrows(RuntimeException.class, () -> consumer.train(batch -> { throw new RuntimeException("training failure"); }));
+
+        AtomicInteger reads = new AtomicInteger();
+        AtomicInteger stops = new AtomicInteger();
+        consumer.whenReadyForNextBatch(reads::incrementAndGet, stops::incrementAndGet);
+        assertEquals(0, reads.get());
+        assertEquals(1, stops.get());
+    }
+
+    public void testTrain_whenTrainingFailsWithReadPending_thenReadStopped() {
+        StreamingTrainingDataConsumer consumer = new StreamingTrainingDataConsumer(2);
+        consumer.processTrainingVectors(new float[] { 1, 2 }, 2, 1);
+
+        AtomicInteger reads = new AtomicInteger();
+        AtomicInteger stops = new AtomicInteger();
+        // While the trainer works on the first batch, the queue fills up and the next read waits for it
+        expectThrows(RuntimeException.class, () -> consumer.train(batch -> {
+            consumer.processTrainingVectors(new float[] { 3, 4 }, 2, 1);
+            consumer.processTrainingVectors(new float[] { 5, 6 }, 2, 1);
+            consumer.whenReadyForNextBatch(reads::incrementAndGet, stops::incrementAndGet);
+            assertEquals(0, stops.get());
+            throw new RuntimeException("training failure");
+        }));
+
+        assertEquals(0, reads.get());
+        assertEquals(1, stops.get());
+    }
+
+    public void testTrain_whenNoBatchWithinReadTimeout_thenThrowAndStopRead() {
+        StreamingTrainingDataConsumer consumer = new StreamingTrainingDataConsumer(2, TimeValue.timeValueMillis(10));
+
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> consumer.train(batch -> {}));
+        assertTrue(e.getMessage().contains("No training vectors were read"));
+
+        AtomicInteger stops = new AtomicInteger();
+        consumer.whenReadyForNextBatch(() -> fail("Read after training stopped"), stops::incrementAndGet);
+        assertEquals(1, stops.get());
+    }
+
+    private boolean isSupported(KNNEngine knnEngine, String method, String encoder, VectorDataType vectorDataType) {
+        return StreamingTrainingDataConsumer.isSupported(methodContext(knnEngine, method, encoder), vectorDataType);
+    }
+
+    private KNNMethodContext methodContext(KNNEngine knnEngine, String method, String encoder) {
+        MethodComponentContext methodComponentContext = encoder == null
+            ? new MethodComponentContext(method, Collections.emptyMap())
+            : new MethodComponentContext(
+                method,
+                ImmutableMap.of(METHOD_ENCODER_PARAMETER, new MethodComponentContext(encoder, Collections.emptyMap()))
+            );
+        return new KNNMethodContext(knnEngine, SpaceType.L2, methodComponentContext);
+    }
+}
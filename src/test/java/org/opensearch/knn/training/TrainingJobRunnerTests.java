@@ -14,7 +14,11 @@ package org.opensearch.knn.training;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.core.index.shard.ShardId;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.opensearch.common.ValidationException;
 import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.indices.Model;
 import org.opensearch.knn.indices.ModelDao;
 import org.opensearch.knn.indices.ModelMetadata;
@@ -22,11 +26,14 @@ import org.opensearch.knn.indices.ModelState;
 import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -146,4 +153,64 @@ public class TrainingJobRunnerTests extends KNNTestCase {
         executorService.shutdown();
         executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
+
+    @SuppressWarnings("unchecked")
+    public void testExecute_whenJobsFitNodeBudget_thenRunConcurrently() throws IOException, InterruptedException, ExecutionException {
+        // Keep the admitted jobs running by holding their training until the end of the test
+        List<Runnable> trainings = new ArrayList<>();
+        ExecutorService executorService = mock(ExecutorService.class);
+        doAnswer(invocationOnMock -> trainings.add(invocationOnMock.getArgument(0))).when(executorService).execute(any(Runnable.class));
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.executor(TRAIN_THREAD_POOL)).thenReturn(executorService);
+
+        Model model = mock(Model.class);
+        ModelMetadata modelMetadata = mock(ModelMetadata.class);
+        when(modelMetadata.getState()).thenReturn(ModelState.TRAINING);
+        when(model.getModelMetadata()).thenReturn(modelMetadata);
+        ModelDao modelDao = mock(ModelDao.class);
+        when(modelDao.get(any(String.class))).thenReturn(model);
+        doAnswer(invocationOnMock -> {
+            IndexResponse indexResponse = new IndexResponse(new ShardId(MODEL_INDEX_NAME, "uuid", 0), "model", 0, 0, 0, true);
+            ((ActionListener<IndexResponse>) invocationOnMock.getArguments()[1]).onResponse(indexResponse);
+            return null;
+        }).when(modelDao).put(any(Model.class), any(ActionListener.class));
+        ActionListener<IndexResponse> responseListener = ActionListener.wrap(indexResponse -> {}, e -> fail("Should not fail"));
+
+        TrainingJobRunner.initialize(threadPool, modelDao);
+        TrainingJobRunner trainingJobRunner = TrainingJobRunner.getInstance();
+
+        try (MockedStatic<KNNSettings> knnSettingsMockedStatic = mockStatic(KNNSettings.class, Mockito.CALLS_REAL_METHODS)) {
+            knnSettingsMockedStatic.when(KNNSettings::getTrainingMaxConcurrentJobs).thenReturn(3);
+            knnSettingsMockedStatic.when(KNNSettings::getTrainingMaxThreads).thenReturn(8);
+
+            // The first two jobs fit
+            trainingJobRunner.execute(mockTrainingJob("model-1", 1024), responseListener);
+            trainingJobRunner.execute(mockTrainingJob("model-2", 1024), responseListener);
+            assertEquals(2, trainingJobRunner.getJobCount());
+
+            // A job whose memory does not fit next to the running ones is rejected
+            TrainingJob largeTrainingJob = mockTrainingJob("model-3", trainingJobRunner.getFreeNativeMemoryInKB() + 1);
+            expectThrows(ValidationException.class, () -> trainingJobRunner.execute(largeTrainingJob, responseListener));
+            assertEquals(2, trainingJobRunner.getJobCount());
+
+            // Beyond knn.training.max_concurrent_jobs, jobs are rejected
+            trainingJobRunner.execute(mockTrainingJob("model-4", 1024), responseListener);
+            expectThrows(ValidationException.class, () -> trainingJobRunner.execute(mockTrainingJob("model-5", 0), responseListener));
+            assertEquals(3, trainingJobRunner.getJobCount());
+
+            // Completed jobs give their threads and memory back
+            long freeMemoryInKB = trainingJobRunner.getFreeNativeMemoryInKB();
+            trainings.forEach(Runnable::run);
+            assertEquals(0, trainingJobRunner.getJobCount());
+            assertEquals(freeMemoryInKB + 3 * 1024, trainingJobRunner.getFreeNativeMemoryInKB());
+        }
+    }
+
+    private TrainingJob mockTrainingJob(String modelId, long estimatedMemoryInKB) {
+        TrainingJob trainingJob = mock(TrainingJob.class);
+        when(trainingJob.getModelId()).thenReturn(modelId);
+        when(trainingJob.getModel()).thenReturn(mock(Model.class));
+        when(trainingJob.getEstimatedMemoryInKB()).thenReturn(estimatedMemoryInKB);
+        return trainingJob;
+    }
 }
@@ -14,7 +14,10 @@ package org.opensearch.knn.training;
 import com.google.common.collect.ImmutableMap;
 import org.opensearch.Version;
 import org.opensearch.cluster.node.DiscoveryNode;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 import org.opensearch.knn.KNNTestCase;
+import org.opensearch.knn.index.KNNSettings;
 import org.opensearch.knn.index.engine.KNNMethodContext;
 import org.opensearch.knn.index.engine.MethodComponentContext;
 import org.opensearch.knn.index.SpaceType;
@@ -34,8 +37,13 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.concurrent.ExecutionException;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.opensearch.knn.common.KNNConstants.INDEX_THREAD_QTY;
 import static org.opensearch.knn.common.KNNConstants.METHOD_IVF;
@@ -216,6 +224,107 @@ public class TrainingJobTests extends KNNTestCase {
         assertNotEquals(0, new File(indexPath.toString()).length());
     }
 
+    public void testRun_whenStreamingTraining_thenTrainedWithoutLoadingTrainingData() throws IOException, ExecutionException {
+        String modelId = "test-model-id";
+
+        int nlists = 5;
+        int dimension = 16;
+        KNNEngine knnEngine = KNNEngine.FAISS;
+        KNNMethodContext knnMethodContext = new KNNMethodContext(
+            knnEngine,
+            SpaceType.L2,
+            new MethodComponentContext(METHOD_IVF, ImmutableMap.of(METHOD_PARAMETER_NLIST, nlists))
+        );
+
+        // Enough training vectors for the trainer to seed its centroids and then train on mini-batches
+        int tdataPoints = 200;
+        int batchSize = 30;
+        float[][] trainingData = new float[tdataPoints][dimension];
+        fillFloatArrayRandomly(trainingData);
+
+        NativeMemoryCacheManager nativeMemoryCacheManager = mock(NativeMemoryCacheManager.class);
+
+        NativeMemoryAllocation modelAllocation = mock(NativeMemoryAllocation.class);
+        when(modelAllocation.isClosed()).thenReturn(false);
+        String modelKey = "model-test-key";
+        NativeMemoryEntryContext.AnonymousEntryContext modelContext = mock(NativeMemoryEntryContext.AnonymousEntryContext.class);
+        when(modelContext.getKey()).thenReturn(modelKey);
+        when(modelContext.calculateSizeInKB()).thenReturn(10);
+
+        // Space reserved for what the trainer works with
+        NativeMemoryAllocation trainerAllocation = mock(NativeMemoryAllocation.class);
+        when(trainerAllocation.isClosed()).thenReturn(false);
+        when(nativeMemoryCacheManager.get(any(NativeMemoryEntryContext.AnonymousEntryContext.class), eq(false))).thenReturn(
+            trainerAllocation
+        );
+        when(nativeMemoryCacheManager.get(modelContext, false)).thenReturn(modelAllocation);
+
+        NativeMemoryEntryContext.TrainingDataEntryContext trainingDataEntryContext = mock(
+            NativeMemoryEntryContext.TrainingDataEntryContext.class
+        );
+        when(trainingDataEntryContext.calculateSizeInKB()).thenReturn(1000);
+        when(trainingDataEntryContext.getSearchSize()).thenReturn(batchSize);
+        when(trainingDataEntryContext.getClusterService()).thenReturn(clusterService);
+
+        // Read the training vectors on another thread, batch by batch, like the vector reader does
+        doAnswer(invocationOnMock -> {
+            StreamingTrainingDataConsumer consumer = invocationOnMock.getArgument(0);
+            Thread reader = new Thread(() -> readBatch(consumer, trainingData, 0, batchSize));
+            reader.start();
+            return null;
+        }).when(trainingDataEntryContext).stream(any(StreamingTrainingDataConsumer.class));
+
+        try (MockedStatic<KNNSettings> knnSettingsMockedStatic = mockStatic(KNNSettings.class, Mockito.CALLS_REAL_METHODS)) {
+            knnSettingsMockedStatic.when(KNNSettings::isTrainingStreamingEnabled).thenReturn(true);
+
+            TrainingJob trainingJob = new TrainingJob(
+                modelId,
+                knnMethodContext,
+                nativeMemoryCacheManager,
+                trainingDataEntryContext,
+                modelContext,
+                dimension,
+                "",
+                "test-node",
+                VectorDataType.DEFAULT
+            );
+
+            // The training data is never in native memory, only the seed and a batch the trainer works with
+            assertTrue(trainingJob.isStreamingTraining());
+            assertEquals(
+                10 + StreamingTrainingDataConsumer.estimateNativeMemoryInKB(knnMethodContext, dimension, batchSize),
+                trainingJob.getEstimatedMemoryInKB()
+            );
+
+            trainingJob.run();
+
+            Model model = trainingJob.getModel();
+            assertEquals(ModelState.CREATED, model.getModelMetadata().getState());
+            assertNotNull(model.getModelBlob());
+            verify(nativeMemoryCacheManager, never()).get(trainingDataEntryContext, false);
+            verify(modelAllocation).readUnlock();
+            verify(nativeMemoryCacheManager).invalidate(modelKey);
+            verify(trainerAllocation).readUnlock();
+
+            // The trained model is usable to build an index
+            int[] ids = { 1, 2, 3, 4 };
+            float[][] vectors = new float[ids.length][dimension];
+            fillFloatArrayRandomly(vectors);
+            long vectorsMemoryAddress = JNICommons.storeVectorData(0, vectors, (long) vectors.length * vectors[0].length);
+            Path indexPath = createTempFile();
+            JNIService.createIndexFromTemplate(
+                ids,
+                vectorsMemoryAddress,
+                vectors[0].length,
+                indexPath.toString(),
+                model.getModelBlob(),
+                ImmutableMap.of(INDEX_THREAD_QTY, 1),
+                knnEngine
+            );
+            assertNotEquals(0, new File(indexPath.toString()).length());
+        }
+    }
+
     public void testRun_failure_onGetTrainingDataAllocation() throws ExecutionException {
         // In this test, getting a training data allocation should fail. Then, run should fail and update the error of
         // the model
@@ -487,6 +596,21 @@ public class TrainingJobTests extends KNNTestCase {
         assertFalse(model.getModelMetadata().getError().isEmpty());
     }
 
+    private void readBatch(StreamingTrainingDataConsumer consumer, float[][] trainingData, int start, int batchSize) {
+        int end = Math.min(start + batchSize, trainingData.length);
+        if (start >= end) {
+            consumer.onReadComplete();
+            return;
+        }
+        int dimension = trainingData[0].length;
+        float[] batch = new float[(end - start) * dimension];
+        for (int i = start; i < end; i++) {
+            System.arraycopy(trainingData[i], 0, batch, (i - start) * dimension, dimension);
+        }
+        consumer.processTrainingVectors(batch, dimension, end - start);
+        consumer.whenReadyForNextBatch(() -> readBatch(consumer, trainingData, end, batchSize));
+    }
+
     private void fillFloatArrayRandomly(float[][] vectors) {
         for (int i = 0; i < vectors.length; i++) {
             for (int j = 0; j < vectors[i].length; j++) {
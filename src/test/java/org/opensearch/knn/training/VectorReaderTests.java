@@ -11,9 +11,11 @@
 package org.opensearch.knn.training;
 
 import lombok.Getter;
+import org.opensearch.action.support.WriteRequest;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.knn.KNNSingleNodeTestCase;
 import org.opensearch.knn.index.VectorDataType;
 import org.opensearch.knn.index.memory.NativeMemoryAllocation;
@@ -209,6 +211,149 @@ public class VectorReaderTests extends KNNSingleNodeTestCase {
         assertEquals(maxNumVectorsRead, consumedVectors.size());
     }
 
+    public void testReadFromShards_valid_completeIndex() throws InterruptedException, ExecutionException, IOException {
+        createIndex(DEFAULT_INDEX_NAME);
+        createKnnIndexMapping(DEFAULT_INDEX_NAME, DEFAULT_FIELD_NAME, DEFAULT_DIMENSION);
+
+        // Create list of random vectors and ingest, with a deleted doc
+        Random random = new Random();
+        List<Float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < DEFAULT_NUM_VECTORS; i++) {
+            Float[] vector = random.doubles(DEFAULT_DIMENSION).boxed().map(Double::floatValue).toArray(Float[]::new);
+            vectors.add(vector);
+            addKnnDoc(DEFAULT_INDEX_NAME, Integer.toString(i), DEFAULT_FIELD_NAME, vector);
+        }
+        client().prepareDelete(DEFAULT_INDEX_NAME, "0").setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE).get();
+        vectors.remove(0);
+
+        // Read all vectors in batches smaller than a segment and confirm they match vectors
+        ClusterService clusterService = node().injector().getInstance(ClusterService.class);
+        VectorReader vectorReader = new VectorReader(client());
+        TestFloatTrainingDataConsumer trainingDataConsumer = new TestFloatTrainingDataConsumer(createMockTrainingDataAllocation());
+        final CountDownLatch inProgressLatch = new CountDownLatch(1);
+        vectorReader.readFromShards(
+            clusterService,
+            DEFAULT_INDEX_NAME,
+            DEFAULT_FIELD_NAME,
+            DEFAULT_MAX_VECTOR_COUNT,
+            7,
+            trainingDataConsumer,
+            ActionListener.wrap(response -> inProgressLatch.countDown(), Throwable::printStackTrace)
+        );
+
+        assertLatchDecremented(inProgressLatch);
+
+        List<Float[]> consumedVectors = trainingDataConsumer.getTotalAddedVectors();
+        assertEquals(DEFAULT_NUM_VECTORS - 1, trainingDataConsumer.getTotalVectorsCountAdded());
+
+        List<Float> flatVectors = vectors.stream().flatMap(Arrays::stream).collect(Collectors.toList());
+        List<Float> flatConsumedVectors = consumedVectors.stream().flatMap(Arrays::stream).collect(Collectors.toList());
+        assertEquals(new HashSet<>(flatVectors), new HashSet<>(flatConsumedVectors));
+    }
+
+    public void testReadFromShards_valid_OnlyGetMaxVectors() throws InterruptedException, ExecutionException, IOException {
+        int maxNumVectorsRead = 20;
+        createIndex(DEFAULT_INDEX_NAME);
+        createKnnIndexMapping(DEFAULT_INDEX_NAME, DEFAULT_FIELD_NAME, DEFAULT_DIMENSION);
+
+        Random random = new Random();
+        for (int i = 0; i < DEFAULT_NUM_VECTORS; i++) {
+            Float[] vector = random.doubles(DEFAULT_DIMENSION).boxed().map(Double::floatValue).toArray(Float[]::new);
+            addKnnDoc(DEFAULT_INDEX_NAME, Integer.toString(i), DEFAULT_FIELD_NAME, vector);
+        }
+
+        ClusterService clusterService = node().injector().getInstance(ClusterService.class);
+        VectorReader vectorReader = new VectorReader(client());
+        TestFloatTrainingDataConsumer trainingDataConsumer = new TestFloatTrainingDataConsumer(createMockTrainingDataAllocation());
+        final CountDownLatch inProgressLatch = new CountDownLatch(1);
+        vectorReader.readFromShards(
+            clusterService,
+            DEFAULT_INDEX_NAME,
+            DEFAULT_FIELD_NAME,
+            maxNumVectorsRead,
+            DEFAULT_SEARCH_SIZE,
+            trainingDataConsumer,
+            ActionListener.wrap(response -> inProgressLatch.countDown(), Throwable::printStackTrace)
+        );
+
+        assertLatchDecremented(inProgressLatch);
+        assertEquals(maxNumVectorsRead, trainingDataConsumer.getTotalAddedVectors().size());
+    }
+
+    public void testReadFromShards_whenDocumentLevelSecurityApplied_thenReadsThroughScroll() throws InterruptedException,
+        ExecutionException, IOException {
+        createIndex(DEFAULT_INDEX_NAME);
+        createKnnIndexMapping(DEFAULT_INDEX_NAME, DEFAULT_FIELD_NAME, DEFAULT_DIMENSION);
+        ingestVectorsOfTheirId(DEFAULT_NUM_VECTORS);
+
+        ClusterService clusterService = node().injector().getInstance(ClusterService.class);
+        VectorReader vectorReader = new VectorReader(client());
+        TestFloatTrainingDataConsumer trainingDataConsumer = new TestFloatTrainingDataConsumer(createMockTrainingDataAllocation());
+        final CountDownLatch inProgressLatch = new CountDownLatch(1);
+        final ThreadContext threadContext = client().threadPool().getThreadContext();
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            // Set by the security plugin when document level security applies to the request
+            threadContext.putHeader("_opendistro_security_dls_query", "{}");
+            vectorReader.readFromShards(
+                clusterService,
+                DEFAULT_INDEX_NAME,
+                DEFAULT_FIELD_NAME,
+                DEFAULT_MAX_VECTOR_COUNT,
+                DEFAULT_SEARCH_SIZE,
+                trainingDataConsumer,
+                ActionListener.wrap(response -> inProgressLatch.countDown(), Throwable::printStackTrace)
+            );
+        }
+
+        assertLatchDecremented(inProgressLatch);
+        assertEquals(DEFAULT_NUM_VECTORS, trainingDataConsumer.getTotalVectorsCountAdded());
+    }
+
+    public void testRead_whenMaxVectorCountBelowIndexSize_thenSampleSpreadAcrossIndex() throws InterruptedException, ExecutionException,
+        IOException {
+        int maxNumVectorsRead = 10;
+        createIndex(DEFAULT_INDEX_NAME);
+        createKnnIndexMapping(DEFAULT_INDEX_NAME, DEFAULT_FIELD_NAME, DEFAULT_DIMENSION);
+        ingestVectorsOfTheirId(DEFAULT_NUM_VECTORS);
+
+        ClusterService clusterService = node().injector().getInstance(ClusterService.class);
+        VectorReader vectorReader = new VectorReader(client());
+
+        final CountDownLatch scrollLatch = new CountDownLatch(1);
+        TestFloatTrainingDataConsumer scrollConsumer = new TestFloatTrainingDataConsumer(createMockTrainingDataAllocation());
+        vectorReader.read(
+            clusterService,
+            DEFAULT_INDEX_NAME,
+            DEFAULT_FIELD_NAME,
+            maxNumVectorsRead,
+            DEFAULT_SEARCH_SIZE,
+            scrollConsumer,
+            createOnSearchResponseCountDownListener(scrollLatch)
+        );
+        assertLatchDecremented(scrollLatch);
+
+        final CountDownLatch shardsLatch = new CountDownLatch(1);
+        TestFloatTrainingDataConsumer shardsConsumer = new TestFloatTrainingDataConsumer(createMockTrainingDataAllocation());
+        vectorReader.readFromShards(
+            clusterService,
+            DEFAULT_INDEX_NAME,
+            DEFAULT_FIELD_NAME,
+            maxNumVectorsRead,
+            DEFAULT_SEARCH_SIZE,
+            shardsConsumer,
+            ActionListener.wrap(response -> shardsLatch.countDown(), Throwable::printStackTrace)
+        );
+        assertLatchDecremented(shardsLatch);
+
+        // Reading the first vectors of the index, ids 0 to 9, has a probability of 1 / C(50, 10)
+        for (TestFloatTrainingDataConsumer consumer : List.of(scrollConsumer, shardsConsumer)) {
+            List<Float[]> consumedVectors = consumer.getTotalAddedVectors();
+            assertEquals(maxNumVectorsRead, consumedVectors.size());
+            assertEquals(maxNumVectorsRead, consumedVectors.stream().map(vector -> vector[0]).distinct().count());
+            assertTrue(consumedVectors.stream().anyMatch(vector -> vector[0] >= maxNumVectorsRead));
+        }
+    }
+
     public void testRead_invalid_maxVectorCount() {
         // Create the index
         createIndex(DEFAULT_INDEX_NAME);
@@ -385,6 +530,14 @@ public class VectorReaderTests extends KNNSingleNodeTestCase {
         assertEquals(new HashSet<>(flatVectors), new HashSet<>(flatConsumedVectors));
     }
 
+    private void ingestVectorsOfTheirId(int numVectors) throws IOException, ExecutionException, InterruptedException {
+        for (int i = 0; i < numVectors; i++) {
+            Float[] vector = new Float[DEFAULT_DIMENSION];
+            Arrays.fill(vector, (float) i);
+            addKnnDoc(DEFAULT_INDEX_NAME, Integer.toString(i), DEFAULT_FIELD_NAME, vector);
+        }
+    }
+
     private void assertLatchDecremented(CountDownLatch countDownLatch) throws InterruptedException {
         assertTrue(countDownLatch.await(DEFAULT_LATCH_TIMEOUT, TimeUnit.SECONDS));
     }
@@ -406,6 +559,18 @@ public class VectorReaderTests extends KNNSingleNodeTestCase {
             super(trainingDataAllocation);
         }
 
+        @Override
+        public void processTrainingVectors(float[] vectors, int dimension, int vectorsToAdd) {
+            for (int i = 0; i < vectorsToAdd; i++) {
+                Float[] vector = new Float[dimension];
+                for (int j = 0; j < dimension; j++) {
+                    vector[j] = vectors[i * dimension + j];
+                }
+                totalAddedVectors.add(vector);
+            }
+            super.processTrainingVectors(vectors, dimension, vectorsToAdd);
+        }
+
         @Override
         public void processTrainingVectors(SearchResponse searchResponse, int vectorsToAdd, String fieldName) {
             SearchHit[] hits = searchResponse.getHits().getHits();
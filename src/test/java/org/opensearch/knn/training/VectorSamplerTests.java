@@ -0,0 +1,86 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.knn.training;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.knn.KNNTestCase;
+
+import java.io.IOException;
+
+public class VectorSamplerTests extends KNNTestCase {
+
+    public void testSelect_whenPopulationLargerThanSample_thenExactlySampleSizeSelected() {
+        VectorSampler sampler = new VectorSampler(randomLong(), 1000, 100);
+        int selected = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sampler.select()) {
+                selected++;
+            }
+        }
+        assertEquals(100, selected);
+        assertTrue(sampler.isComplete());
+        assertFalse(sampler.select());
+    }
+
+    public void testSelect_whenPopulationSmallerThanSample_thenEveryVectorSelected() {
+        VectorSampler sampler = new VectorSampler(randomLong(), 10, 100);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sampler.select());
+        }
+        assertFalse(sampler.isComplete());
+
+        // Vectors past an underestimated population are selected until the sample is complete
+        assertTrue(sampler.select());
+        assertEquals(11, sampler.getSelected());
+    }
+
+    public void testSelect_whenManySeeds_thenEveryPositionEquallyLikely() {
+        int population = 100;
+        int sampleSize = 10;
+        int seeds = 20000;
+        int[] selections = new int[population];
+        for (int seed = 0; seed < seeds; seed++) {
+            VectorSampler sampler = new VectorSampler(seed, population, sampleSize);
+            for (int i = 0; i < population; i++) {
+                if (sampler.select()) {
+                    selections[i]++;
+                }
+            }
+        }
+
+        // Each position is selected with probability 0.1, 2000 times out of 20000 on average with a deviation of ~42
+        for (int i = 0; i < population; i++) {
+            assertTrue("position " + i + " selected " + selections[i] + " times", Math.abs(selections[i] - 2000) < 300);
+        }
+    }
+
+    public void testSelect_whenCopy_thenSameDecisions() {
+        VectorSampler sampler = new VectorSampler(randomLong(), 500, 50);
+        for (int i = 0; i < 200; i++) {
+            sampler.select();
+        }
+        VectorSampler copy = sampler.copy();
+        for (int i = 0; i < 300; i++) {
+            assertEquals(sampler.select(), copy.select());
+        }
+        assertEquals(sampler.getSelected(), copy.getSelected());
+    }
+
+    public void testStreams() throws IOException {
+        VectorSampler sampler = new VectorSampler(42, 1000, 100);
+        for (int i = 0; i < 500; i++) {
+            sampler.select();
+        }
+        BytesStreamOutput streamOutput = new BytesStreamOutput();
+        sampler.writeTo(streamOutput);
+        VectorSampler samplerCopy = new VectorSampler(streamOutput.bytes().streamInput());
+        assertEquals(42, samplerCopy.getSeed());
+        assertEquals(1000, samplerCopy.getPopulation());
+        assertEquals(100, samplerCopy.getSampleSize());
+        assertEquals(500, samplerCopy.getSeen());
+        assertEquals(sampler.getSelected(), samplerCopy.getSelected());
+    }
+}